@@ -0,0 +1,80 @@
+package analysis.experiments;
+
+import analysis.utils.AnalysisUtils;
+import analysis.utils.CsvWriter;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.UnrolledLinkedList;
+import datastructures.interfaces.IList;
+
+import java.util.Random;
+
+/**
+ * Compares DoubleLinkedList and UnrolledLinkedList on a workload mixing middle inserts,
+ * random indexed gets and full scans, for lists holding up to MAX_LIST_SIZE elements.
+ */
+public class Experiment5 {
+    public static final int NUM_TRIALS = 5;
+    public static final int NUM_OPERATIONS = 1000;
+    public static final int NUM_SCANS = 20;
+    public static final long MAX_LIST_SIZE = 100000;
+    public static final long STEP = 5000;
+
+    public static void main(String[] args) {
+        IList<Long> listSizes = AnalysisUtils.makeDoubleLinkedList(STEP, MAX_LIST_SIZE + 1, STEP);
+
+        System.out.println("Starting experiment 5, test 1");
+        IList<Long> test1Results = AnalysisUtils.runTrials(listSizes, Experiment5::test1, NUM_TRIALS);
+
+        System.out.println("Starting experiment 5, test 2");
+        IList<Long> test2Results = AnalysisUtils.runTrials(listSizes, Experiment5::test2, NUM_TRIALS);
+
+        System.out.println("Saving results to file");
+        CsvWriter writer = new CsvWriter();
+        writer.addColumn("InputListSize", listSizes);
+        writer.addColumn("DoubleLinkedListMillis", test1Results);
+        writer.addColumn("UnrolledLinkedListMillis", test2Results);
+        writer.writeToFile("experimentdata/experiment5.csv");
+
+        System.out.println("All done!");
+    }
+
+    public static long test1(long size) {
+        return runWorkload(new DoubleLinkedList<>(), size);
+    }
+
+    public static long test2(long size) {
+        return runWorkload(new UnrolledLinkedList<>(), size);
+    }
+
+    /**
+     * Fills the given empty list with 'size' elements, then returns how many milliseconds
+     * it takes to insert NUM_OPERATIONS elements in the middle, get NUM_OPERATIONS random
+     * indices and iterate over the whole list NUM_SCANS times.
+     */
+    private static long runWorkload(IList<Long> list, long size) {
+        for (long i = 0; i < size; i++) {
+            list.add(i);
+        }
+        Random rand = new Random(size);
+
+        long start = System.currentTimeMillis();
+        long temp = 0L;
+        for (int i = 0; i < NUM_OPERATIONS; i++) {
+            list.insert(list.size() / 2, (long) i);
+        }
+        for (int i = 0; i < NUM_OPERATIONS; i++) {
+            temp += list.get(rand.nextInt(list.size()));
+        }
+        for (int i = 0; i < NUM_SCANS; i++) {
+            for (long item : list) {
+                temp += item;
+            }
+        }
+        long elapsed = System.currentTimeMillis() - start;
+
+        if (temp < 0) {
+            throw new IllegalStateException("Unexpected checksum");
+        }
+        return elapsed;
+    }
+}
@@ -1,6 +1,7 @@
 package analysis.utils;
 
 import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.DynamicArrayList;
 import datastructures.concrete.dictionaries.ArrayDictionary;
 import datastructures.interfaces.IDictionary;
 import datastructures.interfaces.IList;
@@ -59,7 +60,7 @@ public class AnalysisUtils {
      * for some code to run), you should try using the 'runTrials' helper method below.
      */
     public static IList<Long> runSingleTrial(IList<Long> inputs, Function<Long, Long> testerFunction) {
-        IList<Long> trial = new DoubleLinkedList<>();
+        IList<Long> trial = new DynamicArrayList<>(inputs.size());
         for (long input : inputs) {
             trial.add(testerFunction.apply(input));
         }
@@ -76,7 +77,7 @@ public class AnalysisUtils {
         System.out.println("    Running preliminary trial to warm up caches (will discard result)");
         runSingleTrial(inputs, testerFunction);
 
-        IList<IList<Long>> trials = new DoubleLinkedList<>();
+        IList<IList<Long>> trials = new DynamicArrayList<>(numTrials);
         for (int i = 0; i < numTrials; i++) {
             System.out.println("    Starting trial " + i);
             trials.add(runSingleTrial(inputs, testerFunction));
@@ -97,7 +98,7 @@ public class AnalysisUtils {
         }
         int numEntries = entries.size();
 
-        IList<Long> result = new DoubleLinkedList<>();
+        IList<Long> result = new DynamicArrayList<>(entries.get(0).size());
         RowIterator<Long> rowIter = new RowIterator<>(entries);
         while (rowIter.hasNext()) {
             IList<Long> trial = rowIter.next();
@@ -5,10 +5,9 @@ import calculator.ast.AstNode;
 import calculator.ast.operators.ControlOperator;
 import calculator.ast.operators.GuiOperator;
 import calculator.gui.ImageDrawer;
-import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.PersistentVector;
 import datastructures.concrete.dictionaries.ArrayDictionary;
 import datastructures.interfaces.IDictionary;
-import datastructures.interfaces.IList;
 
 /**
  * This class handles all the evaluation of ASTs and maintains the state of the Calculator
@@ -75,10 +74,16 @@ public class Interpreter {
                 // We first evaluate the children before handing control back
                 // to the operator's handler method (if one exists).
 
-                // Create a new node with the evaluated children.
-                IList<AstNode> children = new DoubleLinkedList<>();
-                for (AstNode oldChild : node.getChildren()) {
-                    children.add(evaluateHelper(oldChild));
+                // Create a new node with the evaluated children. Children that evaluate to
+                // themselves keep their place in the shared, immutable child list, so
+                // nothing is copied unless some child actually changes.
+                PersistentVector<AstNode> children = node.getChildren();
+                for (int i = 0; i < children.size(); i++) {
+                    AstNode oldChild = children.get(i);
+                    AstNode newChild = evaluateHelper(oldChild);
+                    if (newChild != oldChild) {
+                        children = children.with(i, newChild);
+                    }
                 }
                 AstNode output = new AstNode(node.getName(), children);
 
@@ -105,9 +110,7 @@ public class Interpreter {
         if (input.isOperation() && input.getName().equals("simplify")) {
             return input;
         } else {
-            IList<AstNode> children = new DoubleLinkedList<>();
-            children.add(input);
-            return new AstNode("simplify", children);
+            return new AstNode("simplify", PersistentVector.<AstNode>empty().plus(input));
         }
     }
 }
@@ -1,8 +1,8 @@
 package calculator.ast;
 
 import calculator.errors.EvaluationError;
-import datastructures.concrete.DoubleLinkedList;
-import datastructures.concrete.ReadOnlyList;
+import datastructures.concrete.DynamicArrayList;
+import datastructures.concrete.PersistentVector;
 import datastructures.concrete.dictionaries.ArrayDictionary;
 import datastructures.interfaces.IDictionary;
 import datastructures.interfaces.IList;
@@ -32,21 +32,21 @@ public final class AstNode {
     }
 
     private final String name;
-    private final IList<AstNode> children;
+    private final PersistentVector<AstNode> children;
     private final ExprType type;
 
     /**
      * Creates a leaf node representing a single number.
      */
     public AstNode(double number) {
-        this("" + number, new DoubleLinkedList<>(), ExprType.NUMBER);
+        this("" + number, PersistentVector.empty(), ExprType.NUMBER);
     }
 
     /**
      * Creates a leaf node representing a variable.
      */
     public AstNode(String name) {
-        this(name, new DoubleLinkedList<>(), ExprType.VARIABLE);
+        this(name, PersistentVector.empty(), ExprType.VARIABLE);
     }
 
     /**
@@ -67,6 +67,9 @@ public final class AstNode {
      *
      * Note that the list of children may be empty: this represents calling a
      * function with no arguments.
+     *
+     * The children are copied, so later changes to the given list don't affect this node,
+     * unless the list is a PersistentVector, which can't change and is shared as is.
      */
     public AstNode(String name, IList<AstNode> children) {
         this(name, children, ExprType.OPERATION);
@@ -74,7 +77,7 @@ public final class AstNode {
 
     private AstNode(String name, IList<AstNode> children, ExprType type) {
         this.name = name;
-        this.children = new ReadOnlyList<>(children);
+        this.children = PersistentVector.of(children);
         this.type = type;
     }
 
@@ -181,7 +184,7 @@ public final class AstNode {
             int currPrecedenceLevel = hasPrecedence ? precedenceMap.get(this.name) : STRONGEST_PRECEDENCE;
             int childPrecedenceLevel = hasPrecedence ? currPrecedenceLevel : WEAKEST_PRECEDENCE;
 
-            IList<String> childrenStrings = new DoubleLinkedList<>();
+            IList<String> childrenStrings = new DynamicArrayList<>(this.children.size());
             for (AstNode child : this.getChildren()) {
                 childrenStrings.add(child.toString(childPrecedenceLevel));
             }
@@ -218,10 +221,12 @@ public final class AstNode {
     /**
      * Returns this node's children.
      *
-     * The list of children is read-only. To change the children, create a new node instead. If
-     * this node represents a number or variable, the returned list is guaranteed to be empty.
+     * The list of children is immutable. To change the children, create a new node instead,
+     * for example from a modified copy such as getChildren().with(index, newChild), which
+     * shares the rest of the list with this node. If this node represents a number or
+     * variable, the returned list is guaranteed to be empty.
      */
-    public IList<AstNode> getChildren() {
+    public PersistentVector<AstNode> getChildren() {
         return this.children;
     }
 
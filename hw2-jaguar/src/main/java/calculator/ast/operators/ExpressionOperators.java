@@ -2,7 +2,7 @@ package calculator.ast.operators;
 
 import calculator.ast.AstNode;
 import calculator.errors.EvaluationError;
-import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.DynamicArrayList;
 import datastructures.interfaces.IDictionary;
 import datastructures.interfaces.IList;
 
@@ -155,7 +155,7 @@ public class ExpressionOperators {
             }
         } else { // if operator
             String name = node.getName();
-            IList newChildren = new DoubleLinkedList<AstNode>();
+            IList newChildren = new DynamicArrayList<AstNode>();
             if (node.getChildren().size() == 2 && !name.equals("/")){
                 if (node.getChildren().get(0).isNumber() && node.getChildren().get(1).isNumber()){
                     // 2 children, both are number, and the expression is not division
@@ -6,7 +6,7 @@ import calculator.errors.ParseError;
 import calculator.parser.grammar.CalculatorGrammarLexer;
 import calculator.parser.grammar.CalculatorGrammarParser;
 import calculator.parser.grammar.CalculatorGrammarParserBaseVisitor;
-import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.DynamicArrayList;
 import datastructures.interfaces.IList;
 import org.antlr.v4.runtime.*;
 
@@ -92,7 +92,7 @@ public class Parser {
 
     private static class AstConverter extends CalculatorGrammarParserBaseVisitor<AstNode> {
         private IList<AstNode> asList(AstNode... nodes) {
-            IList<AstNode> list = new DoubleLinkedList<>();
+            IList<AstNode> list = new DynamicArrayList<>();
             for (AstNode node : nodes) {
                 list.add(node);
             }
@@ -101,7 +101,7 @@ public class Parser {
 
         @Override
         public AstNode visitProgram(CalculatorGrammarParser.ProgramContext ctx) {
-            IList<AstNode> params = new DoubleLinkedList<>();
+            IList<AstNode> params = new DynamicArrayList<>();
             for (CalculatorGrammarParser.StatementContext stmt : ctx.statements) {
                 params.add(this.visit(stmt));
             }
@@ -200,7 +200,7 @@ public class Parser {
         }
 
         private IList<AstNode> parseArgList(CalculatorGrammarParser.ArglistContext args) {
-            IList<AstNode> out = new DoubleLinkedList<>();
+            IList<AstNode> out = new DynamicArrayList<>();
             for (CalculatorGrammarParser.AddExprContext item : args.values) {
                 out.add(this.visit(item));
             }
@@ -0,0 +1,362 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IList;
+import misc.exceptions.EmptyContainerException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * An immutable, persistent implementation of the IList ADT.
+ *
+ * A PersistentVector never changes once created. Instead of add, set and remove, it offers
+ * plus, with and minusLast, which return a new vector and leave this one untouched. The new
+ * vector shares almost all of its structure with the old one, so these "modified copies" cost
+ * O(log32 n) time and space rather than a full copy. That makes a vector safe to hand to
+ * other code (or other threads) as a snapshot: nobody can change it under them.
+ *
+ * Internally, the elements live in a tree of 32-slot arrays, plus a "tail" array holding the
+ * last (up to) 32 elements so that appending is usually just a copy of the tail.
+ *
+ * The methods inherited from IList that would change the list in place (add, remove, set,
+ * insert, delete) throw an UnsupportedOperationException, like ReadOnlyList.
+ *
+ * @see datastructures.interfaces.IList
+ */
+public final class PersistentVector<T> implements IList<T> {
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+    private static final PersistentVector<?> EMPTY =
+            new PersistentVector<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+    // The number of bits to shift an index by to find its slot in the root.
+    private final int shift;
+    private final Object[] root;
+    private final Object[] tail;
+
+    private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * Returns the empty vector.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentVector<T> empty() {
+        return (PersistentVector<T>) EMPTY;
+    }
+
+    /**
+     * Returns a vector holding the items of the given list, in order. If the list already is a
+     * PersistentVector, it is returned as is, since it can't change.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> PersistentVector<T> of(IList<? extends T> items) {
+        if (items instanceof PersistentVector) {
+            return (PersistentVector<T>) items;
+        }
+        PersistentVector<T> result = empty();
+        for (T item : items) {
+            result = result.plus(item);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the index of the first element stored in the tail rather than the tree.
+     */
+    private int tailOffset() {
+        return this.size < WIDTH ? 0 : ((this.size - 1) >>> BITS) << BITS;
+    }
+
+    /**
+     * Returns the 32-slot array holding the element at the given (valid) index.
+     */
+    private Object[] arrayFor(int index) {
+        if (index >= tailOffset()) {
+            return this.tail;
+        }
+        Object[] node = this.root;
+        for (int level = this.shift; level > 0; level -= BITS) {
+            node = (Object[]) node[(index >>> level) & MASK];
+        }
+        return node;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkIndex(index);
+        return (T) arrayFor(index)[index & MASK];
+    }
+
+    /**
+     * Returns a new vector with the given item added to the end.
+     */
+    public PersistentVector<T> plus(T item) {
+        if (this.size - tailOffset() < WIDTH) {
+            Object[] newTail = new Object[this.tail.length + 1];
+            System.arraycopy(this.tail, 0, newTail, 0, this.tail.length);
+            newTail[this.tail.length] = item;
+            return new PersistentVector<>(this.size + 1, this.shift, this.root, newTail);
+        }
+
+        // The tail is full: push it down into the tree and start a new one.
+        Object[] newRoot;
+        int newShift = this.shift;
+        if ((this.size >>> BITS) > (1 << this.shift)) {
+            // The tree itself is full, so it grows a level.
+            newRoot = new Object[WIDTH];
+            newRoot[0] = this.root;
+            newRoot[1] = newPath(this.shift, this.tail);
+            newShift += BITS;
+        } else {
+            newRoot = pushTail(this.shift, this.root, this.tail);
+        }
+        return new PersistentVector<>(this.size + 1, newShift, newRoot, new Object[] {item});
+    }
+
+    /**
+     * Returns a copy of 'node' (at the given level) with the given full tail array added after
+     * all of its existing leaves.
+     */
+    private Object[] pushTail(int level, Object[] node, Object[] tailNode) {
+        Object[] result = node.clone();
+        int subIndex = ((this.size - 1) >>> level) & MASK;
+        if (level == BITS) {
+            result[subIndex] = tailNode;
+        } else {
+            Object[] child = (Object[]) node[subIndex];
+            result[subIndex] = child == null
+                    ? newPath(level - BITS, tailNode)
+                    : pushTail(level - BITS, child, tailNode);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a chain of single-child nodes, 'level' bits tall, leading down to the given leaf.
+     */
+    private static Object[] newPath(int level, Object[] leaf) {
+        if (level == 0) {
+            return leaf;
+        }
+        Object[] node = new Object[WIDTH];
+        node[0] = newPath(level - BITS, leaf);
+        return node;
+    }
+
+    /**
+     * Returns a new vector with the element at the given index replaced by the given item.
+     *
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     */
+    public PersistentVector<T> with(int index, T item) {
+        checkIndex(index);
+        if (index >= tailOffset()) {
+            Object[] newTail = this.tail.clone();
+            newTail[index & MASK] = item;
+            return new PersistentVector<>(this.size, this.shift, this.root, newTail);
+        }
+        Object[] newRoot = with(this.shift, this.root, index, item);
+        return new PersistentVector<>(this.size, this.shift, newRoot, this.tail);
+    }
+
+    /**
+     * Returns a copy of the path from 'node' (at the given level) down to the given index, with
+     * the item at that index replaced.
+     */
+    private static Object[] with(int level, Object[] node, int index, Object item) {
+        Object[] result = node.clone();
+        if (level == 0) {
+            result[index & MASK] = item;
+        } else {
+            int subIndex = (index >>> level) & MASK;
+            result[subIndex] = with(level - BITS, (Object[]) node[subIndex], index, item);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a new vector without the last element.
+     *
+     * @throws EmptyContainerException if this vector is empty.
+     */
+    public PersistentVector<T> minusLast() {
+        if (this.size == 0) {
+            throw new EmptyContainerException();
+        } else if (this.size == 1) {
+            return empty();
+        } else if (this.size - tailOffset() > 1) {
+            Object[] newTail = new Object[this.tail.length - 1];
+            System.arraycopy(this.tail, 0, newTail, 0, newTail.length);
+            return new PersistentVector<>(this.size - 1, this.shift, this.root, newTail);
+        }
+
+        // The tail only holds the last element: the last leaf of the tree becomes the new tail.
+        Object[] newTail = arrayFor(this.size - 2);
+        Object[] newRoot = popTail(this.shift, this.root);
+        int newShift = this.shift;
+        if (newRoot == null) {
+            newRoot = EMPTY_NODE;
+        }
+        if (this.shift > BITS && newRoot[1] == null) {
+            newRoot = (Object[]) newRoot[0];
+            newShift -= BITS;
+        }
+        return new PersistentVector<>(this.size - 1, newShift, newRoot, newTail);
+    }
+
+    /**
+     * Returns a copy of 'node' (at the given level) without its last leaf, or null if that
+     * leaves it empty.
+     */
+    private Object[] popTail(int level, Object[] node) {
+        int subIndex = ((this.size - 2) >>> level) & MASK;
+        if (level > BITS) {
+            Object[] newChild = popTail(level - BITS, (Object[]) node[subIndex]);
+            if (newChild == null && subIndex == 0) {
+                return null;
+            }
+            Object[] result = node.clone();
+            result[subIndex] = newChild;
+            return result;
+        } else if (subIndex == 0) {
+            return null;
+        }
+        Object[] result = node.clone();
+        result[subIndex] = null;
+        return result;
+    }
+
+    /**
+     * Returns the last element of this vector.
+     *
+     * @throws EmptyContainerException if this vector is empty.
+     */
+    @SuppressWarnings("unchecked")
+    public T last() {
+        if (this.size == 0) {
+            throw new EmptyContainerException();
+        }
+        return (T) this.tail[this.tail.length - 1];
+    }
+
+    /**
+     * @throws UnsupportedOperationException This method is not supported on a PersistentVector;
+     *         use plus instead.
+     */
+    @Override
+    public void add(T item) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @throws UnsupportedOperationException This method is not supported on a PersistentVector;
+     *         use minusLast instead.
+     */
+    @Override
+    public T remove() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @throws UnsupportedOperationException This method is not supported on a PersistentVector;
+     *         use with instead.
+     */
+    @Override
+    public void set(int index, T item) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @throws UnsupportedOperationException This method is not supported on a PersistentVector.
+     */
+    @Override
+    public void insert(int index, T item) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @throws UnsupportedOperationException This method is not supported on a PersistentVector.
+     */
+    @Override
+    public T delete(int index) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public int indexOf(T item) {
+        int index = 0;
+        for (T element : this) {
+            if (Objects.equals(element, item)) {
+                return index;
+            }
+            index++;
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean contains(T other) {
+        return this.indexOf(other) != -1;
+    }
+
+    /**
+     * Returns an iterator over the contents of this vector. Since the vector can't change,
+     * the iterator never fails.
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new VectorIterator();
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+    }
+
+    /**
+     * Walks the vector one 32-slot array at a time, so each step is just an array read.
+     */
+    private class VectorIterator implements Iterator<T> {
+        private int index;
+        private Object[] array;
+
+        public VectorIterator() {
+            this.index = 0;
+            this.array = null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.index < size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if ((this.index & MASK) == 0) {
+                this.array = arrayFor(this.index);
+            }
+            return (T) this.array[this.index++ & MASK];
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IList;
+import misc.exceptions.EmptyContainerException;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * An unrolled linked list implementation of the IList ADT.
+ *
+ * Each node holds a small array of up to NODE_CAPACITY elements instead of a single one.
+ * Scanning the list therefore mostly walks through arrays, and the list allocates one
+ * node per block of elements rather than one per element. Indexed access only has to
+ * hop from node to node, and inserting or deleting in the middle shifts at most one
+ * node's worth of elements.
+ *
+ * Like DoubleLinkedList, the list remembers the most recently accessed node, so loops
+ * over consecutive indices do not start over from the front each time.
+ *
+ * Iterators are fail-fast: if the list is structurally modified after an iterator is
+ * created, that iterator throws a ConcurrentModificationException the next time it is used.
+ *
+ * @see datastructures.interfaces.IList
+ */
+public class UnrolledLinkedList<T> implements IList<T> {
+    private static final int NODE_CAPACITY = 64;
+
+    // Invariants:
+    // - Every node holds between 1 and NODE_CAPACITY elements in items[0 .. count - 1],
+    //   and every slot past count is null.
+    // - front and back are both null exactly when the list is empty.
+    private Node<T> front;
+    private Node<T> back;
+    private int size;
+
+    // A cursor remembering the most recently accessed node. When current is non-null,
+    // its first element is at index currentStart. Structural changes clear it.
+    private Node<T> current;
+    private int currentStart;
+
+    // Counts structural modifications; iterators use this to detect concurrent changes.
+    private int modCount;
+
+    public UnrolledLinkedList() {
+        this.front = null;
+        this.back = null;
+        this.size = 0;
+        this.current = null;
+        this.modCount = 0;
+    }
+
+    @Override
+    public void add(T item) {
+        if (this.back == null || this.back.count == NODE_CAPACITY) {
+            this.linkAfter(this.back, new Node<>());
+        }
+        this.back.items[this.back.count] = item;
+        this.back.count++;
+        this.size++;
+        this.modCount++;
+    }
+
+    @Override
+    public T remove() {
+        if (this.size == 0) {
+            throw new EmptyContainerException();
+        }
+        Node<T> node = this.back;
+        node.count--;
+        T result = node.item(node.count);
+        node.items[node.count] = null;
+        if (node.count == 0) {
+            this.unlink(node);
+        }
+        this.size--;
+        this.current = null;
+        this.modCount++;
+        return result;
+    }
+
+    @Override
+    public T get(int index) {
+        this.checkIndex(index, this.size);
+        return this.nodeAt(index).item(index - this.currentStart);
+    }
+
+    @Override
+    public void set(int index, T item) {
+        this.checkIndex(index, this.size);
+        this.nodeAt(index).items[index - this.currentStart] = item;
+    }
+
+    @Override
+    public void insert(int index, T item) {
+        this.checkIndex(index, this.size + 1);
+        if (index == this.size) {
+            this.add(item);
+            return;
+        }
+
+        Node<T> node = this.nodeAt(index);
+        int offset = index - this.currentStart;
+        if (node.count == NODE_CAPACITY) {
+            // Move the back half of the full node into a new node right after it.
+            Node<T> half = new Node<>();
+            int keep = NODE_CAPACITY / 2;
+            half.count = NODE_CAPACITY - keep;
+            System.arraycopy(node.items, keep, half.items, 0, half.count);
+            for (int i = keep; i < NODE_CAPACITY; i++) {
+                node.items[i] = null;
+            }
+            node.count = keep;
+            this.linkAfter(node, half);
+            if (offset > keep) {
+                node = half;
+                offset -= keep;
+            }
+        }
+        System.arraycopy(node.items, offset, node.items, offset + 1, node.count - offset);
+        node.items[offset] = item;
+        node.count++;
+        this.size++;
+        this.current = null;
+        this.modCount++;
+    }
+
+    @Override
+    public T delete(int index) {
+        this.checkIndex(index, this.size);
+        Node<T> node = this.nodeAt(index);
+        int offset = index - this.currentStart;
+        T result = node.item(offset);
+
+        node.count--;
+        System.arraycopy(node.items, offset + 1, node.items, offset, node.count - offset);
+        node.items[node.count] = null;
+        if (node.count == 0) {
+            this.unlink(node);
+        } else if (node.next != null && node.count + node.next.count <= NODE_CAPACITY / 2) {
+            // Merge sparse neighbors so nodes stay reasonably full.
+            Node<T> next = node.next;
+            System.arraycopy(next.items, 0, node.items, node.count, next.count);
+            node.count += next.count;
+            this.unlink(next);
+        }
+        this.size--;
+        this.current = null;
+        this.modCount++;
+        return result;
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= bound
+     */
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * Returns the node holding the element at the given (valid) index, walking from
+     * whichever of the front, the back, or the cursor is closest. Afterwards, the cursor
+     * points at the returned node, so the element's offset within it is
+     * index - currentStart.
+     */
+    private Node<T> nodeAt(int index) {
+        Node<T> node;
+        int start;
+        int fromBack = this.size - 1 - index;
+        if (this.current != null && Math.abs(index - this.currentStart) <= Math.min(index, fromBack)) {
+            node = this.current;
+            start = this.currentStart;
+        } else if (index <= fromBack) {
+            node = this.front;
+            start = 0;
+        } else {
+            node = this.back;
+            start = this.size - this.back.count;
+        }
+
+        while (index >= start + node.count) {
+            start += node.count;
+            node = node.next;
+        }
+        while (index < start) {
+            node = node.prev;
+            start -= node.count;
+        }
+        this.current = node;
+        this.currentStart = start;
+        return node;
+    }
+
+    /**
+     * Links the given node in right after 'prev', or at the front if 'prev' is null.
+     */
+    private void linkAfter(Node<T> prev, Node<T> node) {
+        node.prev = prev;
+        node.next = prev == null ? this.front : prev.next;
+        if (node.next != null) {
+            node.next.prev = node;
+        } else {
+            this.back = node;
+        }
+        if (prev != null) {
+            prev.next = node;
+        } else {
+            this.front = node;
+        }
+    }
+
+    /**
+     * Removes the given node from the chain of nodes.
+     */
+    private void unlink(Node<T> node) {
+        if (node.prev != null) {
+            node.prev.next = node.next;
+        } else {
+            this.front = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        } else {
+            this.back = node.prev;
+        }
+    }
+
+    @Override
+    public int indexOf(T item) {
+        int start = 0;
+        for (Node<T> node = this.front; node != null; node = node.next) {
+            for (int i = 0; i < node.count; i++) {
+                if (Objects.equals(item, node.items[i])) {
+                    return start + i;
+                }
+            }
+            start += node.count;
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean contains(T other) {
+        return this.indexOf(other) >= 0;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new UnrolledLinkedListIterator();
+    }
+
+    private static class Node<E> {
+        public final Object[] items;
+        public int count;
+        public Node<E> prev;
+        public Node<E> next;
+
+        public Node() {
+            this.items = new Object[NODE_CAPACITY];
+            this.count = 0;
+        }
+
+        @SuppressWarnings("unchecked")
+        public E item(int offset) {
+            return (E) this.items[offset];
+        }
+    }
+
+    private class UnrolledLinkedListIterator implements Iterator<T> {
+        private Node<T> node;
+        private int offset;
+        private int expectedModCount;
+
+        public UnrolledLinkedListIterator() {
+            this.node = front;
+            this.offset = 0;
+            this.expectedModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            return this.node != null;
+        }
+
+        @Override
+        public T next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T result = this.node.item(this.offset);
+            this.offset++;
+            if (this.offset == this.node.count) {
+                this.node = this.node.next;
+                this.offset = 0;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,414 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.interfaces.IDictionary;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.Objects;
+
+/**
+ * An immutable, persistent implementation of the Dictionary ADT, based on a hash array mapped
+ * trie (HAMT).
+ *
+ * A PersistentHashDictionary never changes once created. Instead of put and remove, it offers
+ * plus and minus, which return a new dictionary and leave this one untouched. The new
+ * dictionary shares every node off the changed path with the old one, so each "modified copy"
+ * costs O(log32 n) time and space rather than a full copy. Readers holding on to an old
+ * version keep seeing exactly that snapshot, with no locking.
+ *
+ * The trie branches on 5 bits of the key's hash at each level. Each node stores its entries
+ * and its child nodes in one compact array, with two bitmaps recording which of the 32 hash
+ * slots hold an entry and which hold a child (the "CHAMP" layout). Keys whose hashes match in
+ * all 32 bits end up together in a collision node at the bottom.
+ *
+ * The methods inherited from IDictionary that would change the dictionary in place (put and
+ * remove) throw an UnsupportedOperationException.
+ *
+ * Allows null keys.
+ *
+ * @see datastructures.interfaces.IDictionary
+ */
+public final class PersistentHashDictionary<K, V> implements IDictionary<K, V> {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    // Returned by Node.find when the key is missing, since null is a valid value.
+    private static final Object NOT_FOUND = new Object();
+
+    private static final PersistentHashDictionary<?, ?> EMPTY =
+            new PersistentHashDictionary<>(new BitmapNode(0, 0, new Object[0]), 0);
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashDictionary(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Returns the empty dictionary.
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> PersistentHashDictionary<K, V> empty() {
+        return (PersistentHashDictionary<K, V>) EMPTY;
+    }
+
+    private static int hash(Object key) {
+        int hash = key == null ? 0 : key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Returns the value corresponding to the given key.
+     *
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        Object value = this.root.find(key, hash(key), 0);
+        if (value == NOT_FOUND) {
+            throw new NoSuchKeyException();
+        }
+        return (V) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V getOrDefault(K key, V defaultValue) {
+        Object value = this.root.find(key, hash(key), 0);
+        return value == NOT_FOUND ? defaultValue : (V) value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return this.root.find(key, hash(key), 0) != NOT_FOUND;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns a new dictionary that also maps the given key to the given value, replacing the
+     * key's old value if it had one. Returns this dictionary itself if the key already maps to
+     * that exact value.
+     */
+    public PersistentHashDictionary<K, V> plus(K key, V value) {
+        Change change = new Change();
+        Node newRoot = this.root.plus(key, value, hash(key), 0, change);
+        if (newRoot == this.root) {
+            return this;
+        }
+        return new PersistentHashDictionary<>(newRoot, change.sizeChanged ? this.size + 1 : this.size);
+    }
+
+    /**
+     * Returns a new dictionary without the given key. Returns this dictionary itself if it does
+     * not contain the key.
+     */
+    public PersistentHashDictionary<K, V> minus(K key) {
+        Node newRoot = this.root.minus(key, hash(key), 0);
+        if (newRoot == this.root) {
+            return this;
+        }
+        return new PersistentHashDictionary<>(newRoot, this.size - 1);
+    }
+
+    /**
+     * @throws UnsupportedOperationException This method is not supported on a
+     *         PersistentHashDictionary; use plus instead.
+     */
+    @Override
+    public void put(K key, V value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @throws UnsupportedOperationException This method is not supported on a
+     *         PersistentHashDictionary; use minus instead.
+     */
+    @Override
+    public V remove(K key) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Lets Node.plus report back whether it added a new key or only replaced a value.
+     */
+    private static class Change {
+        public boolean sizeChanged;
+    }
+
+    /**
+     * A node of the trie. Nodes are never modified after they are published: plus and minus
+     * return a new node (or this node, if nothing changed).
+     */
+    private abstract static class Node {
+        /**
+         * Returns the value for the given key, or NOT_FOUND.
+         */
+        public abstract Object find(Object key, int hash, int shift);
+
+        public abstract Node plus(Object key, Object value, int hash, int shift, Change change);
+
+        public abstract Node minus(Object key, int hash, int shift);
+
+        /**
+         * Returns 'true' if this node holds exactly one entry and no children, in which case
+         * its parent pulls that entry up into itself instead of keeping this node.
+         */
+        public abstract boolean isSingleEntry();
+
+        public abstract Object firstKey();
+
+        public abstract Object firstValue();
+    }
+
+    /**
+     * A regular trie node. For each of the 32 possible values of the hash bits at this level,
+     * the slot is either empty, holds one entry inline (its bit is set in dataMap) or points
+     * to a child node (its bit is set in nodeMap). 'content' stores the entries as key, value
+     * pairs from the front, ordered by slot, followed by the children in reverse slot order.
+     */
+    private static final class BitmapNode extends Node {
+        private final int dataMap;
+        private final int nodeMap;
+        private final Object[] content;
+
+        public BitmapNode(int dataMap, int nodeMap, Object[] content) {
+            this.dataMap = dataMap;
+            this.nodeMap = nodeMap;
+            this.content = content;
+        }
+
+        private int dataIndex(int bit) {
+            return 2 * Integer.bitCount(this.dataMap & (bit - 1));
+        }
+
+        private int nodeIndex(int bit) {
+            return this.content.length - 1 - Integer.bitCount(this.nodeMap & (bit - 1));
+        }
+
+        @Override
+        public Object find(Object key, int hash, int shift) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((this.dataMap & bit) != 0) {
+                int index = dataIndex(bit);
+                return Objects.equals(key, this.content[index]) ? this.content[index + 1] : NOT_FOUND;
+            } else if ((this.nodeMap & bit) != 0) {
+                return ((Node) this.content[nodeIndex(bit)]).find(key, hash, shift + BITS);
+            }
+            return NOT_FOUND;
+        }
+
+        @Override
+        public Node plus(Object key, Object value, int hash, int shift, Change change) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((this.dataMap & bit) != 0) {
+                int index = dataIndex(bit);
+                Object existingKey = this.content[index];
+                Object existingValue = this.content[index + 1];
+                if (Objects.equals(key, existingKey)) {
+                    if (existingValue == value) {
+                        return this;
+                    }
+                    Object[] newContent = this.content.clone();
+                    newContent[index + 1] = value;
+                    return new BitmapNode(this.dataMap, this.nodeMap, newContent);
+                }
+                // Two different keys share this slot: push both down into a new child.
+                change.sizeChanged = true;
+                Node child = merge(existingKey, existingValue, hash(existingKey), key, value, hash, shift + BITS);
+                return replaceEntryWithNode(bit, index, child);
+            } else if ((this.nodeMap & bit) != 0) {
+                int index = nodeIndex(bit);
+                Node child = (Node) this.content[index];
+                Node newChild = child.plus(key, value, hash, shift + BITS, change);
+                if (newChild == child) {
+                    return this;
+                }
+                Object[] newContent = this.content.clone();
+                newContent[index] = newChild;
+                return new BitmapNode(this.dataMap, this.nodeMap, newContent);
+            }
+
+            change.sizeChanged = true;
+            int index = dataIndex(bit);
+            Object[] newContent = new Object[this.content.length + 2];
+            System.arraycopy(this.content, 0, newContent, 0, index);
+            newContent[index] = key;
+            newContent[index + 1] = value;
+            System.arraycopy(this.content, index, newContent, index + 2, this.content.length - index);
+            return new BitmapNode(this.dataMap | bit, this.nodeMap, newContent);
+        }
+
+        @Override
+        public Node minus(Object key, int hash, int shift) {
+            int bit = 1 << ((hash >>> shift) & MASK);
+            if ((this.dataMap & bit) != 0) {
+                int index = dataIndex(bit);
+                if (!Objects.equals(key, this.content[index])) {
+                    return this;
+                }
+                Object[] newContent = new Object[this.content.length - 2];
+                System.arraycopy(this.content, 0, newContent, 0, index);
+                System.arraycopy(this.content, index + 2, newContent, index, this.content.length - index - 2);
+                return new BitmapNode(this.dataMap ^ bit, this.nodeMap, newContent);
+            } else if ((this.nodeMap & bit) != 0) {
+                int index = nodeIndex(bit);
+                Node child = (Node) this.content[index];
+                Node newChild = child.minus(key, hash, shift + BITS);
+                if (newChild == child) {
+                    return this;
+                } else if (newChild.isSingleEntry()) {
+                    return replaceNodeWithEntry(bit, index, newChild.firstKey(), newChild.firstValue());
+                }
+                Object[] newContent = this.content.clone();
+                newContent[index] = newChild;
+                return new BitmapNode(this.dataMap, this.nodeMap, newContent);
+            }
+            return this;
+        }
+
+        /**
+         * Returns a copy of this node where the entry at the given data index (in the given
+         * slot) is replaced by the given child node.
+         */
+        private Node replaceEntryWithNode(int bit, int dataIndex, Node child) {
+            int newNodeIndex = this.content.length - 2 - Integer.bitCount(this.nodeMap & (bit - 1));
+            Object[] newContent = new Object[this.content.length - 1];
+            System.arraycopy(this.content, 0, newContent, 0, dataIndex);
+            System.arraycopy(this.content, dataIndex + 2, newContent, dataIndex, newNodeIndex - dataIndex);
+            newContent[newNodeIndex] = child;
+            System.arraycopy(this.content, newNodeIndex + 2, newContent, newNodeIndex + 1,
+                    this.content.length - newNodeIndex - 2);
+            return new BitmapNode(this.dataMap ^ bit, this.nodeMap | bit, newContent);
+        }
+
+        /**
+         * Returns a copy of this node where the child at the given node index (in the given
+         * slot) is replaced by the given inline entry.
+         */
+        private Node replaceNodeWithEntry(int bit, int nodeIndex, Object key, Object value) {
+            int newDataIndex = 2 * Integer.bitCount(this.dataMap & (bit - 1));
+            Object[] newContent = new Object[this.content.length + 1];
+            System.arraycopy(this.content, 0, newContent, 0, newDataIndex);
+            newContent[newDataIndex] = key;
+            newContent[newDataIndex + 1] = value;
+            System.arraycopy(this.content, newDataIndex, newContent, newDataIndex + 2, nodeIndex - newDataIndex);
+            System.arraycopy(this.content, nodeIndex + 1, newContent, nodeIndex + 2,
+                    this.content.length - nodeIndex - 1);
+            return new BitmapNode(this.dataMap | bit, this.nodeMap ^ bit, newContent);
+        }
+
+        @Override
+        public boolean isSingleEntry() {
+            return this.nodeMap == 0 && this.content.length == 2;
+        }
+
+        @Override
+        public Object firstKey() {
+            return this.content[0];
+        }
+
+        @Override
+        public Object firstValue() {
+            return this.content[1];
+        }
+    }
+
+    /**
+     * Returns a new subtree, rooted at the given level, holding two entries with different keys.
+     */
+    private static Node merge(Object key1, Object value1, int hash1,
+                              Object key2, Object value2, int hash2, int shift) {
+        if (shift >= Integer.SIZE) {
+            return new CollisionNode(hash1, new Object[] {key1, value1, key2, value2});
+        }
+        int slot1 = (hash1 >>> shift) & MASK;
+        int slot2 = (hash2 >>> shift) & MASK;
+        if (slot1 == slot2) {
+            Node child = merge(key1, value1, hash1, key2, value2, hash2, shift + BITS);
+            return new BitmapNode(0, 1 << slot1, new Object[] {child});
+        } else if (slot1 < slot2) {
+            return new BitmapNode((1 << slot1) | (1 << slot2), 0, new Object[] {key1, value1, key2, value2});
+        }
+        return new BitmapNode((1 << slot1) | (1 << slot2), 0, new Object[] {key2, value2, key1, value1});
+    }
+
+    /**
+     * Holds two or more entries whose keys have exactly the same hash, as key, value pairs.
+     */
+    private static final class CollisionNode extends Node {
+        private final int hash;
+        private final Object[] content;
+
+        public CollisionNode(int hash, Object[] content) {
+            this.hash = hash;
+            this.content = content;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < this.content.length; i += 2) {
+                if (Objects.equals(key, this.content[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public Object find(Object key, int hash, int shift) {
+            int index = indexOf(key);
+            return index == -1 ? NOT_FOUND : this.content[index + 1];
+        }
+
+        @Override
+        public Node plus(Object key, Object value, int hash, int shift, Change change) {
+            int index = indexOf(key);
+            Object[] newContent;
+            if (index == -1) {
+                change.sizeChanged = true;
+                newContent = new Object[this.content.length + 2];
+                System.arraycopy(this.content, 0, newContent, 0, this.content.length);
+                newContent[this.content.length] = key;
+                newContent[this.content.length + 1] = value;
+            } else if (this.content[index + 1] == value) {
+                return this;
+            } else {
+                newContent = this.content.clone();
+                newContent[index + 1] = value;
+            }
+            return new CollisionNode(this.hash, newContent);
+        }
+
+        @Override
+        public Node minus(Object key, int hash, int shift) {
+            int index = indexOf(key);
+            if (index == -1) {
+                return this;
+            }
+            Object[] newContent = new Object[this.content.length - 2];
+            System.arraycopy(this.content, 0, newContent, 0, index);
+            System.arraycopy(this.content, index + 2, newContent, index, this.content.length - index - 2);
+            return new CollisionNode(this.hash, newContent);
+        }
+
+        @Override
+        public boolean isSingleEntry() {
+            return this.content.length == 2;
+        }
+
+        @Override
+        public Object firstKey() {
+            return this.content[0];
+        }
+
+        @Override
+        public Object firstValue() {
+            return this.content[1];
+        }
+    }
+}
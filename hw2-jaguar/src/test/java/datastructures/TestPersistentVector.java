@@ -0,0 +1,173 @@
+package datastructures;
+
+import datastructures.concrete.DynamicArrayList;
+import datastructures.concrete.PersistentVector;
+import datastructures.interfaces.IList;
+import misc.BaseTest;
+import misc.exceptions.EmptyContainerException;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TestPersistentVector extends BaseTest {
+    protected <T> void assertListMatches(List<T> expected, IList<T> actual) {
+        assertEquals("Lists have different sizes", expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals("Item at index " + i + " does not match", expected.get(i), actual.get(i));
+        }
+        Iterator<T> iter = actual.iterator();
+        for (T item : expected) {
+            assertTrue(iter.hasNext());
+            assertEquals(item, iter.next());
+        }
+        assertFalse(iter.hasNext());
+    }
+
+    @Test(timeout=SECOND)
+    public void testBasicOperations() {
+        PersistentVector<String> empty = PersistentVector.empty();
+        PersistentVector<String> one = empty.plus("a");
+        PersistentVector<String> two = one.plus("b");
+        PersistentVector<String> changed = two.with(0, "c");
+
+        assertTrue(empty.isEmpty());
+        assertListMatches(new ArrayList<>(), empty);
+        assertListMatches(listOf("a"), one);
+        assertListMatches(listOf("a", "b"), two);
+        assertListMatches(listOf("c", "b"), changed);
+        assertListMatches(listOf("a"), two.minusLast());
+        assertEquals("b", two.last());
+        assertEquals(1, two.indexOf("b"));
+        assertTrue(changed.contains("c"));
+        assertFalse(two.contains("c"));
+    }
+
+    @Test(timeout=SECOND)
+    public void testOldVersionsAreUnchanged() {
+        // Check every version again after building all of them, across several tree levels.
+        List<PersistentVector<Integer>> versions = new ArrayList<>();
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for (int i = 0; i < 1100; i++) {
+            versions.add(vector);
+            vector = vector.plus(i);
+        }
+        PersistentVector<Integer> doubled = vector;
+        for (int i = 0; i < 1100; i += 7) {
+            doubled = doubled.with(i, i * 2);
+        }
+
+        for (int size = 0; size < versions.size(); size += 37) {
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                expected.add(i);
+            }
+            assertListMatches(expected, versions.get(size));
+        }
+        for (int i = 0; i < 1100; i++) {
+            assertEquals(i, vector.get(i));
+            assertEquals(i % 7 == 0 ? i * 2 : i, doubled.get(i));
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testRandomOperationsMatchArrayList() {
+        Random rand = new Random(14);
+        List<Integer> expected = new ArrayList<>();
+        PersistentVector<Integer> vector = PersistentVector.empty();
+        for (int i = 0; i < 50000; i++) {
+            int choice = rand.nextInt(10);
+            if (choice < 6) {
+                expected.add(i);
+                vector = vector.plus(i);
+            } else if (choice < 8 && !expected.isEmpty()) {
+                int index = rand.nextInt(expected.size());
+                expected.set(index, -i);
+                vector = vector.with(index, -i);
+            } else if (!expected.isEmpty()) {
+                expected.remove(expected.size() - 1);
+                vector = vector.minusLast();
+            }
+        }
+        assertListMatches(expected, vector);
+
+        while (!expected.isEmpty()) {
+            expected.remove(expected.size() - 1);
+            vector = vector.minusLast();
+            if (expected.size() % 997 == 0) {
+                assertListMatches(expected, vector);
+            }
+        }
+        assertTrue(vector.isEmpty());
+    }
+
+    @Test(timeout=SECOND)
+    public void testOfSharesPersistentVectors() {
+        IList<String> list = new DynamicArrayList<>();
+        list.add("a");
+        list.add("b");
+        PersistentVector<String> vector = PersistentVector.of(list);
+        list.set(0, "z");
+        assertListMatches(listOf("a", "b"), vector);
+        assertSame(vector, PersistentVector.of(vector));
+    }
+
+    @Test(timeout=SECOND)
+    public void testOutOfBoundsAndEmpty() {
+        PersistentVector<String> vector = PersistentVector.<String>empty().plus("a");
+        try {
+            vector.get(1);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException ex) {
+            // All ok
+        }
+        try {
+            vector.with(-1, "b");
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException ex) {
+            // All ok
+        }
+        try {
+            vector.minusLast().minusLast();
+            fail("Expected EmptyContainerException");
+        } catch (EmptyContainerException ex) {
+            // All ok
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testMutatorsAreUnsupported() {
+        PersistentVector<String> vector = PersistentVector.<String>empty().plus("a");
+        try {
+            vector.add("b");
+            fail("Expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException ex) {
+            // All ok
+        }
+        try {
+            vector.set(0, "b");
+            fail("Expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException ex) {
+            // All ok
+        }
+        assertListMatches(listOf("a"), vector);
+    }
+
+    private static List<String> listOf(String... items) {
+        List<String> out = new ArrayList<>();
+        for (String item : items) {
+            out.add(item);
+        }
+        return out;
+    }
+}
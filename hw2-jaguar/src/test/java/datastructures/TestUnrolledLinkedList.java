@@ -0,0 +1,165 @@
+package datastructures;
+
+import datastructures.concrete.UnrolledLinkedList;
+import datastructures.interfaces.IList;
+import misc.BaseTest;
+import misc.exceptions.EmptyContainerException;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TestUnrolledLinkedList extends BaseTest {
+    protected <T> void assertListMatches(List<T> expected, IList<T> actual) {
+        assertEquals("Lists have different sizes", expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals("Item at index " + i + " does not match", expected.get(i), actual.get(i));
+        }
+        Iterator<T> iter = actual.iterator();
+        for (T item : expected) {
+            assertTrue(iter.hasNext());
+            assertEquals(item, iter.next());
+        }
+        assertFalse(iter.hasNext());
+    }
+
+    @Test(timeout=SECOND)
+    public void testBasicOperations() {
+        IList<String> list = new UnrolledLinkedList<>();
+        list.add("a");
+        list.add("c");
+        list.insert(1, "b");
+        list.insert(0, null);
+        assertListMatches(Arrays.asList(null, "a", "b", "c"), list);
+
+        assertEquals(2, list.indexOf("b"));
+        assertEquals(0, list.indexOf(null));
+        assertTrue(list.contains("c"));
+        assertFalse(list.contains("d"));
+
+        list.set(0, "z");
+        assertEquals("a", list.delete(1));
+        assertEquals("c", list.remove());
+        assertListMatches(Arrays.asList("z", "b"), list);
+    }
+
+    @Test(timeout=SECOND)
+    public void testEmptyListErrors() {
+        IList<String> list = new UnrolledLinkedList<>();
+        try {
+            list.remove();
+            fail("Expected EmptyContainerException");
+        } catch (EmptyContainerException ex) {
+            // All ok -- expected result
+        }
+        try {
+            list.get(0);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException ex) {
+            // All ok -- expected result
+        }
+        try {
+            list.insert(1, "a");
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException ex) {
+            // All ok -- expected result
+        }
+        try {
+            list.iterator().next();
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testRepeatedInsertAtFront() {
+        IList<Integer> list = new UnrolledLinkedList<>();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            list.insert(0, i);
+            expected.add(0, i);
+        }
+        assertListMatches(expected, list);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(expected.remove(0), list.delete(0));
+        }
+        assertTrue(list.isEmpty());
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testRandomOperationsMatchArrayList() {
+        IList<Integer> list = new UnrolledLinkedList<>();
+        List<Integer> expected = new ArrayList<>();
+        Random rand = new Random(8);
+        for (int i = 0; i < 20000; i++) {
+            int op = rand.nextInt(6);
+            int size = expected.size();
+            if (op <= 1 || size == 0) {
+                int index = rand.nextInt(size + 1);
+                list.insert(index, i);
+                expected.add(index, i);
+            } else if (op == 2) {
+                int index = rand.nextInt(size);
+                assertEquals(expected.remove(index), list.delete(index));
+            } else if (op == 3) {
+                assertEquals(expected.remove(size - 1), list.remove());
+            } else if (op == 4) {
+                int index = rand.nextInt(size);
+                list.set(index, -i);
+                expected.set(index, -i);
+            } else {
+                int index = rand.nextInt(size);
+                assertEquals(expected.get(index), list.get(index));
+            }
+        }
+        assertListMatches(expected, list);
+    }
+
+    @Test(timeout=SECOND)
+    public void testIteratorFailsFastAfterStructuralChange() {
+        IList<Integer> list = new UnrolledLinkedList<>();
+        for (int i = 0; i < 10; i++) {
+            list.add(i);
+        }
+        Iterator<Integer> iter = list.iterator();
+        iter.next();
+        list.delete(5);
+        try {
+            iter.hasNext();
+            fail("Expected ConcurrentModificationException");
+        } catch (ConcurrentModificationException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testLargeListIndexedAccess() {
+        int cap = 200000;
+        IList<Integer> list = new UnrolledLinkedList<>();
+        for (int i = 0; i < cap; i++) {
+            list.add(i);
+        }
+        for (int i = 0; i < cap; i++) {
+            assertEquals(i, list.get(i));
+        }
+        Random rand = new Random(3);
+        for (int i = 0; i < 10000; i++) {
+            int index = rand.nextInt(cap);
+            assertEquals(index, list.get(index));
+        }
+    }
+}
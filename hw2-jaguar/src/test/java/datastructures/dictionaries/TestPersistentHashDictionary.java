@@ -0,0 +1,138 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.dictionaries.PersistentHashDictionary;
+import datastructures.interfaces.IDictionary;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Runs the shared dictionary tests against PersistentHashDictionary through a small mutable
+ * wrapper that swaps in the new version after every put or remove, then checks the
+ * persistence-specific behavior directly.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TestPersistentHashDictionary extends BaseTestDictionary {
+    @Override
+    protected <K, V> IDictionary<K, V> newDictionary() {
+        return new LatestVersion<>();
+    }
+
+    private static class LatestVersion<K, V> implements IDictionary<K, V> {
+        private PersistentHashDictionary<K, V> current = PersistentHashDictionary.empty();
+
+        @Override
+        public V get(K key) {
+            return this.current.get(key);
+        }
+
+        @Override
+        public void put(K key, V value) {
+            this.current = this.current.plus(key, value);
+        }
+
+        @Override
+        public V remove(K key) {
+            V value = this.current.get(key);
+            this.current = this.current.minus(key);
+            return value;
+        }
+
+        @Override
+        public boolean containsKey(K key) {
+            return this.current.containsKey(key);
+        }
+
+        @Override
+        public int size() {
+            return this.current.size();
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testOldVersionsAreUnchanged() {
+        List<PersistentHashDictionary<Integer, Integer>> versions = new ArrayList<>();
+        PersistentHashDictionary<Integer, Integer> dict = PersistentHashDictionary.empty();
+        for (int i = 0; i < 500; i++) {
+            versions.add(dict);
+            dict = dict.plus(i, i);
+        }
+        for (int i = 0; i < 500; i += 2) {
+            dict = dict.minus(i);
+        }
+
+        for (int size = 0; size < versions.size(); size++) {
+            PersistentHashDictionary<Integer, Integer> version = versions.get(size);
+            assertEquals(size, version.size());
+            assertTrue(size == 0 || version.containsKey(size - 1));
+            assertFalse(version.containsKey(size));
+        }
+        assertEquals(250, dict.size());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i % 2 == 1, dict.containsKey(i));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testUnchangedVersionsAreShared() {
+        PersistentHashDictionary<String, String> dict = PersistentHashDictionary.<String, String>empty()
+                .plus("a", "valA");
+        assertSame(dict, dict.plus("a", "valA"));
+        assertSame(dict, dict.minus("b"));
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testCollidingAndRandomKeysMatchHashMap() {
+        // Keys 0 to 99 all have hash 7, so they share one collision node; the rest spread
+        // across hashes that differ only in their upper bits, giving deep paths.
+        Random rand = new Random(14);
+        PersistentHashDictionary<Wrapper<Integer>, Integer> dict = PersistentHashDictionary.empty();
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 20000; i++) {
+            int key = rand.nextInt(1000);
+            Wrapper<Integer> wrapper = new Wrapper<>(key, key < 100 ? 7 : key << 20);
+            if (rand.nextInt(3) > 0) {
+                dict = dict.plus(wrapper, i);
+                expected.put(key, i);
+            } else {
+                dict = dict.minus(wrapper);
+                expected.remove(key);
+            }
+        }
+
+        assertEquals(expected.size(), dict.size());
+        for (int key = 0; key < 1000; key++) {
+            Wrapper<Integer> wrapper = new Wrapper<>(key, key < 100 ? 7 : key << 20);
+            assertEquals(expected.get(key), dict.getOrDefault(wrapper, null));
+            assertEquals(expected.containsKey(key), dict.containsKey(wrapper));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testMutatorsAreUnsupported() {
+        PersistentHashDictionary<String, String> dict = PersistentHashDictionary.empty();
+        try {
+            dict.put("a", "b");
+            fail("Expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException ex) {
+            // All ok
+        }
+        try {
+            dict.remove("a");
+            fail("Expected UnsupportedOperationException");
+        } catch (UnsupportedOperationException ex) {
+            // All ok
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package analysis.experiments;
+
+import analysis.utils.AnalysisUtils;
+import analysis.utils.CsvWriter;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IList;
+
+import java.util.Random;
+
+/**
+ * Measures the throughput of ChainedHashDictionary, in operations per second, for
+ * dictionaries holding between 10 thousand and 10 million keys.
+ *
+ * Each trial puts every key, gets every key, and then checks containsKey for the same
+ * number of missing keys. To compare two versions of ChainedHashDictionary, run this
+ * experiment against each version and compare the resulting CSV files.
+ */
+public class Experiment3 {
+    public static final int NUM_TRIALS = 3;
+    public static final long MIN_DICTIONARY_SIZE = 10000;
+    public static final long MAX_DICTIONARY_SIZE = 10000000;
+
+    public static void main(String[] args) {
+        IList<Long> dictionarySizes = makeSizes();
+
+        System.out.println("Starting test");
+        IList<Long> testResults = AnalysisUtils.runTrials(dictionarySizes, Experiment3::test, NUM_TRIALS);
+
+        System.out.println("Saving experiment results to file");
+        CsvWriter writer = new CsvWriter();
+        writer.addColumn("DictionarySize", dictionarySizes);
+        writer.addColumn("OpsPerSecond", testResults);
+        writer.writeToFile("experimentdata/experiment3.csv");
+
+        System.out.println("All done!");
+    }
+
+    /**
+     * Returns 10K, 20K, 50K, 100K, ... up to MAX_DICTIONARY_SIZE.
+     */
+    private static IList<Long> makeSizes() {
+        IList<Long> sizes = new DoubleLinkedList<>();
+        for (long base = MIN_DICTIONARY_SIZE; base <= MAX_DICTIONARY_SIZE; base *= 10) {
+            sizes.add(base);
+            if (base * 2 <= MAX_DICTIONARY_SIZE) {
+                sizes.add(base * 2);
+            }
+            if (base * 5 <= MAX_DICTIONARY_SIZE) {
+                sizes.add(base * 5);
+            }
+        }
+        return sizes;
+    }
+
+    public static long test(long dictionarySize) {
+        int size = (int) dictionarySize;
+        String[] keys = new String[size];
+        String[] missing = new String[size];
+        Random rand = new Random(size);
+        for (int i = 0; i < size; i++) {
+            keys[i] = Long.toString(rand.nextLong() & Long.MAX_VALUE, 36);
+            missing[i] = keys[i] + "!";
+        }
+
+        long start = System.nanoTime();
+        IDictionary<String, Integer> dict = new ChainedHashDictionary<>();
+        for (int i = 0; i < size; i++) {
+            dict.put(keys[i], i);
+        }
+        long checksum = 0;
+        for (int i = size - 1; i >= 0; i--) {
+            checksum += dict.get(keys[i]);
+        }
+        for (int i = 0; i < size; i++) {
+            if (dict.containsKey(missing[i])) {
+                checksum++;
+            }
+        }
+        long elapsed = Math.max(1, System.nanoTime() - start);
+
+        if (checksum < 0) {
+            throw new IllegalStateException("Unexpected checksum");
+        }
+        return 3L * size * 1000000000L / elapsed;
+    }
+}
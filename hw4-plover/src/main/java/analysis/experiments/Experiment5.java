@@ -0,0 +1,132 @@
+package analysis.experiments;
+
+import analysis.experiments.Experiment1.FakeString1;
+import analysis.experiments.Experiment1.FakeString2;
+import analysis.experiments.Experiment1.FakeString3;
+import analysis.utils.AnalysisUtils;
+import analysis.utils.CsvWriter;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.concrete.dictionaries.SwissTableDictionary;
+import datastructures.interfaces.IDictionary;
+import datastructures.interfaces.IList;
+
+import java.util.Random;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Compares ChainedHashDictionary with SwissTableDictionary on the three hash functions from
+ * Experiment1. Tests 1 and 2 use FakeString1, tests 3 and 4 FakeString2, and tests 5 and 6
+ * FakeString3; the odd-numbered tests use ChainedHashDictionary and the even-numbered tests
+ * SwissTableDictionary.
+ *
+ * Each trial puts every key, checks containsKey for every key, and then checks containsKey
+ * for the same number of missing keys. Half of the missing keys differ from a present key only in their
+ * last character, so they have the same hash code as that key under FakeString1 and have to
+ * be compared against it. Results are in milliseconds.
+ */
+public class Experiment5 {
+    public static final int NUM_TRIALS = 5;
+    public static final long MAX_DICTIONARY_SIZE = 80000;
+    public static final long STEP = 1000;
+
+    public static final int LENGTH_PER_ARRAY = 200;
+
+    public static void main(String[] args) {
+        IList<Long> dictionarySize = AnalysisUtils.makeList(0L, MAX_DICTIONARY_SIZE, STEP);
+
+        System.out.println("Starting test");
+        IList<Long> test1Results = AnalysisUtils.runTrials(dictionarySize, Experiment5::test1, NUM_TRIALS);
+        IList<Long> test2Results = AnalysisUtils.runTrials(dictionarySize, Experiment5::test2, NUM_TRIALS);
+        IList<Long> test3Results = AnalysisUtils.runTrials(dictionarySize, Experiment5::test3, NUM_TRIALS);
+        IList<Long> test4Results = AnalysisUtils.runTrials(dictionarySize, Experiment5::test4, NUM_TRIALS);
+        IList<Long> test5Results = AnalysisUtils.runTrials(dictionarySize, Experiment5::test5, NUM_TRIALS);
+        IList<Long> test6Results = AnalysisUtils.runTrials(dictionarySize, Experiment5::test6, NUM_TRIALS);
+
+        System.out.println("Saving experiment results to file");
+        CsvWriter writer = new CsvWriter();
+        writer.addColumn("DictionarySize", dictionarySize);
+        writer.addColumn("Test1Result", test1Results);
+        writer.addColumn("Test2Result", test2Results);
+        writer.addColumn("Test3Result", test3Results);
+        writer.addColumn("Test4Result", test4Results);
+        writer.addColumn("Test5Result", test5Results);
+        writer.addColumn("Test6Result", test6Results);
+        writer.writeToFile("experimentdata/experiment5.csv");
+
+        System.out.println("All done!");
+    }
+
+    public static long test1(long dictionarySize) {
+        return test(dictionarySize, FakeString1::new, ChainedHashDictionary::new);
+    }
+
+    public static long test2(long dictionarySize) {
+        return test(dictionarySize, FakeString1::new, SwissTableDictionary::new);
+    }
+
+    public static long test3(long dictionarySize) {
+        return test(dictionarySize, FakeString2::new, ChainedHashDictionary::new);
+    }
+
+    public static long test4(long dictionarySize) {
+        return test(dictionarySize, FakeString2::new, SwissTableDictionary::new);
+    }
+
+    public static long test5(long dictionarySize) {
+        return test(dictionarySize, FakeString3::new, ChainedHashDictionary::new);
+    }
+
+    public static long test6(long dictionarySize) {
+        return test(dictionarySize, FakeString3::new, SwissTableDictionary::new);
+    }
+
+    private static <S> long test(long dictionarySize, Function<char[], S> makeKey,
+                                 Supplier<IDictionary<S, char[]>> factory) {
+        int size = (int) dictionarySize;
+        Random rand = new Random(size);
+        IList<S> keys = new DoubleLinkedList<>();
+        IList<S> missing = new DoubleLinkedList<>();
+        for (int i = 0; i < size; i++) {
+            char[] array = randomCharArray(rand, LENGTH_PER_ARRAY);
+            keys.add(makeKey.apply(array));
+
+            char[] other = i % 2 == 0 ? array.clone() : randomCharArray(rand, LENGTH_PER_ARRAY);
+            // Capital letters never appear in the generated arrays, so this key is missing.
+            other[LENGTH_PER_ARRAY - 1] = 'A';
+            missing.add(makeKey.apply(other));
+        }
+
+        long start = System.currentTimeMillis();
+        IDictionary<S, char[]> dict = factory.get();
+        for (S key : keys) {
+            dict.put(key, null);
+        }
+        int found = 0;
+        for (S key : keys) {
+            if (dict.containsKey(key)) {
+                found++;
+            }
+        }
+        for (S key : missing) {
+            if (dict.containsKey(key)) {
+                found--;
+            }
+        }
+        long elapsed = System.currentTimeMillis() - start;
+
+        if (found != size) {
+            throw new IllegalStateException("Unexpected number of keys found");
+        }
+        return elapsed;
+    }
+
+    private static char[] randomCharArray(Random rand, int length) {
+        char[] array = new char[length];
+        for (int j = 0; j < length; j++) {
+            array[j] = (char) (rand.nextInt('z' - 'a') + 'a');
+        }
+        return array;
+    }
+}
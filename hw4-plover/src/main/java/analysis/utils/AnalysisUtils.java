@@ -1,6 +1,7 @@
 package analysis.utils;
 
-import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.DynamicArrayList;
+import datastructures.concrete.DynamicArrayList;
 import datastructures.concrete.dictionaries.AVLDictionary;
 import datastructures.concrete.dictionaries.ArrayDictionary;
 import datastructures.interfaces.IDictionary;
@@ -20,7 +21,7 @@ public class AnalysisUtils {
      * Constructs a list of longs starting with 'size', going to 'end', in 'step' increments.
      */
     public static IList<Long> makeList(long start, long end, long step) {
-        IList<Long> out = new DoubleLinkedList<>();
+        IList<Long> out = new DynamicArrayList<>();
         for (long i = start; i < end; i += step) {
             out.add(i);
         }
@@ -71,7 +72,7 @@ public class AnalysisUtils {
      * for some code to run), you should try using the 'runTrials' helper method below.
      */
     public static IList<Long> runSingleTrial(IList<Long> inputs, Function<Long, Long> testerFunction) {
-        IList<Long> trial = new DoubleLinkedList<>();
+        IList<Long> trial = new DynamicArrayList<>(inputs.size());
         for (long input : inputs) {
             trial.add(testerFunction.apply(input));
         }
@@ -88,7 +89,7 @@ public class AnalysisUtils {
         System.out.println("    Running preliminary trial to warm up caches (will discard result)");
         runSingleTrial(inputs, testerFunction);
 
-        IList<IList<Long>> trials = new DoubleLinkedList<>();
+        IList<IList<Long>> trials = new DynamicArrayList<>(numTrials);
         for (int i = 0; i < numTrials; i++) {
             System.out.println("    Starting trial " + i);
             trials.add(runSingleTrial(inputs, testerFunction));
@@ -109,7 +110,7 @@ public class AnalysisUtils {
         }
         int numEntries = entries.size();
 
-        IList<Long> result = new DoubleLinkedList<>();
+        IList<Long> result = new DynamicArrayList<>(entries.get(0).size());
         RowIterator<Long> rowIter = new RowIterator<>(entries);
         while (rowIter.hasNext()) {
             IList<Long> trial = rowIter.next();
@@ -1,23 +1,41 @@
 package datastructures.concrete.dictionaries;
 
 import datastructures.interfaces.IDictionary;
+import misc.exceptions.EmptyContainerException;
 import misc.exceptions.NoSuchKeyException;
 
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
-import java.util.Stack;
 
 /**
  * AVL Dictionary implementation of the Dictionary ADT.
  *
+ * Besides the usual dictionary operations, this dictionary keeps its keys in sorted order and
+ * supports ordered queries (first/last, floor/ceiling, range iteration and rank/select). Every
+ * node tracks the size of its subtree, so all of these run in O(log n) time.
+ *
  * Does not allow null keys.
  */
 public class AVLDictionary<K extends Comparable<K>, V> implements IDictionary<K, V> {
+    // An AVL tree with n nodes is at most about 1.44 * log2(n) tall, so no tree that fits
+    // in an int-sized dictionary is ever deeper than this.
+    private static final int MAX_DEPTH = 48;
+
     private AVLNode<K, V> overallRoot;
-    private int size;
 
+    // Scratch space for put and remove: the nodes on the path from the root down to the
+    // node being changed, so we can rebalance on the way back up without recursing.
+    private AVLNode<K, V>[] path;
+
+    // Counts structural modifications (adding or removing a key); iterators use this to detect
+    // concurrent changes. Overwriting the value of an existing key does not count.
+    private int modCount;
+
+    @SuppressWarnings("unchecked")
     public AVLDictionary() {
-        this.size = 0;
+        this.overallRoot = null;
+        this.path = (AVLNode<K, V>[]) new AVLNode[MAX_DEPTH];
     }
 
     /**
@@ -28,10 +46,8 @@ public class AVLDictionary<K extends Comparable<K>, V> implements IDictionary<K,
      */
     @Override
     public V get(K key) {
-        if (key == null) {
-            throw new IllegalArgumentException();
-        }
-        AVLNode<K, V> node = get(key, this.overallRoot);
+        checkKey(key);
+        AVLNode<K, V> node = find(key);
         if (node == null) {
             throw new NoSuchKeyException();
         }
@@ -41,24 +57,29 @@ public class AVLDictionary<K extends Comparable<K>, V> implements IDictionary<K,
     /**
      * Returns the node with the given key or null if no such node is found.
      */
-    private AVLNode<K, V> get(K key, AVLNode<K, V> root) {
-        if (root == null) {
-            return null;
-        } else if (key.compareTo(root.key) < 0) {
-            return get(key, root.left);
-        } else if (key.compareTo(root.key) > 0) {
-            return get(key, root.right);
+    private AVLNode<K, V> find(K key) {
+        AVLNode<K, V> current = this.overallRoot;
+        while (current != null) {
+            int cmp = key.compareTo(current.key);
+            if (cmp == 0) {
+                return current;
+            }
+            current = cmp < 0 ? current.left : current.right;
         }
-        return root;
+        return null;
     }
 
     /**
      * Returns the value corresponding to the given key or defaultValue if the key is not found.
+     * Unlike get, a miss never throws.
+     *
+     * @throws IllegalArgumentException if the given key is null.
      */
     @Override
     public V getOrDefault(K key, V defaultValue) {
-        V value = get(key);
-        return value == null ? defaultValue : value;
+        checkKey(key);
+        AVLNode<K, V> node = find(key);
+        return node == null ? defaultValue : node.value;
     }
 
     /**
@@ -68,31 +89,134 @@ public class AVLDictionary<K extends Comparable<K>, V> implements IDictionary<K,
      */
     @Override
     public void put(K key, V value) {
-        if (key == null) {
-            throw new IllegalArgumentException();
+        checkKey(key);
+        if (this.overallRoot == null) {
+            this.overallRoot = new AVLNode<>(key, value);
+            this.modCount++;
+            return;
+        }
+
+        int depth = 0;
+        AVLNode<K, V> current = this.overallRoot;
+        while (true) {
+            this.path[depth++] = current;
+            int cmp = key.compareTo(current.key);
+            if (cmp == 0) {
+                current.value = value;
+                clearPath(depth);
+                return;
+            } else if (cmp < 0) {
+                if (current.left == null) {
+                    current.left = new AVLNode<>(key, value);
+                    break;
+                }
+                current = current.left;
+            } else {
+                if (current.right == null) {
+                    current.right = new AVLNode<>(key, value);
+                    break;
+                }
+                current = current.right;
+            }
         }
-        this.overallRoot = put(key, value, this.overallRoot);
+        this.modCount++;
+        rebalancePath(depth);
     }
 
     /**
-     * Adds the given key-value pair into the dictionary.  Overwrites value if key already exists.
+     * Adds every key-value pair in the given dictionary into this one. If this dictionary is
+     * empty and 'other' yields its keys in strictly increasing order (as another
+     * AVLDictionary does), the tree is built directly in O(n) time with no rotations.
+     * Otherwise, each pair is put one at a time.
+     *
+     * @throws IllegalArgumentException if any key in 'other' is null.
      */
-    private AVLNode<K, V> put(K key, V value, AVLNode<K, V> root) {
-        if (root == null) {
-            this.size++;
-            return new AVLNode<>(key, value);
+    @Override
+    @SuppressWarnings("unchecked")
+    public void putAll(IDictionary<? extends K, ? extends V> other) {
+        if (other == this) {
+            return;
+        }
+        if (this.overallRoot != null) {
+            IDictionary.super.putAll(other);
+            return;
+        }
+        int count = other.size();
+        K[] keys = (K[]) new Comparable[count];
+        V[] values = (V[]) new Object[count];
+        int i = 0;
+        boolean sorted = true;
+        for (KVPair<? extends K, ? extends V> pair : other) {
+            checkKey(pair.getKey());
+            keys[i] = pair.getKey();
+            values[i] = pair.getValue();
+            sorted = sorted && (i == 0 || keys[i - 1].compareTo(keys[i]) < 0);
+            i++;
         }
+        if (sorted) {
+            this.overallRoot = build(keys, values, 0, count - 1);
+            this.modCount++;
+        } else {
+            for (int j = 0; j < count; j++) {
+                this.put(keys[j], values[j]);
+            }
+        }
+    }
 
-        if (key.compareTo(root.key) < 0) {
-            root.left = put(key, value, root.left);
-        } else if (key.compareTo(root.key) > 0) {
-            root.right = put(key, value, root.right);
+    /**
+     * Returns a perfectly balanced subtree holding the sorted keys (and their values) between
+     * indices lo and hi, inclusive.
+     */
+    private AVLNode<K, V> build(K[] keys, V[] values, int lo, int hi) {
+        if (lo > hi) {
+            return null;
+        }
+        int mid = (lo + hi) >>> 1;
+        AVLNode<K, V> root = new AVLNode<>(keys[mid], values[mid]);
+        root.left = build(keys, values, lo, mid - 1);
+        root.right = build(keys, values, mid + 1, hi);
+        update(root);
+        return root;
+    }
+
+    /**
+     * Walks back up the first 'depth' nodes of the path, from the deepest one to the root,
+     * refreshing each node's height and size and rebalancing it. Clears the path afterwards.
+     */
+    private void rebalancePath(int depth) {
+        for (int i = depth - 1; i >= 0; i--) {
+            AVLNode<K, V> node = this.path[i];
+            update(node);
+            AVLNode<K, V> balanced = balanceTree(node);
+            if (balanced != node) {
+                replaceChild(i, node, balanced);
+            }
+            this.path[i] = null;
+        }
+    }
+
+    /**
+     * Makes 'replacement' take the place of 'child', the node at the given index in the path,
+     * under that node's parent (or as the root, if it has none).
+     */
+    private void replaceChild(int index, AVLNode<K, V> child, AVLNode<K, V> replacement) {
+        if (index == 0) {
+            this.overallRoot = replacement;
+        } else if (this.path[index - 1].left == child) {
+            this.path[index - 1].left = replacement;
         } else {
-            root.value = value;
-            return root;
+            this.path[index - 1].right = replacement;
+        }
+    }
+
+    /**
+     * Drops the references held by the first 'depth' entries of the path so that removed
+     * nodes can be garbage collected.
+     */
+    private void clearPath(int depth) {
+        for (int i = 0; i < depth; i++) {
+            this.path[i] = null;
         }
-        updateHeight(root);
-        return balanceTree(root);
     }
 
     /**
@@ -122,10 +246,11 @@ public class AVLDictionary<K extends Comparable<K>, V> implements IDictionary<K,
     }
 
     /**
-     * Sets the given node's height to the maximum of its subtrees' heights plus 1.
+     * Recomputes the given node's height and subtree size from those of its children.
      */
-    private void updateHeight(AVLNode<K, V> node) {
+    private void update(AVLNode<K, V> node) {
         node.height = Math.max(getHeight(node.left), getHeight(node.right)) + 1;
+        node.size = getSize(node.left) + getSize(node.right) + 1;
     }
 
     /**
@@ -136,6 +261,13 @@ public class AVLDictionary<K extends Comparable<K>, V> implements IDictionary<K,
         return node == null ? -1 : node.height;
     }
 
+    /**
+     * Returns the number of nodes in the given node's subtree.
+     */
+    private int getSize(AVLNode<K, V> node) {
+        return node == null ? 0 : node.size;
+    }
+
     /**
      * Performs a right rotation on the given subtree. Returns the rotated subtree.
      */
@@ -143,8 +275,8 @@ public class AVLDictionary<K extends Comparable<K>, V> implements IDictionary<K,
         AVLNode<K, V> leftChild = root.left;
         root.left = leftChild.right;
         leftChild.right = root;
-        updateHeight(leftChild);
-        updateHeight(root);
+        update(root);
+        update(leftChild);
         return leftChild;
     }
 
@@ -155,25 +287,86 @@ public class AVLDictionary<K extends Comparable<K>, V> implements IDictionary<K,
         AVLNode<K, V> rightChild = root.right;
         root.right = rightChild.left;
         rightChild.left = root;
-        updateHeight(rightChild);
-        updateHeight(root);
+        update(root);
+        update(rightChild);
         return rightChild;
     }
 
     /**
-     * Remove has been left unimplemented.
+     * Removes the key-value pair corresponding to the given key from the dictionary and
+     * returns its value.
+     *
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     * @throws IllegalArgumentException if the given key is null.
      */
     @Override
     public V remove(K key) {
-        throw new UnsupportedOperationException();
+        checkKey(key);
+        int depth = 0;
+        AVLNode<K, V> current = this.overallRoot;
+        while (current != null) {
+            this.path[depth++] = current;
+            int cmp = key.compareTo(current.key);
+            if (cmp == 0) {
+                break;
+            }
+            current = cmp < 0 ? current.left : current.right;
+        }
+        if (current == null) {
+            clearPath(depth);
+            throw new NoSuchKeyException();
+        }
+
+        V value = current.value;
+        if (current.left != null && current.right != null) {
+            // Two children: take over the in-order successor's pair, then unlink the successor,
+            // which has no left child.
+            AVLNode<K, V> successor = current.right;
+            this.path[depth++] = successor;
+            while (successor.left != null) {
+                successor = successor.left;
+                this.path[depth++] = successor;
+            }
+            current.key = successor.key;
+            current.value = successor.value;
+            current = successor;
+        }
+        replaceChild(depth - 1, current, current.left != null ? current.left : current.right);
+        this.path[--depth] = null;
+        this.modCount++;
+        rebalancePath(depth);
+        return value;
+    }
+
+    /**
+     * Returns the node with the smallest key in the given non-empty subtree.
+     */
+    private AVLNode<K, V> min(AVLNode<K, V> root) {
+        while (root.left != null) {
+            root = root.left;
+        }
+        return root;
+    }
+
+    /**
+     * Returns the node with the largest key in the given non-empty subtree.
+     */
+    private AVLNode<K, V> max(AVLNode<K, V> root) {
+        while (root.right != null) {
+            root = root.right;
+        }
+        return root;
     }
 
     /**
      * Returns 'true' if the dictionary contains the given key and 'false' otherwise.
+     *
+     * @throws IllegalArgumentException if the given key is null.
      */
     @Override
     public boolean containsKey(K key) {
-        return get(key, this.overallRoot) != null;
+        checkKey(key);
+        return find(key) != null;
     }
 
     /**
@@ -181,7 +374,7 @@ public class AVLDictionary<K extends Comparable<K>, V> implements IDictionary<K,
      */
     @Override
     public int size() {
-        return this.size;
+        return getSize(this.overallRoot);
     }
 
     /**
@@ -192,18 +385,161 @@ public class AVLDictionary<K extends Comparable<K>, V> implements IDictionary<K,
         return overallRoot == null;
     }
 
+    /**
+     * Returns the smallest key in this dictionary.
+     *
+     * @throws EmptyContainerException if the dictionary is empty.
+     */
+    public K firstKey() {
+        if (this.overallRoot == null) {
+            throw new EmptyContainerException();
+        }
+        return min(this.overallRoot).key;
+    }
+
+    /**
+     * Returns the largest key in this dictionary.
+     *
+     * @throws EmptyContainerException if the dictionary is empty.
+     */
+    public K lastKey() {
+        if (this.overallRoot == null) {
+            throw new EmptyContainerException();
+        }
+        return max(this.overallRoot).key;
+    }
+
+    /**
+     * Returns the largest key less than or equal to the given key, or null if there is none.
+     *
+     * @throws IllegalArgumentException if the given key is null.
+     */
+    public K floorKey(K key) {
+        checkKey(key);
+        K result = null;
+        AVLNode<K, V> current = this.overallRoot;
+        while (current != null) {
+            int cmp = key.compareTo(current.key);
+            if (cmp == 0) {
+                return current.key;
+            } else if (cmp < 0) {
+                current = current.left;
+            } else {
+                result = current.key;
+                current = current.right;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the smallest key greater than or equal to the given key, or null if there is none.
+     *
+     * @throws IllegalArgumentException if the given key is null.
+     */
+    public K ceilingKey(K key) {
+        checkKey(key);
+        K result = null;
+        AVLNode<K, V> current = this.overallRoot;
+        while (current != null) {
+            int cmp = key.compareTo(current.key);
+            if (cmp == 0) {
+                return current.key;
+            } else if (cmp > 0) {
+                current = current.right;
+            } else {
+                result = current.key;
+                current = current.left;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of keys in this dictionary that are strictly less than the given key.
+     * The key itself does not need to be present.
+     *
+     * @throws IllegalArgumentException if the given key is null.
+     */
+    public int rank(K key) {
+        checkKey(key);
+        int rank = 0;
+        AVLNode<K, V> current = this.overallRoot;
+        while (current != null) {
+            int cmp = key.compareTo(current.key);
+            if (cmp < 0) {
+                current = current.left;
+            } else {
+                rank += getSize(current.left);
+                if (cmp == 0) {
+                    return rank;
+                }
+                rank++;
+                current = current.right;
+            }
+        }
+        return rank;
+    }
+
+    /**
+     * Returns the key with the given rank, that is, the key that would be at the given index if
+     * all the keys were listed in increasing order.
+     *
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     */
+    public K select(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException();
+        }
+        AVLNode<K, V> current = this.overallRoot;
+        while (true) {
+            int leftSize = getSize(current.left);
+            if (index < leftSize) {
+                current = current.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                current = current.right;
+            } else {
+                return current.key;
+            }
+        }
+    }
+
+    /**
+     * Returns an iterable over the key-value pairs whose keys are at least lo and strictly less
+     * than hi, in increasing key order. Each iterator it creates starts in O(log n) time and
+     * never visits pairs outside the range.
+     *
+     * @throws IllegalArgumentException if either bound is null or if lo is greater than hi.
+     */
+    public Iterable<KVPair<K, V>> subMap(K lo, K hi) {
+        checkKey(lo);
+        checkKey(hi);
+        if (lo.compareTo(hi) > 0) {
+            throw new IllegalArgumentException();
+        }
+        return () -> new AVLIterator(lo, hi);
+    }
+
     /**
      * Returns an iterator that, when used, will yield all key-value pairs contained within
-     * this dictionary.
+     * this dictionary, in increasing key order.
      */
     @Override
     public Iterator<KVPair<K, V>> iterator() {
-        return new AVLIterator<>(this.overallRoot);
+        return new AVLIterator(null, null);
+    }
+
+    private void checkKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException();
+        }
     }
 
     /**
      * AVLNode class. Nodes store a key and a value and have at most two children. Each node
-     * keeps track of its own height in the AVL Tree. This is used to balance the tree.
+     * keeps track of its own height in the AVL Tree, which is used to balance the tree, and of
+     * the number of nodes in its subtree, which is used for rank and select.
      */
     private static class AVLNode<K, V> {
         public AVLNode<K, V> left;
@@ -211,6 +547,7 @@ public class AVLDictionary<K extends Comparable<K>, V> implements IDictionary<K,
         public K key;
         public V value;
         public int height;
+        public int size;
 
         public AVLNode(K key, V value) {
             left = null;
@@ -218,32 +555,61 @@ public class AVLDictionary<K extends Comparable<K>, V> implements IDictionary<K,
             this.key = key;
             this.value = value;
             this.height = 0;
+            this.size = 1;
         }
     }
 
     /**
      * AVLIterator Class. Creates an iterator over the key-value pairs stored in the AVL Dictionary.
+     * The tree is walked lazily in order: the stack holds the nodes whose key has not been
+     * returned yet but whose left subtree has already been visited. Those nodes always lie on a
+     * single path down from the root, so a plain array as tall as the tree is enough to hold them.
+     *
+     * If lo is non-null, the walk starts at the first key that is at least lo; if hi is non-null,
+     * it stops before the first key that is at least hi.
      */
-    private static class AVLIterator<K, V> implements Iterator<KVPair<K, V>> {
-        private Stack<KVPair<K, V>> stack;
+    private class AVLIterator implements Iterator<KVPair<K, V>> {
+        private AVLNode<K, V>[] stack;
+        private int top;
+        private K hi;
+        private int expectedModCount;
 
-        public AVLIterator(AVLNode<K, V> overallRoot) {
-            this.stack = new Stack<>();
-            reverseOrderFill(overallRoot);
+        @SuppressWarnings("unchecked")
+        public AVLIterator(K lo, K hi) {
+            this.stack = (AVLNode<K, V>[]) new AVLNode[getHeight(overallRoot) + 1];
+            this.top = 0;
+            this.hi = hi;
+            this.expectedModCount = modCount;
+            if (lo == null) {
+                pushLeftSpine(overallRoot);
+            } else {
+                // Keep only the ancestors we'd still have to return, skipping keys below lo.
+                AVLNode<K, V> current = overallRoot;
+                while (current != null) {
+                    if (lo.compareTo(current.key) <= 0) {
+                        this.stack[this.top++] = current;
+                        current = current.left;
+                    } else {
+                        current = current.right;
+                    }
+                }
+            }
         }
 
-        private void reverseOrderFill(AVLNode<K, V> root) {
-            if (root == null) {
-                return;
+        private void pushLeftSpine(AVLNode<K, V> root) {
+            while (root != null) {
+                this.stack[this.top++] = root;
+                root = root.left;
             }
-            reverseOrderFill(root.right);
-            this.stack.push(new KVPair<>(root.key, root.value));
-            reverseOrderFill(root.left);
         }
 
         @Override
         public boolean hasNext() {
-            return this.stack.size() > 0;
+            if (modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            return this.top > 0
+                    && (this.hi == null || this.stack[this.top - 1].key.compareTo(this.hi) < 0);
         }
 
         @Override
@@ -251,7 +617,10 @@ public class AVLDictionary<K extends Comparable<K>, V> implements IDictionary<K,
             if (!hasNext()) {
                 throw new NoSuchElementException();
             }
-            return this.stack.pop();
+            AVLNode<K, V> node = this.stack[--this.top];
+            this.stack[this.top] = null;
+            pushLeftSpine(node.right);
+            return new KVPair<>(node.key, node.value);
         }
     }
 }
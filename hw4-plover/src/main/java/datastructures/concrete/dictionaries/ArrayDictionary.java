@@ -2,6 +2,7 @@ package datastructures.concrete.dictionaries;
 
 import datastructures.interfaces.IDictionary;
 import misc.exceptions.NoSuchKeyException;
+import java.util.ConcurrentModificationException;
 import java.util.NoSuchElementException;
 //import misc.exceptions.NotYetImplementedException;
 
@@ -18,9 +19,27 @@ public class ArrayDictionary<K, V> implements IDictionary<K, V> {
     private int elements; // stores the number of elements
     private int capacity; //
 
+    // Counts structural modifications (adding or removing a key); iterators use this to
+    // detect concurrent changes. Overwriting the value of an existing key does not count.
+    private int modCount;
+
     public ArrayDictionary() {
-        this.capacity = 10;
-        this.pairs = makeArrayOfPairs(capacity);
+        this(10);
+    }
+
+    /**
+     * Creates a dictionary whose array starts out with room for the given number of pairs,
+     * so that adding up to that many pairs never has to grow the array.
+     * (ChainedHashDictionary also uses this to keep its usually tiny chains small.)
+     *
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public ArrayDictionary(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must be non-negative");
+        }
+        this.capacity = Math.max(1, capacity);
+        this.pairs = makeArrayOfPairs(this.capacity);
         this.elements = 0;
     }
 
@@ -63,23 +82,54 @@ public class ArrayDictionary<K, V> implements IDictionary<K, V> {
         throw new NoSuchKeyException();
     }
 
+    /**
+     * Returns the value corresponding to the given key or defaultValue if the key is not found.
+     */
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        int index = getIndex(key);
+        return index < elements ? pairs[index].value : defaultValue;
+    }
+
     @Override
     public void put(K key, V value) {
-        Pair<K, V> newPair = new Pair<>(key, value);
         int index = getIndex(key);
         if (index < elements){ // key found in original array
-            pairs[index] = newPair;
+            pairs[index].value = value;
         }
         else { // not found
-            if (pairs.length == this.elements){
-                Pair<K, V>[] newArr = new Pair[pairs.length * 2];          // make a new array with twice the size
-                for (int i = 0; i < this.elements; i++){                   // move everything to the new array
-                    newArr[i] = pairs[i];
-                }
-                this.pairs = newArr;
-            }
-            pairs[elements] = newPair;
+            ensureCapacity();
+            pairs[elements] = new Pair<>(key, value);
             elements++;
+            modCount++;
+        }
+    }
+
+    /**
+     * Grows the array once to fit every new pair. If this dictionary starts out empty, the
+     * pairs are copied over without searching for duplicates, since the keys in 'other'
+     * are already unique.
+     */
+    @Override
+    public void putAll(IDictionary<? extends K, ? extends V> other) {
+        if (other == this) {
+            return;
+        }
+        ensureCapacity(this.elements + other.size());
+        int oldElements = this.elements;
+        boolean wasEmpty = this.elements == 0;
+        for (KVPair<? extends K, ? extends V> pair : other) {
+            int index = wasEmpty ? elements : getIndex(pair.getKey());
+            if (index < elements) {
+                pairs[index].value = pair.getValue();
+            } else {
+                pairs[elements] = new Pair<>(pair.getKey(), pair.getValue());
+                elements++;
+            }
+        }
+        // Overwriting existing keys is not a structural change.
+        if (this.elements != oldElements) {
+            modCount++;
         }
     }
 
@@ -90,7 +140,9 @@ public class ArrayDictionary<K, V> implements IDictionary<K, V> {
         if (index < elements) {
             result = pairs[index].value;
             pairs[index] = pairs[elements - 1];
+            pairs[elements - 1] = null;
             elements--;
+            modCount++;
             return result;
         }
         throw new NoSuchKeyException();
@@ -137,9 +189,89 @@ public class ArrayDictionary<K, V> implements IDictionary<K, V> {
         return elements;
     }
 
+    /**
+     * Doubles the length of the 'pairs' array if it is full.
+     */
+    private void ensureCapacity() {
+        ensureCapacity(this.elements + 1);
+    }
+
+    /**
+     * Grows the 'pairs' array, if needed, so it can hold at least 'minCapacity' pairs.
+     */
+    private void ensureCapacity(int minCapacity) {
+        if (pairs.length < minCapacity){
+            int newLength = Math.max(minCapacity, pairs.length * 2);
+            Pair<K, V>[] newArr = makeArrayOfPairs(newLength);      // make a new, bigger array
+            System.arraycopy(pairs, 0, newArr, 0, this.elements);  // move everything to the new array
+            this.pairs = newArr;
+        }
+    }
+
+    // The methods below let ChainedHashDictionary use an ArrayDictionary as one of its
+    // chains without re-hashing or re-scanning it. The hash passed in is cached inside the
+    // pair, so a chain lookup only calls 'equals' on keys whose hashes already match.
+    //
+    // A dictionary must be filled only through 'append' (never through 'put') for the
+    // hash-based lookup to be valid.
+
+    /**
+     * Returns the index of the pair with the given key and hash, or -1 if there is none.
+     */
+    int indexOf(K key, int hash) {
+        for (int i = 0; i < elements; i++) {
+            Pair<K, V> pair = pairs[i];
+            if (pair.hash == hash && (key == pair.key || (key != null && key.equals(pair.key)))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds a new pair to the end of this dictionary. The key must not already be present.
+     */
+    void append(K key, V value, int hash) {
+        ensureCapacity();
+        Pair<K, V> pair = new Pair<>(key, value);
+        pair.hash = hash;
+        pairs[elements] = pair;
+        elements++;
+        modCount++;
+    }
+
+    K keyAt(int index) {
+        return pairs[index].key;
+    }
+
+    V valueAt(int index) {
+        return pairs[index].value;
+    }
+
+    int hashAt(int index) {
+        return pairs[index].hash;
+    }
+
+    void setValueAt(int index, V value) {
+        pairs[index].value = value;
+    }
+
+    /**
+     * Removes the pair at the given index and returns its value.
+     */
+    V removeAt(int index) {
+        V result = pairs[index].value;
+        pairs[index] = pairs[elements - 1];
+        pairs[elements - 1] = null;
+        elements--;
+        modCount++;
+        return result;
+    }
+
     private static class Pair<K, V> {
         public K key;
         public V value;
+        public int hash;
 
         // You may add constructors and methods to this class as necessary.
         public Pair(K key, V value) {
@@ -154,38 +286,37 @@ public class ArrayDictionary<K, V> implements IDictionary<K, V> {
     }
     @Override
     public Iterator<KVPair<K, V>> iterator() {
-        return new ArrayDictionaryIterator<>(this.elements, pairs);
+        return new ArrayDictionaryIterator();
     }
 
-    private static class ArrayDictionaryIterator<K, V> implements Iterator<KVPair<K, V>> {
+    private class ArrayDictionaryIterator implements Iterator<KVPair<K, V>> {
         // Add any fields you need to store state information
 
         private int index;
-        private int capacity;
-        private Pair<K, V>[] pairs;
-        private KVPair<K, V> curPair;
+        private int expectedModCount;
 
-        public ArrayDictionaryIterator(int cap, Pair<K, V>[] pairsArr) {
+        public ArrayDictionaryIterator() {
             // Initialize the iterator
             index = 0;
-            capacity = cap;
-            pairs = pairsArr;
+            expectedModCount = modCount;
         }
 
         public boolean hasNext() {
             // Implement hasNext
-            return index < capacity;
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            return index < elements;
         }
 
         public KVPair<K, V> next() {
             // Return the next KVPair in the dictionary
             if (!this.hasNext()) {
-
                 throw new NoSuchElementException();
             }
-            curPair = new KVPair(pairs[index].key, pairs[index].value);
+            Pair<K, V> pair = pairs[index];
             index++;
-            return curPair;
+            return new KVPair<>(pair.key, pair.value);
         }
     }
 }
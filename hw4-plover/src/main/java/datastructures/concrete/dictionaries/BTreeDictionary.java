@@ -0,0 +1,826 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.interfaces.IDictionary;
+import misc.exceptions.EmptyContainerException;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * B-tree implementation of the Dictionary ADT, meant as a more cache-friendly alternative to
+ * AVLDictionary for large sorted maps.
+ *
+ * This is a B+ tree: every key-value pair lives in a leaf, and each leaf keeps up to 'order'
+ * pairs side by side in arrays and links to the next leaf. Internal nodes hold up to 'order'
+ * children, plus the separator keys between them and the number of pairs under each child.
+ * Searching a node is a binary search over one contiguous array, so a lookup touches
+ * roughly log_order(n) nodes instead of log_2(n).
+ *
+ * It supports the same ordered queries as AVLDictionary (first/last, floor/ceiling, range
+ * iteration and rank/select), all in O(log n) time.
+ *
+ * Does not allow null keys.
+ */
+public class BTreeDictionary<K extends Comparable<K>, V> implements IDictionary<K, V> {
+    private static final int DEFAULT_ORDER = 64;
+
+    private final int order;
+    private Node<K, V> root;
+    private int size;
+
+    // Counts structural modifications (adding or removing a key); iterators use this to detect
+    // concurrent changes. Overwriting the value of an existing key does not count.
+    private int modCount;
+
+    // Set by the recursive put and remove helpers to report back to their caller: the separator
+    // key to add to the parent after a split, whether put added a new key, and the value remove
+    // took out.
+    private K splitKey;
+    private boolean added;
+    private V removedValue;
+
+    public BTreeDictionary() {
+        this(DEFAULT_ORDER);
+    }
+
+    /**
+     * Creates an empty dictionary whose nodes hold at most 'order' pairs (in a leaf) or
+     * children (in an internal node).
+     *
+     * @throws IllegalArgumentException if order is less than 3.
+     */
+    public BTreeDictionary(int order) {
+        if (order < 3) {
+            throw new IllegalArgumentException("Order must be at least 3, got " + order);
+        }
+        this.order = order;
+        this.root = new Leaf<>(order);
+        this.size = 0;
+    }
+
+    /**
+     * Returns the value corresponding to a given key.
+     *
+     * @throws NoSuchKeyException if the key is not found.
+     * @throws IllegalArgumentException if the given key is null.
+     */
+    @Override
+    public V get(K key) {
+        checkKey(key);
+        Leaf<K, V> leaf = findLeaf(key);
+        int index = Arrays.binarySearch(leaf.keys, 0, leaf.count, key);
+        if (index < 0) {
+            throw new NoSuchKeyException();
+        }
+        return leaf.values[index];
+    }
+
+    /**
+     * Returns the value corresponding to the given key or defaultValue if the key is not found.
+     *
+     * @throws IllegalArgumentException if the given key is null.
+     */
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        checkKey(key);
+        Leaf<K, V> leaf = findLeaf(key);
+        int index = Arrays.binarySearch(leaf.keys, 0, leaf.count, key);
+        return index < 0 ? defaultValue : leaf.values[index];
+    }
+
+    /**
+     * Returns 'true' if the dictionary contains the given key and 'false' otherwise.
+     *
+     * @throws IllegalArgumentException if the given key is null.
+     */
+    @Override
+    public boolean containsKey(K key) {
+        checkKey(key);
+        Leaf<K, V> leaf = findLeaf(key);
+        return Arrays.binarySearch(leaf.keys, 0, leaf.count, key) >= 0;
+    }
+
+    /**
+     * Returns the leaf that holds the given key, if it is present at all.
+     */
+    private Leaf<K, V> findLeaf(K key) {
+        Node<K, V> current = this.root;
+        while (current instanceof Internal) {
+            Internal<K, V> internal = (Internal<K, V>) current;
+            current = internal.children[childIndex(internal, key)];
+        }
+        return (Leaf<K, V>) current;
+    }
+
+    /**
+     * Returns the index of the child of the given node whose subtree would hold the given key.
+     * Each separator is the smallest key of the subtree to its right, so keys equal to a
+     * separator go right.
+     */
+    private int childIndex(Internal<K, V> node, K key) {
+        int index = Arrays.binarySearch(node.keys, 0, node.count, key);
+        return index >= 0 ? index + 1 : -(index + 1);
+    }
+
+    /**
+     * Adds the given key-value pair into the dictionary. Overwrites value if key already exists.
+     *
+     * @throws IllegalArgumentException if the given key is null.
+     */
+    @Override
+    public void put(K key, V value) {
+        checkKey(key);
+        this.added = false;
+        Node<K, V> sibling = put(this.root, key, value);
+        if (sibling != null) {
+            Internal<K, V> newRoot = new Internal<>(this.order);
+            newRoot.keys[0] = this.splitKey;
+            newRoot.children[0] = this.root;
+            newRoot.children[1] = sibling;
+            newRoot.sizes[0] = sizeOf(this.root);
+            newRoot.sizes[1] = sizeOf(sibling);
+            newRoot.count = 1;
+            this.root = newRoot;
+        }
+        this.splitKey = null;
+        if (this.added) {
+            this.size++;
+            this.modCount++;
+        }
+    }
+
+    /**
+     * Adds the given key-value pair to the given subtree. If that overflows the subtree's root,
+     * splits it and returns the new right half, leaving its smallest key in splitKey.
+     * Otherwise, returns null.
+     */
+    private Node<K, V> put(Node<K, V> node, K key, V value) {
+        if (node instanceof Leaf) {
+            Leaf<K, V> leaf = (Leaf<K, V>) node;
+            int index = Arrays.binarySearch(leaf.keys, 0, leaf.count, key);
+            if (index >= 0) {
+                leaf.values[index] = value;
+                return null;
+            }
+            index = -(index + 1);
+            System.arraycopy(leaf.keys, index, leaf.keys, index + 1, leaf.count - index);
+            System.arraycopy(leaf.values, index, leaf.values, index + 1, leaf.count - index);
+            leaf.keys[index] = key;
+            leaf.values[index] = value;
+            leaf.count++;
+            this.added = true;
+            return leaf.count > this.order ? splitLeaf(leaf) : null;
+        }
+
+        Internal<K, V> internal = (Internal<K, V>) node;
+        int index = childIndex(internal, key);
+        Node<K, V> sibling = put(internal.children[index], key, value);
+        if (this.added) {
+            internal.sizes[index]++;
+        }
+        if (sibling == null) {
+            return null;
+        }
+        System.arraycopy(internal.keys, index, internal.keys, index + 1, internal.count - index);
+        System.arraycopy(internal.children, index + 1, internal.children, index + 2, internal.count - index);
+        System.arraycopy(internal.sizes, index + 1, internal.sizes, index + 2, internal.count - index);
+        internal.keys[index] = this.splitKey;
+        internal.children[index + 1] = sibling;
+        internal.sizes[index] = sizeOf(internal.children[index]);
+        internal.sizes[index + 1] = sizeOf(sibling);
+        internal.count++;
+        return internal.count + 1 > this.order ? splitInternal(internal) : null;
+    }
+
+    /**
+     * Moves the upper half of an overflowing leaf into a new leaf, links it in after the old
+     * one and returns it.
+     */
+    private Leaf<K, V> splitLeaf(Leaf<K, V> leaf) {
+        Leaf<K, V> right = new Leaf<>(this.order);
+        int mid = leaf.count / 2;
+        right.count = leaf.count - mid;
+        System.arraycopy(leaf.keys, mid, right.keys, 0, right.count);
+        System.arraycopy(leaf.values, mid, right.values, 0, right.count);
+        Arrays.fill(leaf.keys, mid, leaf.count, null);
+        Arrays.fill(leaf.values, mid, leaf.count, null);
+        leaf.count = mid;
+        right.next = leaf.next;
+        leaf.next = right;
+        this.splitKey = right.keys[0];
+        return right;
+    }
+
+    /**
+     * Moves the upper half of an overflowing internal node into a new node and returns it. The
+     * separator between the two halves moves up into splitKey.
+     */
+    private Internal<K, V> splitInternal(Internal<K, V> node) {
+        Internal<K, V> right = new Internal<>(this.order);
+        int mid = node.count / 2;
+        right.count = node.count - mid - 1;
+        System.arraycopy(node.keys, mid + 1, right.keys, 0, right.count);
+        System.arraycopy(node.children, mid + 1, right.children, 0, right.count + 1);
+        System.arraycopy(node.sizes, mid + 1, right.sizes, 0, right.count + 1);
+        this.splitKey = node.keys[mid];
+        Arrays.fill(node.keys, mid, node.count, null);
+        Arrays.fill(node.children, mid + 1, node.count + 1, null);
+        node.count = mid;
+        return right;
+    }
+
+    /**
+     * Adds every key-value pair in the given dictionary into this one. If this dictionary is
+     * empty and 'other' yields its keys in strictly increasing order (as another
+     * BTreeDictionary or an AVLDictionary does), the tree is bulk-loaded bottom-up in O(n)
+     * time with nearly full nodes. Otherwise, each pair is put one at a time.
+     *
+     * @throws IllegalArgumentException if any key in 'other' is null.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void putAll(IDictionary<? extends K, ? extends V> other) {
+        if (other == this) {
+            return;
+        }
+        if (this.size != 0) {
+            IDictionary.super.putAll(other);
+            return;
+        }
+        int count = other.size();
+        K[] keys = (K[]) new Comparable[count];
+        V[] values = (V[]) new Object[count];
+        int i = 0;
+        boolean sorted = true;
+        for (KVPair<? extends K, ? extends V> pair : other) {
+            checkKey(pair.getKey());
+            keys[i] = pair.getKey();
+            values[i] = pair.getValue();
+            sorted = sorted && (i == 0 || keys[i - 1].compareTo(keys[i]) < 0);
+            i++;
+        }
+        if (!sorted) {
+            for (int j = 0; j < count; j++) {
+                this.put(keys[j], values[j]);
+            }
+        } else if (count > 0) {
+            this.root = build(keys, values);
+            this.size = count;
+            this.modCount++;
+        }
+    }
+
+    /**
+     * Builds a tree holding the given (non-empty, strictly increasing) keys and their values one
+     * level at a time, from the leaves up. Each level spreads its entries evenly over as few
+     * nodes as possible, which keeps every node at least half full.
+     */
+    @SuppressWarnings("unchecked")
+    private Node<K, V> build(K[] keys, V[] values) {
+        int numLeaves = (keys.length + this.order - 1) / this.order;
+        Node<K, V>[] level = (Node<K, V>[]) new Node[numLeaves];
+        K[] lowKeys = (K[]) new Comparable[numLeaves];
+        int start = 0;
+        Leaf<K, V> previous = null;
+        for (int i = 0; i < numLeaves; i++) {
+            int end = (int) ((long) keys.length * (i + 1) / numLeaves);
+            Leaf<K, V> leaf = new Leaf<>(this.order);
+            leaf.count = end - start;
+            System.arraycopy(keys, start, leaf.keys, 0, leaf.count);
+            System.arraycopy(values, start, leaf.values, 0, leaf.count);
+            if (previous != null) {
+                previous.next = leaf;
+            }
+            level[i] = leaf;
+            lowKeys[i] = keys[start];
+            previous = leaf;
+            start = end;
+        }
+
+        while (level.length > 1) {
+            int numParents = (level.length + this.order - 1) / this.order;
+            Node<K, V>[] parents = (Node<K, V>[]) new Node[numParents];
+            K[] parentLowKeys = (K[]) new Comparable[numParents];
+            start = 0;
+            for (int i = 0; i < numParents; i++) {
+                int end = level.length * (i + 1) / numParents;
+                Internal<K, V> parent = new Internal<>(this.order);
+                parent.count = end - start - 1;
+                for (int j = start; j < end; j++) {
+                    parent.children[j - start] = level[j];
+                    parent.sizes[j - start] = sizeOf(level[j]);
+                    if (j > start) {
+                        parent.keys[j - start - 1] = lowKeys[j];
+                    }
+                }
+                parents[i] = parent;
+                parentLowKeys[i] = lowKeys[start];
+                start = end;
+            }
+            level = parents;
+            lowKeys = parentLowKeys;
+        }
+        return level[0];
+    }
+
+    /**
+     * Remove the key-value pair corresponding to the given key from the dictionary and returns
+     * its value.
+     *
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     * @throws IllegalArgumentException if the given key is null.
+     */
+    @Override
+    public V remove(K key) {
+        checkKey(key);
+        if (!remove(this.root, key)) {
+            throw new NoSuchKeyException();
+        }
+        if (this.root instanceof Internal && this.root.count == 0) {
+            this.root = ((Internal<K, V>) this.root).children[0];
+        }
+        V value = this.removedValue;
+        this.removedValue = null;
+        this.size--;
+        this.modCount++;
+        return value;
+    }
+
+    /**
+     * Removes the given key from the given subtree, leaving its value in removedValue. Returns
+     * 'false' (without changing anything) if the key is not there. The subtree's root may be
+     * left underfull; its parent is responsible for fixing that.
+     */
+    private boolean remove(Node<K, V> node, K key) {
+        if (node instanceof Leaf) {
+            Leaf<K, V> leaf = (Leaf<K, V>) node;
+            int index = Arrays.binarySearch(leaf.keys, 0, leaf.count, key);
+            if (index < 0) {
+                return false;
+            }
+            this.removedValue = leaf.values[index];
+            System.arraycopy(leaf.keys, index + 1, leaf.keys, index, leaf.count - index - 1);
+            System.arraycopy(leaf.values, index + 1, leaf.values, index, leaf.count - index - 1);
+            leaf.count--;
+            leaf.keys[leaf.count] = null;
+            leaf.values[leaf.count] = null;
+            return true;
+        }
+
+        Internal<K, V> internal = (Internal<K, V>) node;
+        int index = childIndex(internal, key);
+        if (!remove(internal.children[index], key)) {
+            return false;
+        }
+        internal.sizes[index]--;
+        Node<K, V> child = internal.children[index];
+        if (minEntries(child) > entries(child)) {
+            fixUnderflow(internal, index);
+        }
+        return true;
+    }
+
+    /**
+     * Brings the underfull child at the given index back up to the minimum size, either by
+     * borrowing one entry from a sibling that can spare it or by merging it with a sibling.
+     */
+    private void fixUnderflow(Internal<K, V> parent, int index) {
+        if (index > 0 && canLend(parent.children[index - 1])) {
+            borrowFromLeft(parent, index);
+        } else if (index < parent.count && canLend(parent.children[index + 1])) {
+            borrowFromRight(parent, index);
+        } else if (index > 0) {
+            merge(parent, index - 1);
+        } else {
+            merge(parent, index);
+        }
+    }
+
+    /**
+     * Returns 'true' if the given node can give up one entry without becoming underfull.
+     */
+    private boolean canLend(Node<K, V> node) {
+        return entries(node) > minEntries(node);
+    }
+
+    /**
+     * Returns the number of entries in the given node: pairs in a leaf, children in an
+     * internal node.
+     */
+    private int entries(Node<K, V> node) {
+        return node instanceof Leaf ? node.count : node.count + 1;
+    }
+
+    /**
+     * Returns the fewest entries the given node may hold unless it is the root: half of
+     * 'order', rounded down for leaves and up for internal nodes. Either way, two nodes that
+     * are at or just below their minimum always fit into one when merged.
+     */
+    private int minEntries(Node<K, V> node) {
+        return node instanceof Leaf ? this.order / 2 : (this.order + 1) / 2;
+    }
+
+    /**
+     * Moves the last entry of the left sibling of the child at the given index into that child.
+     */
+    private void borrowFromLeft(Internal<K, V> parent, int index) {
+        Node<K, V> child = parent.children[index];
+        Node<K, V> left = parent.children[index - 1];
+        int moved;
+        if (child instanceof Leaf) {
+            Leaf<K, V> leaf = (Leaf<K, V>) child;
+            Leaf<K, V> leftLeaf = (Leaf<K, V>) left;
+            System.arraycopy(leaf.keys, 0, leaf.keys, 1, leaf.count);
+            System.arraycopy(leaf.values, 0, leaf.values, 1, leaf.count);
+            leftLeaf.count--;
+            leaf.keys[0] = leftLeaf.keys[leftLeaf.count];
+            leaf.values[0] = leftLeaf.values[leftLeaf.count];
+            leftLeaf.keys[leftLeaf.count] = null;
+            leftLeaf.values[leftLeaf.count] = null;
+            leaf.count++;
+            parent.keys[index - 1] = leaf.keys[0];
+            moved = 1;
+        } else {
+            Internal<K, V> internal = (Internal<K, V>) child;
+            Internal<K, V> leftInternal = (Internal<K, V>) left;
+            System.arraycopy(internal.keys, 0, internal.keys, 1, internal.count);
+            System.arraycopy(internal.children, 0, internal.children, 1, internal.count + 1);
+            System.arraycopy(internal.sizes, 0, internal.sizes, 1, internal.count + 1);
+            internal.keys[0] = parent.keys[index - 1];
+            internal.children[0] = leftInternal.children[leftInternal.count];
+            internal.sizes[0] = leftInternal.sizes[leftInternal.count];
+            internal.count++;
+            parent.keys[index - 1] = leftInternal.keys[leftInternal.count - 1];
+            moved = internal.sizes[0];
+            leftInternal.keys[leftInternal.count - 1] = null;
+            leftInternal.children[leftInternal.count] = null;
+            leftInternal.count--;
+        }
+        parent.sizes[index - 1] -= moved;
+        parent.sizes[index] += moved;
+    }
+
+    /**
+     * Moves the first entry of the right sibling of the child at the given index into that child.
+     */
+    private void borrowFromRight(Internal<K, V> parent, int index) {
+        Node<K, V> child = parent.children[index];
+        Node<K, V> right = parent.children[index + 1];
+        int moved;
+        if (child instanceof Leaf) {
+            Leaf<K, V> leaf = (Leaf<K, V>) child;
+            Leaf<K, V> rightLeaf = (Leaf<K, V>) right;
+            leaf.keys[leaf.count] = rightLeaf.keys[0];
+            leaf.values[leaf.count] = rightLeaf.values[0];
+            leaf.count++;
+            rightLeaf.count--;
+            System.arraycopy(rightLeaf.keys, 1, rightLeaf.keys, 0, rightLeaf.count);
+            System.arraycopy(rightLeaf.values, 1, rightLeaf.values, 0, rightLeaf.count);
+            rightLeaf.keys[rightLeaf.count] = null;
+            rightLeaf.values[rightLeaf.count] = null;
+            parent.keys[index] = rightLeaf.keys[0];
+            moved = 1;
+        } else {
+            Internal<K, V> internal = (Internal<K, V>) child;
+            Internal<K, V> rightInternal = (Internal<K, V>) right;
+            internal.keys[internal.count] = parent.keys[index];
+            internal.children[internal.count + 1] = rightInternal.children[0];
+            internal.sizes[internal.count + 1] = rightInternal.sizes[0];
+            internal.count++;
+            moved = rightInternal.sizes[0];
+            parent.keys[index] = rightInternal.keys[0];
+            System.arraycopy(rightInternal.keys, 1, rightInternal.keys, 0, rightInternal.count - 1);
+            System.arraycopy(rightInternal.children, 1, rightInternal.children, 0, rightInternal.count);
+            System.arraycopy(rightInternal.sizes, 1, rightInternal.sizes, 0, rightInternal.count);
+            rightInternal.count--;
+            rightInternal.keys[rightInternal.count] = null;
+            rightInternal.children[rightInternal.count + 1] = null;
+        }
+        parent.sizes[index] += moved;
+        parent.sizes[index + 1] -= moved;
+    }
+
+    /**
+     * Merges the child at index + 1 into the child at the given index and removes the
+     * separator between them from the parent.
+     */
+    private void merge(Internal<K, V> parent, int index) {
+        Node<K, V> left = parent.children[index];
+        Node<K, V> right = parent.children[index + 1];
+        if (left instanceof Leaf) {
+            Leaf<K, V> leftLeaf = (Leaf<K, V>) left;
+            Leaf<K, V> rightLeaf = (Leaf<K, V>) right;
+            System.arraycopy(rightLeaf.keys, 0, leftLeaf.keys, leftLeaf.count, rightLeaf.count);
+            System.arraycopy(rightLeaf.values, 0, leftLeaf.values, leftLeaf.count, rightLeaf.count);
+            leftLeaf.count += rightLeaf.count;
+            leftLeaf.next = rightLeaf.next;
+        } else {
+            Internal<K, V> leftInternal = (Internal<K, V>) left;
+            Internal<K, V> rightInternal = (Internal<K, V>) right;
+            leftInternal.keys[leftInternal.count] = parent.keys[index];
+            System.arraycopy(rightInternal.keys, 0, leftInternal.keys, leftInternal.count + 1,
+                    rightInternal.count);
+            System.arraycopy(rightInternal.children, 0, leftInternal.children, leftInternal.count + 1,
+                    rightInternal.count + 1);
+            System.arraycopy(rightInternal.sizes, 0, leftInternal.sizes, leftInternal.count + 1,
+                    rightInternal.count + 1);
+            leftInternal.count += rightInternal.count + 1;
+        }
+        parent.sizes[index] += parent.sizes[index + 1];
+        System.arraycopy(parent.keys, index + 1, parent.keys, index, parent.count - index - 1);
+        System.arraycopy(parent.children, index + 2, parent.children, index + 1, parent.count - index - 1);
+        System.arraycopy(parent.sizes, index + 2, parent.sizes, index + 1, parent.count - index - 1);
+        parent.count--;
+        parent.keys[parent.count] = null;
+        parent.children[parent.count + 1] = null;
+    }
+
+    /**
+     * Returns the number of key-value pairs stored in this dictionary.
+     */
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the number of key-value pairs in the given subtree.
+     */
+    private int sizeOf(Node<K, V> node) {
+        if (node instanceof Leaf) {
+            return node.count;
+        }
+        Internal<K, V> internal = (Internal<K, V>) node;
+        int total = 0;
+        for (int i = 0; i <= internal.count; i++) {
+            total += internal.sizes[i];
+        }
+        return total;
+    }
+
+    /**
+     * Returns the smallest key in this dictionary.
+     *
+     * @throws EmptyContainerException if the dictionary is empty.
+     */
+    public K firstKey() {
+        if (this.size == 0) {
+            throw new EmptyContainerException();
+        }
+        Node<K, V> current = this.root;
+        while (current instanceof Internal) {
+            current = ((Internal<K, V>) current).children[0];
+        }
+        return current.keys[0];
+    }
+
+    /**
+     * Returns the largest key in this dictionary.
+     *
+     * @throws EmptyContainerException if the dictionary is empty.
+     */
+    public K lastKey() {
+        if (this.size == 0) {
+            throw new EmptyContainerException();
+        }
+        Node<K, V> current = this.root;
+        while (current instanceof Internal) {
+            current = ((Internal<K, V>) current).children[current.count];
+        }
+        return current.keys[current.count - 1];
+    }
+
+    /**
+     * Returns the largest key less than or equal to the given key, or null if there is none.
+     *
+     * @throws IllegalArgumentException if the given key is null.
+     */
+    public K floorKey(K key) {
+        checkKey(key);
+        // If the leaf has no small enough key, the answer is the largest key in the nearest
+        // subtree to the left of our path, which is the last one we passed over on the way down.
+        Node<K, V> leftOfPath = null;
+        Node<K, V> current = this.root;
+        while (current instanceof Internal) {
+            Internal<K, V> internal = (Internal<K, V>) current;
+            int index = childIndex(internal, key);
+            if (index > 0) {
+                leftOfPath = internal.children[index - 1];
+            }
+            current = internal.children[index];
+        }
+        int index = Arrays.binarySearch(current.keys, 0, current.count, key);
+        if (index >= 0) {
+            return current.keys[index];
+        }
+        index = -(index + 1);
+        if (index > 0) {
+            return current.keys[index - 1];
+        } else if (leftOfPath == null) {
+            return null;
+        }
+        while (leftOfPath instanceof Internal) {
+            leftOfPath = ((Internal<K, V>) leftOfPath).children[leftOfPath.count];
+        }
+        return leftOfPath.keys[leftOfPath.count - 1];
+    }
+
+    /**
+     * Returns the smallest key greater than or equal to the given key, or null if there is none.
+     *
+     * @throws IllegalArgumentException if the given key is null.
+     */
+    public K ceilingKey(K key) {
+        checkKey(key);
+        Leaf<K, V> leaf = findLeaf(key);
+        int index = Arrays.binarySearch(leaf.keys, 0, leaf.count, key);
+        if (index < 0) {
+            index = -(index + 1);
+        }
+        if (index < leaf.count) {
+            return leaf.keys[index];
+        }
+        return leaf.next == null ? null : leaf.next.keys[0];
+    }
+
+    /**
+     * Returns the number of keys in this dictionary that are strictly less than the given key.
+     * The key itself does not need to be present.
+     *
+     * @throws IllegalArgumentException if the given key is null.
+     */
+    public int rank(K key) {
+        checkKey(key);
+        int rank = 0;
+        Node<K, V> current = this.root;
+        while (current instanceof Internal) {
+            Internal<K, V> internal = (Internal<K, V>) current;
+            int index = childIndex(internal, key);
+            for (int i = 0; i < index; i++) {
+                rank += internal.sizes[i];
+            }
+            current = internal.children[index];
+        }
+        int index = Arrays.binarySearch(current.keys, 0, current.count, key);
+        return rank + (index >= 0 ? index : -(index + 1));
+    }
+
+    /**
+     * Returns the key with the given rank, that is, the key that would be at the given index if
+     * all the keys were listed in increasing order.
+     *
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= this.size()
+     */
+    public K select(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException();
+        }
+        Node<K, V> current = this.root;
+        while (current instanceof Internal) {
+            Internal<K, V> internal = (Internal<K, V>) current;
+            int child = 0;
+            while (index >= internal.sizes[child]) {
+                index -= internal.sizes[child];
+                child++;
+            }
+            current = internal.children[child];
+        }
+        return current.keys[index];
+    }
+
+    /**
+     * Returns an iterable over the key-value pairs whose keys are at least lo and strictly less
+     * than hi, in increasing key order. Each iterator it creates starts in O(log n) time and
+     * never visits pairs outside the range.
+     *
+     * @throws IllegalArgumentException if either bound is null or if lo is greater than hi.
+     */
+    public Iterable<KVPair<K, V>> subMap(K lo, K hi) {
+        checkKey(lo);
+        checkKey(hi);
+        if (lo.compareTo(hi) > 0) {
+            throw new IllegalArgumentException();
+        }
+        return () -> new BTreeIterator(lo, hi);
+    }
+
+    /**
+     * Returns an iterator that, when used, will yield all key-value pairs contained within
+     * this dictionary, in increasing key order.
+     */
+    @Override
+    public Iterator<KVPair<K, V>> iterator() {
+        return new BTreeIterator(null, null);
+    }
+
+    private void checkKey(K key) {
+        if (key == null) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    /**
+     * A node of the tree. 'count' is the number of keys it holds: the number of pairs in a
+     * leaf, or the number of separators (one less than the number of children) in an
+     * internal node.
+     */
+    private abstract static class Node<K, V> {
+        public K[] keys;
+        public int count;
+    }
+
+    /**
+     * Leaf class. Holds pairs in sorted order; the arrays have one spare slot so that a put can
+     * overflow the leaf before it is split.
+     */
+    private static class Leaf<K, V> extends Node<K, V> {
+        public V[] values;
+        public Leaf<K, V> next;
+
+        @SuppressWarnings("unchecked")
+        public Leaf(int order) {
+            this.keys = (K[]) new Comparable[order + 1];
+            this.values = (V[]) new Object[order + 1];
+            this.count = 0;
+            this.next = null;
+        }
+    }
+
+    /**
+     * Internal node class. children[i] holds the keys between keys[i - 1] (inclusive) and
+     * keys[i] (exclusive), and sizes[i] is the number of pairs under children[i]. As with
+     * leaves, the arrays have room for one child too many.
+     */
+    private static class Internal<K, V> extends Node<K, V> {
+        public Node<K, V>[] children;
+        public int[] sizes;
+
+        @SuppressWarnings("unchecked")
+        public Internal(int order) {
+            this.keys = (K[]) new Comparable[order];
+            this.children = (Node<K, V>[]) new Node[order + 1];
+            this.sizes = new int[order + 1];
+            this.count = 0;
+        }
+    }
+
+    /**
+     * BTreeIterator Class. Walks the linked leaves in order, starting at the first key that is
+     * at least lo (if lo is non-null) and stopping before the first key that is at least hi
+     * (if hi is non-null).
+     */
+    private class BTreeIterator implements Iterator<KVPair<K, V>> {
+        private Leaf<K, V> leaf;
+        private int index;
+        private K hi;
+        private int expectedModCount;
+
+        public BTreeIterator(K lo, K hi) {
+            this.hi = hi;
+            this.expectedModCount = modCount;
+            if (lo == null) {
+                Node<K, V> current = root;
+                while (current instanceof Internal) {
+                    current = ((Internal<K, V>) current).children[0];
+                }
+                this.leaf = (Leaf<K, V>) current;
+                this.index = 0;
+            } else {
+                this.leaf = findLeaf(lo);
+                int found = Arrays.binarySearch(this.leaf.keys, 0, this.leaf.count, lo);
+                this.index = found >= 0 ? found : -(found + 1);
+            }
+            skipExhaustedLeaf();
+        }
+
+        private void skipExhaustedLeaf() {
+            if (this.leaf != null && this.index >= this.leaf.count) {
+                this.leaf = this.leaf.next;
+                this.index = 0;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            return this.leaf != null
+                    && (this.hi == null || this.leaf.keys[this.index].compareTo(this.hi) < 0);
+        }
+
+        @Override
+        public KVPair<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            KVPair<K, V> pair = new KVPair<>(this.leaf.keys[this.index], this.leaf.values[this.index]);
+            this.index++;
+            skipExhaustedLeaf();
+            return pair;
+        }
+    }
+}
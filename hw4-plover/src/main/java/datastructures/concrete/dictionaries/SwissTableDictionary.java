@@ -0,0 +1,392 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.interfaces.IDictionary;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Experimental open addressing implementation of the Dictionary ADT, modelled after
+ * "Swiss tables".
+ *
+ * Slots are split into groups of 8. Every slot has a one-byte control byte that says whether
+ * the slot is empty, deleted, or full, and for a full slot also holds 7 bits of the key's
+ * hash (its "fingerprint"). The 8 control bytes of a group are packed into a single long, so
+ * a lookup can compare a fingerprint against a whole group at once using a few arithmetic
+ * and bitwise operations, and only looks at the keys whose fingerprint matches. Since a
+ * random fingerprint matches with probability 1/128, most misses are resolved without
+ * touching a single key.
+ *
+ * Probing moves from group to group rather than slot to slot, and a lookup stops at the
+ * first group that has an empty slot. Removing an entry leaves a "deleted" marker behind
+ * unless its group still has an empty slot; the markers are cleared out the next time the
+ * table is rebuilt.
+ *
+ * Supports null keys and null values.
+ */
+public class SwissTableDictionary<K, V> implements IDictionary<K, V> {
+    private static final int GROUP_SIZE = 8;
+    private static final int DEFAULT_GROUPS = 2;
+
+    // Control bytes. A full slot's control byte is its 7-bit fingerprint, so only the
+    // two special values have their high bit set.
+    private static final int EMPTY = 0x80;
+    private static final int DELETED = 0xFE;
+
+    // LSBS has the lowest bit of every byte set, and MSBS the highest bit of every byte.
+    private static final long LSBS = 0x0101010101010101L;
+    private static final long MSBS = 0x8080808080808080L;
+    private static final long ALL_EMPTY = LSBS * EMPTY;
+
+    // Invariants:
+    // - control.length is a power of two, and keys, values and hashes have exactly
+    //   GROUP_SIZE times as many elements.
+    // - Byte i (counting from the lowest) of control[g] is the control byte of slot
+    //   g * GROUP_SIZE + i.
+    // - hashes[slot] is the stored hash of a full slot; keys and values of a slot that is
+    //   not full are null.
+    // - If a group has an empty slot, no entry's probe sequence passes through that group.
+    private long[] control;
+    private K[] keys;
+    private V[] values;
+    private int[] hashes;
+    private int groupMask;
+    private int size;
+
+    // How many more empty slots can be filled before the table has to be rebuilt. Filling
+    // a deleted slot doesn't count, since it doesn't make any probe sequence longer.
+    private int growthLeft;
+
+    // Counts structural modifications (adding or removing a key); iterators use this to
+    // detect concurrent changes. Overwriting the value of an existing key does not count.
+    private int modCount;
+
+    public SwissTableDictionary() {
+        this(0);
+    }
+
+    /**
+     * Creates a dictionary large enough to hold 'expectedSize' pairs without resizing.
+     *
+     * @throws IllegalArgumentException if expectedSize is negative
+     */
+    public SwissTableDictionary(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must be non-negative");
+        }
+        this.allocate(groupsFor(expectedSize));
+        this.size = 0;
+    }
+
+    /**
+     * Returns a new, empty array of the given size that can contain objects of type E.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> E[] makeArray(int arraySize) {
+        return (E[]) new Object[arraySize];
+    }
+
+    /**
+     * Returns the smallest power-of-two number of groups (and at least DEFAULT_GROUPS)
+     * that can hold the given number of pairs.
+     */
+    private static int groupsFor(int numPairs) {
+        int groups = DEFAULT_GROUPS;
+        while (groups < (1 << 26) && numPairs > maxLoad(groups)) {
+            groups *= 2;
+        }
+        return groups;
+    }
+
+    /**
+     * Returns how many pairs a table with the given number of groups may hold, which is
+     * 7/8 of its slots.
+     */
+    private static int maxLoad(int groups) {
+        return groups * (GROUP_SIZE - 1);
+    }
+
+    /**
+     * Replaces the backing arrays with new, empty arrays with the given number of groups.
+     * The caller is responsible for re-inserting any entries.
+     */
+    private void allocate(int groups) {
+        this.control = new long[groups];
+        for (int i = 0; i < groups; i++) {
+            this.control[i] = ALL_EMPTY;
+        }
+        this.keys = makeArray(groups * GROUP_SIZE);
+        this.values = makeArray(groups * GROUP_SIZE);
+        this.hashes = new int[groups * GROUP_SIZE];
+        this.groupMask = groups - 1;
+        this.growthLeft = maxLoad(groups);
+    }
+
+    /**
+     * Returns the stored hash of the given key. The key's hashCode is scrambled so that both
+     * the fingerprint (the low 7 bits) and the group number (the rest) depend on all of it.
+     */
+    private static int hash(Object key) {
+        int h = key == null ? 0 : key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private static int fingerprint(int hash) {
+        return hash & 0x7F;
+    }
+
+    private int firstGroup(int hash) {
+        return (hash >>> 7) & this.groupMask;
+    }
+
+    /**
+     * Returns a mask with the high bit of every byte of 'group' that equals the given
+     * fingerprint set. Rarely, a byte just above a matching byte is reported as well, so
+     * callers still have to check the full hash.
+     */
+    private static long matchFingerprint(long group, int fingerprint) {
+        long x = group ^ (LSBS * fingerprint);
+        return (x - LSBS) & ~x & MSBS;
+    }
+
+    /**
+     * Returns a mask with the high bit of every empty byte of 'group' set. EMPTY is the
+     * only control byte with its high bit set and its second-lowest bit clear.
+     */
+    private static long matchEmpty(long group) {
+        return group & ~(group << 6) & MSBS;
+    }
+
+    /**
+     * Returns a mask with the high bit of every empty or deleted byte of 'group' set.
+     */
+    private static long matchEmptyOrDeleted(long group) {
+        return group & MSBS;
+    }
+
+    /**
+     * Returns the index, within its group, of the lowest byte reported by a match mask.
+     */
+    private static int lowestByte(long match) {
+        return Long.numberOfTrailingZeros(match) >>> 3;
+    }
+
+    /**
+     * Returns the slot containing the given key, or -1 if the key is not present.
+     */
+    private int findSlot(K key, int hash) {
+        int fingerprint = fingerprint(hash);
+        int group = this.firstGroup(hash);
+        for (int step = 1; true; step++) {
+            long word = this.control[group];
+            for (long match = matchFingerprint(word, fingerprint); match != 0; match &= match - 1) {
+                int slot = group * GROUP_SIZE + lowestByte(match);
+                if (this.hashes[slot] == hash && Objects.equals(key, this.keys[slot])) {
+                    return slot;
+                }
+            }
+            if (matchEmpty(word) != 0) {
+                return -1;
+            }
+            // Moving 1, 2, 3, ... groups further each time visits every group once,
+            // since the number of groups is a power of two.
+            group = (group + step) & this.groupMask;
+        }
+    }
+
+    /**
+     * Returns the first empty or deleted slot in the probe sequence of the given hash.
+     */
+    private int findInsertSlot(int hash) {
+        int group = this.firstGroup(hash);
+        for (int step = 1; true; step++) {
+            long match = matchEmptyOrDeleted(this.control[group]);
+            if (match != 0) {
+                return group * GROUP_SIZE + lowestByte(match);
+            }
+            group = (group + step) & this.groupMask;
+        }
+    }
+
+    private int controlAt(int slot) {
+        return (int) (this.control[slot / GROUP_SIZE] >>> (8 * (slot % GROUP_SIZE))) & 0xFF;
+    }
+
+    private void setControl(int slot, int value) {
+        int shift = 8 * (slot % GROUP_SIZE);
+        int group = slot / GROUP_SIZE;
+        this.control[group] = (this.control[group] & ~(0xFFL << shift)) | ((long) value << shift);
+    }
+
+    @Override
+    public V get(K key) {
+        int slot = this.findSlot(key, hash(key));
+        if (slot < 0) {
+            throw new NoSuchKeyException();
+        }
+        return this.values[slot];
+    }
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        int slot = this.findSlot(key, hash(key));
+        return slot < 0 ? defaultValue : this.values[slot];
+    }
+
+    @Override
+    public void put(K key, V value) {
+        int hash = hash(key);
+        int slot = this.findSlot(key, hash);
+        if (slot >= 0) {
+            this.values[slot] = value;
+            return;
+        }
+        slot = this.findInsertSlot(hash);
+        if (this.growthLeft == 0 && this.controlAt(slot) == EMPTY) {
+            this.rebuild();
+            slot = this.findInsertSlot(hash);
+        }
+        this.insertAt(slot, hash, key, value);
+        this.size++;
+        this.modCount++;
+    }
+
+    /**
+     * Fills the given empty or deleted slot.
+     */
+    private void insertAt(int slot, int hash, K key, V value) {
+        if (this.controlAt(slot) == EMPTY) {
+            this.growthLeft--;
+        }
+        this.setControl(slot, fingerprint(hash));
+        this.hashes[slot] = hash;
+        this.keys[slot] = key;
+        this.values[slot] = value;
+    }
+
+    /**
+     * Moves every entry into new arrays, dropping all deleted markers. The table only
+     * doubles if it is more than half full; otherwise the markers were what used it up.
+     */
+    private void rebuild() {
+        int groups = this.control.length;
+        this.resize(this.size >= maxLoad(groups) / 2 ? groups * 2 : groups);
+    }
+
+    /**
+     * Moves every entry into a table with the given number of groups, re-using its stored
+     * hash.
+     */
+    private void resize(int groups) {
+        K[] oldKeys = this.keys;
+        V[] oldValues = this.values;
+        int[] oldHashes = this.hashes;
+        long[] oldControl = this.control;
+        this.allocate(groups);
+        for (int group = 0; group < oldControl.length; group++) {
+            // A byte without its high bit set is a full slot.
+            for (long full = ~oldControl[group] & MSBS; full != 0; full &= full - 1) {
+                int slot = group * GROUP_SIZE + lowestByte(full);
+                this.insertAt(this.findInsertSlot(oldHashes[slot]), oldHashes[slot],
+                        oldKeys[slot], oldValues[slot]);
+            }
+        }
+    }
+
+    /**
+     * Grows the table at most once, straight to its final size.
+     */
+    @Override
+    public void putAll(IDictionary<? extends K, ? extends V> other) {
+        if (other == this) {
+            return;
+        }
+        int groups = groupsFor(this.size + other.size());
+        if (groups > this.control.length) {
+            this.resize(groups);
+        }
+        for (KVPair<? extends K, ? extends V> pair : other) {
+            this.put(pair.getKey(), pair.getValue());
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        int slot = this.findSlot(key, hash(key));
+        if (slot < 0) {
+            throw new NoSuchKeyException();
+        }
+        V result = this.values[slot];
+
+        // If the group already has an empty slot, no probe sequence continues past it, so
+        // this slot can become empty too. Otherwise some entry may have probed past this
+        // group while it was full, and lookups for it must not stop here.
+        if (matchEmpty(this.control[slot / GROUP_SIZE]) != 0) {
+            this.setControl(slot, EMPTY);
+            this.growthLeft++;
+        } else {
+            this.setControl(slot, DELETED);
+        }
+        this.keys[slot] = null;
+        this.values[slot] = null;
+        this.size--;
+        this.modCount++;
+        return result;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return this.findSlot(key, hash(key)) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public Iterator<KVPair<K, V>> iterator() {
+        return new SwissTableIterator();
+    }
+
+    private class SwissTableIterator implements Iterator<KVPair<K, V>> {
+        private int group;
+        // The full slots of the current group that haven't been returned yet.
+        private long full;
+        private int remaining;
+        private int expectedModCount;
+
+        public SwissTableIterator() {
+            this.group = 0;
+            this.full = ~control[0] & MSBS;
+            this.remaining = size;
+            this.expectedModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            return this.remaining > 0;
+        }
+
+        @Override
+        public KVPair<K, V> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            while (this.full == 0) {
+                this.group++;
+                this.full = ~control[this.group] & MSBS;
+            }
+            int slot = this.group * GROUP_SIZE + lowestByte(this.full);
+            this.full &= this.full - 1;
+            this.remaining--;
+            return new KVPair<>(keys[slot], values[slot]);
+        }
+    }
+}
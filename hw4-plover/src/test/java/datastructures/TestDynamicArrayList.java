@@ -0,0 +1,200 @@
+package datastructures;
+
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.DynamicArrayList;
+import datastructures.interfaces.IList;
+import misc.BaseTest;
+import misc.exceptions.EmptyContainerException;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TestDynamicArrayList extends BaseTest {
+    protected IList<String> makeBasicList() {
+        IList<String> list = new DynamicArrayList<>();
+        list.add("a");
+        list.add("b");
+        list.add("c");
+        return list;
+    }
+
+    protected <T> void assertListMatches(T[] expected, IList<T> actual) {
+        assertEquals("Lists have different sizes", expected.length, actual.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals("Item at index " + i + " does not match", expected[i], actual.get(i));
+        }
+        Iterator<T> iter = actual.iterator();
+        for (T item : expected) {
+            assertTrue(iter.hasNext());
+            assertEquals(item, iter.next());
+        }
+        assertFalse(iter.hasNext());
+    }
+
+    @Test(timeout=SECOND)
+    public void testAddGetAndSet() {
+        IList<String> list = this.makeBasicList();
+        this.assertListMatches(new String[] {"a", "b", "c"}, list);
+
+        list.set(1, "x");
+        list.set(2, null);
+        this.assertListMatches(new String[] {"a", "x", null}, list);
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveFromEnd() {
+        IList<String> list = this.makeBasicList();
+        assertEquals("c", list.remove());
+        assertEquals("b", list.remove());
+        assertEquals("a", list.remove());
+        assertTrue(list.isEmpty());
+        try {
+            list.remove();
+            fail("Expected EmptyContainerException");
+        } catch (EmptyContainerException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testInsertAndDelete() {
+        IList<String> list = this.makeBasicList();
+        list.insert(0, "front");
+        list.insert(2, "middle");
+        list.insert(list.size(), "back");
+        this.assertListMatches(new String[] {"front", "a", "middle", "b", "c", "back"}, list);
+
+        assertEquals("middle", list.delete(2));
+        assertEquals("front", list.delete(0));
+        assertEquals("back", list.delete(list.size() - 1));
+        this.assertListMatches(new String[] {"a", "b", "c"}, list);
+    }
+
+    @Test(timeout=SECOND)
+    public void testOutOfBoundsIndices() {
+        IList<String> list = this.makeBasicList();
+        int[] badIndices = {-1, 3, 100};
+        for (int index : badIndices) {
+            try {
+                list.get(index);
+                fail("Expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException ex) {
+                // All ok -- expected result
+            }
+            try {
+                list.set(index, "x");
+                fail("Expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException ex) {
+                // All ok -- expected result
+            }
+            try {
+                list.delete(index);
+                fail("Expected IndexOutOfBoundsException");
+            } catch (IndexOutOfBoundsException ex) {
+                // All ok -- expected result
+            }
+        }
+        try {
+            list.insert(4, "x");
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException ex) {
+            // All ok -- expected result
+        }
+        this.assertListMatches(new String[] {"a", "b", "c"}, list);
+    }
+
+    @Test(timeout=SECOND)
+    public void testIndexOfAndContains() {
+        IList<String> list = this.makeBasicList();
+        list.add(null);
+        list.add("b");
+
+        assertEquals(1, list.indexOf("b"));
+        assertEquals(3, list.indexOf(null));
+        assertEquals(-1, list.indexOf("z"));
+        assertTrue(list.contains(null));
+        assertTrue(list.contains(new String("c")));
+        assertFalse(list.contains("z"));
+    }
+
+    @Test(timeout=SECOND)
+    public void testAddAll() {
+        IList<String> list = this.makeBasicList();
+        IList<String> linked = new DoubleLinkedList<>();
+        linked.add("d");
+        linked.add("e");
+
+        list.addAll(linked);
+        list.addAll(this.makeBasicList());
+        list.addAll(new DynamicArrayList<>());
+        this.assertListMatches(new String[] {"a", "b", "c", "d", "e", "a", "b", "c"}, list);
+
+        list.addAll(list);
+        assertEquals(16, list.size());
+        assertEquals("a", list.get(8));
+        assertEquals("c", list.get(15));
+    }
+
+    @Test(timeout=SECOND)
+    public void testIteratorEndsCorrectly() {
+        IList<String> list = this.makeBasicList();
+        Iterator<String> iter = list.iterator();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(iter.hasNext());
+            iter.next();
+        }
+        assertFalse(iter.hasNext());
+        try {
+            iter.next();
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testIteratorFailsFastAfterStructuralChange() {
+        IList<String> list = this.makeBasicList();
+        Iterator<String> iter = list.iterator();
+        iter.next();
+        list.add("d");
+        try {
+            iter.next();
+            fail("Expected ConcurrentModificationException");
+        } catch (ConcurrentModificationException ex) {
+            // All ok -- expected result
+        }
+
+        // Overwriting an element is not a structural change.
+        iter = list.iterator();
+        iter.next();
+        list.set(1, "x");
+        assertEquals("x", iter.next());
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testLargeListIndexedAccess() {
+        int cap = 1000000;
+        IList<Integer> list = new DynamicArrayList<>();
+        for (int i = 0; i < cap; i++) {
+            list.add(i);
+        }
+        for (int i = 0; i < cap; i++) {
+            assertEquals(i, list.get(i));
+            list.set(i, -i);
+        }
+        for (int i = cap - 1; i >= 0; i--) {
+            assertEquals(-i, list.remove());
+        }
+        assertTrue(list.isEmpty());
+    }
+}
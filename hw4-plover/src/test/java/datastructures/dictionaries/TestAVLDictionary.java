@@ -0,0 +1,285 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.dictionaries.AVLDictionary;
+import datastructures.concrete.dictionaries.KVPair;
+import misc.BaseTest;
+import misc.exceptions.EmptyContainerException;
+import misc.exceptions.NoSuchKeyException;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * AVLDictionary requires comparable, non-null keys, so it can't reuse BaseTestDictionary
+ * (which uses null and non-comparable keys). Instead, these tests check it against a TreeMap.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TestAVLDictionary extends BaseTest {
+    private AVLDictionary<Integer, Integer> makeDictionary(int... keys) {
+        AVLDictionary<Integer, Integer> dict = new AVLDictionary<>();
+        for (int key : keys) {
+            dict.put(key, key * 10);
+        }
+        return dict;
+    }
+
+    private void assertMatchesMap(TreeMap<Integer, Integer> expected, AVLDictionary<Integer, Integer> actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.isEmpty(), actual.isEmpty());
+        Iterator<Integer> keys = expected.keySet().iterator();
+        for (KVPair<Integer, Integer> pair : actual) {
+            Integer key = keys.next();
+            assertEquals(key, pair.getKey());
+            assertEquals(expected.get(key), pair.getValue());
+        }
+        assertFalse(keys.hasNext());
+    }
+
+    private List<Integer> keysOf(Iterable<KVPair<Integer, Integer>> pairs) {
+        List<Integer> keys = new ArrayList<>();
+        for (KVPair<Integer, Integer> pair : pairs) {
+            keys.add(pair.getKey());
+        }
+        return keys;
+    }
+
+    @Test(timeout=SECOND)
+    public void testPutGetAndIterateInOrder() {
+        AVLDictionary<Integer, Integer> dict = this.makeDictionary(5, 3, 8, 1, 4, 7, 9, 2, 6);
+        assertEquals(9, dict.size());
+        assertEquals(40, dict.get(4));
+        assertEquals(-1, dict.getOrDefault(10, -1));
+        assertEquals(Arrays.asList(1, 2, 3, 4, 5, 6, 7, 8, 9), this.keysOf(dict));
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveBasic() {
+        AVLDictionary<Integer, Integer> dict = this.makeDictionary(2, 1, 3);
+        assertEquals(20, dict.remove(2));
+        assertFalse(dict.containsKey(2));
+        assertEquals(2, dict.size());
+        assertEquals(10, dict.remove(1));
+        assertEquals(30, dict.remove(3));
+        assertTrue(dict.isEmpty());
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveNonexistentThrowsException() {
+        AVLDictionary<Integer, Integer> dict = this.makeDictionary(1, 2, 3);
+        try {
+            dict.remove(4);
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // All ok
+        }
+        assertEquals(3, dict.size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testNullKeyThrowsException() {
+        AVLDictionary<Integer, Integer> dict = this.makeDictionary(1);
+        try {
+            dict.remove(null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok
+        }
+        try {
+            dict.floorKey(null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testRandomPutRemoveMatchesTreeMap() {
+        Random rand = new Random(11);
+        AVLDictionary<Integer, Integer> dict = new AVLDictionary<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        for (int i = 0; i < 5000; i++) {
+            int key = rand.nextInt(500);
+            if (rand.nextBoolean()) {
+                dict.put(key, i);
+                expected.put(key, i);
+            } else if (expected.containsKey(key)) {
+                assertEquals(expected.remove(key), dict.remove(key));
+            }
+            if (i % 250 == 0) {
+                this.assertMatchesMap(expected, dict);
+            }
+        }
+        this.assertMatchesMap(expected, dict);
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testStress() {
+        int limit = 500000;
+        AVLDictionary<Integer, Integer> dict = new AVLDictionary<>();
+        for (int i = 0; i < limit; i++) {
+            dict.put(i, i);
+        }
+        for (int i = 0; i < limit; i++) {
+            assertEquals(i, dict.get(i));
+            assertEquals(-1, dict.getOrDefault(-i - 1, -1));
+        }
+        for (int i = limit - 1; i >= 0; i -= 2) {
+            assertEquals(i, dict.remove(i));
+        }
+        assertEquals(limit / 2, dict.size());
+        for (int i = 0; i < limit; i += 2) {
+            assertEquals(i, dict.remove(i));
+        }
+        assertTrue(dict.isEmpty());
+    }
+
+    @Test(timeout=SECOND)
+    public void testFirstAndLastKey() {
+        AVLDictionary<Integer, Integer> dict = this.makeDictionary(5, 2, 9, 7);
+        assertEquals(2, dict.firstKey());
+        assertEquals(9, dict.lastKey());
+        dict.remove(2);
+        dict.remove(9);
+        assertEquals(5, dict.firstKey());
+        assertEquals(7, dict.lastKey());
+    }
+
+    @Test(timeout=SECOND)
+    public void testFirstKeyOnEmptyThrowsException() {
+        AVLDictionary<Integer, Integer> dict = new AVLDictionary<>();
+        try {
+            dict.firstKey();
+            fail("Expected EmptyContainerException");
+        } catch (EmptyContainerException ex) {
+            // All ok
+        }
+        try {
+            dict.lastKey();
+            fail("Expected EmptyContainerException");
+        } catch (EmptyContainerException ex) {
+            // All ok
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testFloorAndCeilingKey() {
+        AVLDictionary<Integer, Integer> dict = this.makeDictionary(10, 20, 30, 40);
+        assertEquals(20, dict.floorKey(20));
+        assertEquals(20, dict.floorKey(25));
+        assertNull(dict.floorKey(5));
+        assertEquals(40, dict.floorKey(100));
+
+        assertEquals(30, dict.ceilingKey(30));
+        assertEquals(30, dict.ceilingKey(25));
+        assertEquals(10, dict.ceilingKey(5));
+        assertNull(dict.ceilingKey(41));
+    }
+
+    @Test(timeout=SECOND)
+    public void testRankAndSelect() {
+        AVLDictionary<Integer, Integer> dict = new AVLDictionary<>();
+        for (int i = 0; i < 100; i++) {
+            dict.put(i * 2, i);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, dict.rank(i * 2));
+            assertEquals(i + 1, dict.rank(i * 2 + 1));
+            assertEquals(i * 2, dict.select(i));
+        }
+        assertEquals(0, dict.rank(-5));
+
+        for (int i = 0; i < 100; i += 2) {
+            dict.remove(i * 2);
+        }
+        for (int i = 0; i < 50; i++) {
+            assertEquals(i * 4 + 2, dict.select(i));
+            assertEquals(i, dict.rank(i * 4 + 2));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testSelectOutOfBoundsThrowsException() {
+        AVLDictionary<Integer, Integer> dict = this.makeDictionary(1, 2, 3);
+        try {
+            dict.select(3);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException ex) {
+            // All ok
+        }
+        try {
+            dict.select(-1);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException ex) {
+            // All ok
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testSubMap() {
+        AVLDictionary<Integer, Integer> dict = new AVLDictionary<>();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        for (int i = 0; i < 200; i += 3) {
+            dict.put(i, i);
+            expected.put(i, i);
+        }
+        int[][] ranges = {{0, 200}, {10, 50}, {9, 51}, {50, 50}, {-10, 5}, {190, 400}, {300, 400}};
+        for (int[] range : ranges) {
+            List<Integer> expectedKeys = new ArrayList<>(expected.subMap(range[0], range[1]).keySet());
+            assertEquals(expectedKeys, this.keysOf(dict.subMap(range[0], range[1])));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testSubMapWithReversedBoundsThrowsException() {
+        AVLDictionary<Integer, Integer> dict = this.makeDictionary(1, 2, 3);
+        try {
+            dict.subMap(3, 1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testIteratorFailsFastAfterRemove() {
+        AVLDictionary<Integer, Integer> dict = this.makeDictionary(1, 2, 3);
+        Iterator<KVPair<Integer, Integer>> iter = dict.iterator();
+        iter.next();
+        dict.remove(3);
+        try {
+            iter.hasNext();
+            fail("Expected ConcurrentModificationException");
+        } catch (ConcurrentModificationException ex) {
+            // All ok
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testPutAllSortedKeepsOrderedQueries() {
+        AVLDictionary<Integer, Integer> source = new AVLDictionary<>();
+        for (int i = 0; i < 1000; i++) {
+            source.put(i, i);
+        }
+        AVLDictionary<Integer, Integer> dict = new AVLDictionary<>();
+        dict.putAll(source);
+        assertEquals(1000, dict.size());
+        assertEquals(500, dict.select(500));
+        assertEquals(250, dict.rank(250));
+        dict.remove(0);
+        assertEquals(1, dict.firstKey());
+        assertEquals(999, dict.size());
+    }
+}
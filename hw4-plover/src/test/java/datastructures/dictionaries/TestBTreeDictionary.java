@@ -0,0 +1,286 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.dictionaries.AVLDictionary;
+import datastructures.concrete.dictionaries.BTreeDictionary;
+import datastructures.concrete.dictionaries.KVPair;
+import misc.BaseTest;
+import misc.exceptions.EmptyContainerException;
+import misc.exceptions.NoSuchKeyException;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * Like AVLDictionary, BTreeDictionary can't reuse BaseTestDictionary, so these tests check it
+ * against a TreeMap. Most of them use small orders so that even small dictionaries split,
+ * borrow and merge nodes many times over.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TestBTreeDictionary extends BaseTest {
+    private static final int[] ORDERS = {3, 4, 5, 64};
+
+    private void assertMatchesMap(TreeMap<Integer, Integer> expected, BTreeDictionary<Integer, Integer> actual) {
+        assertEquals(expected.size(), actual.size());
+        assertEquals(expected.isEmpty(), actual.isEmpty());
+        Iterator<Integer> keys = expected.keySet().iterator();
+        int rank = 0;
+        for (KVPair<Integer, Integer> pair : actual) {
+            Integer key = keys.next();
+            assertEquals(key, pair.getKey());
+            assertEquals(expected.get(key), pair.getValue());
+            assertEquals(key, actual.select(rank));
+            assertEquals(rank, actual.rank(key));
+            rank++;
+        }
+        assertFalse(keys.hasNext());
+    }
+
+    private List<Integer> keysOf(Iterable<KVPair<Integer, Integer>> pairs) {
+        List<Integer> keys = new ArrayList<>();
+        for (KVPair<Integer, Integer> pair : pairs) {
+            keys.add(pair.getKey());
+        }
+        return keys;
+    }
+
+    @Test(timeout=SECOND)
+    public void testOrderTooSmallThrowsException() {
+        try {
+            new BTreeDictionary<Integer, Integer>(2);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testPutGetAndRemoveBasic() {
+        BTreeDictionary<String, String> dict = new BTreeDictionary<>(3);
+        dict.put("b", "valB");
+        dict.put("a", "valA");
+        dict.put("c", "valC");
+        dict.put("d", "valD");
+        dict.put("a", "newA");
+        assertEquals(4, dict.size());
+        assertEquals("newA", dict.get("a"));
+        assertEquals("none", dict.getOrDefault("e", "none"));
+        assertTrue(dict.containsKey("d"));
+
+        assertEquals("valB", dict.remove("b"));
+        assertFalse(dict.containsKey("b"));
+        assertEquals(3, dict.size());
+        try {
+            dict.remove("b");
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // All ok
+        }
+        try {
+            dict.get("b");
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // All ok
+        }
+        assertEquals(3, dict.size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testNullKeyThrowsException() {
+        BTreeDictionary<Integer, Integer> dict = new BTreeDictionary<>();
+        try {
+            dict.put(null, 1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok
+        }
+        try {
+            dict.containsKey(null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testRandomPutRemoveMatchesTreeMap() {
+        for (int order : ORDERS) {
+            Random rand = new Random(order);
+            BTreeDictionary<Integer, Integer> dict = new BTreeDictionary<>(order);
+            TreeMap<Integer, Integer> expected = new TreeMap<>();
+            for (int i = 0; i < 4000; i++) {
+                int key = rand.nextInt(400);
+                if (rand.nextInt(3) > 0) {
+                    dict.put(key, i);
+                    expected.put(key, i);
+                } else if (expected.containsKey(key)) {
+                    assertEquals(expected.remove(key), dict.remove(key));
+                }
+                if (i % 200 == 0) {
+                    this.assertMatchesMap(expected, dict);
+                }
+            }
+            this.assertMatchesMap(expected, dict);
+
+            List<Integer> remaining = new ArrayList<>(expected.keySet());
+            for (Integer key : remaining) {
+                assertEquals(expected.remove(key), dict.remove(key));
+            }
+            this.assertMatchesMap(expected, dict);
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testStress() {
+        int limit = 500000;
+        BTreeDictionary<Integer, Integer> dict = new BTreeDictionary<>();
+        for (int i = 0; i < limit; i++) {
+            dict.put(i, i);
+        }
+        for (int i = 0; i < limit; i++) {
+            assertEquals(i, dict.get(i));
+            assertFalse(dict.containsKey(-i - 1));
+        }
+        for (int i = limit - 1; i >= 0; i -= 2) {
+            assertEquals(i, dict.remove(i));
+        }
+        assertEquals(limit / 2, dict.size());
+        for (int i = 0; i < limit; i += 2) {
+            assertEquals(i, dict.remove(i));
+        }
+        assertTrue(dict.isEmpty());
+    }
+
+    @Test(timeout=SECOND)
+    public void testFirstAndLastKey() {
+        BTreeDictionary<Integer, Integer> dict = new BTreeDictionary<>(3);
+        try {
+            dict.firstKey();
+            fail("Expected EmptyContainerException");
+        } catch (EmptyContainerException ex) {
+            // All ok
+        }
+        for (int i = 100; i >= 0; i -= 5) {
+            dict.put(i, i);
+        }
+        assertEquals(0, dict.firstKey());
+        assertEquals(100, dict.lastKey());
+        dict.remove(0);
+        dict.remove(100);
+        assertEquals(5, dict.firstKey());
+        assertEquals(95, dict.lastKey());
+    }
+
+    @Test(timeout=SECOND)
+    public void testFloorAndCeilingKey() {
+        for (int order : ORDERS) {
+            BTreeDictionary<Integer, Integer> dict = new BTreeDictionary<>(order);
+            TreeMap<Integer, Integer> expected = new TreeMap<>();
+            for (int i = 0; i < 300; i += 3) {
+                dict.put(i, i);
+                expected.put(i, i);
+            }
+            for (int i = -2; i < 302; i++) {
+                assertEquals(expected.floorKey(i), dict.floorKey(i));
+                assertEquals(expected.ceilingKey(i), dict.ceilingKey(i));
+            }
+        }
+        BTreeDictionary<Integer, Integer> empty = new BTreeDictionary<>();
+        assertNull(empty.floorKey(1));
+        assertNull(empty.ceilingKey(1));
+    }
+
+    @Test(timeout=SECOND)
+    public void testSelectOutOfBoundsThrowsException() {
+        BTreeDictionary<Integer, Integer> dict = new BTreeDictionary<>();
+        dict.put(1, 1);
+        try {
+            dict.select(1);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException ex) {
+            // All ok
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testSubMap() {
+        for (int order : ORDERS) {
+            BTreeDictionary<Integer, Integer> dict = new BTreeDictionary<>(order);
+            TreeMap<Integer, Integer> expected = new TreeMap<>();
+            for (int i = 0; i < 200; i += 3) {
+                dict.put(i, i);
+                expected.put(i, i);
+            }
+            int[][] ranges = {{0, 200}, {10, 50}, {9, 51}, {50, 50}, {-10, 5}, {190, 400}, {300, 400}};
+            for (int[] range : ranges) {
+                List<Integer> expectedKeys = new ArrayList<>(expected.subMap(range[0], range[1]).keySet());
+                assertEquals(expectedKeys, this.keysOf(dict.subMap(range[0], range[1])));
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testIteratorFailsFastAfterRemove() {
+        BTreeDictionary<Integer, Integer> dict = new BTreeDictionary<>();
+        dict.put(1, 1);
+        dict.put(2, 2);
+        Iterator<KVPair<Integer, Integer>> iter = dict.iterator();
+        iter.next();
+        dict.remove(2);
+        try {
+            iter.hasNext();
+            fail("Expected ConcurrentModificationException");
+        } catch (ConcurrentModificationException ex) {
+            // All ok
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testPutAllBulkLoadsSortedInput() {
+        for (int order : ORDERS) {
+            for (int count : new int[] {0, 1, order, order + 1, 1000}) {
+                AVLDictionary<Integer, Integer> source = new AVLDictionary<>();
+                TreeMap<Integer, Integer> expected = new TreeMap<>();
+                for (int i = 0; i < count; i++) {
+                    source.put(i * 2, i);
+                    expected.put(i * 2, i);
+                }
+                BTreeDictionary<Integer, Integer> dict = new BTreeDictionary<>(order);
+                dict.putAll(source);
+                this.assertMatchesMap(expected, dict);
+
+                // The loaded tree must stay valid as we keep changing it.
+                for (int i = 0; i < count; i += 2) {
+                    assertEquals(expected.remove(i * 2), dict.remove(i * 2));
+                    dict.put(i * 2 + 1, i);
+                    expected.put(i * 2 + 1, i);
+                }
+                this.assertMatchesMap(expected, dict);
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testPutAllIntoNonEmptyDictionary() {
+        BTreeDictionary<Integer, Integer> source = new BTreeDictionary<>(4);
+        for (int i = 0; i < 100; i++) {
+            source.put(i, i);
+        }
+        BTreeDictionary<Integer, Integer> dict = new BTreeDictionary<>(4);
+        dict.put(50, -1);
+        dict.putAll(source);
+        assertEquals(100, dict.size());
+        assertEquals(50, dict.get(50));
+    }
+}
@@ -166,4 +166,25 @@ public class TestChainedHashDictionary extends BaseTestDictionary {
         IDictionary<String, String>[] chains = getField(map, "chains", IDictionary[].class);
         assertNotNull(chains);
     }
+
+    @Test(timeout=SECOND)
+    public void testIteratorOverPresizedDictionary() {
+        // Most chains of a pre-sized dictionary are never allocated, and the iterator has to
+        // skip them as well as chains that were emptied by removals.
+        IDictionary<Integer, Integer> dict = new ChainedHashDictionary<>(10000);
+        for (int i = 0; i < 10; i++) {
+            dict.put(i * 7919, i);
+        }
+        for (int i = 0; i < 10; i += 2) {
+            dict.remove(i * 7919);
+        }
+
+        int count = 0;
+        for (KVPair<Integer, Integer> pair : dict) {
+            assertEquals(pair.getKey() / 7919, pair.getValue());
+            assertEquals(1, pair.getValue() % 2);
+            count++;
+        }
+        assertEquals(5, count);
+    }
 }
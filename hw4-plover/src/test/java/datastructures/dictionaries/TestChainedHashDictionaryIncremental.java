@@ -0,0 +1,84 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.concrete.dictionaries.KVPair;
+import datastructures.interfaces.IDictionary;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Re-runs every ChainedHashDictionary test with incremental resizing turned on.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TestChainedHashDictionaryIncremental extends TestChainedHashDictionary {
+    @Override
+    protected <K, V> IDictionary<K, V> newDictionary() {
+        return new ChainedHashDictionary<>(0.75, true);
+    }
+
+    private <K, V> void assertMatchesMap(Map<K, V> expected, IDictionary<K, V> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (Map.Entry<K, V> entry : expected.entrySet()) {
+            assertTrue(actual.containsKey(entry.getKey()));
+            assertEquals(entry.getValue(), actual.get(entry.getKey()));
+        }
+
+        int count = 0;
+        for (KVPair<K, V> pair : actual) {
+            assertTrue(expected.containsKey(pair.getKey()));
+            assertEquals(expected.get(pair.getKey()), pair.getValue());
+            count++;
+        }
+        assertEquals(expected.size(), count);
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testLookupsAndIterationDuringMigration() {
+        // Checking the whole dictionary after every single operation means we also check it
+        // at every intermediate point of each incremental resize.
+        IDictionary<Integer, Integer> dict = this.newDictionary();
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 600; i++) {
+            dict.put(i, i * 2);
+            expected.put(i, i * 2);
+            assertMatchesMap(expected, dict);
+        }
+
+        for (int i = 0; i < 600; i += 2) {
+            assertEquals(i * 2, dict.remove(i));
+            expected.remove(i);
+            assertMatchesMap(expected, dict);
+        }
+
+        for (int i = 0; i < 600; i++) {
+            assertEquals(i % 2 != 0, dict.containsKey(i));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testUpdateExistingKeysDuringMigration() {
+        IDictionary<String, Integer> dict = this.newDictionary();
+        for (int i = 0; i < 100; i++) {
+            dict.put("key" + i, i);
+        }
+
+        // Overwriting existing keys mid-iteration must neither lose nor repeat pairs.
+        int count = 0;
+        for (KVPair<String, Integer> pair : dict) {
+            dict.put(pair.getKey(), pair.getValue() + 1);
+            count++;
+        }
+        assertEquals(100, count);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i + 1, dict.get("key" + i));
+        }
+        assertFalse(dict.containsKey("key100"));
+    }
+}
@@ -0,0 +1,59 @@
+package analysis.experiments;
+
+import analysis.utils.AnalysisUtils;
+import analysis.utils.CsvWriter;
+import datastructures.interfaces.IList;
+import misc.Sorter;
+
+/**
+ * Runs the same workload as Experiment1 (finding the top K = 500 items of lists of growing
+ * size) with ArrayHeaps of different arities. Test 1 uses a 2-heap, test 2 a 4-heap, and
+ * test 3 an 8-heap.
+ */
+public class Experiment3 {
+    public static final int NUM_TRIALS = 5;
+    public static final long MAX_LIST_SIZE = 200000;
+    public static final long STEP = 1000;
+    public static final int K = 500;
+
+    public static void main(String[] args) {
+        IList<Long> listSizes = AnalysisUtils.makeDoubleLinkedList(0L, MAX_LIST_SIZE, STEP);
+
+        System.out.println("Starting test");
+        IList<Long> test1Results = AnalysisUtils.runTrials(listSizes, Experiment3::test1, NUM_TRIALS);
+        IList<Long> test2Results = AnalysisUtils.runTrials(listSizes, Experiment3::test2, NUM_TRIALS);
+        IList<Long> test3Results = AnalysisUtils.runTrials(listSizes, Experiment3::test3, NUM_TRIALS);
+
+        System.out.println("Saving experiment results to file");
+        CsvWriter writer = new CsvWriter();
+        writer.addColumn("ListSizes", listSizes);
+        writer.addColumn("Test1Result", test1Results);
+        writer.addColumn("Test2Result", test2Results);
+        writer.addColumn("Test3Result", test3Results);
+        writer.writeToFile("experimentdata/experiment3.csv");
+
+        System.out.println("All done!");
+    }
+
+    public static long test1(long listSize) {
+        return test(listSize, 2);
+    }
+
+    public static long test2(long listSize) {
+        return test(listSize, 4);
+    }
+
+    public static long test3(long listSize) {
+        return test(listSize, 8);
+    }
+
+    private static long test(long listSize, int numChildren) {
+        IList<Long> list = AnalysisUtils.makeDoubleLinkedList(0, listSize, 1);
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 10; i++) {
+            Sorter.topKSort(K, list, numChildren);
+        }
+        return System.currentTimeMillis() - start;
+    }
+}
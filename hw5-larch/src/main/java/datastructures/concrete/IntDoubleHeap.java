@@ -0,0 +1,254 @@
+package datastructures.concrete;
+
+import misc.exceptions.EmptyContainerException;
+import misc.exceptions.InvalidElementException;
+
+import java.util.Arrays;
+
+/**
+ * A min-heap of non-negative int IDs ordered by primitive double priorities.
+ *
+ * IDs and priorities are kept in parallel int[] and double[] arrays, and a third array
+ * maps every ID to its current index in the heap. This means no operation allocates an
+ * object, boxes a priority, or calls compareTo, and decreaseKey, changePriority and remove
+ * find their ID in O(1) time. It works best when IDs are small and dense, such as vertex
+ * numbers or indices into a list, since the position array is as long as the largest ID.
+ *
+ * Like ArrayHeap, this is a 4-heap, and each ID may be in the heap at most once.
+ */
+public class IntDoubleHeap {
+    private static final int NUM_CHILDREN = 4;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // Invariants:
+    // - For every i < size, positions[ids[i]] == i, and priorities[i] is the priority of ids[i].
+    // - positions[id] == -1 for every ID not in the heap.
+    // - Every priority is no smaller than its parent's priority.
+    private int[] ids;
+    private double[] priorities;
+    private int[] positions;
+    private int size;
+
+    public IntDoubleHeap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a heap that can hold the IDs 0 up to (but not including) 'idCapacity' without
+     * resizing. Larger IDs are still allowed.
+     *
+     * @throws IllegalArgumentException if idCapacity is negative
+     */
+    public IntDoubleHeap(int idCapacity) {
+        if (idCapacity < 0) {
+            throw new IllegalArgumentException("ID capacity must be non-negative");
+        }
+        int capacity = Math.max(1, idCapacity);
+        this.ids = new int[capacity];
+        this.priorities = new double[capacity];
+        this.positions = new int[capacity];
+        Arrays.fill(this.positions, -1);
+        this.size = 0;
+    }
+
+    /**
+     * Adds the given ID with the given priority.
+     *
+     * @throws IllegalArgumentException  if the ID is negative or the priority is NaN
+     * @throws InvalidElementException  if the ID is already in the heap
+     */
+    public void add(int id, double priority) {
+        if (id < 0 || Double.isNaN(priority)) {
+            throw new IllegalArgumentException();
+        }
+        if (id >= this.positions.length) {
+            int oldLength = this.positions.length;
+            this.positions = Arrays.copyOf(this.positions, Math.max(id + 1, 2 * oldLength));
+            Arrays.fill(this.positions, oldLength, this.positions.length, -1);
+        } else if (this.positions[id] != -1) {
+            throw new InvalidElementException();
+        }
+        if (this.size == this.ids.length) {
+            this.ids = Arrays.copyOf(this.ids, 2 * this.size);
+            this.priorities = Arrays.copyOf(this.priorities, 2 * this.size);
+        }
+        this.size++;
+        this.percolateUp(id, priority, this.size - 1);
+    }
+
+    /**
+     * Returns 'true' if the given ID is in the heap, and 'false' otherwise.
+     */
+    public boolean contains(int id) {
+        return id >= 0 && id < this.positions.length && this.positions[id] != -1;
+    }
+
+    /**
+     * Returns the priority of the given ID.
+     *
+     * @throws InvalidElementException  if the ID is not in the heap
+     */
+    public double priorityOf(int id) {
+        return this.priorities[this.positionOf(id)];
+    }
+
+    private int positionOf(int id) {
+        if (!this.contains(id)) {
+            throw new InvalidElementException();
+        }
+        return this.positions[id];
+    }
+
+    /**
+     * Returns, but does not remove, the ID with the least priority.
+     *
+     * @throws EmptyContainerException  if the heap is empty
+     */
+    public int peekMin() {
+        if (this.size == 0) {
+            throw new EmptyContainerException();
+        }
+        return this.ids[0];
+    }
+
+    /**
+     * Returns the least priority in the heap, which is the priority of peekMin().
+     *
+     * @throws EmptyContainerException  if the heap is empty
+     */
+    public double peekMinPriority() {
+        if (this.size == 0) {
+            throw new EmptyContainerException();
+        }
+        return this.priorities[0];
+    }
+
+    /**
+     * Removes and returns the ID with the least priority.
+     *
+     * @throws EmptyContainerException  if the heap is empty
+     */
+    public int removeMin() {
+        int min = this.peekMin();
+        this.removeAt(0);
+        return min;
+    }
+
+    /**
+     * Removes the given ID.
+     *
+     * @throws InvalidElementException  if the ID is not in the heap
+     */
+    public void remove(int id) {
+        this.removeAt(this.positionOf(id));
+    }
+
+    /**
+     * Removes the ID at the given index, filling its place with the last ID.
+     */
+    private void removeAt(int index) {
+        this.positions[this.ids[index]] = -1;
+        this.size--;
+        if (index < this.size) {
+            this.percolate(this.ids[this.size], this.priorities[this.size], index);
+        }
+    }
+
+    /**
+     * Lowers the priority of the given ID.
+     *
+     * @throws IllegalArgumentException  if the new priority is NaN or larger than the old one
+     * @throws InvalidElementException  if the ID is not in the heap
+     */
+    public void decreaseKey(int id, double priority) {
+        int index = this.positionOf(id);
+        if (!(priority <= this.priorities[index])) {
+            throw new IllegalArgumentException("New priority is larger than the old one");
+        }
+        this.percolateUp(id, priority, index);
+    }
+
+    /**
+     * Sets the priority of the given ID, which may be smaller or larger than the old one.
+     *
+     * @throws IllegalArgumentException  if the new priority is NaN
+     * @throws InvalidElementException  if the ID is not in the heap
+     */
+    public void changePriority(int id, double priority) {
+        if (Double.isNaN(priority)) {
+            throw new IllegalArgumentException();
+        }
+        this.percolate(id, priority, this.positionOf(id));
+    }
+
+    /**
+     * Returns the number of IDs in the heap.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns 'true' if the heap is empty, and 'false' otherwise.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Places the given ID, which belongs at the given index, wherever it needs to go.
+     */
+    private void percolate(int id, double priority, int index) {
+        if (index > 0 && this.priorities[(index - 1) / NUM_CHILDREN] > priority) {
+            this.percolateUp(id, priority, index);
+        } else {
+            this.percolateDown(id, priority, index);
+        }
+    }
+
+    /**
+     * Moves the hole at the given index up until the given ID fits into it.
+     */
+    private void percolateUp(int id, double priority, int index) {
+        while (index > 0) {
+            int parent = (index - 1) / NUM_CHILDREN;
+            if (this.priorities[parent] <= priority) {
+                break;
+            }
+            this.place(this.ids[parent], this.priorities[parent], index);
+            index = parent;
+        }
+        this.place(id, priority, index);
+    }
+
+    /**
+     * Moves the hole at the given index down until the given ID fits into it.
+     */
+    private void percolateDown(int id, double priority, int index) {
+        while (true) {
+            int firstChild = index * NUM_CHILDREN + 1;
+            if (firstChild >= this.size) {
+                break;
+            }
+            int lastChild = Math.min(firstChild + NUM_CHILDREN, this.size);
+            int minChild = firstChild;
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                if (this.priorities[child] < this.priorities[minChild]) {
+                    minChild = child;
+                }
+            }
+            if (this.priorities[minChild] >= priority) {
+                break;
+            }
+            this.place(this.ids[minChild], this.priorities[minChild], index);
+            index = minChild;
+        }
+        this.place(id, priority, index);
+    }
+
+    private void place(int id, double priority, int index) {
+        this.ids[index] = id;
+        this.priorities[index] = priority;
+        this.positions[id] = index;
+    }
+}
@@ -0,0 +1,251 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IAddressablePriorityQueue;
+import misc.exceptions.EmptyContainerException;
+import misc.exceptions.InvalidElementException;
+
+/**
+ * A pairing heap: a heap-ordered tree in which every node may have any number of children.
+ *
+ * Adding an element or decreasing its key just links it with the root in O(1) time, and all
+ * the work of restoring a single root is deferred to removeMin, which merges the children
+ * of the old root in two passes in O(log n) amortized time. This makes it a good fit for
+ * Dijkstra's algorithm on graphs where decreaseKey is called much more often than removeMin.
+ *
+ * Each node keeps a pointer to its first child and to its next sibling, and its 'prev'
+ * pointer refers to its previous sibling, or to its parent if it is a first child.
+ *
+ * @see IAddressablePriorityQueue for details on what each method must do.
+ */
+public class PairingHeap<T extends Comparable<T>> implements IAddressablePriorityQueue<T> {
+    // Invariants:
+    // - Every node's item is no smaller than its parent's item.
+    // - The root has no siblings and a null 'prev' pointer.
+    // - A node is in this heap exactly when its 'owner' is this heap.
+    private Node<T> root;
+    private int size;
+
+    public PairingHeap() {
+        this.root = null;
+        this.size = 0;
+    }
+
+    @Override
+    public T removeMin() {
+        Node<T> min = this.minNode();
+        this.detach(min);
+        min.owner = null;
+        this.size--;
+        return min.item;
+    }
+
+    @Override
+    public T peekMin() {
+        return this.minNode().item;
+    }
+
+    private Node<T> minNode() {
+        if (this.root == null) {
+            throw new EmptyContainerException();
+        }
+        return this.root;
+    }
+
+    @Override
+    public Handle<T> add(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException();
+        }
+        Node<T> node = new Node<>(this, item);
+        this.root = this.link(this.root, node);
+        this.size++;
+        return node;
+    }
+
+    @Override
+    public boolean contains(Handle<T> handle) {
+        if (handle == null) {
+            throw new IllegalArgumentException();
+        }
+        return handle instanceof Node && ((Node<T>) handle).owner == this;
+    }
+
+    /**
+     * Returns the node the given handle refers to.
+     *
+     * @throws IllegalArgumentException  if the handle is null
+     * @throws InvalidElementException  if the handle's element is not in this heap
+     */
+    private Node<T> nodeFor(Handle<T> handle) {
+        if (!this.contains(handle)) {
+            throw new InvalidElementException();
+        }
+        return (Node<T>) handle;
+    }
+
+    @Override
+    public void remove(Handle<T> handle) {
+        Node<T> node = this.nodeFor(handle);
+        this.detach(node);
+        node.owner = null;
+        this.size--;
+    }
+
+    @Override
+    public void replace(Handle<T> handle, T newItem) {
+        if (newItem == null) {
+            throw new IllegalArgumentException();
+        }
+        Node<T> node = this.nodeFor(handle);
+        if (newItem.compareTo(node.item) <= 0) {
+            this.decrease(node, newItem);
+        } else {
+            // The node's children may now be smaller than it, so it is taken out and added
+            // back on its own.
+            this.detach(node);
+            node.item = newItem;
+            this.root = this.link(this.root, node);
+        }
+    }
+
+    @Override
+    public void decreaseKey(Handle<T> handle, T newItem) {
+        if (newItem == null) {
+            throw new IllegalArgumentException();
+        }
+        Node<T> node = this.nodeFor(handle);
+        if (newItem.compareTo(node.item) > 0) {
+            throw new IllegalArgumentException("New item is larger than the old one");
+        }
+        this.decrease(node, newItem);
+    }
+
+    /**
+     * Gives the node a smaller item. Its subtree stays heap-ordered, so the whole subtree is
+     * cut from its parent and linked with the root.
+     */
+    private void decrease(Node<T> node, T newItem) {
+        node.item = newItem;
+        if (node != this.root) {
+            this.cut(node);
+            this.root = this.link(this.root, node);
+        }
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Takes the given node out of the tree, leaving it with no parent, siblings or children.
+     * Its children, if any, are merged back into the heap.
+     */
+    private void detach(Node<T> node) {
+        Node<T> children = this.mergePairs(node.child);
+        node.child = null;
+        if (node == this.root) {
+            this.root = children;
+        } else {
+            this.cut(node);
+            this.root = this.link(this.root, children);
+        }
+    }
+
+    /**
+     * Unlinks the given non-root node, along with its subtree, from its parent and siblings.
+     */
+    private void cut(Node<T> node) {
+        if (node.prev.child == node) {
+            node.prev.child = node.sibling;
+        } else {
+            node.prev.sibling = node.sibling;
+        }
+        if (node.sibling != null) {
+            node.sibling.prev = node.prev;
+        }
+        node.prev = null;
+        node.sibling = null;
+    }
+
+    /**
+     * Makes the larger of the two given roots the first child of the smaller one and returns
+     * the new root. Either root may be null.
+     */
+    private Node<T> link(Node<T> first, Node<T> second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        Node<T> parent = first;
+        Node<T> child = second;
+        if (second.item.compareTo(first.item) < 0) {
+            parent = second;
+            child = first;
+        }
+        child.sibling = parent.child;
+        if (parent.child != null) {
+            parent.child.prev = child;
+        }
+        child.prev = parent;
+        parent.child = child;
+        return parent;
+    }
+
+    /**
+     * Merges the given node and all of its siblings into a single tree and returns its root.
+     *
+     * The first pass links the siblings in pairs from left to right, and the second pass
+     * links the resulting trees from right to left. Both passes are loops, so a node with
+     * a million children doesn't overflow the stack the way a recursive merge would.
+     */
+    private Node<T> mergePairs(Node<T> first) {
+        // The trees linked in the first pass are pushed onto a stack threaded through their
+        // 'sibling' pointers, so the second pass pops them in right-to-left order.
+        Node<T> stack = null;
+        Node<T> curr = first;
+        while (curr != null) {
+            Node<T> second = curr.sibling;
+            Node<T> next = second == null ? null : second.sibling;
+            curr.prev = null;
+            curr.sibling = null;
+            if (second != null) {
+                second.prev = null;
+                second.sibling = null;
+            }
+            Node<T> pair = this.link(curr, second);
+            pair.sibling = stack;
+            stack = pair;
+            curr = next;
+        }
+
+        Node<T> result = null;
+        while (stack != null) {
+            Node<T> next = stack.sibling;
+            stack.sibling = null;
+            result = this.link(stack, result);
+            stack = next;
+        }
+        return result;
+    }
+
+    private static final class Node<T> implements Handle<T> {
+        private PairingHeap<?> owner;
+        private T item;
+        private Node<T> child;
+        private Node<T> sibling;
+        private Node<T> prev;
+
+        private Node(PairingHeap<?> owner, T item) {
+            this.owner = owner;
+            this.item = item;
+        }
+
+        @Override
+        public T getItem() {
+            return this.item;
+        }
+    }
+}
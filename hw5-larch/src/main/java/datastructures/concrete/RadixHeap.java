@@ -0,0 +1,271 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IAddressablePriorityQueue;
+import misc.exceptions.EmptyContainerException;
+import misc.exceptions.InvalidElementException;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * A monotone priority queue for elements with non-negative long keys, such as the queue
+ * in Dijkstra's algorithm when no edge has a negative weight.
+ *
+ * The queue remembers the key of the last minimum it found, and every key in the queue must
+ * be at least that large. An element with key k is kept in bucket 0 if k equals the last
+ * minimum, and otherwise in bucket b, where b - 1 is the highest bit in which k and the last
+ * minimum differ. Adding an element or decreasing its key only moves it between buckets, with no
+ * comparisons at all. Finding the minimum scans the lowest non-empty bucket, makes its
+ * smallest key the new last minimum, and spreads the rest of that bucket over lower buckets.
+ * An element can only move down, so each one is moved at most 64 times in total.
+ *
+ * Keys come from the function given to the constructor, not from compareTo, and elements
+ * with equal keys are returned in an arbitrary order. For non-negative doubles,
+ * 'Double.doubleToLongBits' is a suitable key, since it orders them the same way '<' does.
+ *
+ * @see IAddressablePriorityQueue for details on what each method must do.
+ */
+public class RadixHeap<T extends Comparable<T>> implements IAddressablePriorityQueue<T> {
+    private static final int NUM_BUCKETS = Long.SIZE + 1;
+
+    // Invariants:
+    // - Every node in buckets[b] has the bucket index b and a key no smaller than lastMin.
+    // - A node is in this heap exactly when its 'owner' is this heap.
+    private final ToLongFunction<? super T> keyFunction;
+    private final Node<T>[] buckets;
+    private long lastMin;
+    private int size;
+
+    /**
+     * Creates a queue that orders its elements by the keys the given function computes.
+     *
+     * @throws IllegalArgumentException if keyFunction is null
+     */
+    public RadixHeap(ToLongFunction<? super T> keyFunction) {
+        if (keyFunction == null) {
+            throw new IllegalArgumentException();
+        }
+        this.keyFunction = keyFunction;
+        this.buckets = makeArrayOfNodes(NUM_BUCKETS);
+        this.lastMin = 0L;
+        this.size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Node<T>[] makeArrayOfNodes(int arraySize) {
+        return (Node<T>[]) new Node[arraySize];
+    }
+
+    /**
+     * Removes and returns an element with the least key.
+     *
+     * @throws EmptyContainerException  if the queue is empty
+     */
+    @Override
+    public T removeMin() {
+        Node<T> min = this.minNode();
+        this.unlink(min);
+        min.owner = null;
+        this.size--;
+        return min.item;
+    }
+
+    /**
+     * Returns, but does not remove, an element with the least key.
+     *
+     * @throws EmptyContainerException  if the queue is empty
+     */
+    @Override
+    public T peekMin() {
+        return this.minNode().item;
+    }
+
+    /**
+     * Returns the first node in bucket 0, refilling that bucket first if it is empty.
+     */
+    private Node<T> minNode() {
+        if (this.size == 0) {
+            throw new EmptyContainerException();
+        }
+        if (this.buckets[0] == null) {
+            int bucket = 1;
+            while (this.buckets[bucket] == null) {
+                bucket++;
+            }
+
+            long min = Long.MAX_VALUE;
+            for (Node<T> node = this.buckets[bucket]; node != null; node = node.next) {
+                min = Math.min(min, node.key);
+            }
+            this.lastMin = min;
+
+            // Every node in the bucket now differs from lastMin in a lower bit than before.
+            // Nodes in higher buckets are unaffected, since lastMin only changed in bits below
+            // their highest differing bit.
+            Node<T> node = this.buckets[bucket];
+            this.buckets[bucket] = null;
+            while (node != null) {
+                Node<T> next = node.next;
+                this.insert(node);
+                node = next;
+            }
+        }
+        return this.buckets[0];
+    }
+
+    /**
+     * Adds the given item into the queue and returns a handle to it.
+     *
+     * @throws IllegalArgumentException  if the item is null, or if its key is negative or
+     *                                   smaller than the key of the last minimum found
+     */
+    @Override
+    public Handle<T> add(T item) {
+        if (item == null) {
+            throw new IllegalArgumentException();
+        }
+        Node<T> node = new Node<>(this, item, this.keyOf(item));
+        this.insert(node);
+        this.size++;
+        return node;
+    }
+
+    @Override
+    public boolean contains(Handle<T> handle) {
+        if (handle == null) {
+            throw new IllegalArgumentException();
+        }
+        return handle instanceof Node && ((Node<T>) handle).owner == this;
+    }
+
+    /**
+     * Returns the node the given handle refers to.
+     *
+     * @throws IllegalArgumentException  if the handle is null
+     * @throws InvalidElementException  if the handle's element is not in this queue
+     */
+    private Node<T> nodeFor(Handle<T> handle) {
+        if (!this.contains(handle)) {
+            throw new InvalidElementException();
+        }
+        return (Node<T>) handle;
+    }
+
+    @Override
+    public void remove(Handle<T> handle) {
+        Node<T> node = this.nodeFor(handle);
+        this.unlink(node);
+        node.owner = null;
+        this.size--;
+    }
+
+    /**
+     * Replaces the element the given handle refers to with a new item, which may have a
+     * smaller or larger key than the old one.
+     *
+     * @throws IllegalArgumentException  if the handle or the new item is null, or if the new
+     *                                   key is negative or smaller than the last minimum
+     * @throws InvalidElementException  if the handle's element is not in this queue
+     */
+    @Override
+    public void replace(Handle<T> handle, T newItem) {
+        if (newItem == null) {
+            throw new IllegalArgumentException();
+        }
+        Node<T> node = this.nodeFor(handle);
+        this.move(node, newItem, this.keyOf(newItem));
+    }
+
+    /**
+     * Replaces the element the given handle refers to with a new item whose key is no larger
+     * than the old one.
+     *
+     * @throws IllegalArgumentException  if the handle or the new item is null, or if the new
+     *                                   key is larger than the old one, negative, or smaller
+     *                                   than the last minimum
+     * @throws InvalidElementException  if the handle's element is not in this queue
+     */
+    @Override
+    public void decreaseKey(Handle<T> handle, T newItem) {
+        if (newItem == null) {
+            throw new IllegalArgumentException();
+        }
+        Node<T> node = this.nodeFor(handle);
+        long key = this.keyOf(newItem);
+        if (key > node.key) {
+            throw new IllegalArgumentException("New key is larger than the old one");
+        }
+        this.move(node, newItem, key);
+    }
+
+    private void move(Node<T> node, T newItem, long key) {
+        this.unlink(node);
+        node.item = newItem;
+        node.key = key;
+        this.insert(node);
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns the key of the given item.
+     *
+     * @throws IllegalArgumentException  if the key is negative or smaller than the last minimum
+     */
+    private long keyOf(T item) {
+        long key = this.keyFunction.applyAsLong(item);
+        if (key < this.lastMin) {
+            throw new IllegalArgumentException("Key is negative or smaller than the last minimum");
+        }
+        return key;
+    }
+
+    /**
+     * Pushes the given node onto the front of the bucket its key belongs in.
+     */
+    private void insert(Node<T> node) {
+        int bucket = Long.SIZE - Long.numberOfLeadingZeros(node.key ^ this.lastMin);
+        node.bucket = bucket;
+        node.prev = null;
+        node.next = this.buckets[bucket];
+        if (node.next != null) {
+            node.next.prev = node;
+        }
+        this.buckets[bucket] = node;
+    }
+
+    private void unlink(Node<T> node) {
+        if (node.prev == null) {
+            this.buckets[node.bucket] = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    private static final class Node<T> implements Handle<T> {
+        private RadixHeap<?> owner;
+        private T item;
+        private long key;
+        private int bucket;
+        private Node<T> prev;
+        private Node<T> next;
+
+        private Node(RadixHeap<?> owner, T item, long key) {
+            this.owner = owner;
+            this.item = item;
+            this.key = key;
+        }
+
+        @Override
+        public T getItem() {
+            return this.item;
+        }
+    }
+}
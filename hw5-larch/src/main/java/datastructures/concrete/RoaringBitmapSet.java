@@ -0,0 +1,636 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.ISet;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A compressed ISet of non-negative integers, in the style of a Roaring bitmap.
+ *
+ * The values are split into chunks of 65536 by their upper 16 bits. Each non-empty chunk
+ * keeps its lower 16 bits in whichever container is smaller for it: a sorted array of chars
+ * while it holds at most 4096 values, and a 65536-bit bitmap once it holds more. Sparse sets
+ * therefore cost about two bytes per item, dense ones about one bit per possible value, and
+ * empty stretches of the integer range cost nothing, unlike BitSetISet.
+ *
+ * Combining two RoaringBitmapSets with and, or and andNot pairs up chunks with the same upper
+ * bits and combines each pair with a merge, a bitmap lookup, or 64 bits at a time, depending
+ * on the two container kinds.
+ *
+ * Items are returned in ascending order when iterating.
+ *
+ * @see ISet for more details on what each method is supposed to do.
+ */
+public class RoaringBitmapSet implements ISet<Integer> {
+    // The most values an array container may hold before it becomes a bitmap container.
+    private static final int ARRAY_MAX = 4096;
+    private static final int BITMAP_WORDS = 1 << 10;
+
+    // The upper 16 bits of every chunk, in ascending order, and the matching containers.
+    private char[] keys;
+    private Container[] containers;
+    private int chunkCount;
+    private int size;
+    private int modCount;
+
+    public RoaringBitmapSet() {
+        this.keys = new char[4];
+        this.containers = new Container[4];
+        this.chunkCount = 0;
+        this.size = 0;
+        this.modCount = 0;
+    }
+
+    /**
+     * @throws IllegalArgumentException  if the item is null or negative
+     */
+    @Override
+    public void add(Integer item) {
+        if (item == null || item < 0) {
+            throw new IllegalArgumentException("Item must be a non-negative integer: " + item);
+        }
+        char high = (char) (item >>> 16);
+        int index = findChunk(high);
+        if (index < 0) {
+            index = -index - 1;
+            insertChunk(index, high, new ArrayContainer());
+        }
+        Container container = this.containers[index];
+        int before = container.cardinality();
+        container = container.add((char) (int) item);
+        this.containers[index] = container;
+        if (container.cardinality() != before) {
+            this.size++;
+            this.modCount++;
+        }
+    }
+
+    @Override
+    public void remove(Integer item) {
+        if (!this.contains(item)) {
+            throw new NoSuchElementException();
+        }
+        int index = findChunk((char) (item >>> 16));
+        Container container = this.containers[index].remove((char) (int) item);
+        if (container.cardinality() == 0) {
+            System.arraycopy(this.keys, index + 1, this.keys, index, this.chunkCount - index - 1);
+            System.arraycopy(this.containers, index + 1, this.containers, index,
+                    this.chunkCount - index - 1);
+            this.chunkCount--;
+            this.containers[this.chunkCount] = null;
+        } else {
+            this.containers[index] = container;
+        }
+        this.size--;
+        this.modCount++;
+    }
+
+    @Override
+    public boolean contains(Integer item) {
+        if (item == null || item < 0) {
+            return false;
+        }
+        int index = findChunk((char) (item >>> 16));
+        return index >= 0 && this.containers[index].contains((char) (int) item);
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns a new set holding the items in both this set and the given one.
+     */
+    public RoaringBitmapSet and(RoaringBitmapSet other) {
+        RoaringBitmapSet output = new RoaringBitmapSet();
+        int i = 0;
+        int j = 0;
+        while (i < this.chunkCount && j < other.chunkCount) {
+            if (this.keys[i] < other.keys[j]) {
+                i++;
+            } else if (this.keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                output.appendChunk(this.keys[i], and(this.containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Returns a new set holding the items in this set, the given one, or both.
+     */
+    public RoaringBitmapSet or(RoaringBitmapSet other) {
+        RoaringBitmapSet output = new RoaringBitmapSet();
+        int i = 0;
+        int j = 0;
+        while (i < this.chunkCount || j < other.chunkCount) {
+            if (j == other.chunkCount || (i < this.chunkCount && this.keys[i] < other.keys[j])) {
+                output.appendChunk(this.keys[i], this.containers[i].copy());
+                i++;
+            } else if (i == this.chunkCount || this.keys[i] > other.keys[j]) {
+                output.appendChunk(other.keys[j], other.containers[j].copy());
+                j++;
+            } else {
+                output.appendChunk(this.keys[i], or(this.containers[i], other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        return output;
+    }
+
+    /**
+     * Returns a new set holding the items in this set that are not in the given one.
+     */
+    public RoaringBitmapSet andNot(RoaringBitmapSet other) {
+        RoaringBitmapSet output = new RoaringBitmapSet();
+        int j = 0;
+        for (int i = 0; i < this.chunkCount; i++) {
+            while (j < other.chunkCount && other.keys[j] < this.keys[i]) {
+                j++;
+            }
+            if (j < other.chunkCount && other.keys[j] == this.keys[i]) {
+                output.appendChunk(this.keys[i], andNot(this.containers[i], other.containers[j]));
+            } else {
+                output.appendChunk(this.keys[i], this.containers[i].copy());
+            }
+        }
+        return output;
+    }
+
+    @Override
+    public RoaringBitmapSet union(ISet<Integer> other) {
+        if (other instanceof RoaringBitmapSet) {
+            return this.or((RoaringBitmapSet) other);
+        }
+        RoaringBitmapSet output = new RoaringBitmapSet();
+        for (int i = 0; i < this.chunkCount; i++) {
+            output.appendChunk(this.keys[i], this.containers[i].copy());
+        }
+        for (int item : other) {
+            output.add(item);
+        }
+        return output;
+    }
+
+    @Override
+    public RoaringBitmapSet intersection(ISet<Integer> other) {
+        if (other instanceof RoaringBitmapSet) {
+            return this.and((RoaringBitmapSet) other);
+        }
+        RoaringBitmapSet output = new RoaringBitmapSet();
+        if (this.size <= other.size()) {
+            for (int item : this) {
+                if (other.contains(item)) {
+                    output.add(item);
+                }
+            }
+        } else {
+            for (int item : other) {
+                if (this.contains(item)) {
+                    output.add(item);
+                }
+            }
+        }
+        return output;
+    }
+
+    @Override
+    public RoaringBitmapSet difference(ISet<Integer> other) {
+        if (other instanceof RoaringBitmapSet) {
+            return this.andNot((RoaringBitmapSet) other);
+        }
+        RoaringBitmapSet output = new RoaringBitmapSet();
+        for (int item : this) {
+            if (!other.contains(item)) {
+                output.add(item);
+            }
+        }
+        return output;
+    }
+
+    @Override
+    public boolean containsAll(ISet<Integer> other) {
+        if (!(other instanceof RoaringBitmapSet)) {
+            return ISet.super.containsAll(other);
+        }
+        return other.size() <= this.size && ((RoaringBitmapSet) other).andNot(this).isEmpty();
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        return new RoaringIterator();
+    }
+
+    /**
+     * Returns the index of the chunk with the given upper bits, or (-(insertion point) - 1) if
+     * there is none, like Arrays.binarySearch.
+     */
+    private int findChunk(char high) {
+        return Arrays.binarySearch(this.keys, 0, this.chunkCount, high);
+    }
+
+    private void insertChunk(int index, char high, Container container) {
+        if (this.chunkCount == this.keys.length) {
+            this.keys = Arrays.copyOf(this.keys, 2 * this.keys.length);
+            this.containers = Arrays.copyOf(this.containers, 2 * this.containers.length);
+        }
+        System.arraycopy(this.keys, index, this.keys, index + 1, this.chunkCount - index);
+        System.arraycopy(this.containers, index, this.containers, index + 1, this.chunkCount - index);
+        this.keys[index] = high;
+        this.containers[index] = container;
+        this.chunkCount++;
+    }
+
+    /**
+     * Adds a chunk after all existing ones, skipping it if the container is empty.
+     */
+    private void appendChunk(char high, Container container) {
+        if (container != null) {
+            insertChunk(this.chunkCount, high, container);
+            this.size += container.cardinality();
+        }
+    }
+
+    private static Container and(Container a, Container b) {
+        if (a instanceof ArrayContainer && b instanceof ArrayContainer) {
+            ArrayContainer x = (ArrayContainer) a;
+            ArrayContainer y = (ArrayContainer) b;
+            char[] result = new char[Math.min(x.cardinality, y.cardinality)];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < x.cardinality && j < y.cardinality) {
+                if (x.values[i] < y.values[j]) {
+                    i++;
+                } else if (x.values[i] > y.values[j]) {
+                    j++;
+                } else {
+                    result[count++] = x.values[i];
+                    i++;
+                    j++;
+                }
+            }
+            return count == 0 ? null : new ArrayContainer(result, count);
+        } else if (a instanceof ArrayContainer || b instanceof ArrayContainer) {
+            ArrayContainer array = (ArrayContainer) (a instanceof ArrayContainer ? a : b);
+            BitmapContainer bitmap = (BitmapContainer) (array == a ? b : a);
+            return array.filter(bitmap, true);
+        } else {
+            long[] x = ((BitmapContainer) a).words;
+            long[] y = ((BitmapContainer) b).words;
+            long[] result = new long[BITMAP_WORDS];
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result[i] = x[i] & y[i];
+            }
+            return BitmapContainer.shrink(result);
+        }
+    }
+
+    private static Container or(Container a, Container b) {
+        if (a instanceof ArrayContainer && b instanceof ArrayContainer) {
+            ArrayContainer x = (ArrayContainer) a;
+            ArrayContainer y = (ArrayContainer) b;
+            char[] result = new char[x.cardinality + y.cardinality];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < x.cardinality || j < y.cardinality) {
+                if (j == y.cardinality || (i < x.cardinality && x.values[i] < y.values[j])) {
+                    result[count++] = x.values[i++];
+                } else if (i == x.cardinality || x.values[i] > y.values[j]) {
+                    result[count++] = y.values[j++];
+                } else {
+                    result[count++] = x.values[i];
+                    i++;
+                    j++;
+                }
+            }
+            ArrayContainer merged = new ArrayContainer(result, count);
+            return count > ARRAY_MAX ? merged.toBitmap() : merged;
+        } else if (a instanceof ArrayContainer || b instanceof ArrayContainer) {
+            ArrayContainer array = (ArrayContainer) (a instanceof ArrayContainer ? a : b);
+            BitmapContainer bitmap = ((BitmapContainer) (array == a ? b : a)).copy();
+            for (int i = 0; i < array.cardinality; i++) {
+                bitmap.add(array.values[i]);
+            }
+            return bitmap;
+        } else {
+            long[] x = ((BitmapContainer) a).words;
+            long[] y = ((BitmapContainer) b).words;
+            long[] result = new long[BITMAP_WORDS];
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result[i] = x[i] | y[i];
+            }
+            return new BitmapContainer(result);
+        }
+    }
+
+    private static Container andNot(Container a, Container b) {
+        if (a instanceof ArrayContainer && b instanceof ArrayContainer) {
+            ArrayContainer x = (ArrayContainer) a;
+            ArrayContainer y = (ArrayContainer) b;
+            char[] result = new char[x.cardinality];
+            int count = 0;
+            int j = 0;
+            for (int i = 0; i < x.cardinality; i++) {
+                while (j < y.cardinality && y.values[j] < x.values[i]) {
+                    j++;
+                }
+                if (j == y.cardinality || y.values[j] != x.values[i]) {
+                    result[count++] = x.values[i];
+                }
+            }
+            return count == 0 ? null : new ArrayContainer(result, count);
+        } else if (a instanceof ArrayContainer) {
+            return ((ArrayContainer) a).filter((BitmapContainer) b, false);
+        } else if (b instanceof ArrayContainer) {
+            long[] result = ((BitmapContainer) a).words.clone();
+            ArrayContainer y = (ArrayContainer) b;
+            for (int i = 0; i < y.cardinality; i++) {
+                result[y.values[i] >>> 6] &= ~(1L << y.values[i]);
+            }
+            return BitmapContainer.shrink(result);
+        } else {
+            long[] x = ((BitmapContainer) a).words;
+            long[] y = ((BitmapContainer) b).words;
+            long[] result = new long[BITMAP_WORDS];
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                result[i] = x[i] & ~y[i];
+            }
+            return BitmapContainer.shrink(result);
+        }
+    }
+
+    /**
+     * Holds the lower 16 bits of the values in one chunk. add and remove return the container
+     * that should hold the chunk afterwards, which may be a new one of the other kind.
+     */
+    private abstract static class Container {
+        public abstract int cardinality();
+
+        public abstract boolean contains(char low);
+
+        public abstract Container add(char low);
+
+        public abstract Container remove(char low);
+
+        public abstract Container copy();
+
+        public abstract LowIterator iterator();
+    }
+
+    private static class ArrayContainer extends Container {
+        private char[] values;
+        private int cardinality;
+
+        public ArrayContainer() {
+            this(new char[4], 0);
+        }
+
+        public ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        public int cardinality() {
+            return this.cardinality;
+        }
+
+        @Override
+        public boolean contains(char low) {
+            return Arrays.binarySearch(this.values, 0, this.cardinality, low) >= 0;
+        }
+
+        @Override
+        public Container add(char low) {
+            int index = Arrays.binarySearch(this.values, 0, this.cardinality, low);
+            if (index >= 0) {
+                return this;
+            } else if (this.cardinality == ARRAY_MAX) {
+                return this.toBitmap().add(low);
+            }
+            index = -index - 1;
+            if (this.cardinality == this.values.length) {
+                this.values = Arrays.copyOf(this.values, Math.min(ARRAY_MAX, 2 * this.values.length));
+            }
+            System.arraycopy(this.values, index, this.values, index + 1, this.cardinality - index);
+            this.values[index] = low;
+            this.cardinality++;
+            return this;
+        }
+
+        @Override
+        public Container remove(char low) {
+            int index = Arrays.binarySearch(this.values, 0, this.cardinality, low);
+            if (index >= 0) {
+                System.arraycopy(this.values, index + 1, this.values, index,
+                        this.cardinality - index - 1);
+                this.cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        public Container copy() {
+            return new ArrayContainer(Arrays.copyOf(this.values, this.cardinality), this.cardinality);
+        }
+
+        /**
+         * Returns the values of this container that are (if 'keep' is true) or are not (if
+         * 'keep' is false) in the given bitmap, or null if there are none.
+         */
+        public Container filter(BitmapContainer bitmap, boolean keep) {
+            char[] result = new char[this.cardinality];
+            int count = 0;
+            for (int i = 0; i < this.cardinality; i++) {
+                if (bitmap.contains(this.values[i]) == keep) {
+                    result[count++] = this.values[i];
+                }
+            }
+            return count == 0 ? null : new ArrayContainer(result, count);
+        }
+
+        public BitmapContainer toBitmap() {
+            long[] words = new long[BITMAP_WORDS];
+            for (int i = 0; i < this.cardinality; i++) {
+                words[this.values[i] >>> 6] |= 1L << this.values[i];
+            }
+            return new BitmapContainer(words, this.cardinality);
+        }
+
+        @Override
+        public LowIterator iterator() {
+            return new LowIterator() {
+                private int index = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return this.index < cardinality;
+                }
+
+                @Override
+                public int next() {
+                    return values[this.index++];
+                }
+            };
+        }
+    }
+
+    private static class BitmapContainer extends Container {
+        private final long[] words;
+        private int cardinality;
+
+        public BitmapContainer(long[] words) {
+            this(words, countBits(words));
+        }
+
+        public BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        /**
+         * Returns a container holding the given bits, as an array container if there are few
+         * enough of them, or null if there are none.
+         */
+        public static Container shrink(long[] words) {
+            int cardinality = countBits(words);
+            if (cardinality == 0) {
+                return null;
+            } else if (cardinality > ARRAY_MAX) {
+                return new BitmapContainer(words, cardinality);
+            }
+            return new BitmapContainer(words, cardinality).toArray();
+        }
+
+        private static int countBits(long[] words) {
+            int count = 0;
+            for (long word : words) {
+                count += Long.bitCount(word);
+            }
+            return count;
+        }
+
+        @Override
+        public int cardinality() {
+            return this.cardinality;
+        }
+
+        @Override
+        public boolean contains(char low) {
+            return (this.words[low >>> 6] & (1L << low)) != 0;
+        }
+
+        @Override
+        public Container add(char low) {
+            long bit = 1L << low;
+            if ((this.words[low >>> 6] & bit) == 0) {
+                this.words[low >>> 6] |= bit;
+                this.cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        public Container remove(char low) {
+            long bit = 1L << low;
+            if ((this.words[low >>> 6] & bit) != 0) {
+                this.words[low >>> 6] &= ~bit;
+                this.cardinality--;
+            }
+            return this.cardinality <= ARRAY_MAX ? this.toArray() : this;
+        }
+
+        @Override
+        public BitmapContainer copy() {
+            return new BitmapContainer(this.words.clone(), this.cardinality);
+        }
+
+        public ArrayContainer toArray() {
+            char[] values = new char[this.cardinality];
+            int count = 0;
+            for (int i = 0; i < BITMAP_WORDS; i++) {
+                long word = this.words[i];
+                while (word != 0) {
+                    values[count++] = (char) ((i << 6) + Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(values, count);
+        }
+
+        @Override
+        public LowIterator iterator() {
+            return new LowIterator() {
+                private int index = 0;
+                private long word = words[0];
+
+                @Override
+                public boolean hasNext() {
+                    while (this.word == 0 && this.index + 1 < BITMAP_WORDS) {
+                        this.index++;
+                        this.word = words[this.index];
+                    }
+                    return this.word != 0;
+                }
+
+                @Override
+                public int next() {
+                    int bit = Long.numberOfTrailingZeros(this.word);
+                    this.word &= this.word - 1;
+                    return (this.index << 6) + bit;
+                }
+            };
+        }
+    }
+
+    /**
+     * Iterates over the lower 16 bits of the values in one container, without boxing.
+     */
+    private interface LowIterator {
+        boolean hasNext();
+
+        int next();
+    }
+
+    private class RoaringIterator implements Iterator<Integer> {
+        private int chunk;
+        private LowIterator current;
+        private final int expectedModCount;
+
+        public RoaringIterator() {
+            this.chunk = 0;
+            this.current = chunkCount > 0 ? containers[0].iterator() : null;
+            this.expectedModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            while (this.current != null && !this.current.hasNext()) {
+                this.chunk++;
+                this.current = this.chunk < chunkCount ? containers[this.chunk].iterator() : null;
+            }
+            return this.current != null;
+        }
+
+        @Override
+        public Integer next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return (keys[this.chunk] << 16) | this.current.next();
+        }
+    }
+}
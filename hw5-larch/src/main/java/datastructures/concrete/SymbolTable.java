@@ -0,0 +1,98 @@
+package datastructures.concrete;
+
+import datastructures.concrete.dictionaries.ObjectIntDictionary;
+
+import java.util.Arrays;
+
+/**
+ * Assigns every distinct item a compact int ID: the first new item gets 0, the next 1, and
+ * so on. Each ID can be turned back into its item in O(1) time.
+ *
+ * This serves two purposes. Code that would otherwise key many dictionaries by the same
+ * objects (every term of every document, say) can key plain arrays by ID instead. And
+ * canonical returns one shared copy of each equal item, so equal strings or URIs read from
+ * different places can be stored once rather than once per occurrence.
+ *
+ * Items are never removed, so IDs stay valid for the life of the table. Supports null items.
+ * Like the other data structures here, a SymbolTable is not thread-safe.
+ */
+public class SymbolTable<T> {
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private ObjectIntDictionary<T> ids;
+    // items[id] is the item with that ID, for every ID below size().
+    private T[] items;
+
+    public SymbolTable() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a table that can hold 'expectedSize' items without resizing.
+     *
+     * @throws IllegalArgumentException if expectedSize is negative
+     */
+    @SuppressWarnings("unchecked")
+    public SymbolTable(int expectedSize) {
+        this.ids = new ObjectIntDictionary<>(expectedSize);
+        this.items = (T[]) new Object[Math.max(1, expectedSize)];
+    }
+
+    /**
+     * Returns the ID of the given item, assigning it the next unused ID first if it has none.
+     */
+    public int intern(T item) {
+        int id = this.ids.getOrDefault(item, -1);
+        if (id == -1) {
+            id = this.ids.size();
+            if (id == this.items.length) {
+                this.items = Arrays.copyOf(this.items, 2 * this.items.length);
+            }
+            this.items[id] = item;
+            this.ids.put(item, id);
+        }
+        return id;
+    }
+
+    /**
+     * Returns the copy of the given item stored in this table, adding the item itself if no
+     * equal item is stored yet.
+     */
+    public T canonical(T item) {
+        return this.items[this.intern(item)];
+    }
+
+    /**
+     * Returns the ID of the given item, or -1 if it has none. Unlike intern, this never
+     * changes the table.
+     */
+    public int indexOf(T item) {
+        return this.ids.getOrDefault(item, -1);
+    }
+
+    /**
+     * Returns the item with the given ID.
+     *
+     * @throws IndexOutOfBoundsException if the id < 0 or id >= this.size()
+     */
+    public T get(int id) {
+        if (id < 0 || id >= this.size()) {
+            throw new IndexOutOfBoundsException("ID: " + id + ", Size: " + this.size());
+        }
+        return this.items[id];
+    }
+
+    /**
+     * Returns true if the given item has an ID and false otherwise.
+     */
+    public boolean contains(T item) {
+        return this.ids.containsKey(item);
+    }
+
+    /**
+     * Returns the number of items in this table, which is also one more than the largest ID.
+     */
+    public int size() {
+        return this.ids.size();
+    }
+}
@@ -3,33 +3,107 @@ package datastructures.concrete.dictionaries;
 import datastructures.interfaces.IDictionary;
 import misc.exceptions.NoSuchKeyException;
 
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 
 /**
  * @see IDictionary and the assignment page for more details on what each method should do
+ *
+ * By default, the dictionary rehashes every pair at once when it grows. When constructed
+ * with 'incrementalResize' set, it instead keeps the old chains around after growing and
+ * moves a few of them into the new array every time a key is added or removed, so no single
+ * operation pays for the whole rehash. Lookups and iteration see every pair no matter
+ * how far along that migration is.
  */
 public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
     private final double lambda;
     // You MUST use this field to store the contents of your dictionary.
     // You may not change or rename this field: we will be inspecting
     // it using our private tests.
+    //
+    // Every chain is an ArrayDictionary filled through its hash-aware helper methods,
+    // and the number of chains is always a power of two. A chain is only allocated when
+    // the first pair is put into it, so a null chain is simply empty.
     private IDictionary<K, V>[] chains;
     // You're encouraged to add extra fields (and helper methods) though!
-    private int originalLength = 5;
-    //private int size = 50;
+    private int originalLength = 8;
     private int full = 0;
 
+    // Most chains hold only one or two pairs, so they start out small.
+    private static final int CHAIN_CAPACITY = 2;
+
+    // How many old chains an insertion or removal migrates while an incremental resize is
+    // in progress. The table finishes migrating its old.length chains within
+    // old.length / 4 insertions, before the lambda * old.length insertions it takes to
+    // trigger the next resize (for any lambda >= 0.25).
+    private static final int MIGRATION_STEP = 4;
+
+    private final boolean incrementalResize;
+    // While an incremental resize is in progress, 'oldChains' holds the previous array of
+    // chains. Old chains below 'migrateIndex' have already been split into 'chains' (and
+    // set to null); the rest still live in 'oldChains' and the matching slots of 'chains'
+    // are null. When no resize is in progress, 'oldChains' is null.
+    private IDictionary<K, V>[] oldChains;
+    private int migrateIndex = 0;
+
+    // Counts structural modifications (adding or removing a key); iterators use this to
+    // detect concurrent changes. Overwriting the value of an existing key does not count.
+    private int modCount = 0;
+
     public ChainedHashDictionary() {
         this(0.75);
     }
 
     public ChainedHashDictionary(double lambda) {
+        this(lambda, false);
+    }
+
+    /**
+     * @param incrementalResize  if true, spread the work of each resize across the
+     *                           insertions and removals that follow it instead of
+     *                           rehashing everything at once
+     */
+    public ChainedHashDictionary(double lambda, boolean incrementalResize) {
+        this(0, lambda, incrementalResize);
+    }
+
+    /**
+     * Creates a dictionary with enough chains to hold 'expectedSize' pairs without resizing.
+     * Iterating visits every chain, so it gets slower the further 'expectedSize' overshoots
+     * the number of pairs actually added.
+     */
+    public ChainedHashDictionary(int expectedSize) {
+        this(expectedSize, 0.75, false);
+    }
+
+    /**
+     * Creates a dictionary with enough chains to hold 'expectedSize' pairs without resizing.
+     *
+     * @param incrementalResize  if true, spread the work of each resize across the
+     *                           insertions and removals that follow it instead of
+     *                           rehashing everything at once
+     * @throws IllegalArgumentException if expectedSize is negative
+     */
+    public ChainedHashDictionary(int expectedSize, double lambda, boolean incrementalResize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must be non-negative");
+        }
         this.lambda = lambda;
-        chains = makeArrayOfChains(originalLength);
-        for (int i = 0; i < chains.length; i++) {
-            chains[i] = new ArrayDictionary<K, V>();
+        this.incrementalResize = incrementalResize;
+        chains = makeArrayOfChains(this.lengthFor(expectedSize));
+    }
+
+    /**
+     * Returns the smallest power-of-two number of chains (and at least originalLength)
+     * that holds the given number of pairs while staying under the load factor.
+     */
+    private int lengthFor(int numPairs) {
+        int length = originalLength;
+        while (length < (1 << 30) && numPairs / (double) length >= lambda) {
+            length *= 2;
         }
+        return length;
     }
 
     /**
@@ -46,44 +120,105 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
         return (IDictionary<K, V>[]) new IDictionary[arraySize];
     }
 
+    // Each public method below hashes the key exactly once and scans a single chain
+    // exactly once; the hash is then cached inside the chain alongside the pair.
+
     @Override
     public V get(K key) {
-        if (!this.containsKey(key)){
+        int hash = hash(key);
+        ArrayDictionary<K, V> chain = this.getChain(hash);
+        int index = chain == null ? -1 : chain.indexOf(key, hash);
+        if (index < 0) {
             throw new NoSuchKeyException("cant get");
         }
-        int bucket = this.getCode(key);
-        V value = this.chains[bucket].get(key);
-        return value;
+        return chain.valueAt(index);
+    }
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        int hash = hash(key);
+        ArrayDictionary<K, V> chain = this.getChain(hash);
+        int index = chain == null ? -1 : chain.indexOf(key, hash);
+        return index < 0 ? defaultValue : chain.valueAt(index);
     }
 
     @Override
     public void put(K key, V value) {
-        if (!containsKey(key)){
-            full++;
+        int hash = hash(key);
+        ArrayDictionary<K, V> chain = this.getChain(hash);
+        int index = chain == null ? -1 : chain.indexOf(key, hash);
+        if (index >= 0) {
+            chain.setValueAt(index, value);
+            return;
+        }
+        if (chain == null) {
+            chain = this.createChain(hash);
         }
+        chain.append(key, value, hash);
+        full++;
+        modCount++;
+        this.migrateSome();
         this.resize();
-        IDictionary<K, V> bucket = chains[this.getCode(key)];
-        bucket.put(key, value);
+    }
+
+    /**
+     * Grows the array of chains at most once, straight to its final size. If this dictionary
+     * starts out empty, the pairs are appended without searching the chains for duplicates,
+     * since the keys in 'other' are already unique.
+     */
+    @Override
+    public void putAll(IDictionary<? extends K, ? extends V> other) {
+        if (other == this) {
+            return;
+        }
+        int length = this.lengthFor(full + other.size());
+        boolean grew = length > chains.length;
+        if (grew) {
+            this.rehashTo(length);
+        }
+        int oldFull = full;
+        boolean wasEmpty = full == 0;
+        for (KVPair<? extends K, ? extends V> pair : other) {
+            K key = pair.getKey();
+            int hash = hash(key);
+            ArrayDictionary<K, V> chain = this.getChain(hash);
+            int index = wasEmpty || chain == null ? -1 : chain.indexOf(key, hash);
+            if (index >= 0) {
+                chain.setValueAt(index, pair.getValue());
+            } else {
+                if (chain == null) {
+                    chain = this.createChain(hash);
+                }
+                chain.append(key, pair.getValue(), hash);
+                full++;
+            }
+        }
+        // Overwriting existing keys is not a structural change.
+        if (grew || full != oldFull) {
+            modCount++;
+        }
     }
 
     @Override
     public V remove(K key) {
-        if (!containsKey(key)){
+        int hash = hash(key);
+        ArrayDictionary<K, V> chain = this.getChain(hash);
+        int index = chain == null ? -1 : chain.indexOf(key, hash);
+        if (index < 0) {
             throw new NoSuchKeyException("cant remove");
         }
         full--;
-        int code = this.getCode(key);
-        V value = this.chains[code].remove(key);
+        modCount++;
+        V value = chain.removeAt(index);
+        this.migrateSome();
         return value;
     }
 
     @Override
     public boolean containsKey(K key) {
-        if (chains[getCode(key)] == null){
-            return false;
-        }
-        int bucket = this.getCode(key);
-        return this.chains[bucket].containsKey(key);
+        int hash = hash(key);
+        ArrayDictionary<K, V> chain = this.getChain(hash);
+        return chain != null && chain.indexOf(key, hash) >= 0;
     }
 
     @Override
@@ -94,39 +229,141 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
     @Override
     public Iterator<KVPair<K, V>> iterator() {
         // Note: you do not need to change this method
-        return new ChainedIterator<>(this.chains);
+        return new ChainedIterator();
+    }
+
+    /**
+     * Returns the hash cached for the given key. The key's hashCode is scrambled so that
+     * keys whose hash codes only differ in their upper bits still end up in different chains.
+     */
+    private static int hash(Object key) {
+        int h = key == null ? 0 : key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the chain that holds (or would hold) a key with the given hash, or null if
+     * that chain has not been allocated yet.
+     */
+    @SuppressWarnings("unchecked")
+    private ArrayDictionary<K, V> getChain(int hash) {
+        IDictionary<K, V>[] table = this.tableFor(hash);
+        return (ArrayDictionary<K, V>) table[hash & (table.length - 1)];
     }
 
-    private int getCode(K key) {
-        int code;
-        if (key == null) {
-            code = 0;
-        } else {
-            code = Math.abs(key.hashCode() % this.chains.length);
+    /**
+     * Allocates the chain for the given hash, which must not exist yet, and returns it.
+     */
+    private ArrayDictionary<K, V> createChain(int hash) {
+        IDictionary<K, V>[] table = this.tableFor(hash);
+        ArrayDictionary<K, V> chain = new ArrayDictionary<>(CHAIN_CAPACITY);
+        table[hash & (table.length - 1)] = chain;
+        return chain;
+    }
+
+    /**
+     * Returns 'oldChains' if a key with the given hash still lives in an old chain that
+     * has not been migrated yet, and 'chains' otherwise.
+     */
+    private IDictionary<K, V>[] tableFor(int hash) {
+        if (this.oldChains != null && (hash & (this.oldChains.length - 1)) >= this.migrateIndex) {
+            return this.oldChains;
         }
-        return code;
+        return this.chains;
     }
 
+    /**
+     * Doubles the number of chains once the load factor reaches lambda.
+     *
+     * In incremental mode this only allocates the new array; the pairs are moved over
+     * later by migrateSome. Otherwise every old chain is migrated right away.
+     */
     private void resize(){
-        if (full/chains.length < lambda){
+        if ((double) full / chains.length < lambda){
             return;
         }
-        int newLength = chains.length * 2;
-        IDictionary<K, V>[] original = chains;
-        this.chains = makeArrayOfChains(newLength);
-        for (int i = 0; i < chains.length; i++){
-            chains[i] = new ArrayDictionary<K, V>();
+        // Finish any earlier migration first (this never happens with MIGRATION_STEP >= 2,
+        // but keeps the invariants simple).
+        while (this.oldChains != null) {
+            this.migrateChain();
+        }
+        this.oldChains = chains;
+        this.migrateIndex = 0;
+        this.chains = makeArrayOfChains(oldChains.length * 2);
+        if (!this.incrementalResize) {
+            while (this.oldChains != null) {
+                this.migrateChain();
+            }
+        }
+    }
+
+    /**
+     * Moves every pair into a brand new array of chains of the given length, finishing
+     * any incremental resize that was in progress first.
+     */
+    @SuppressWarnings("unchecked")
+    private void rehashTo(int length) {
+        while (this.oldChains != null) {
+            this.migrateChain();
+        }
+        IDictionary<K, V>[] newChains = makeArrayOfChains(length);
+        for (IDictionary<K, V> oldChain : this.chains) {
+            if (oldChain == null) {
+                continue;
+            }
+            ArrayDictionary<K, V> chain = (ArrayDictionary<K, V>) oldChain;
+            for (int j = 0; j < chain.size(); j++) {
+                int hash = chain.hashAt(j);
+                int index = hash & (length - 1);
+                if (newChains[index] == null) {
+                    newChains[index] = new ArrayDictionary<K, V>(CHAIN_CAPACITY);
+                }
+                ((ArrayDictionary<K, V>) newChains[index]).append(chain.keyAt(j), chain.valueAt(j), hash);
+            }
+        }
+        this.chains = newChains;
+    }
+
+    /**
+     * Migrates the next few old chains if an incremental resize is in progress.
+     */
+    private void migrateSome() {
+        for (int i = 0; i < MIGRATION_STEP && this.oldChains != null; i++) {
+            this.migrateChain();
         }
-        for (int i = 0; i < original.length; i++) {
-            for (KVPair<K, V> pair : original[i]) {
-                int code = this.getCode(pair.getKey());
-                chains[code].put(pair.getKey(), pair.getValue());
+    }
+
+    /**
+     * Moves the old chain at 'migrateIndex' into the new array of chains.
+     *
+     * Because the number of chains is a power of two, every pair in old chain i ends up
+     * either in chain i or in chain i + oldChains.length of the new array. The old chain is
+     * reused in place, and the new chain is only allocated if some pair moves into it.
+     */
+    private void migrateChain() {
+        int i = this.migrateIndex;
+        int oldLength = this.oldChains.length;
+        @SuppressWarnings("unchecked")
+        ArrayDictionary<K, V> low = (ArrayDictionary<K, V>) this.oldChains[i];
+        ArrayDictionary<K, V> high = null;
+        for (int j = low == null ? -1 : low.size() - 1; j >= 0; j--) {
+            int hash = low.hashAt(j);
+            if ((hash & oldLength) != 0) {
+                if (high == null) {
+                    high = new ArrayDictionary<>(CHAIN_CAPACITY);
+                }
+                high.append(low.keyAt(j), low.valueAt(j), hash);
+                low.removeAt(j);
             }
         }
-        // for (int code = 0; code < length; code++) {
-        //     IDictionary<K, V> bucket = chains[code];
-        //     newChains[code] = bucket;
-        //
+        this.chains[i] = low;
+        this.chains[i + oldLength] = high;
+        this.oldChains[i] = null;
+        this.migrateIndex++;
+        if (this.migrateIndex == oldLength) {
+            this.oldChains = null;
+            this.migrateIndex = 0;
+        }
     }
 
     /**
@@ -171,52 +408,73 @@ public class ChainedHashDictionary<K, V> implements IDictionary<K, V> {
      * 2. You **MAY** call the `.iterator()` method on each IDictionary
      *    instance inside your 'chains' array, however.
      */
-    private static class ChainedIterator<K, V> implements Iterator<KVPair<K, V>> {
-        private IDictionary<K, V>[] chains;
-        private Iterator<KVPair<K, V>> iter;
-        private int index = 0;
+    private class ChainedIterator implements Iterator<KVPair<K, V>> {
+        // The iterator first walks the old chains that have not been migrated yet (if a
+        // resize is in progress), then every non-null chain in 'chains'. It reads each
+        // chain's pairs directly instead of allocating an iterator per chain.
+        private IDictionary<K, V>[] current;
+        private int index;
+        // The current non-empty chain, or null once we've run out of pairs, and the
+        // position of the next pair within it.
+        private ArrayDictionary<K, V> chain;
+        private int position;
+        private int expectedModCount;
 
+        public ChainedIterator() {
+            if (oldChains != null) {
+                this.current = oldChains;
+                this.index = migrateIndex - 1;
+            } else {
+                this.current = chains;
+                this.index = -1;
+            }
+            this.expectedModCount = modCount;
+            this.advance();
+        }
 
-        public ChainedIterator(IDictionary<K, V>[] chains) {
-            this.chains = chains;
-            iter = chains[index].iterator();
-            while (!iter.hasNext() && !this.hasNext() && index < chains.length - 1) {
-                index++;
+        /**
+         * Points 'chain' at the next non-empty chain, or sets it to null if there is none.
+         */
+        @SuppressWarnings("unchecked")
+        private void advance() {
+            this.position = 0;
+            while (true) {
+                while (index + 1 < current.length) {
+                    index++;
+                    IDictionary<K, V> next = current[index];
+                    if (next != null && !next.isEmpty()) {
+                        chain = (ArrayDictionary<K, V>) next;
+                        return;
+                    }
+                }
+                if (current == chains) {
+                    chain = null;
+                    return;
+                }
+                current = chains;
+                index = -1;
             }
-            iter = chains[index].iterator();
         }
 
         @Override
         public boolean hasNext() {
-            if (iter.hasNext()) {
-                return true;
-            } else {
-                int i = index + 1;
-                while (i < chains.length) {
-                    if (chains[i] != null && !chains[i].isEmpty()) {
-                        return true;
-                    }
-                    i++;
-                }
-                return false;
+            if (modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
             }
+            return chain != null;
         }
 
         @Override
         public KVPair<K, V> next() {
             if (!this.hasNext()) {
                 throw new NoSuchElementException();
-            } else if (iter.hasNext()) {
-                return iter.next();
-            } else {
-                index++;
-                while (index < chains.length - 1 && chains[index].isEmpty()) {
-                    index++;
-                }
-                iter = chains[index].iterator();
-                return iter.next();
             }
+            KVPair<K, V> pair = new KVPair<>(chain.keyAt(position), chain.valueAt(position));
+            position++;
+            if (position == chain.size()) {
+                this.advance();
+            }
+            return pair;
         }
-
     }
 }
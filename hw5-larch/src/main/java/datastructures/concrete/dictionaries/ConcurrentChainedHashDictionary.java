@@ -0,0 +1,366 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.interfaces.IDictionary;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * A thread-safe, separately chained hash table implementation of the Dictionary ADT.
+ *
+ * Writers use lock striping: every key belongs to one of NUM_STRIPES stripes (picked from
+ * the low bits of its hash), and adding, overwriting or removing a key only holds that
+ * stripe's lock. Threads writing keys in different stripes never wait for each other.
+ *
+ * Reads (get, getOrDefault, containsKey and iteration) never lock. Each bucket is a linked
+ * list of nodes whose key and hash never change; bucket heads live in an
+ * AtomicReferenceArray and every node's 'value' and 'next' fields are volatile, so a reader
+ * always walks a well-formed chain and sees the latest value written to a node.
+ *
+ * To grow, a writer takes every stripe lock, copies every node into a table twice the size,
+ * and then publishes the new table. The old table is never modified again, so readers that
+ * are still using it are not blocked and still see a consistent snapshot.
+ *
+ * Iterators are weakly consistent: they never throw ConcurrentModificationException, they
+ * yield each key at most once, and they yield every pair that was present when iteration
+ * started and was not removed before the iterator reached it. Similarly, size() is only
+ * exact while no other thread is modifying the dictionary.
+ *
+ * Supports null keys and null values.
+ */
+public class ConcurrentChainedHashDictionary<K, V> implements IDictionary<K, V> {
+    // Must be a power of two. Tables are never shorter than this, so a key's stripe only
+    // depends on its hash and stays the same across resizes.
+    private static final int NUM_STRIPES = 16;
+    private static final int MAX_LENGTH = 1 << 30;
+    private static final double DEFAULT_LAMBDA = 0.75;
+
+    private final double lambda;
+
+    // Invariant: table.length() is a power of two and at least NUM_STRIPES. The table is
+    // only replaced (never resized in place) while every stripe lock is held.
+    private volatile AtomicReferenceArray<Node<K, V>> table;
+
+    // locks[s] guards every bucket whose index is congruent to s modulo NUM_STRIPES, and
+    // counts[s] holds the number of pairs in those buckets.
+    private final ReentrantLock[] locks;
+    private final AtomicIntegerArray counts;
+
+    // A stripe holding more pairs than this triggers a resize. Only written while every
+    // stripe lock is held.
+    private volatile int stripeThreshold;
+
+    public ConcurrentChainedHashDictionary() {
+        this(0);
+    }
+
+    /**
+     * Creates a dictionary with enough buckets to hold 'expectedSize' pairs without resizing.
+     */
+    public ConcurrentChainedHashDictionary(int expectedSize) {
+        this(expectedSize, DEFAULT_LAMBDA);
+    }
+
+    /**
+     * Creates a dictionary with enough buckets to hold 'expectedSize' pairs without resizing.
+     *
+     * @throws IllegalArgumentException if expectedSize is negative or lambda is not positive
+     */
+    public ConcurrentChainedHashDictionary(int expectedSize, double lambda) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must be non-negative");
+        }
+        if (!(lambda > 0)) {
+            throw new IllegalArgumentException("Load factor must be positive");
+        }
+        this.lambda = lambda;
+        this.locks = new ReentrantLock[NUM_STRIPES];
+        for (int i = 0; i < NUM_STRIPES; i++) {
+            this.locks[i] = new ReentrantLock();
+        }
+        this.counts = new AtomicIntegerArray(NUM_STRIPES);
+
+        int length = NUM_STRIPES;
+        while (length < MAX_LENGTH && expectedSize / (double) length >= lambda) {
+            length *= 2;
+        }
+        this.table = new AtomicReferenceArray<>(length);
+        this.stripeThreshold = this.stripeThresholdFor(length);
+    }
+
+    private int stripeThresholdFor(int length) {
+        return length >= MAX_LENGTH ? Integer.MAX_VALUE : (int) (length * this.lambda / NUM_STRIPES);
+    }
+
+    private static int hash(Object key) {
+        int h = key == null ? 0 : key.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the node with the given key and hash in the given table, or null if there is none.
+     */
+    private static <K, V> Node<K, V> findNode(AtomicReferenceArray<Node<K, V>> tab, K key, int hash) {
+        for (Node<K, V> node = tab.get(hash & (tab.length() - 1)); node != null; node = node.next) {
+            if (node.hash == hash && (key == node.key || (key != null && key.equals(node.key)))) {
+                return node;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Locks the stripe for the given hash and returns the current table, which cannot be
+     * replaced until the caller releases the stripe with 'unlock'.
+     */
+    private AtomicReferenceArray<Node<K, V>> lock(int hash) {
+        ReentrantLock lock = this.locks[hash & (NUM_STRIPES - 1)];
+        while (true) {
+            AtomicReferenceArray<Node<K, V>> tab = this.table;
+            lock.lock();
+            if (tab == this.table) {
+                return tab;
+            }
+            // A resize replaced the table while we were waiting; try again.
+            lock.unlock();
+        }
+    }
+
+    private void unlock(int hash) {
+        this.locks[hash & (NUM_STRIPES - 1)].unlock();
+    }
+
+    @Override
+    public V get(K key) {
+        Node<K, V> node = findNode(this.table, key, hash(key));
+        if (node == null) {
+            throw new NoSuchKeyException();
+        }
+        return node.value;
+    }
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        Node<K, V> node = findNode(this.table, key, hash(key));
+        return node == null ? defaultValue : node.value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return findNode(this.table, key, hash(key)) != null;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        this.insert(key, value, false);
+    }
+
+    /**
+     * Adds the key-value pair to the dictionary if the key is not already present. The check
+     * and the insertion happen atomically.
+     *
+     * @return true if the pair was added, false if the key was already present
+     */
+    public boolean putIfAbsent(K key, V value) {
+        return this.insert(key, value, true);
+    }
+
+    /**
+     * Adds the key-value pair, or (unless onlyIfAbsent is set) overwrites the value of an
+     * existing key. Returns whether a new key was added.
+     */
+    private boolean insert(K key, V value, boolean onlyIfAbsent) {
+        int hash = hash(key);
+        int stripeCount;
+        AtomicReferenceArray<Node<K, V>> tab = this.lock(hash);
+        try {
+            Node<K, V> node = findNode(tab, key, hash);
+            if (node != null) {
+                if (!onlyIfAbsent) {
+                    node.value = value;
+                }
+                return false;
+            }
+            int index = hash & (tab.length() - 1);
+            tab.set(index, new Node<>(key, hash, value, tab.get(index)));
+            stripeCount = this.counts.incrementAndGet(hash & (NUM_STRIPES - 1));
+        } finally {
+            this.unlock(hash);
+        }
+        if (stripeCount > this.stripeThreshold) {
+            this.resize(hash & (NUM_STRIPES - 1));
+        }
+        return true;
+    }
+
+    /**
+     * Returns the value for the given key. If the key is not present, first computes a value
+     * for it with the given function and adds that pair to the dictionary.
+     *
+     * The function is called at most once per missing key, even when several threads ask
+     * for the same key at the same time. It runs while holding a lock, so it should be short
+     * and must not modify this dictionary.
+     */
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> function) {
+        int hash = hash(key);
+        Node<K, V> existing = findNode(this.table, key, hash);
+        if (existing != null) {
+            return existing.value;
+        }
+
+        V value;
+        int stripeCount;
+        AtomicReferenceArray<Node<K, V>> tab = this.lock(hash);
+        try {
+            existing = findNode(tab, key, hash);
+            if (existing != null) {
+                return existing.value;
+            }
+            value = function.apply(key);
+            int index = hash & (tab.length() - 1);
+            tab.set(index, new Node<>(key, hash, value, tab.get(index)));
+            stripeCount = this.counts.incrementAndGet(hash & (NUM_STRIPES - 1));
+        } finally {
+            this.unlock(hash);
+        }
+        if (stripeCount > this.stripeThreshold) {
+            this.resize(hash & (NUM_STRIPES - 1));
+        }
+        return value;
+    }
+
+    @Override
+    public V remove(K key) {
+        int hash = hash(key);
+        AtomicReferenceArray<Node<K, V>> tab = this.lock(hash);
+        try {
+            int index = hash & (tab.length() - 1);
+            Node<K, V> prev = null;
+            for (Node<K, V> node = tab.get(index); node != null; node = node.next) {
+                if (node.hash == hash && (key == node.key || (key != null && key.equals(node.key)))) {
+                    // Readers standing on 'node' can still follow its 'next' pointer.
+                    if (prev == null) {
+                        tab.set(index, node.next);
+                    } else {
+                        prev.next = node.next;
+                    }
+                    this.counts.decrementAndGet(hash & (NUM_STRIPES - 1));
+                    return node.value;
+                }
+                prev = node;
+            }
+        } finally {
+            this.unlock(hash);
+        }
+        throw new NoSuchKeyException();
+    }
+
+    @Override
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < NUM_STRIPES; i++) {
+            size += this.counts.get(i);
+        }
+        return size;
+    }
+
+    /**
+     * Doubles the number of buckets, unless another thread already grew the table enough
+     * for the given stripe while we were waiting for the locks.
+     */
+    private void resize(int stripe) {
+        for (ReentrantLock lock : this.locks) {
+            lock.lock();
+        }
+        try {
+            AtomicReferenceArray<Node<K, V>> oldTable = this.table;
+            if (this.counts.get(stripe) <= this.stripeThreshold || oldTable.length() >= MAX_LENGTH) {
+                return;
+            }
+            int length = oldTable.length() * 2;
+            AtomicReferenceArray<Node<K, V>> newTable = new AtomicReferenceArray<>(length);
+            for (int i = 0; i < oldTable.length(); i++) {
+                // Copy the nodes instead of relinking them, since readers may still be
+                // walking the old chains.
+                for (Node<K, V> node = oldTable.get(i); node != null; node = node.next) {
+                    int index = node.hash & (length - 1);
+                    newTable.set(index, new Node<>(node.key, node.hash, node.value, newTable.get(index)));
+                }
+            }
+            this.table = newTable;
+            this.stripeThreshold = this.stripeThresholdFor(length);
+        } finally {
+            for (ReentrantLock lock : this.locks) {
+                lock.unlock();
+            }
+        }
+    }
+
+    @Override
+    public Iterator<KVPair<K, V>> iterator() {
+        return new ConcurrentChainedIterator<>(this.table);
+    }
+
+    private static class Node<K, V> {
+        public final K key;
+        public final int hash;
+        public volatile V value;
+        public volatile Node<K, V> next;
+
+        public Node(K key, int hash, V value, Node<K, V> next) {
+            this.key = key;
+            this.hash = hash;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    private static class ConcurrentChainedIterator<K, V> implements Iterator<KVPair<K, V>> {
+        // The table being walked. If a resize replaces it, we keep walking the old table,
+        // which no longer changes.
+        private final AtomicReferenceArray<Node<K, V>> table;
+        private int index;
+        // The node to return next, or null once every bucket has been visited.
+        private Node<K, V> next;
+
+        public ConcurrentChainedIterator(AtomicReferenceArray<Node<K, V>> table) {
+            this.table = table;
+            this.index = -1;
+            this.next = null;
+            this.advance();
+        }
+
+        /**
+         * Moves 'next' to the following node, skipping over empty buckets.
+         */
+        private void advance() {
+            if (this.next != null) {
+                this.next = this.next.next;
+            }
+            while (this.next == null && this.index + 1 < this.table.length()) {
+                this.index++;
+                this.next = this.table.get(this.index);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.next != null;
+        }
+
+        @Override
+        public KVPair<K, V> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Node<K, V> node = this.next;
+            this.advance();
+            return new KVPair<>(node.key, node.value);
+        }
+    }
+}
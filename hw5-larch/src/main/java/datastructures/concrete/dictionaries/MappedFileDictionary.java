@@ -0,0 +1,603 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.interfaces.IDictionary;
+import misc.exceptions.NoSuchKeyException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A dictionary stored in a memory-mapped file rather than on the Java heap.
+ *
+ * Keys and values are turned into bytes by a Codec and written to the file, so the
+ * dictionary can grow well past -Xmx, costs the garbage collector nothing to scan, and is
+ * still there the next time the same file is opened: a dictionary built once can be
+ * reloaded instantly instead of being rebuilt. Lookups hash and compare the stored key bytes
+ * in place and decode only the value they return.
+ *
+ * The file holds a small header, an open addressing table of fixed-width slots (the key's
+ * hash and where its record starts), and an append-only arena of variable-length records
+ * (the key's and value's lengths, then their bytes). Overwriting a value with one of the
+ * same encoded length happens in place; any other overwrite, and every removal, leaves the
+ * old record behind as unused space.
+ *
+ * Growing the table, or letting unused space reach half of the arena, compacts the file: the
+ * new table and every live record are copied past the end of the arena and then moved down
+ * to just after the header. The arena therefore stays within about twice the size of the live
+ * records and table. The file itself never shrinks, since the space freed by
+ * compacting is reused by later appends.
+ *
+ * Since a single mapping is at most 2 GB, so is the file. Supports null keys and values.
+ * Call close (or flush) to make sure every change has reached the disk.
+ */
+public class MappedFileDictionary<K, V> implements IDictionary<K, V>, AutoCloseable {
+    private static final int MAGIC = 0x4D415044;
+    private static final int VERSION = 1;
+
+    // Header layout: magic, version, size, capacity, table offset, arena end and the number
+    // of unused bytes in the arena, as ints.
+    private static final int SIZE_OFFSET = 8;
+    private static final int CAPACITY_OFFSET = 12;
+    private static final int TABLE_OFFSET = 16;
+    private static final int ARENA_END_OFFSET = 20;
+    private static final int GARBAGE_OFFSET = 24;
+    private static final int HEADER_SIZE = 64;
+
+    // Each slot holds the key's hash and the position of its record, as ints.
+    private static final int SLOT_SIZE = 8;
+    // Each record starts with the key's and value's encoded lengths, -1 meaning null.
+    private static final int RECORD_HEADER_SIZE = 8;
+    private static final int NULL_LENGTH = -1;
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final double LOAD_FACTOR = 0.75;
+
+    private static final int COPY_CHUNK_SIZE = 8192;
+
+    // A slot is empty exactly when its stored hash is EMPTY. Every stored hash has
+    // OCCUPIED_BIT set, so a real hash can never be mistaken for an empty slot.
+    private static final int EMPTY = 0;
+    private static final int OCCUPIED_BIT = 0x80000000;
+
+    private final Codec<K> keyCodec;
+    private final Codec<V> valueCodec;
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+
+    private int size;
+    private int capacity;
+    private int mask;
+    private int threshold;
+    private int table;
+    private int arenaEnd;
+    private int garbage;
+
+    // Counts structural modifications (adding or removing a key); iterators use this to
+    // detect concurrent changes. Changing the value of an existing key does not count.
+    private int modCount;
+
+    /**
+     * Opens the dictionary stored in the given file, creating an empty one if the file
+     * does not exist or is empty.
+     *
+     * @throws IllegalArgumentException if the file holds something other than a dictionary
+     * @throws UncheckedIOException if the file can't be opened or mapped
+     */
+    public MappedFileDictionary(Path file, Codec<K> keyCodec, Codec<V> valueCodec) {
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long fileSize = this.channel.size();
+            if (fileSize == 0) {
+                this.map(HEADER_SIZE + DEFAULT_CAPACITY * SLOT_SIZE);
+                this.buffer.putInt(0, MAGIC);
+                this.buffer.putInt(4, VERSION);
+                this.size = 0;
+                this.table = HEADER_SIZE;
+                this.arenaEnd = HEADER_SIZE + DEFAULT_CAPACITY * SLOT_SIZE;
+                this.garbage = 0;
+                this.setCapacity(DEFAULT_CAPACITY);
+                this.writeHeader();
+            } else {
+                this.map((int) Math.min(fileSize, Integer.MAX_VALUE));
+                if (fileSize < HEADER_SIZE || this.buffer.getInt(0) != MAGIC
+                        || this.buffer.getInt(4) != VERSION) {
+                    this.channel.close();
+                    throw new IllegalArgumentException("Not a dictionary file: " + file);
+                }
+                this.size = this.buffer.getInt(SIZE_OFFSET);
+                this.table = this.buffer.getInt(TABLE_OFFSET);
+                this.arenaEnd = this.buffer.getInt(ARENA_END_OFFSET);
+                this.garbage = this.buffer.getInt(GARBAGE_OFFSET);
+                this.setCapacity(this.buffer.getInt(CAPACITY_OFFSET));
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not open dictionary file " + file, ex);
+        }
+        this.modCount = 0;
+    }
+
+    private void setCapacity(int newCapacity) {
+        this.capacity = newCapacity;
+        this.mask = newCapacity - 1;
+        this.threshold = (int) (newCapacity * LOAD_FACTOR);
+    }
+
+    private void writeHeader() {
+        this.buffer.putInt(SIZE_OFFSET, this.size);
+        this.buffer.putInt(CAPACITY_OFFSET, this.capacity);
+        this.buffer.putInt(TABLE_OFFSET, this.table);
+        this.buffer.putInt(ARENA_END_OFFSET, this.arenaEnd);
+        this.buffer.putInt(GARBAGE_OFFSET, this.garbage);
+    }
+
+    /**
+     * Maps the first 'length' bytes of the file, growing the file if it is shorter.
+     */
+    private void map(int length) throws IOException {
+        this.buffer = this.channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+    }
+
+    /**
+     * Makes sure the mapping covers at least 'needed' bytes, at least doubling it if it has
+     * to grow so that appending stays cheap on average.
+     */
+    private void ensureMapped(long needed) {
+        if (needed <= this.buffer.capacity()) {
+            return;
+        } else if (needed > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Dictionary file is full");
+        }
+        try {
+            this.map((int) Math.min(Integer.MAX_VALUE, Math.max(needed, 2L * this.buffer.capacity())));
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not grow dictionary file", ex);
+        }
+    }
+
+    /**
+     * Returns the hash stored for the given encoded key. It depends only on the bytes, so it
+     * stays the same when the file is reopened by another run.
+     */
+    private static int hash(byte[] key) {
+        int h = 0;
+        if (key != null) {
+            h = 1;
+            for (byte b : key) {
+                h = 31 * h + b;
+            }
+            h *= 0x9E3779B9;
+        }
+        return (h ^ (h >>> 16)) | OCCUPIED_BIT;
+    }
+
+    private int hashAt(int slot) {
+        return this.buffer.getInt(this.table + slot * SLOT_SIZE);
+    }
+
+    private int recordAt(int slot) {
+        return this.buffer.getInt(this.table + slot * SLOT_SIZE + 4);
+    }
+
+    private void setSlot(int slot, int hash, int record) {
+        this.buffer.putInt(this.table + slot * SLOT_SIZE, hash);
+        this.buffer.putInt(this.table + slot * SLOT_SIZE + 4, record);
+    }
+
+    /**
+     * Returns the slot containing the given encoded key, or -1 if the key is not present.
+     */
+    private int findSlot(byte[] key, int hash) {
+        this.ensureOpen();
+        int slot = hash & this.mask;
+        while (true) {
+            int current = this.hashAt(slot);
+            if (current == EMPTY) {
+                return -1;
+            } else if (current == hash && this.keyMatches(this.recordAt(slot), key)) {
+                return slot;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+    }
+
+    /**
+     * Compares the key stored in the given record to the given encoded key, byte by byte.
+     */
+    private boolean keyMatches(int record, byte[] key) {
+        int length = this.buffer.getInt(record);
+        if (key == null || length == NULL_LENGTH) {
+            return key == null && length == NULL_LENGTH;
+        } else if (length != key.length) {
+            return false;
+        }
+        int start = record + RECORD_HEADER_SIZE;
+        for (int i = 0; i < length; i++) {
+            if (this.buffer.get(start + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private K keyAt(int record) {
+        int length = this.buffer.getInt(record);
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        return this.keyCodec.decode(this.buffer, record + RECORD_HEADER_SIZE, length);
+    }
+
+    private V valueAt(int record) {
+        int keyLength = Math.max(0, this.buffer.getInt(record));
+        int length = this.buffer.getInt(record + 4);
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        return this.valueCodec.decode(this.buffer, record + RECORD_HEADER_SIZE + keyLength, length);
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes == null ? NULL_LENGTH : bytes.length;
+    }
+
+    /**
+     * Returns the number of bytes the given record takes up, including its header.
+     */
+    private int recordSize(int record) {
+        int keyLength = Math.max(0, this.buffer.getInt(record));
+        int valueLength = Math.max(0, this.buffer.getInt(record + 4));
+        return RECORD_HEADER_SIZE + keyLength + valueLength;
+    }
+
+    private void writeBytes(int position, byte[] bytes) {
+        if (bytes != null) {
+            ByteBuffer view = this.buffer.duplicate();
+            view.position(position);
+            view.put(bytes);
+        }
+    }
+
+    /**
+     * Copies 'length' bytes from 'from' to 'to' in ascending order, a chunk at a time. The
+     * two ranges may only overlap if 'to' is below 'from'.
+     */
+    private void moveBytes(int from, int to, int length) {
+        byte[] chunk = new byte[Math.min(length, COPY_CHUNK_SIZE)];
+        ByteBuffer source = this.buffer.duplicate();
+        ByteBuffer target = this.buffer.duplicate();
+        source.position(from);
+        target.position(to);
+        for (int done = 0; done < length; done += chunk.length) {
+            int count = Math.min(chunk.length, length - done);
+            source.get(chunk, 0, count);
+            target.put(chunk, 0, count);
+        }
+    }
+
+    /**
+     * Appends a record holding the given encoded key and value to the arena and returns
+     * its position.
+     */
+    private int appendRecord(byte[] key, byte[] value) {
+        int record = this.arenaEnd;
+        int keyLength = Math.max(0, length(key));
+        int valueLength = Math.max(0, length(value));
+        this.ensureMapped((long) record + RECORD_HEADER_SIZE + keyLength + valueLength);
+        this.buffer.putInt(record, length(key));
+        this.buffer.putInt(record + 4, length(value));
+        this.writeBytes(record + RECORD_HEADER_SIZE, key);
+        this.writeBytes(record + RECORD_HEADER_SIZE + keyLength, value);
+        this.arenaEnd = record + RECORD_HEADER_SIZE + keyLength + valueLength;
+        return record;
+    }
+
+    @Override
+    public V get(K key) {
+        byte[] encoded = this.keyCodec.encodeOrNull(key);
+        int slot = this.findSlot(encoded, hash(encoded));
+        if (slot == -1) {
+            throw new NoSuchKeyException();
+        }
+        return this.valueAt(this.recordAt(slot));
+    }
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        byte[] encoded = this.keyCodec.encodeOrNull(key);
+        int slot = this.findSlot(encoded, hash(encoded));
+        return slot == -1 ? defaultValue : this.valueAt(this.recordAt(slot));
+    }
+
+    @Override
+    public void put(K key, V value) {
+        byte[] encodedKey = this.keyCodec.encodeOrNull(key);
+        byte[] encodedValue = this.valueCodec.encodeOrNull(value);
+        int hash = hash(encodedKey);
+        int slot = this.findSlot(encodedKey, hash);
+        if (slot != -1) {
+            int record = this.recordAt(slot);
+            if (this.buffer.getInt(record + 4) == length(encodedValue)) {
+                int keyLength = Math.max(0, length(encodedKey));
+                this.writeBytes(record + RECORD_HEADER_SIZE + keyLength, encodedValue);
+            } else {
+                int oldSize = this.recordSize(record);
+                this.setSlot(slot, hash, this.appendRecord(encodedKey, encodedValue));
+                this.addGarbage(oldSize);
+            }
+            return;
+        }
+
+        if (this.size + 1 > this.threshold) {
+            this.compact(2 * this.capacity);
+        }
+        int record = this.appendRecord(encodedKey, encodedValue);
+        slot = hash & this.mask;
+        while (this.hashAt(slot) != EMPTY) {
+            slot = (slot + 1) & this.mask;
+        }
+        this.setSlot(slot, hash, record);
+        this.size++;
+        this.modCount++;
+        this.writeHeader();
+    }
+
+    /**
+     * Records that 'bytes' more bytes of the arena are no longer used, and compacts the file
+     * once they make up more than half of it. A compaction only copies what is still live,
+     * which is less than the garbage created since the last one, so its cost is covered by the
+     * writes that created that garbage.
+     */
+    private void addGarbage(int bytes) {
+        this.garbage += bytes;
+        if (this.garbage > (this.arenaEnd - HEADER_SIZE) / 2) {
+            this.compact(this.capacity);
+        } else {
+            this.writeHeader();
+        }
+    }
+
+    /**
+     * Rewrites the file so that a table with the given capacity starts right after the header,
+     * followed by every live record and no unused space.
+     *
+     * The new table and records are first built past the end of the arena, with every record
+     * position already pointing where it will end up, and then the whole block is moved down.
+     * The stored hashes are reused, so no key is read or rehashed. If the capacity stays the
+     * same, every entry keeps its slot, so iterators are not disturbed.
+     */
+    private void compact(int newCapacity) {
+        int oldTable = this.table;
+        int oldCapacity = this.capacity;
+        int start = this.arenaEnd;
+        this.ensureMapped((long) start + (long) newCapacity * SLOT_SIZE);
+        for (int i = 0; i < newCapacity * SLOT_SIZE; i += 4) {
+            this.buffer.putInt(start + i, EMPTY);
+        }
+
+        this.table = start;
+        this.setCapacity(newCapacity);
+        int end = start + newCapacity * SLOT_SIZE;
+        for (int i = 0; i < oldCapacity; i++) {
+            int hash = this.buffer.getInt(oldTable + i * SLOT_SIZE);
+            if (hash != EMPTY) {
+                int record = this.buffer.getInt(oldTable + i * SLOT_SIZE + 4);
+                int length = this.recordSize(record);
+                this.ensureMapped((long) end + length);
+                this.moveBytes(record, end, length);
+
+                int slot = i;
+                if (newCapacity != oldCapacity) {
+                    slot = hash & this.mask;
+                    while (this.hashAt(slot) != EMPTY) {
+                        slot = (slot + 1) & this.mask;
+                    }
+                }
+                this.setSlot(slot, hash, HEADER_SIZE + (end - start));
+                end += length;
+            }
+        }
+
+        this.moveBytes(start, HEADER_SIZE, end - start);
+        this.table = HEADER_SIZE;
+        this.arenaEnd = HEADER_SIZE + (end - start);
+        this.garbage = 0;
+        this.writeHeader();
+    }
+
+    @Override
+    public V remove(K key) {
+        byte[] encoded = this.keyCodec.encodeOrNull(key);
+        int hole = this.findSlot(encoded, hash(encoded));
+        if (hole == -1) {
+            throw new NoSuchKeyException();
+        }
+        int record = this.recordAt(hole);
+        V value = this.valueAt(record);
+
+        // Shift back every later entry in the run that may move into the hole, so lookups
+        // never stop early at an empty slot in front of their key.
+        int next = (hole + 1) & this.mask;
+        for (int hash = this.hashAt(next); hash != EMPTY; hash = this.hashAt(next)) {
+            int home = hash & this.mask;
+            if (((next - home) & this.mask) >= ((next - hole) & this.mask)) {
+                this.setSlot(hole, hash, this.recordAt(next));
+                hole = next;
+            }
+            next = (next + 1) & this.mask;
+        }
+        this.setSlot(hole, EMPTY, 0);
+        this.size--;
+        this.modCount++;
+        this.addGarbage(this.recordSize(record));
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        byte[] encoded = this.keyCodec.encodeOrNull(key);
+        return this.findSlot(encoded, hash(encoded)) != -1;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Writes every change made so far to the file.
+     */
+    public void flush() {
+        this.ensureOpen();
+        this.buffer.force();
+    }
+
+    /**
+     * Writes every change made so far to the file and closes it. The dictionary can't be
+     * used afterwards.
+     *
+     * @throws UncheckedIOException if the file can't be closed
+     */
+    @Override
+    public void close() {
+        if (this.channel == null) {
+            return;
+        }
+        this.flush();
+        try {
+            this.channel.close();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Could not close dictionary file", ex);
+        } finally {
+            this.channel = null;
+            this.buffer = null;
+        }
+    }
+
+    private void ensureOpen() {
+        if (this.channel == null) {
+            throw new IllegalStateException("Dictionary has been closed");
+        }
+    }
+
+    @Override
+    public Iterator<KVPair<K, V>> iterator() {
+        this.ensureOpen();
+        return new MappedIterator();
+    }
+
+    private class MappedIterator implements Iterator<KVPair<K, V>> {
+        private int slot;
+        private final int expectedModCount;
+
+        public MappedIterator() {
+            this.slot = 0;
+            this.expectedModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            while (this.slot < capacity && hashAt(this.slot) == EMPTY) {
+                this.slot++;
+            }
+            return this.slot < capacity;
+        }
+
+        @Override
+        public KVPair<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int record = recordAt(this.slot);
+            this.slot++;
+            return new KVPair<>(keyAt(record), valueAt(record));
+        }
+    }
+
+    /**
+     * Converts objects of one type to and from bytes. Decoding reads straight from the
+     * mapped file, so a codec for a fixed-width type never copies its bytes first.
+     */
+    public interface Codec<T> {
+        /**
+         * Returns the bytes representing the given non-null item.
+         */
+        byte[] encode(T item);
+
+        /**
+         * Returns the item represented by the 'length' bytes of the buffer starting at
+         * 'offset'. Must not change the buffer's position.
+         */
+        T decode(ByteBuffer buffer, int offset, int length);
+
+        default byte[] encodeOrNull(T item) {
+            return item == null ? null : this.encode(item);
+        }
+    }
+
+    public static final Codec<String> STRING = new Codec<String>() {
+        @Override
+        public byte[] encode(String item) {
+            return item.getBytes(StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String decode(ByteBuffer buffer, int offset, int length) {
+            byte[] bytes = new byte[length];
+            ByteBuffer view = buffer.duplicate();
+            view.position(offset);
+            view.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    public static final Codec<Integer> INTEGER = new Codec<Integer>() {
+        @Override
+        public byte[] encode(Integer item) {
+            return ByteBuffer.allocate(4).putInt(item).array();
+        }
+
+        @Override
+        public Integer decode(ByteBuffer buffer, int offset, int length) {
+            return buffer.getInt(offset);
+        }
+    };
+
+    public static final Codec<Long> LONG = new Codec<Long>() {
+        @Override
+        public byte[] encode(Long item) {
+            return ByteBuffer.allocate(8).putLong(item).array();
+        }
+
+        @Override
+        public Long decode(ByteBuffer buffer, int offset, int length) {
+            return buffer.getLong(offset);
+        }
+    };
+
+    public static final Codec<Double> DOUBLE = new Codec<Double>() {
+        @Override
+        public byte[] encode(Double item) {
+            return ByteBuffer.allocate(8).putDouble(item).array();
+        }
+
+        @Override
+        public Double decode(ByteBuffer buffer, int offset, int length) {
+            return buffer.getDouble(offset);
+        }
+    };
+}
@@ -0,0 +1,397 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.interfaces.IDictionary;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A dictionary mapping objects to primitive doubles.
+ *
+ * Uses the same Robin Hood open addressing scheme as OpenAddressingDictionary, but stores
+ * its values in a double[] so that putting, reading and accumulating values never boxes
+ * them. Use the primitive methods (getDouble, getOrDefault(K, double), put(K, double),
+ * addTo, removeDouble and cursor) on hot paths; the methods inherited from IDictionary
+ * still work, but box every value they return.
+ *
+ * Supports null keys, but not null values.
+ *
+ * Note: when K is a boxed primitive type, pass the key as an object (e.g. an Integer rather
+ * than an int). Otherwise, calls like put(1, 2) are ambiguous between put(K, double) and the
+ * boxed put(K, Double) inherited from IDictionary.
+ */
+public class ObjectDoubleDictionary<K> implements IDictionary<K, Double> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final double LOAD_FACTOR = 0.75;
+
+    // A slot is empty exactly when its stored hash is EMPTY. Every stored hash has
+    // OCCUPIED_BIT set, so a real hash can never be mistaken for an empty slot.
+    private static final int EMPTY = 0;
+    private static final int OCCUPIED_BIT = 0x80000000;
+
+    // Invariants:
+    // - keys, values and hashes always have the same power-of-two length.
+    // - hashes[i] == EMPTY if and only if slot i is unused.
+    // - Walking forward from an entry's home slot (hash & mask) never crosses an empty slot
+    //   before reaching the entry.
+    private K[] keys;
+    private double[] values;
+    private int[] hashes;
+    private int mask;
+    private int size;
+    private int threshold;
+
+    // Counts structural modifications (adding or removing a key); cursors and iterators use
+    // this to detect concurrent changes. Changing the value of an existing key does not count.
+    private int modCount;
+
+    public ObjectDoubleDictionary() {
+        this(0);
+    }
+
+    /**
+     * Creates a dictionary large enough to hold 'expectedSize' pairs without resizing.
+     *
+     * @throws IllegalArgumentException if expectedSize is negative
+     */
+    public ObjectDoubleDictionary(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must be non-negative");
+        }
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity < (1 << 30) && expectedSize > (long) (capacity * LOAD_FACTOR)) {
+            capacity *= 2;
+        }
+        this.allocate(capacity);
+        this.size = 0;
+    }
+
+    /**
+     * Replaces the backing arrays with new, empty arrays of the given capacity.
+     */
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        this.keys = (K[]) new Object[capacity];
+        this.values = new double[capacity];
+        this.hashes = new int[capacity];
+        this.mask = capacity - 1;
+        this.threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Returns the hash stored for the given key.
+     */
+    private static int hash(Object key) {
+        int h = key == null ? 0 : key.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) | OCCUPIED_BIT;
+    }
+
+    /**
+     * Returns how many slots past its home slot the entry with the given hash is stored.
+     */
+    private int probeDistance(int hash, int slot) {
+        return (slot - hash) & this.mask;
+    }
+
+    /**
+     * Returns the slot containing the given key, or -1 if the key is not present.
+     */
+    private int findSlot(K key, int hash) {
+        int slot = hash & this.mask;
+        for (int distance = 0; true; distance++) {
+            int current = this.hashes[slot];
+            if (current == EMPTY || this.probeDistance(current, slot) < distance) {
+                return -1;
+            }
+            if (current == hash && Objects.equals(key, this.keys[slot])) {
+                return slot;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+    }
+
+    /**
+     * Returns the value corresponding to the given key.
+     *
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    public double getDouble(K key) {
+        int slot = this.findSlot(key, hash(key));
+        if (slot < 0) {
+            throw new NoSuchKeyException();
+        }
+        return this.values[slot];
+    }
+
+    /**
+     * Returns the value corresponding to the given key, or defaultValue if the dictionary
+     * does not contain the given key.
+     */
+    public double getOrDefault(K key, double defaultValue) {
+        int slot = this.findSlot(key, hash(key));
+        return slot < 0 ? defaultValue : this.values[slot];
+    }
+
+    /**
+     * Adds the key-value pair to the dictionary. If the key already exists in the dictionary,
+     * replace its value with the given one.
+     */
+    public void put(K key, double value) {
+        int hash = hash(key);
+        int slot = this.findSlot(key, hash);
+        if (slot >= 0) {
+            this.values[slot] = value;
+        } else {
+            this.insert(hash, key, value);
+        }
+    }
+
+    /**
+     * Adds 'delta' to the value stored for the given key, treating a missing key as if it
+     * were mapped to 0, and returns the new value.
+     */
+    public double addTo(K key, double delta) {
+        int hash = hash(key);
+        int slot = this.findSlot(key, hash);
+        if (slot >= 0) {
+            this.values[slot] += delta;
+            return this.values[slot];
+        }
+        this.insert(hash, key, delta);
+        return delta;
+    }
+
+    /**
+     * Remove the key-value pair corresponding to the given key from the dictionary.
+     *
+     * @throws NoSuchKeyException if the dictionary does not contain the given key.
+     */
+    public double removeDouble(K key) {
+        int slot = this.findSlot(key, hash(key));
+        if (slot < 0) {
+            throw new NoSuchKeyException();
+        }
+        double result = this.values[slot];
+
+        // Shift the rest of the cluster back until we reach an empty slot or an entry
+        // that is already sitting in its home slot.
+        int next = (slot + 1) & this.mask;
+        while (this.hashes[next] != EMPTY && this.probeDistance(this.hashes[next], next) > 0) {
+            this.hashes[slot] = this.hashes[next];
+            this.keys[slot] = this.keys[next];
+            this.values[slot] = this.values[next];
+            slot = next;
+            next = (next + 1) & this.mask;
+        }
+        this.hashes[slot] = EMPTY;
+        this.keys[slot] = null;
+        this.values[slot] = 0.0;
+        this.size--;
+        this.modCount++;
+        return result;
+    }
+
+    /**
+     * Inserts a key known to be absent, growing the table first if necessary.
+     */
+    private void insert(int hash, K key, double value) {
+        if (this.size >= this.threshold) {
+            this.resize();
+        }
+        this.insertNew(hash, key, value);
+        this.size++;
+        this.modCount++;
+    }
+
+    /**
+     * Places an entry whose key is known to be absent, displacing entries that are closer
+     * to their home slot along the way.
+     */
+    private void insertNew(int hash, K key, double value) {
+        int slot = hash & this.mask;
+        int distance = 0;
+        while (this.hashes[slot] != EMPTY) {
+            int existingDistance = this.probeDistance(this.hashes[slot], slot);
+            if (existingDistance < distance) {
+                int displacedHash = this.hashes[slot];
+                K displacedKey = this.keys[slot];
+                double displacedValue = this.values[slot];
+                this.hashes[slot] = hash;
+                this.keys[slot] = key;
+                this.values[slot] = value;
+                hash = displacedHash;
+                key = displacedKey;
+                value = displacedValue;
+                distance = existingDistance;
+            }
+            slot = (slot + 1) & this.mask;
+            distance++;
+        }
+        this.hashes[slot] = hash;
+        this.keys[slot] = key;
+        this.values[slot] = value;
+    }
+
+    /**
+     * Doubles the capacity of the table and re-inserts every entry using its stored hash.
+     */
+    private void resize() {
+        K[] oldKeys = this.keys;
+        double[] oldValues = this.values;
+        int[] oldHashes = this.hashes;
+        this.allocate(oldHashes.length * 2);
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldHashes[i] != EMPTY) {
+                this.insertNew(oldHashes[i], oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    @Override
+    public Double get(K key) {
+        return this.getDouble(key);
+    }
+
+    @Override
+    public Double getOrDefault(K key, Double defaultValue) {
+        int slot = this.findSlot(key, hash(key));
+        return slot < 0 ? defaultValue : Double.valueOf(this.values[slot]);
+    }
+
+    /**
+     * Adds the key-value pair to the dictionary. If the key already exists in the dictionary,
+     * replace its value with the given one.
+     *
+     * @throws IllegalArgumentException if the value is null
+     */
+    @Override
+    public void put(K key, Double value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        this.put(key, value.doubleValue());
+    }
+
+    @Override
+    public Double remove(K key) {
+        return this.removeDouble(key);
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return this.findSlot(key, hash(key)) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns a cursor over the key-value pairs in this dictionary that yields primitive
+     * values and allocates nothing per pair. Like iterator(), the cursor fails fast: once a key
+     * is added or removed, using it throws a ConcurrentModificationException. Changing the
+     * value of a key that is already present (including through addTo) is allowed.
+     */
+    public Cursor<K> cursor() {
+        return new Cursor<>(this);
+    }
+
+    @Override
+    public Iterator<KVPair<K, Double>> iterator() {
+        return new ObjectDoubleIterator<>(this.cursor());
+    }
+
+    /**
+     * A cursor over the pairs of an ObjectDoubleDictionary. Call advance() to move to the
+     * next pair; key() and value() then return that pair's contents.
+     *
+     * 'slot' is the current pair's slot, or -1 before the first pair and after the last.
+     */
+    public static class Cursor<K> {
+        private ObjectDoubleDictionary<K> dictionary;
+        private int slot;
+        private int remaining;
+        private int expectedModCount;
+
+        private Cursor(ObjectDoubleDictionary<K> dictionary) {
+            this.dictionary = dictionary;
+            this.slot = -1;
+            this.remaining = dictionary.size;
+            this.expectedModCount = dictionary.modCount;
+        }
+
+        /**
+         * Moves to the next pair, returning 'false' if there are no pairs left.
+         */
+        public boolean advance() {
+            if (!this.hasNext()) {
+                this.slot = -1;
+                return false;
+            }
+            this.slot++;
+            while (this.dictionary.hashes[this.slot] == EMPTY) {
+                this.slot++;
+            }
+            this.remaining--;
+            return true;
+        }
+
+        /**
+         * @throws ConcurrentModificationException if a key was added to or removed from
+         *         the dictionary since this cursor was created
+         */
+        public boolean hasNext() {
+            if (this.dictionary.modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            return this.remaining > 0;
+        }
+
+        /**
+         * @throws IllegalStateException if the last call to advance did not return 'true'
+         */
+        public K key() {
+            this.checkPair();
+            return this.dictionary.keys[this.slot];
+        }
+
+        /**
+         * @throws IllegalStateException if the last call to advance did not return 'true'
+         */
+        public double value() {
+            this.checkPair();
+            return this.dictionary.values[this.slot];
+        }
+
+        private void checkPair() {
+            if (this.slot == -1) {
+                throw new IllegalStateException("Cursor is not on a pair");
+            }
+        }
+    }
+
+    private static class ObjectDoubleIterator<K> implements Iterator<KVPair<K, Double>> {
+        private Cursor<K> cursor;
+
+        public ObjectDoubleIterator(Cursor<K> cursor) {
+            this.cursor = cursor;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.cursor.hasNext();
+        }
+
+        @Override
+        public KVPair<K, Double> next() {
+            if (!this.cursor.advance()) {
+                throw new NoSuchElementException();
+            }
+            return new KVPair<>(this.cursor.key(), this.cursor.value());
+        }
+    }
+}
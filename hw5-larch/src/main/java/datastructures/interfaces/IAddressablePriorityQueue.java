@@ -0,0 +1,105 @@
+package datastructures.interfaces;
+
+import misc.exceptions.EmptyContainerException;
+import misc.exceptions.InvalidElementException;
+
+/**
+ * Represents a queue where the elements are ordered such that the
+ * front element always has the least value, as defined by the
+ * element's 'compareTo' method.
+ *
+ * Unlike IPriorityQueue, adding an element returns a handle to it, and
+ * the element is later changed or removed through that handle. The queue
+ * never needs to look elements up by value, so elements don't need
+ * useful 'equals' or 'hashCode' methods, and the queue may contain the
+ * same element more than once.
+ */
+public interface IAddressablePriorityQueue<T extends Comparable<T>> {
+    /**
+     * A reference to one element added to a queue. A handle stays valid until
+     * its element is removed from the queue.
+     */
+    interface Handle<T> {
+        /**
+         * Returns the element this handle currently refers to.
+         */
+        T getItem();
+    }
+
+    /**
+     * Removes and return the smallest element in the queue.
+     *
+     * If two elements within the queue have equal values
+     * according to the 'compareTo' method, this method may break
+     * the tie arbitrarily and return either one.
+     *
+     * @throws EmptyContainerException  if the queue is empty
+     */
+    T removeMin();
+
+    /**
+     * Returns, but does not remove, the least-valued element in the queue.
+     *
+     * This method must break ties in the same way the removeMin
+     * method breaks ties.
+     *
+     * @throws EmptyContainerException  if the queue is empty
+     */
+    T peekMin();
+
+    /**
+     * Adds the given item into the queue and returns a handle to it.
+     *
+     * @throws IllegalArgumentException  if the item is null
+     */
+    Handle<T> add(T item);
+
+    /**
+     * Returns 'true' if the given handle refers to an element still in this queue,
+     * and 'false' otherwise.
+     *
+     * @throws IllegalArgumentException  if the handle is null
+     */
+    boolean contains(Handle<T> handle);
+
+    /**
+     * Removes the element the given handle refers to.
+     *
+     * @throws IllegalArgumentException  if the handle is null
+     * @throws InvalidElementException  if the handle's element is not in this queue
+     */
+    void remove(Handle<T> handle);
+
+    /**
+     * Replaces the element the given handle refers to with a new item, which may
+     * be smaller or larger than the old one. The handle refers to the new item
+     * afterwards.
+     *
+     * @throws IllegalArgumentException  if the handle or the new item is null
+     * @throws InvalidElementException  if the handle's element is not in this queue
+     */
+    void replace(Handle<T> handle, T newItem);
+
+    /**
+     * Replaces the element the given handle refers to with a new item that is no
+     * larger than the old one. This is the only kind of change Dijkstra's algorithm
+     * needs, and some queues can do it faster than an arbitrary replace.
+     *
+     * @throws IllegalArgumentException  if the handle or the new item is null, or
+     *                                   if the new item is larger than the old one
+     * @throws InvalidElementException  if the handle's element is not in this queue
+     */
+    void decreaseKey(Handle<T> handle, T newItem);
+
+    /**
+     * Returns the number of elements contained within this queue.
+     */
+    int size();
+
+    /**
+     * Returns 'true' if this queue is empty, and 'false' otherwise.
+     */
+    default boolean isEmpty() {
+        return this.size() == 0;
+    }
+}
@@ -39,6 +39,20 @@ public interface IDictionary<K, V> extends Iterable<KVPair<K, V>> {
      */
     public void put(K key, V value);
 
+    /**
+     * Adds every key-value pair in the given dictionary to this one. If a key already exists
+     * in this dictionary, replace its value with the one from 'other'.
+     *
+     * Note: The interface provides a default implementation that simply calls put on
+     *       every pair, but you may optionally override it with a more efficient version
+     *       (for example, one that makes room for all the new pairs at once).
+     */
+    public default void putAll(IDictionary<? extends K, ? extends V> other) {
+        for (KVPair<? extends K, ? extends V> pair : other) {
+            this.put(pair.getKey(), pair.getValue());
+        }
+    }
+
     /**
      * Remove the key-value pair corresponding to the given key from the dictionary.
      *
@@ -40,6 +40,27 @@ public interface IPriorityQueue<T extends Comparable<T>> {
      */
     void add(T item);
 
+    /**
+     * Adds every item in the given list into the queue. If this method throws an
+     * exception, the queue may contain some of the items.
+     *
+     * Note: The interface provides a default implementation that simply calls add on
+     *       every item, but you may optionally override it with a more efficient version
+     *       (for example, one that builds the heap bottom-up in linear time).
+     *
+     * @throws IllegalArgumentException  if the list is null or contains null
+     * @throws InvalidElementException  if an item is already in the queue or appears in
+     *                                  the list more than once
+     */
+    default void addAll(IList<T> items) {
+        if (items == null) {
+            throw new IllegalArgumentException();
+        }
+        for (T item : items) {
+            this.add(item);
+        }
+    }
+
     /**
      * Returns 'true' if this queue contains the given element, and 'false' otherwise.
      *
@@ -38,6 +38,39 @@ public interface ISet<T> extends Iterable<T> {
         return this.size() == 0;
     }
 
+    /**
+     * Returns true if this set contains every item in the given set and false otherwise.
+     */
+    public default boolean containsAll(ISet<T> other) {
+        if (other.size() > this.size()) {
+            return false;
+        }
+        for (T item : other) {
+            if (!this.contains(item)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns a new set containing every item that is in this set, the given set, or both.
+     * Neither set is modified.
+     */
+    public ISet<T> union(ISet<T> other);
+
+    /**
+     * Returns a new set containing only the items that are in both this set and the given set.
+     * Neither set is modified.
+     */
+    public ISet<T> intersection(ISet<T> other);
+
+    /**
+     * Returns a new set containing the items of this set that are not in the given set.
+     * Neither set is modified.
+     */
+    public ISet<T> difference(ISet<T> other);
+
     /**
      * Returns all items contained within this set.
      */
@@ -1,7 +1,7 @@
 package misc;
 
 import datastructures.concrete.ArrayHeap;
-import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.DynamicArrayList;
 import datastructures.interfaces.IList;
 import datastructures.interfaces.IPriorityQueue;
 
@@ -25,6 +25,22 @@ public class Sorter {
      * @throws IllegalArgumentException  if input is null
      */
     public static <T extends Comparable<T>> IList<T> topKSort(int k, IList<T> input) {
+        return topKSort(k, input, new ArrayHeap<T>());
+    }
+
+    /**
+     * Works exactly like topKSort(k, input), but uses an ArrayHeap in which every node has
+     * up to 'numChildren' children.
+     *
+     * @throws IllegalArgumentException  if k < 0
+     * @throws IllegalArgumentException  if input is null
+     * @throws IllegalArgumentException  if numChildren is not 2, 4 or 8
+     */
+    public static <T extends Comparable<T>> IList<T> topKSort(int k, IList<T> input, int numChildren) {
+        return topKSort(k, input, new ArrayHeap<T>(numChildren));
+    }
+
+    private static <T extends Comparable<T>> IList<T> topKSort(int k, IList<T> input, IPriorityQueue<T> heap) {
         // Implementation notes:
         //
         // - This static method is a _generic method_. A generic method is similar to
@@ -38,8 +54,7 @@ public class Sorter {
         //   efficiency.
 
 
-        IPriorityQueue<T> heap = new ArrayHeap<T>();
-        IList<T> out = new DoubleLinkedList();
+        IList<T> out = new DynamicArrayList<>();
 
 
         if (k < 0 || input == null){
@@ -50,11 +65,13 @@ public class Sorter {
             if (k >= input.size()) {
                 k = input.size();
             }
+            // Build the heap of the first k items in one go, which takes O(k) time.
             Iterator iter = input.iterator();
+            IList<T> firstK = new DynamicArrayList<>(k);
             for (int i = 0; i < k; i++){
-                T item = (T) iter.next();
-                heap.add(item);
+                firstK.add((T) iter.next());
             }
+            heap.addAll(firstK);
             int n = input.size();
             for (int i = k; i < n; i++){
                 T min = heap.peekMin();
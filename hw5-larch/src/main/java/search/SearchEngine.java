@@ -1,10 +1,11 @@
 package search;
 
 import datastructures.concrete.ChainedHashSet;
-import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.DynamicArrayList;
+import datastructures.concrete.IntDoubleHeap;
+import datastructures.concrete.SymbolTable;
 import datastructures.interfaces.IList;
 import datastructures.interfaces.ISet;
-import misc.Sorter;
 import search.analyzers.PageRankAnalyzer;
 import search.analyzers.TfIdfAnalyzer;
 import search.misc.Bridge;
@@ -31,20 +32,26 @@ public class SearchEngine {
     public SearchEngine(String dataFolderName) {
         long start = System.currentTimeMillis();
 
+        // Loading numbers every word and URI in these tables, and the analyzers reuse those IDs,
+        // so each distinct word or URI is stored once for the whole engine.
+        SymbolTable<String> terms = new SymbolTable<>();
+        SymbolTable<URI> uris = new SymbolTable<>();
+
         System.out.print("  Loading pages...");
-        ISet<Webpage> webpages = this.collectWebpages(Paths.get("data", dataFolderName));
+        ISet<Webpage> webpages = this.collectWebpages(Paths.get("data", dataFolderName), terms, uris);
         this.pages = this.extractWebpageSummaries(webpages);
         long endLoading = System.currentTimeMillis();
         System.out.println(" finished in " + (endLoading - start) / 1000.0 + " sec");
 
         System.out.print("  Computing TF-IDF vectors...");
-        this.tfIdfAnalyzer = new TfIdfAnalyzer(webpages);
+        this.tfIdfAnalyzer = new TfIdfAnalyzer(webpages, terms);
         long endTfIdf = System.currentTimeMillis();
         System.out.println(" finished in " + (endTfIdf - endLoading) / 1000.0 + " sec");
 
         System.out.print("  Computing page ranks...");
         this.pageRankAnalyzer = new PageRankAnalyzer(
                 webpages,
+                uris,
                 PAGE_RANK_DECAY,
                 PAGE_RANK_EPSILON,
                 PAGE_RANK_ITERATION_LIMIT);
@@ -87,30 +94,48 @@ public class SearchEngine {
     }
 
     public IList<Result> getTopKResults(IList<String> query, int k) {
-        IList<Result> results = new DoubleLinkedList<>();
+        if (k < 0) {
+            throw new IllegalArgumentException();
+        }
 
+        // Keeps the k best pages seen so far in a min-heap of page indices keyed by score, so
+        // the worst of them is always the one to replace. Only the winners become Results.
+        WebpageSummary[] summaries = new WebpageSummary[this.pages.size()];
+        IntDoubleHeap best = new IntDoubleHeap(summaries.length);
+        int index = 0;
         for (WebpageSummary summary: this.pages) {
+            summaries[index] = summary;
             double score = this.computeScore(query, summary.getUri());
-            results.add(new Result(summary, score));
+            if (best.size() < k) {
+                best.add(index, score);
+            } else if (k > 0 && score > best.peekMinPriority()) {
+                best.removeMin();
+                best.add(index, score);
+            }
+            index++;
         }
 
-        IList<Result> topK = Sorter.topKSort(k, results);
-
-        IList<Result> reversed = new DoubleLinkedList<>();
-        for (Result res : topK) {
-            reversed.insert(0, res);
+        // The heap hands back the winners from worst to best.
+        Result[] topK = new Result[best.size()];
+        for (int i = topK.length - 1; i >= 0; i--) {
+            double score = best.peekMinPriority();
+            topK[i] = new Result(summaries[best.removeMin()], score);
         }
 
-        return reversed;
+        IList<Result> results = new DynamicArrayList<>(topK.length);
+        for (Result result : topK) {
+            results.add(result);
+        }
+        return results;
     }
 
-    private ISet<Webpage> collectWebpages(Path root) {
+    private ISet<Webpage> collectWebpages(Path root, SymbolTable<String> terms, SymbolTable<URI> uris) {
         try {
             return Files.walk(root)
                     .filter(Files::isRegularFile)
                     .filter(path -> path.toString().endsWith(".htm") || path.toString().endsWith(".html"))
                     .map(Path::toUri)
-                    .map(Webpage::load)
+                    .map(uri -> Webpage.load(uri, terms, uris))
                     .collect(Bridge.toISet());
         } catch (IOException ex) {
             throw new DataExtractionException("Could not find given root folder.", ex);
@@ -118,7 +143,7 @@ public class SearchEngine {
     }
 
     private ISet<WebpageSummary> extractWebpageSummaries(ISet<Webpage> webpages) {
-        ISet<WebpageSummary> output = new ChainedHashSet<>();
+        ISet<WebpageSummary> output = new ChainedHashSet<>(webpages.size());
         for (Webpage page : webpages) {
             output.add(page.getSummary());
         }
@@ -1,18 +1,13 @@
 package search.analyzers;
 
-import datastructures.concrete.ChainedHashSet;
-import datastructures.concrete.dictionaries.ChainedHashDictionary;
-import datastructures.concrete.dictionaries.KVPair;
-import datastructures.interfaces.IDictionary;
-// import datastructures.interfaces.IList;
+import datastructures.concrete.SymbolTable;
 import datastructures.interfaces.IList;
 import datastructures.interfaces.ISet;
-// import misc.exceptions.InvalidElementException;
-// import misc.exceptions.NotYetImplementedException;
 import search.models.Webpage;
 
 import java.net.URI;
 import java.security.InvalidParameterException;
+import java.util.Arrays;
 
 /**
  * This class is responsible for computing the 'page rank' of all available webpages.
@@ -20,8 +15,16 @@ import java.security.InvalidParameterException;
  * See the spec for more details.
  */
 public class PageRankAnalyzer {
-    private IDictionary<URI, Double> pageRanks;
-    //private ISet<URI> allURIs;
+    private static final int[] NO_LINKS = new int[0];
+
+    // Every webpage's URI, numbered so the graph and the ranks can be stored in arrays
+    // indexed by ID. This may be the table the pages were loaded with, so it can also
+    // number URIs that are only ever linked to; those IDs belong to no page.
+    private SymbolTable<URI> uris;
+    // pageRanks[id] is the page rank of the page with that ID, and isPage[id] is true
+    // exactly when the ID belongs to one of the webpages.
+    private double[] pageRanks;
+    private boolean[] isPage;
 
     /**
      * Computes a graph representing the internet and computes the page rank of all
@@ -39,64 +42,76 @@ public class PageRankAnalyzer {
      *                  simply return the initial page rank values from 'computePageRank'.)
      */
     public PageRankAnalyzer(ISet<Webpage> webpages, double decay, double epsilon, int limit) {
-        // Implementation note: We have commented these method calls out so your
-        // search engine doesn't immediately crash when you try running it for the
-        // first time.
-        //
+        this(webpages, new SymbolTable<>(webpages.size()), decay, epsilon, limit);
+    }
+
+    /**
+     * Numbers the pages with the given table, such as the one the webpages were loaded with,
+     * so that URIs it already holds keep their IDs. The other parameters are as above.
+     *
+     * @param uris  A table to number the pages with. Must be non-null.
+     */
+    public PageRankAnalyzer(ISet<Webpage> webpages, SymbolTable<URI> uris, double decay, double epsilon,
+                            int limit) {
+        this.uris = uris;
 
         // Step 1: Make a graph representing the 'internet'
-        // IDictionary<URI, ISet<URI>> graph = this.makeGraph(webpages);
+        int[][] graph = this.makeGraph(webpages);
 
         // Step 2: Use this graph to compute the page rank for each webpage
-        // this.pageRanks = this.makePageRanks(graph, decay, limit, epsilon);
+        this.pageRanks = this.makePageRanks(graph, webpages.size(), decay, limit, epsilon);
 
         // Note: we don't store the graph as a field: once we've computed the
         // page ranks, we no longer need it!
-
-        IDictionary<URI, ISet<URI>> graph = makeGraph(webpages);
-        this.pageRanks = makePageRanks(graph, decay, limit, epsilon);
     }
 
     /**
      * This method converts a set of webpages into an unweighted, directed graph,
-     * in adjacency list form.
+     * in adjacency list form: graph[id] lists the IDs of the pages that the page
+     * with that ID links to, each one once. graph[id] is null if no page has that ID.
      *
      * You may assume that each webpage can be uniquely identified by its URI.
      *
      * Note that a webpage may contain links to other webpages that are *not*
      * included within set of webpages you were given. You should omit these
      * links from your graph: we want the final graph we build to be
-     * entirely "self-contained".
+     * entirely "self-contained". Links from a page to itself are omitted too.
      */
-    private IDictionary<URI, ISet<URI>> makeGraph(ISet<Webpage> webpages) {
-        IDictionary<URI, ISet<URI>> graph = new ChainedHashDictionary<URI, ISet<URI>>();
+    private int[][] makeGraph(ISet<Webpage> webpages) {
+        for (Webpage page : webpages) {
+            this.uris.intern(page.getUri());
+        }
 
-        for (Webpage page : webpages){
-            if (!graph.containsKey(page.getUri())){
-                graph.put(page.getUri(), new ChainedHashSet<URI>());
-            }
+        int[][] graph = new int[this.uris.size()][];
+        this.isPage = new boolean[graph.length];
+        for (Webpage page : webpages) {
+            this.isPage[this.uris.indexOf(page.getUri())] = true;
         }
 
+        // seen[id] == page + 1 once 'page' has a link to 'id', so repeated links are dropped.
+        int[] seen = new int[graph.length];
         for (Webpage webpage : webpages) {
-            ISet<URI> linkedPage = new ChainedHashSet<>();
-            URI thisPage = webpage.getUri();
+            int page = this.uris.indexOf(webpage.getUri());
             IList<URI> links = webpage.getLinks();
+            int[] linkedPages = new int[links.size()];
+            int count = 0;
 
+            seen[page] = page + 1;
             for (URI link : links) {
-                if (graph.containsKey(link) && thisPage != link) {
-                    linkedPage.add(link);
-
+                int target = this.uris.indexOf(link);
+                if (target != -1 && this.isPage[target] && seen[target] != page + 1) {
+                    seen[target] = page + 1;
+                    linkedPages[count++] = target;
                 }
-                graph.put(thisPage, linkedPage);
             }
+            graph[page] = count == 0 ? NO_LINKS : Arrays.copyOf(linkedPages, count);
         }
         return graph;
     }
 
     /**
-     * Computes the page ranks for all webpages in the graph.
-     *
-     * Precondition: assumes 'this.graphs' has previously been initialized.
+     * Computes the page ranks for all 'pageCount' webpages in the graph. IDs that belong to
+     * no page are skipped and keep a rank of zero.
      *
      * @param decay     Represents the "decay" factor when computing page rank (see spec).
      * @param epsilon   When the difference in page ranks is less than or equal to this number,
@@ -105,62 +120,55 @@ public class PageRankAnalyzer {
      *                  is meant as a safety valve to prevent us from infinite looping in case our
      *                  page rank never converges.
      */
-    private IDictionary<URI, Double> makePageRanks(IDictionary<URI, ISet<URI>> graph,
-                                                   double decay,
-                                                   int limit,
-                                                   double epsilon) {
-        IDictionary<URI, Double> oldRanks = new ChainedHashDictionary<URI, Double>();
+    private double[] makePageRanks(int[][] graph, int pageCount, double decay, int limit, double epsilon) {
         // Step 1: The initialize step should go here
-        double init = (double) 1 / graph.size();
-        for (KVPair<URI, ISet<URI>> page : graph) {
-            oldRanks.put(page.getKey(), init);
+        double[] oldRanks = new double[graph.length];
+        for (int page = 0; page < graph.length; page++) {
+            if (graph[page] != null) {
+                oldRanks[page] = 1.0 / pageCount;
+            }
         }
+        double[] newRanks = new double[graph.length];
 
         for (int i = 0; i < limit; i++) {
             // Step 2: The update step should go here
-            IDictionary<URI, Double> updateRanks = new ChainedHashDictionary<>();
-            for (KVPair<URI, Double> pair: oldRanks) {
-                updateRanks.put(pair.getKey(), 0.0);
-            }
-
-            // update
-            for (KVPair<URI, ISet<URI>> page : graph){
-                double oldRank = oldRanks.get(page.getKey());
-                ISet<URI> linked = page.getValue();
-                int linkedSize = page.getValue().size();
-
-                // increase page rank of all webpage if no linked pages
-                if (linkedSize != 0){
-                    for (URI link : linked) {
-                        double updateValue = (double) decay * oldRank / linkedSize;
-                        double newRank = 0.0;
-                        if (updateRanks.containsKey(link)) {
-                            newRank = updateRanks.get(link);
-                        }
-                        updateRanks.put(link, newRank + updateValue);
-                    }
+            //
+            // A page with no links shares its rank with every page. Rather than adding that
+            // share to every page once per such page, total it up and add it once below.
+            Arrays.fill(newRanks, 0.0);
+            double unlinkedRank = 0.0;
+            for (int page = 0; page < graph.length; page++) {
+                int[] linked = graph[page];
+                if (linked == null) {
+                    continue;
+                }
+                if (linked.length == 0) {
+                    unlinkedRank += oldRanks[page];
                 } else {
-                    double updateValue = (double) decay * oldRank / graph.size();
-                    for (KVPair<URI, Double> pair : updateRanks) {
-                        double newRank = updateRanks.get(pair.getKey());
-                        updateRanks.put(pair.getKey(), updateRanks.getOrDefault(pair.getKey(), 0.0) + updateValue);
+                    double updateValue = decay * oldRanks[page] / linked.length;
+                    for (int link : linked) {
+                        newRanks[link] += updateValue;
                     }
                 }
             }
 
             // Step 3: the convergence step should go here.
             // Return early if we've converged.
+            double sharedValue = (decay * unlinkedRank + (1 - decay)) / pageCount;
             boolean converge = true;
-            for (KVPair<URI, Double> rank : updateRanks){
-                double newRank = (double) rank.getValue() + ((1 - decay) / graph.size());
-                updateRanks.put(rank.getKey(), newRank);
-                double oldRank = oldRanks.get(rank.getKey());
-
-                if (converge && Math.abs(oldRank - rank.getValue()) >= epsilon) {
-                    oldRanks = updateRanks;
+            for (int page = 0; page < graph.length; page++) {
+                if (graph[page] == null) {
+                    continue;
+                }
+                newRanks[page] += sharedValue;
+                if (Math.abs(newRanks[page] - oldRanks[page]) > epsilon) {
                     converge = false;
                 }
             }
+
+            double[] temp = oldRanks;
+            oldRanks = newRanks;
+            newRanks = temp;
             if (converge) {
                 return oldRanks;
             }
@@ -175,9 +183,10 @@ public class PageRankAnalyzer {
      *               webpages given to the constructor.
      */
     public double computePageRank(URI pageUri) {
-        if (!pageRanks.containsKey(pageUri)) {
+        int page = this.uris.indexOf(pageUri);
+        if (page == -1 || page >= this.isPage.length || !this.isPage[page]) {
             throw new InvalidParameterException();
         }
-        return pageRanks.get(pageUri);
+        return this.pageRanks[page];
     }
 }
@@ -1,14 +1,16 @@
 package search.analyzers;
 
-import datastructures.concrete.ChainedHashSet;
-import datastructures.concrete.dictionaries.KVPair;
+import datastructures.concrete.SymbolTable;
 import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.concrete.dictionaries.KVPair;
+import datastructures.concrete.dictionaries.OpenAddressingDictionary;
 import datastructures.interfaces.IDictionary;
 import datastructures.interfaces.IList;
 import datastructures.interfaces.ISet;
 import search.models.Webpage;
 
 import java.net.URI;
+import java.util.Arrays;
 
 /**
  * This class is responsible for computing how "relevant" any given document is
@@ -17,129 +19,150 @@ import java.net.URI;
  * See the spec for more details.
  */
 public class TfIdfAnalyzer {
+    // Every unique word in all the documents, numbered so that the scores below can be kept
+    // in arrays indexed by word ID instead of in one string-keyed dictionary per document.
+    // This may be the table the pages were loaded with, so it can hold words found in no
+    // document.
+    private SymbolTable<String> terms;
+
     // This field must contain the IDF score for every single word in all
-    // the documents.
-    private IDictionary<String, Double> idfScores;
+    // the documents: idfScores[id] is the score of the word with that ID.
+    private double[] idfScores;
 
     // This field must contain the TF-IDF vector for each webpage you were given
     // in the constructor.
     //
     // We will use each webpage's page URI as a unique key.
-    private IDictionary<URI, IDictionary<String, Double>> documentTfIdfVectors;
-
-    // Feel free to add extra fields and helper methods.
-    //each document's norm vector
-    private IDictionary<URI, Double> docNormVector;
+    private IDictionary<URI, TermVector> documentTfIdfVectors;
 
     /**
      * @param webpages  A set of all webpages we have parsed. Must be non-null and
      *                  must not contain nulls.
      */
     public TfIdfAnalyzer(ISet<Webpage> webpages) {
-        // Implementation note: We have commented these method calls out so your
-        // search engine doesn't immediately crash when you try running it for the
-        // first time.
-        if (webpages == null) {
-            throw new NullPointerException();
-        }
-        this.idfScores = this.computeIdfScores(webpages);
-        this.documentTfIdfVectors = this.computeAllDocumentTfIdfVectors(webpages);
-        this.docNormVector = new ChainedHashDictionary<>();
-        this.precomputation(webpages);
+        this(webpages, new SymbolTable<>());
     }
 
-    private void precomputation(ISet<Webpage> webpages) {
-        for (Webpage page: webpages) {
-            URI uri = page.getUri();
-            this.docNormVector.put(uri, norm(this.documentTfIdfVectors.get(uri)));
+    /**
+     * Numbers the words with the given table, such as the one the webpages were loaded with,
+     * so that words it already holds keep their IDs. Words it doesn't hold yet are added.
+     *
+     * @param webpages  A set of all webpages we have parsed. Must be non-null and
+     *                  must not contain nulls.
+     * @param terms     A table to number the words with. Must be non-null.
+     */
+    public TfIdfAnalyzer(ISet<Webpage> webpages, SymbolTable<String> terms) {
+        if (webpages == null || terms == null) {
+            throw new NullPointerException();
+        }
+        this.terms = terms;
+        this.documentTfIdfVectors = new OpenAddressingDictionary<>(webpages.size());
+        for (Webpage page : webpages) {
+            this.documentTfIdfVectors.put(page.getUri(), this.computeTfScores(page.getWords(), true));
         }
+        this.idfScores = this.computeIdfScores(webpages.size());
+        this.computeAllDocumentTfIdfVectors();
     }
 
     // Note: this method, strictly speaking, doesn't need to exist. However,
     // we've included it so we can add some unit tests to help verify that your
     // constructor correctly initializes your fields.
+    //
+    // The vectors are stored by word ID, so this builds string-keyed copies on every call.
     public IDictionary<URI, IDictionary<String, Double>> getDocumentTfIdfVectors() {
-        return this.documentTfIdfVectors;
+        IDictionary<URI, IDictionary<String, Double>> output = new ChainedHashDictionary<>();
+        for (KVPair<URI, TermVector> pair : this.documentTfIdfVectors) {
+            TermVector vector = pair.getValue();
+            IDictionary<String, Double> words = new ChainedHashDictionary<>(vector.termIds.length);
+            for (int i = 0; i < vector.termIds.length; i++) {
+                words.put(this.terms.get(vector.termIds[i]), vector.scores[i]);
+            }
+            output.put(pair.getKey(), words);
+        }
+        return output;
     }
 
-    // Note: these private methods are suggestions or hints on how to structure your
-    // code. However, since they're private, you're not obligated to implement exactly
-    // these methods: feel free to change or modify these methods however you want. The
-    // important thing is that your 'computeRelevance' method ultimately returns the
-    // correct answer in an efficient manner.
-
     /**
-     * Return a dictionary mapping every single unique word found
-     * in every single document to their IDF score.
+     * Returns an array mapping the ID of every single unique word found
+     * in every single document to its IDF score.
+     *
+     * Precondition: every document's term frequencies are already in 'documentTfIdfVectors'.
      */
-    private IDictionary<String, Double> computeIdfScores(ISet<Webpage> pages) {
-        IDictionary<String, Double> docScores = new ChainedHashDictionary<>();
-        IDictionary<String, Double> idfScore = new ChainedHashDictionary<>();
-
-        for (Webpage page : pages) {
-            ISet<String> wordSet = new ChainedHashSet<>();
-            IList<String> wordList = page.getWords();
-
-            for (String word : wordList) {
-                wordSet.add(word);
-            }
-
-            for (String name : wordSet) {
-                double score =  docScores.getOrDefault(name, 0.0) + 1;
-                docScores.put(name, score);
+    private double[] computeIdfScores(int pageCount) {
+        // Each vector lists every word in its document exactly once, so this counts how
+        // many documents contain each word.
+        int[] documentCounts = new int[this.terms.size()];
+        for (KVPair<URI, TermVector> pair : this.documentTfIdfVectors) {
+            for (int id : pair.getValue().termIds) {
+                documentCounts[id]++;
             }
         }
 
-        for (KVPair<String, Double> term : docScores) {
-            idfScore.put(term.getKey(), Math.log(pages.size() / term.getValue()));
+        // A word in no document never contributes to a score, so it is given an IDF of zero.
+        double[] idfScore = new double[documentCounts.length];
+        for (int id = 0; id < documentCounts.length; id++) {
+            if (documentCounts[id] > 0) {
+                idfScore[id] = Math.log(pageCount / (double) documentCounts[id]);
+            }
         }
-
         return idfScore;
     }
 
     /**
-     * Returns a dictionary mapping every unique word found in the given list
-     * to their term frequency (TF) score.
+     * Returns a vector holding the term frequency (TF) score of every unique word found in
+     * the given list, which represents the words contained within a single document.
      *
-     * The input list represents the words contained within a single document.
+     * If 'addNewTerms' is false, words that don't appear in any document are left out of the
+     * vector (their IDF score would be zero anyway) rather than being given an ID.
      */
-    private IDictionary<String, Double> computeTfScores(IList<String> words) {
-        IDictionary<String, Double> wordCount = new ChainedHashDictionary<>();
-        IDictionary<String, Double> tfScore = new ChainedHashDictionary<>();
-
+    private TermVector computeTfScores(IList<String> words, boolean addNewTerms) {
+        int[] ids = new int[words.size()];
+        int count = 0;
         for (String word : words) {
-            double scoreCount =  wordCount.getOrDefault(word, 0.0) + 1;
-            wordCount.put(word, scoreCount);
+            int id = addNewTerms ? this.terms.intern(word) : this.terms.indexOf(word);
+            // A shared table may have numbered more words since the IDF scores were computed.
+            if (id != -1 && (addNewTerms || id < this.idfScores.length)) {
+                ids[count++] = id;
+            }
         }
 
-        double totalWords = (double) words.size();
+        // Sorting puts repeats of each word next to each other, so counting them is one pass.
+        Arrays.sort(ids, 0, count);
+        int[] termIds = new int[count];
+        double[] scores = new double[count];
+        int unique = 0;
+        for (int i = 0; i < count; i++) {
+            if (unique > 0 && termIds[unique - 1] == ids[i]) {
+                scores[unique - 1]++;
+            } else {
+                termIds[unique] = ids[i];
+                scores[unique] = 1;
+                unique++;
+            }
+        }
 
-        for (KVPair<String, Double> pair : wordCount) {
-            tfScore.put(pair.getKey(), pair.getValue() / totalWords);
+        double totalWords = (double) words.size();
+        for (int i = 0; i < unique; i++) {
+            scores[i] /= totalWords;
         }
-        return tfScore;
+        return new TermVector(Arrays.copyOf(termIds, unique), Arrays.copyOf(scores, unique));
     }
 
     /**
+     * Turns every document's term frequency vector into its TF-IDF vector.
+     *
      * See spec for more details on what this method should do.
      */
-    private IDictionary<URI, IDictionary<String, Double>> computeAllDocumentTfIdfVectors(ISet<Webpage> pages) {
-        // Hint: this method should use the idfScores field and
-        // call the computeTfScores(...) method.
-        IDictionary<URI, IDictionary<String, Double>> docTFIdf = new ChainedHashDictionary<>();
-
-        for (Webpage page : pages) {
-            IDictionary<String, Double> scores = computeTfScores(page.getWords());
-            IDictionary<String, Double> temp = new ChainedHashDictionary<>();
-            for (KVPair<String, Double> pair : scores) {
-                String word = pair.getKey();
-                double tfScore = pair.getValue();
-                double tfIdfScore = tfScore * this.idfScores.get(word);
-                temp.put(word, tfIdfScore);
+    private void computeAllDocumentTfIdfVectors() {
+        for (KVPair<URI, TermVector> pair : this.documentTfIdfVectors) {
+            TermVector vector = pair.getValue();
+            double squares = 0.0;
+            for (int i = 0; i < vector.termIds.length; i++) {
+                vector.scores[i] *= this.idfScores[vector.termIds[i]];
+                squares += vector.scores[i] * vector.scores[i];
             }
-            docTFIdf.put(page.getUri(), temp);
+            vector.norm = Math.sqrt(squares);
         }
-        return docTFIdf;
     }
 
     /**
@@ -150,52 +173,43 @@ public class TfIdfAnalyzer {
      *               webpages given to the constructor.
      */
     public Double computeRelevance(IList<String> query, URI pageUri) {
-        // Note: The pseudocode we gave you is not very efficient. When implementing,
-        // this method, you should:
-        //
-        // 1. Figure out what information can be precomputed in your constructor.
-        //    Add a third field containing that information.
-        //
-        // 2. See if you can combine or merge one or more loops.
-
-        IDictionary<String, Double> documentVector = documentTfIdfVectors.get(pageUri);
-
-        IDictionary<String, Double> queryTfScores = this.computeTfScores(query);
-        IDictionary<String, Double> queryVector = new ChainedHashDictionary<>(); // temp
-        double numerator = 0.0;
-
-        for (KVPair<String, Double> pair : queryTfScores) {
-            String word = pair.getKey();
-            double tfIdfScore = 0.0;
-            if (idfScores.containsKey(word)) {
-                tfIdfScore = pair.getValue() * idfScores.get(word);
-            }
-            queryVector.put(word, tfIdfScore);
-            double queryWordScore = tfIdfScore;
-
-            double docWordScore = 0.0;
+        TermVector documentVector = this.documentTfIdfVectors.get(pageUri);
+        TermVector queryTfScores = this.computeTfScores(query, false);
 
-            if (documentVector.containsKey(word)){
-                docWordScore = documentVector.get(word);
+        double numerator = 0.0;
+        double querySquares = 0.0;
+        for (int i = 0; i < queryTfScores.termIds.length; i++) {
+            int id = queryTfScores.termIds[i];
+            double queryWordScore = queryTfScores.scores[i] * this.idfScores[id];
+            querySquares += queryWordScore * queryWordScore;
+
+            int index = Arrays.binarySearch(documentVector.termIds, id);
+            if (index >= 0) {
+                numerator += queryWordScore * documentVector.scores[index];
             }
-            numerator += queryWordScore * docWordScore;
         }
 
-        double denominator = docNormVector.get(pageUri) * norm(queryVector);
-
+        double denominator = documentVector.norm * Math.sqrt(querySquares);
         if (denominator != 0) {
-            return numerator/denominator;
+            return numerator / denominator;
         } else {
             return 0.0;
         }
     }
 
-    private double norm(IDictionary<String, Double> vector) {
-        double output = 0.0;
-        for (KVPair<String, Double> pair : vector) {
-            double score = pair.getValue();
-            output += score * score;
+    /**
+     * A sparse vector of word scores: scores[i] is the score of the word with ID termIds[i],
+     * and termIds is sorted so a word's score can be found by binary search.
+     */
+    private static class TermVector {
+        private final int[] termIds;
+        private final double[] scores;
+        private double norm;
+
+        public TermVector(int[] termIds, double[] scores) {
+            this.termIds = termIds;
+            this.scores = scores;
+            this.norm = 0.0;
         }
-        return Math.sqrt(output);
     }
 }
@@ -86,16 +86,7 @@ public class Bridge {
 
         @Override
         public BinaryOperator<ISet<T>> combiner() {
-            return (a, b) -> {
-                ISet<T> out = new ChainedHashSet<>();
-                for (T i : a) {
-                    out.add(i);
-                }
-                for (T i : b) {
-                    out.add(i);
-                }
-                return out;
-            };
+            return ISet::union;
         }
 
         @Override
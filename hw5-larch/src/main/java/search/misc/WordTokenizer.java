@@ -1,11 +1,11 @@
 package search.misc;
 
-import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.DynamicArrayList;
 import datastructures.interfaces.IList;
 
 public class WordTokenizer {
     public static IList<String> extract(String input) {
-        IList<String> out = new DoubleLinkedList<>();
+        IList<String> out = new DynamicArrayList<>();
         for (String word : input.toLowerCase().split("\\s+")) {
             word = word.replaceAll("\\p{Punct}", "");
             if (!word.isEmpty()) {
@@ -2,7 +2,8 @@ package search.models;
 
 import com.chimbori.crux.articles.Article;
 import com.chimbori.crux.articles.ArticleExtractor;
-import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.DynamicArrayList;
+import datastructures.concrete.SymbolTable;
 import datastructures.concrete.dictionaries.ChainedHashDictionary;
 import datastructures.interfaces.IDictionary;
 import datastructures.interfaces.IList;
@@ -101,18 +102,32 @@ public class Webpage {
     // Note: You can safely ignore all the methods below this point.
 
     public static Webpage load(URI localUri) {
+        return Webpage.load(localUri, null, null);
+    }
+
+    /**
+     * Loads the webpage, swapping every word and URI for the equal copy already in the given
+     * tables (and adding it to them if there is none), so each distinct word or URI is stored
+     * once, not once per page containing it. Either table may be null to skip this.
+     */
+    public static Webpage load(URI localUri, SymbolTable<String> wordTable, SymbolTable<URI> uriTable) {
         URI cacheURI = Webpage.getCacheURI(localUri);
         File cacheFile = new File(cacheURI);
         if (cacheFile.exists()) {
-            return Webpage.loadFromCache(cacheFile);
+            return Webpage.loadFromCache(cacheFile, wordTable, uriTable);
         } else {
-            Webpage out = Webpage.loadOriginal(localUri);
+            Webpage out = Webpage.loadOriginal(localUri, wordTable, uriTable);
             Webpage.saveToCache(out, cacheFile);
             return out;
         }
     }
 
     public static Webpage loadOriginal(URI localUri) {
+        return Webpage.loadOriginal(localUri, null, null);
+    }
+
+    public static Webpage loadOriginal(URI localUri, SymbolTable<String> wordTable,
+                                       SymbolTable<URI> uriTable) {
         // Extract some core data
         try (PushbackInputStream stream = Webpage.openLocalStream(localUri)) {
             IDictionary<String, String> metadata = Webpage.extractMetadata(stream);
@@ -129,7 +144,7 @@ public class Webpage {
             String title = Webpage.extractTitle(article, pageUri);
             String blurb = Webpage.extractBlurb(article);
 
-            return new Webpage(pageUri, links, words, title, blurb);
+            return Webpage.interned(pageUri, links, words, title, blurb, wordTable, uriTable);
         } catch (IOException ex) {
             throw new RuntimeException(ex);
         }
@@ -165,7 +180,8 @@ public class Webpage {
         }
     }
 
-    private static Webpage loadFromCache(File cache) {
+    private static Webpage loadFromCache(File cache, SymbolTable<String> wordTable,
+                                         SymbolTable<URI> uriTable) {
         try (BufferedReader reader = new BufferedReader(new FileReader(cache))) {
             // Line 1: Page URI
             URI pageUri = URI.create(reader.readLine().trim());
@@ -177,24 +193,51 @@ public class Webpage {
             String blurb = reader.readLine().trim();
 
             // Line 4: words
-            IList<String> words = new DoubleLinkedList<>();
+            IList<String> words = new DynamicArrayList<>();
             StringTokenizer tokenizer = new StringTokenizer(reader.readLine().trim(), " ");
             while (tokenizer.hasMoreTokens()) {
                 words.add(tokenizer.nextToken());
             }
 
             // Rest of lines: links
-            IList<URI> links = new DoubleLinkedList<>();
+            IList<URI> links = new DynamicArrayList<>();
             for (String line = reader.readLine(); line != null; line = reader.readLine()) {
                 links.add(URI.create(line));
             }
 
-            return new Webpage(pageUri, links, words, title, blurb);
+            return Webpage.interned(pageUri, links, words, title, blurb, wordTable, uriTable);
         } catch (IOException ex) {
             throw new RuntimeException("Could not load cache", ex);
         }
     }
 
+    /**
+     * Returns a new webpage whose URI, links and words are the shared copies from the given
+     * tables. A null table leaves its items as they are.
+     */
+    private static Webpage interned(URI pageUri, IList<URI> links, IList<String> words, String title,
+                                    String blurb, SymbolTable<String> wordTable, SymbolTable<URI> uriTable) {
+        if (uriTable != null) {
+            pageUri = uriTable.canonical(pageUri);
+        }
+        return new Webpage(pageUri, internAll(uriTable, links), internAll(wordTable, words), title, blurb);
+    }
+
+    /**
+     * Returns a list of the shared copies of the given items, or the items themselves if the
+     * table is null.
+     */
+    private static <T> IList<T> internAll(SymbolTable<T> table, IList<T> items) {
+        if (table == null) {
+            return items;
+        }
+        IList<T> output = new DynamicArrayList<>(items.size());
+        for (T item : items) {
+            output.add(table.canonical(item));
+        }
+        return output;
+    }
+
     private static URI getCacheURI(URI localUri) {
         String raw = localUri.toString();
         String piece = raw.substring(0, raw.lastIndexOf("."));
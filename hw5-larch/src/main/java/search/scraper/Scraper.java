@@ -1,8 +1,11 @@
 package search.scraper;
 
-import datastructures.concrete.ArrayHeap;
 import datastructures.concrete.ChainedHashSet;
-import datastructures.interfaces.IPriorityQueue;
+import datastructures.concrete.IndexedArrayHeap;
+import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.interfaces.IAddressablePriorityQueue;
+import datastructures.interfaces.IAddressablePriorityQueue.Handle;
+import datastructures.interfaces.IDictionary;
 import datastructures.interfaces.ISet;
 import search.misc.WebUtils;
 import org.apache.commons.codec.digest.DigestUtils;
@@ -23,14 +26,17 @@ import java.util.Optional;
 
 public class Scraper {
     private Path outputPath;
-    private IPriorityQueue<PendingUri> pendingUris;
+    private IAddressablePriorityQueue<PendingUri> pendingUris;
+    // Every URI ever added to pendingUris, so each one is queued only once.
+    private IDictionary<URI, Handle<PendingUri>> queuedUris;
     private ISet<String> domainWhitelist;
     private ISet<URI> alreadyEncountered;
     private HttpRequester requester;
 
     public Scraper(Path outputPath) {
         this.outputPath = outputPath;
-        this.pendingUris = new ArrayHeap<>();
+        this.pendingUris = new IndexedArrayHeap<>();
+        this.queuedUris = new ChainedHashDictionary<>();
         this.domainWhitelist = new ChainedHashSet<>();
         this.requester = new HttpRequester();
         this.alreadyEncountered = new ChainedHashSet<>();
@@ -41,7 +47,7 @@ public class Scraper {
         if (!normalizedUri.isPresent()) {
             throw new IllegalArgumentException("URI is malformed: " + uri);
         }
-        this.pendingUris.add(new PendingUri(0, normalizedUri.get()));
+        this.enqueue(0, normalizedUri.get());
         return this;
     }
 
@@ -89,7 +95,7 @@ public class Scraper {
                     Optional<URI> normalizedUri = WebUtils.normalize(link);
 
                     if (normalizedUri.isPresent() && !this.alreadyEncountered.contains(link)) {
-                        this.pendingUris.add(new PendingUri(pending.distance + 1, normalizedUri.get()));
+                        this.enqueue(pending.distance + 1, normalizedUri.get());
                     }
                 }
 
@@ -99,6 +105,19 @@ public class Scraper {
         }
     }
 
+    /**
+     * Queues the given URI at the given distance. A URI that is already queued is moved
+     * up if this distance is shorter, and a URI that was queued before is not queued again.
+     */
+    private void enqueue(int distance, URI uri) {
+        Handle<PendingUri> handle = this.queuedUris.getOrDefault(uri, null);
+        if (handle == null) {
+            this.queuedUris.put(uri, this.pendingUris.add(new PendingUri(distance, uri)));
+        } else if (this.pendingUris.contains(handle) && distance < handle.getItem().distance) {
+            this.pendingUris.decreaseKey(handle, new PendingUri(distance, uri));
+        }
+    }
+
     private void saveHtml(URI uri, String body) throws IOException {
         String hex = DigestUtils.md5Hex(uri.toString());
         Path saveDomainPath = this.outputPath.resolve(uri.getHost());
@@ -1,6 +1,8 @@
 package datastructures;
 
 import datastructures.concrete.ArrayHeap;
+import datastructures.concrete.DoubleLinkedList;
+import datastructures.interfaces.IList;
 import datastructures.interfaces.IPriorityQueue;
 import misc.BaseTest;
 import misc.exceptions.EmptyContainerException;
@@ -9,6 +11,11 @@ import org.junit.FixMethodOrder;
 import org.junit.Test;
 import org.junit.runners.MethodSorters;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -505,6 +512,126 @@ public class TestArrayHeap extends BaseTest {
         }
     }
 
+    @Test(timeout=SECOND)
+    public void testOtherArities() {
+        for (int numChildren : new int[] {2, 8}) {
+            IPriorityQueue<Integer> heap = new ArrayHeap<>(numChildren);
+            Random rand = new Random(numChildren);
+            List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                expected.add(i);
+            }
+            Collections.shuffle(expected, rand);
+            for (Integer item : expected) {
+                heap.add(item);
+            }
+
+            // Remove every multiple of 3, and replace every multiple of 5 with a negative number.
+            for (int i = 0; i < 1000; i += 3) {
+                heap.remove(i);
+                expected.remove((Integer) i);
+            }
+            for (int i = 5; i < 1000; i += 5) {
+                if (heap.contains(i)) {
+                    heap.replace(i, -i);
+                    expected.set(expected.indexOf(i), -i);
+                }
+            }
+
+            Collections.sort(expected);
+            assertEquals(expected.size(), heap.size());
+            for (Integer item : expected) {
+                assertEquals(item, heap.removeMin());
+            }
+            assertTrue(heap.isEmpty());
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testUnsupportedArity() {
+        for (int numChildren : new int[] {-1, 0, 1, 3, 16}) {
+            try {
+                new ArrayHeap<Integer>(numChildren);
+                fail("Expected IllegalArgumentException");
+            } catch (IllegalArgumentException ex) {
+                // All ok
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testAddAllBuildsHeap() {
+        IList<Integer> items = new DoubleLinkedList<>();
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            expected.add(i);
+        }
+        Collections.shuffle(expected, new Random(24));
+        for (Integer item : expected) {
+            items.add(item);
+        }
+
+        IPriorityQueue<Integer> heap = new ArrayHeap<>(items);
+        assertEquals(1000, heap.size());
+        assertTrue(heap.contains(500));
+
+        // A small batch is percolated up item by item; a big one makes the heap rebuild.
+        IList<Integer> small = new DoubleLinkedList<>();
+        small.add(-5);
+        small.add(1000);
+        heap.addAll(small);
+        IList<Integer> big = new DoubleLinkedList<>();
+        for (int i = 1001; i < 3000; i += 2) {
+            big.add(i);
+        }
+        heap.addAll(big);
+
+        assertEquals(-5, heap.removeMin());
+        for (int i = 0; i <= 1000; i++) {
+            assertEquals(i, heap.removeMin());
+        }
+        for (int i = 1001; i < 3000; i += 2) {
+            assertEquals(i, heap.removeMin());
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test(timeout=SECOND)
+    public void testAddAllLeavesHeapUnchangedOnError() {
+        IPriorityQueue<Integer> heap = this.makeInstance();
+        heap.add(1);
+        heap.add(2);
+
+        IList<Integer> withDuplicate = new DoubleLinkedList<>();
+        withDuplicate.add(3);
+        withDuplicate.add(4);
+        withDuplicate.add(3);
+        try {
+            heap.addAll(withDuplicate);
+            fail("Expected InvalidElementException");
+        } catch (InvalidElementException ex) {
+            // All ok
+        }
+
+        IList<Integer> withNull = new DoubleLinkedList<>();
+        withNull.add(5);
+        withNull.add(null);
+        try {
+            heap.addAll(withNull);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok
+        }
+
+        assertEquals(2, heap.size());
+        assertFalse(heap.contains(3));
+        assertFalse(heap.contains(5));
+        heap.addAll(new DoubleLinkedList<>());
+        assertEquals(1, heap.removeMin());
+        assertEquals(2, heap.removeMin());
+        assertTrue(heap.isEmpty());
+    }
+
     /**
      * A helper method for accessing the private array inside a heap using reflection.
      */
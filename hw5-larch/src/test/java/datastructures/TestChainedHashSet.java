@@ -365,6 +365,89 @@ public class TestChainedHashSet extends BaseTest {
         assertFalse(set.contains(key1));
     }
 
+    @Test(timeout=SECOND)
+    public void testSetAlgebraBasic() {
+        ISet<String> first = this.makeBasicSet();
+        ISet<String> second = new ChainedHashSet<>();
+        second.add("keyC");
+        second.add("keyD");
+
+        this.assertSetMatches(new String[] {"keyA", "keyB", "keyC", "keyD"}, first.union(second));
+        this.assertSetMatches(new String[] {"keyA", "keyB", "keyC", "keyD"}, second.union(first));
+        this.assertSetMatches(new String[] {"keyC"}, first.intersection(second));
+        this.assertSetMatches(new String[] {"keyC"}, second.intersection(first));
+        this.assertSetMatches(new String[] {"keyA", "keyB"}, first.difference(second));
+        this.assertSetMatches(new String[] {"keyD"}, second.difference(first));
+
+        // The operands are left untouched.
+        this.assertSetMatches(new String[] {"keyA", "keyB", "keyC"}, first);
+        this.assertSetMatches(new String[] {"keyC", "keyD"}, second);
+    }
+
+    @Test(timeout=SECOND)
+    public void testSetAlgebraWithEmptySet() {
+        ISet<String> set = this.makeBasicSet();
+        ISet<String> empty = new ChainedHashSet<>();
+
+        this.assertSetMatches(new String[] {"keyA", "keyB", "keyC"}, set.union(empty));
+        this.assertSetMatches(new String[] {}, set.intersection(empty));
+        this.assertSetMatches(new String[] {"keyA", "keyB", "keyC"}, set.difference(empty));
+        this.assertSetMatches(new String[] {}, empty.difference(set));
+        assertTrue(set.containsAll(empty));
+        assertFalse(empty.containsAll(set));
+    }
+
+    @Test(timeout=SECOND)
+    public void testContainsAll() {
+        ISet<String> set = this.makeBasicSet();
+        ISet<String> subset = new ChainedHashSet<>();
+        subset.add("keyA");
+        subset.add("keyC");
+
+        assertTrue(set.containsAll(subset));
+        assertTrue(set.containsAll(set));
+        assertFalse(subset.containsAll(set));
+
+        subset.add("keyD");
+        assertFalse(set.containsAll(subset));
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testSetAlgebraMany() {
+        ISet<Integer> evens = new ChainedHashSet<>();
+        ISet<Integer> thirds = new ChainedHashSet<>();
+        int cap = 100000;
+        for (int i = 0; i < cap; i += 2) {
+            evens.add(i);
+        }
+        for (int i = 0; i < cap; i += 3) {
+            thirds.add(i);
+        }
+
+        ISet<Integer> union = evens.union(thirds);
+        ISet<Integer> intersection = thirds.intersection(evens);
+        ISet<Integer> difference = evens.difference(thirds);
+        int unionSize = 0;
+        int intersectionSize = 0;
+        int differenceSize = 0;
+        for (int i = 0; i < cap; i++) {
+            boolean even = i % 2 == 0;
+            boolean third = i % 3 == 0;
+            assertEquals(even || third, union.contains(i));
+            assertEquals(even && third, intersection.contains(i));
+            assertEquals(even && !third, difference.contains(i));
+            unionSize += even || third ? 1 : 0;
+            intersectionSize += even && third ? 1 : 0;
+            differenceSize += even && !third ? 1 : 0;
+        }
+        assertEquals(unionSize, union.size());
+        assertEquals(intersectionSize, intersection.size());
+        assertEquals(differenceSize, difference.size());
+        assertTrue(union.containsAll(evens));
+        assertTrue(evens.containsAll(intersection));
+        assertFalse(difference.containsAll(intersection));
+    }
+
     @Test(timeout=10*SECOND)
     public void stressTest() {
         int limit = 1000000;
@@ -0,0 +1,143 @@
+package datastructures;
+
+import datastructures.concrete.IntDoubleHeap;
+import misc.BaseTest;
+import misc.exceptions.EmptyContainerException;
+import misc.exceptions.InvalidElementException;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TestIntDoubleHeap extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testAddAndRemoveMin() {
+        IntDoubleHeap heap = new IntDoubleHeap();
+        double[] priorities = {5.5, 3.0, 8.25, -1.0, 9.0, 0.0};
+        for (int id = 0; id < priorities.length; id++) {
+            heap.add(id, priorities[id]);
+        }
+        assertEquals(6, heap.size());
+        assertEquals(3, heap.peekMin());
+        assertEquals(-1.0, heap.peekMinPriority(), 0.0);
+
+        int[] expected = {3, 5, 1, 0, 2, 4};
+        for (int id : expected) {
+            assertEquals(priorities[id], heap.priorityOf(id), 0.0);
+            assertEquals(id, heap.removeMin());
+            assertFalse(heap.contains(id));
+        }
+        assertTrue(heap.isEmpty());
+
+        try {
+            heap.removeMin();
+            fail("Expected EmptyContainerException");
+        } catch (EmptyContainerException ex) {
+            // All ok
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testDecreaseAndChangePriority() {
+        IntDoubleHeap heap = new IntDoubleHeap();
+        for (int id = 0; id < 20; id++) {
+            heap.add(id, 10.0 + id);
+        }
+
+        heap.decreaseKey(17, 1.0);
+        assertEquals(17, heap.peekMin());
+        try {
+            heap.decreaseKey(3, 50.0);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok
+        }
+
+        heap.changePriority(17, 100.0);
+        heap.changePriority(19, 0.5);
+        heap.remove(0);
+        assertEquals(19, heap.removeMin());
+        assertEquals(1, heap.removeMin());
+        assertEquals(17, heap.size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testInvalidIds() {
+        IntDoubleHeap heap = new IntDoubleHeap(2);
+        heap.add(1000, 1.0);
+        assertTrue(heap.contains(1000));
+        assertFalse(heap.contains(999));
+        assertFalse(heap.contains(-1));
+
+        try {
+            heap.add(1000, 2.0);
+            fail("Expected InvalidElementException");
+        } catch (InvalidElementException ex) {
+            // All ok
+        }
+        try {
+            heap.remove(5);
+            fail("Expected InvalidElementException");
+        } catch (InvalidElementException ex) {
+            // All ok
+        }
+        try {
+            heap.add(-1, 2.0);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok
+        }
+        try {
+            heap.add(3, Double.NaN);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok
+        }
+        assertEquals(1, heap.size());
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testRandomOperationsStayOrdered() {
+        int numIds = 500;
+        IntDoubleHeap heap = new IntDoubleHeap(numIds);
+        double[] priorities = new double[numIds];
+        boolean[] present = new boolean[numIds];
+        Random rand = new Random(22);
+        for (int i = 0; i < 50000; i++) {
+            int id = rand.nextInt(numIds);
+            double priority = rand.nextDouble();
+            if (!present[id]) {
+                heap.add(id, priority);
+                present[id] = true;
+                priorities[id] = priority;
+            } else if (rand.nextBoolean()) {
+                heap.changePriority(id, priority);
+                priorities[id] = priority;
+            } else {
+                heap.remove(id);
+                present[id] = false;
+            }
+            assertEquals(present[id], heap.contains(id));
+        }
+
+        double last = Double.NEGATIVE_INFINITY;
+        while (!heap.isEmpty()) {
+            double priority = heap.peekMinPriority();
+            int id = heap.removeMin();
+            assertTrue(present[id]);
+            assertEquals(priorities[id], priority, 0.0);
+            assertTrue(priority >= last);
+            present[id] = false;
+            last = priority;
+        }
+        for (boolean isPresent : present) {
+            assertFalse(isPresent);
+        }
+    }
+}
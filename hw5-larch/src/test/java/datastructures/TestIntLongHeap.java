@@ -0,0 +1,56 @@
+package datastructures;
+
+import datastructures.concrete.IntLongHeap;
+import misc.BaseTest;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TestIntLongHeap extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testDecreaseKey() {
+        IntLongHeap heap = new IntLongHeap();
+        heap.add(0, Long.MAX_VALUE);
+        heap.add(1, 7L);
+        heap.add(2, -3L);
+
+        heap.decreaseKey(0, Long.MIN_VALUE);
+        assertEquals(0, heap.removeMin());
+        try {
+            heap.decreaseKey(1, 8L);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok
+        }
+        assertEquals(-3L, heap.peekMinPriority());
+        assertEquals(2, heap.removeMin());
+        assertEquals(1, heap.removeMin());
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testSortsPriorities() {
+        int size = 10000;
+        IntLongHeap heap = new IntLongHeap();
+        long[] priorities = new long[size];
+        Random rand = new Random(22);
+        for (int id = 0; id < size; id++) {
+            priorities[id] = rand.nextLong();
+            heap.add(id, priorities[id]);
+        }
+
+        Arrays.sort(priorities);
+        for (long priority : priorities) {
+            assertEquals(priority, heap.peekMinPriority());
+            heap.removeMin();
+        }
+        assertTrue(heap.isEmpty());
+    }
+}
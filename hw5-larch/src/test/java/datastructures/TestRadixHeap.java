@@ -0,0 +1,173 @@
+package datastructures;
+
+import datastructures.concrete.RadixHeap;
+import datastructures.interfaces.IAddressablePriorityQueue;
+import datastructures.interfaces.IAddressablePriorityQueue.Handle;
+import misc.BaseTest;
+import misc.exceptions.EmptyContainerException;
+import misc.exceptions.InvalidElementException;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TestRadixHeap extends BaseTest {
+    protected IAddressablePriorityQueue<Long> makeInstance() {
+        return new RadixHeap<>(item -> item);
+    }
+
+    @Test(timeout=SECOND)
+    public void testAddAndRemoveMin() {
+        IAddressablePriorityQueue<Long> heap = this.makeInstance();
+        long[] values = {5, 3, 8, 1, 9, 3, 0, Long.MAX_VALUE};
+        for (long value : values) {
+            heap.add(value);
+        }
+        assertEquals(8, heap.size());
+        assertEquals(0L, heap.peekMin());
+
+        long[] expected = {0, 1, 3, 3, 5, 8, 9, Long.MAX_VALUE};
+        for (long value : expected) {
+            assertEquals(value, heap.removeMin());
+        }
+        assertTrue(heap.isEmpty());
+
+        try {
+            heap.removeMin();
+            fail("Expected EmptyContainerException");
+        } catch (EmptyContainerException ex) {
+            // All ok
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testKeysSmallerThanLastMinimumNotPermitted() {
+        IAddressablePriorityQueue<Long> heap = this.makeInstance();
+        heap.add(10L);
+        Handle<Long> handle = heap.add(20L);
+        assertEquals(10L, heap.removeMin());
+
+        heap.add(10L);
+        try {
+            heap.add(9L);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok
+        }
+        try {
+            heap.decreaseKey(handle, 9L);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok
+        }
+        try {
+            heap.add(-1L);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok
+        }
+        assertEquals(20L, handle.getItem());
+        assertEquals(2, heap.size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testDecreaseKeyAndReplace() {
+        IAddressablePriorityQueue<Long> heap = this.makeInstance();
+        List<Handle<Long>> handles = new ArrayList<>();
+        for (long i = 0; i < 20; i++) {
+            handles.add(heap.add(100 + i));
+        }
+
+        heap.decreaseKey(handles.get(17), 3L);
+        assertEquals(3L, heap.peekMin());
+        try {
+            heap.decreaseKey(handles.get(0), 101L);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok
+        }
+        heap.replace(handles.get(0), 1000L);
+        heap.replace(handles.get(19), 4L);
+
+        assertEquals(3L, heap.removeMin());
+        assertFalse(heap.contains(handles.get(17)));
+        assertEquals(4L, heap.removeMin());
+        assertEquals(101L, heap.removeMin());
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveByHandle() {
+        IAddressablePriorityQueue<Long> heap = this.makeInstance();
+        IAddressablePriorityQueue<Long> other = this.makeInstance();
+        List<Handle<Long>> handles = new ArrayList<>();
+        for (long i = 0; i < 10; i++) {
+            handles.add(heap.add(i));
+        }
+        heap.remove(handles.get(0));
+        heap.remove(handles.get(5));
+        assertEquals(8, heap.size());
+        assertFalse(heap.contains(handles.get(5)));
+
+        try {
+            heap.remove(handles.get(5));
+            fail("Expected InvalidElementException");
+        } catch (InvalidElementException ex) {
+            // All ok
+        }
+        try {
+            heap.remove(other.add(1L));
+            fail("Expected InvalidElementException");
+        } catch (InvalidElementException ex) {
+            // All ok
+        }
+
+        long[] expected = {1, 2, 3, 4, 6, 7, 8, 9};
+        for (long value : expected) {
+            assertEquals(value, heap.removeMin());
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testMonotoneOperationsStayOrdered() {
+        // Mimics Dijkstra's algorithm: every new key is the last minimum plus some offset.
+        IAddressablePriorityQueue<Long> heap = this.makeInstance();
+        List<Handle<Long>> handles = new ArrayList<>();
+        PriorityQueue<Long> expected = new PriorityQueue<>();
+        Random rand = new Random(25);
+        long lastMin = 0;
+        for (int i = 0; i < 50000; i++) {
+            int choice = rand.nextInt(4);
+            if (choice == 0 && !expected.isEmpty()) {
+                lastMin = expected.poll();
+                assertEquals(lastMin, heap.removeMin());
+            } else if (choice == 1 && !handles.isEmpty()) {
+                Handle<Long> handle = handles.get(rand.nextInt(handles.size()));
+                if (heap.contains(handle) && handle.getItem() > lastMin) {
+                    long newItem = lastMin + rand.nextInt((int) Math.min(handle.getItem() - lastMin, 1 << 20));
+                    expected.remove(handle.getItem());
+                    expected.add(newItem);
+                    heap.decreaseKey(handle, newItem);
+                }
+            } else {
+                long item = lastMin + rand.nextInt(1 << 20);
+                expected.add(item);
+                handles.add(heap.add(item));
+            }
+            assertEquals(expected.size(), heap.size());
+        }
+
+        while (!expected.isEmpty()) {
+            assertEquals(expected.poll(), heap.removeMin());
+        }
+        assertTrue(heap.isEmpty());
+    }
+}
@@ -0,0 +1,79 @@
+package datastructures;
+
+import datastructures.concrete.SymbolTable;
+import misc.BaseTest;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TestSymbolTable extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testInternAssignsConsecutiveIds() {
+        SymbolTable<String> table = new SymbolTable<>();
+        assertEquals(0, table.intern("a"));
+        assertEquals(1, table.intern("b"));
+        assertEquals(0, table.intern("a"));
+        assertEquals(2, table.intern(null));
+        assertEquals(3, table.size());
+
+        assertEquals("a", table.get(0));
+        assertEquals("b", table.get(1));
+        assertEquals(null, table.get(2));
+        assertEquals(1, table.indexOf("b"));
+        assertEquals(-1, table.indexOf("c"));
+        assertTrue(table.contains(null));
+        assertFalse(table.contains("c"));
+        assertEquals(3, table.size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testCanonicalReturnsFirstCopy() {
+        // Force the strings to be separate objects
+        String first = new String("word");
+        String second = new String("word");
+
+        SymbolTable<String> table = new SymbolTable<>();
+        assertSame(first, table.canonical(first));
+        assertSame(first, table.canonical(second));
+        assertEquals(1, table.size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testGetErrorHandling() {
+        SymbolTable<String> table = new SymbolTable<>(0);
+        table.intern("a");
+        try {
+            table.get(1);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException ex) {
+            // All ok
+        }
+        try {
+            table.get(-1);
+            fail("Expected IndexOutOfBoundsException");
+        } catch (IndexOutOfBoundsException ex) {
+            // All ok
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testManyItems() {
+        SymbolTable<Integer> table = new SymbolTable<>();
+        int cap = 200000;
+        for (int i = 0; i < cap; i++) {
+            assertEquals(i, table.intern(i * 7));
+        }
+        for (int i = cap - 1; i >= 0; i--) {
+            assertEquals(i, table.intern(i * 7));
+            assertEquals(i * 7, table.get(i));
+            assertEquals(-1, table.indexOf(-i - 1));
+        }
+        assertEquals(cap, table.size());
+    }
+}
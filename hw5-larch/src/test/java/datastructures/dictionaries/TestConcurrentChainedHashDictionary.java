@@ -0,0 +1,233 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.dictionaries.ConcurrentChainedHashDictionary;
+import datastructures.concrete.dictionaries.KVPair;
+import datastructures.interfaces.IDictionary;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TestConcurrentChainedHashDictionary extends BaseTestDictionary {
+    private static final int NUM_THREADS = 8;
+
+    protected <K, V> IDictionary<K, V> newDictionary() {
+        return new ConcurrentChainedHashDictionary<>();
+    }
+
+    /**
+     * Runs the given task on NUM_THREADS threads at once, passing each one its thread number,
+     * and rethrows the first exception or failed assertion from any of them.
+     */
+    private static void runConcurrently(IntConsumer task) {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread[] threads = new Thread[NUM_THREADS];
+        for (int i = 0; i < NUM_THREADS; i++) {
+            int id = i;
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                    task.accept(id);
+                } catch (Throwable ex) {
+                    error.compareAndSet(null, ex);
+                }
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        try {
+            for (Thread thread : threads) {
+                thread.join();
+            }
+        } catch (InterruptedException ex) {
+            throw new RuntimeException(ex);
+        }
+        if (error.get() instanceof Error) {
+            throw (Error) error.get();
+        } else if (error.get() != null) {
+            throw new RuntimeException(error.get());
+        }
+    }
+
+    /**
+     * Unlike the other dictionaries, this one is meant to be modified while it is being
+     * iterated over, so its iterators are weakly consistent instead of fail-fast.
+     */
+    @Override
+    @Test(timeout=SECOND)
+    public void testIteratorFailsFastAfterStructuralChange() {
+        IDictionary<String, String> dict = this.makeBasicDictionary();
+        Iterator<KVPair<String, String>> iter = dict.iterator();
+        Set<String> seen = new HashSet<>();
+        seen.add(iter.next().getKey());
+        dict.put("keyD", "valD");
+        dict.remove(seen.contains("keyA") ? "keyB" : "keyA");
+        while (iter.hasNext()) {
+            assertTrue(seen.add(iter.next().getKey()));
+        }
+        assertTrue(seen.contains("keyC"));
+        assertEquals(3, dict.size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testPutIfAbsentAndComputeIfAbsent() {
+        ConcurrentChainedHashDictionary<String, Integer> dict = new ConcurrentChainedHashDictionary<>();
+        assertTrue(dict.putIfAbsent("a", 1));
+        assertFalse(dict.putIfAbsent("a", 2));
+        assertEquals(1, dict.get("a"));
+
+        assertEquals(1, dict.computeIfAbsent("a", key -> 3));
+        assertEquals(4, dict.computeIfAbsent("b", key -> 4));
+        assertEquals(4, dict.get("b"));
+        assertEquals(2, dict.size());
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testConcurrentPutsOfDisjointKeys() {
+        int perThread = 50000;
+        IDictionary<Integer, Integer> dict = this.newDictionary();
+        runConcurrently(id -> {
+            for (int i = 0; i < perThread; i++) {
+                int key = id * perThread + i;
+                dict.put(key, -key);
+            }
+        });
+
+        assertEquals(NUM_THREADS * perThread, dict.size());
+        for (int key = 0; key < NUM_THREADS * perThread; key++) {
+            assertEquals(-key, dict.get(key));
+        }
+        int count = 0;
+        for (KVPair<Integer, Integer> pair : dict) {
+            assertEquals(-pair.getKey(), pair.getValue());
+            count++;
+        }
+        assertEquals(NUM_THREADS * perThread, count);
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testConcurrentPutsAndRemoves() {
+        int perThread = 20000;
+        IDictionary<Integer, Integer> dict = this.newDictionary();
+        runConcurrently(id -> {
+            for (int i = 0; i < perThread; i++) {
+                dict.put(id * perThread + i, i);
+            }
+            for (int i = 0; i < perThread; i += 2) {
+                assertEquals(i, dict.remove(id * perThread + i));
+            }
+        });
+
+        assertEquals(NUM_THREADS * perThread / 2, dict.size());
+        for (int key = 0; key < NUM_THREADS * perThread; key++) {
+            assertEquals(key % 2 == 1, dict.containsKey(key));
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testPutIfAbsentHasExactlyOneWinnerPerKey() {
+        int numKeys = 20000;
+        ConcurrentChainedHashDictionary<Integer, Integer> dict = new ConcurrentChainedHashDictionary<>();
+        AtomicInteger[] wins = new AtomicInteger[NUM_THREADS];
+        for (int i = 0; i < NUM_THREADS; i++) {
+            wins[i] = new AtomicInteger();
+        }
+        runConcurrently(id -> {
+            for (int key = 0; key < numKeys; key++) {
+                if (dict.putIfAbsent(key, id)) {
+                    wins[id].incrementAndGet();
+                }
+            }
+        });
+
+        int totalWins = 0;
+        int[] valuesPerThread = new int[NUM_THREADS];
+        for (int i = 0; i < NUM_THREADS; i++) {
+            totalWins += wins[i].get();
+        }
+        for (int key = 0; key < numKeys; key++) {
+            valuesPerThread[dict.get(key)]++;
+        }
+        assertEquals(numKeys, totalWins);
+        assertEquals(numKeys, dict.size());
+        for (int i = 0; i < NUM_THREADS; i++) {
+            assertEquals(wins[i].get(), valuesPerThread[i]);
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testComputeIfAbsentCallsFunctionOncePerKey() {
+        int numKeys = 5000;
+        ConcurrentChainedHashDictionary<Integer, Integer> dict = new ConcurrentChainedHashDictionary<>();
+        AtomicInteger calls = new AtomicInteger();
+        runConcurrently(id -> {
+            for (int key = 0; key < numKeys; key++) {
+                int value = dict.computeIfAbsent(key, k -> {
+                    calls.incrementAndGet();
+                    return k * 3;
+                });
+                assertEquals(key * 3, value);
+            }
+        });
+        assertEquals(numKeys, calls.get());
+        assertEquals(numKeys, dict.size());
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testReadersNeverSeeInconsistentState() {
+        int numKeys = 100000;
+        IDictionary<Integer, Integer> dict = this.newDictionary();
+        AtomicBoolean done = new AtomicBoolean(false);
+        runConcurrently(id -> {
+            if (id == 0) {
+                // A single writer adds keys in increasing order (forcing many resizes) and
+                // then overwrites them, so readers can check what they see.
+                for (int key = 0; key < numKeys; key++) {
+                    dict.put(key, key);
+                }
+                for (int key = 0; key < numKeys; key++) {
+                    dict.put(key, -key);
+                }
+                done.set(true);
+            } else {
+                while (!done.get()) {
+                    int known = 0;
+                    while (known < numKeys && dict.containsKey(known)) {
+                        known++;
+                    }
+                    // Every key below 'known' was present, so it must still be present
+                    // and map to one of the two values the writer ever used for it.
+                    for (int key = 0; key < known; key++) {
+                        Integer value = dict.getOrDefault(key, null);
+                        if (value == null || (value != key && value != -key)) {
+                            fail("Unexpected value " + value + " for key " + key);
+                        }
+                    }
+                    int count = 0;
+                    for (KVPair<Integer, Integer> pair : dict) {
+                        count++;
+                    }
+                    assertTrue(count >= known);
+                }
+            }
+        });
+        assertEquals(numKeys, dict.size());
+        for (int key = 0; key < numKeys; key++) {
+            assertEquals(-key, dict.get(key));
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.dictionaries.KVPair;
+import datastructures.concrete.dictionaries.MappedFileDictionary;
+import misc.BaseTest;
+import misc.exceptions.NoSuchKeyException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TestMappedFileDictionary extends BaseTest {
+    private Path file;
+
+    @Before
+    public void createFile() throws IOException {
+        this.file = Files.createTempFile("dictionary", ".bin");
+        Files.delete(this.file);
+    }
+
+    @After
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(this.file);
+    }
+
+    private MappedFileDictionary<String, Integer> open() {
+        return new MappedFileDictionary<>(this.file, MappedFileDictionary.STRING, MappedFileDictionary.INTEGER);
+    }
+
+    @Test(timeout=SECOND)
+    public void testPutGetRemoveBasic() {
+        try (MappedFileDictionary<String, Integer> dict = this.open()) {
+            dict.put("a", 1);
+            dict.put("b", 2);
+            dict.put(null, 3);
+            dict.put("c", null);
+
+            assertEquals(4, dict.size());
+            assertEquals(1, dict.get("a"));
+            assertEquals(3, dict.get(null));
+            assertEquals(null, dict.get("c"));
+            assertTrue(dict.containsKey("c"));
+            assertFalse(dict.containsKey("d"));
+            assertEquals(7, dict.getOrDefault("d", 7));
+
+            dict.put("a", 4);
+            assertEquals(4, dict.get("a"));
+            assertEquals(2, dict.remove("b"));
+            assertFalse(dict.containsKey("b"));
+            assertEquals(3, dict.size());
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testMissingKeysThrowException() {
+        try (MappedFileDictionary<String, Integer> dict = this.open()) {
+            dict.put("a", 1);
+            try {
+                dict.get("b");
+                fail("Expected NoSuchKeyException");
+            } catch (NoSuchKeyException ex) {
+                // All ok
+            }
+            try {
+                dict.remove("b");
+                fail("Expected NoSuchKeyException");
+            } catch (NoSuchKeyException ex) {
+                // All ok
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testValuesOfDifferentLengths() {
+        try (MappedFileDictionary<String, String> dict = new MappedFileDictionary<>(
+                this.file, MappedFileDictionary.STRING, MappedFileDictionary.STRING)) {
+            dict.put("key", "short");
+            dict.put("key", "a much longer value");
+            dict.put("key", "tiny");
+            dict.put("other", "");
+            assertEquals("tiny", dict.get("key"));
+            assertEquals("", dict.get("other"));
+            assertEquals(2, dict.size());
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testContentsSurviveReopening() {
+        try (MappedFileDictionary<String, Integer> dict = this.open()) {
+            for (int i = 0; i < 10000; i++) {
+                dict.put("key" + i, i);
+            }
+            for (int i = 0; i < 10000; i += 3) {
+                dict.remove("key" + i);
+            }
+        }
+
+        try (MappedFileDictionary<String, Integer> dict = this.open()) {
+            assertEquals(6666, dict.size());
+            for (int i = 0; i < 10000; i++) {
+                assertEquals(i % 3 != 0, dict.containsKey("key" + i));
+                if (i % 3 != 0) {
+                    assertEquals(i, dict.get("key" + i));
+                }
+            }
+            dict.put("new", -1);
+        }
+
+        try (MappedFileDictionary<String, Integer> dict = this.open()) {
+            assertEquals(6667, dict.size());
+            assertEquals(-1, dict.get("new"));
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testRandomOperationsMatchHashMap() {
+        Random rand = new Random(18);
+        Map<String, Integer> expected = new HashMap<>();
+        try (MappedFileDictionary<String, Integer> dict = this.open()) {
+            for (int i = 0; i < 50000; i++) {
+                String key = Integer.toString(rand.nextInt(2000), 36);
+                if (rand.nextInt(3) == 0 && expected.containsKey(key)) {
+                    assertEquals(expected.remove(key), dict.remove(key));
+                } else {
+                    expected.put(key, i);
+                    dict.put(key, i);
+                }
+            }
+
+            assertEquals(expected.size(), dict.size());
+            int count = 0;
+            for (KVPair<String, Integer> pair : dict) {
+                assertEquals(expected.get(pair.getKey()), pair.getValue());
+                count++;
+            }
+            assertEquals(expected.size(), count);
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testUnusedSpaceIsReclaimed() throws IOException {
+        try (MappedFileDictionary<String, String> dict = new MappedFileDictionary<>(
+                this.file, MappedFileDictionary.STRING, MappedFileDictionary.STRING)) {
+            dict.put("kept", "value");
+            for (int i = 0; i < 50000; i++) {
+                dict.put("key" + i, "value" + i);
+                dict.put("key" + i, "a longer value" + i);
+                dict.remove("key" + i);
+                dict.put("kept", "value" + i);
+            }
+            assertEquals(1, dict.size());
+            assertEquals("value49999", dict.get("kept"));
+        }
+
+        // Without compaction, every round would leave about 80 bytes behind.
+        assertTrue(Files.size(this.file) < 64 * 1024);
+        try (MappedFileDictionary<String, String> dict = new MappedFileDictionary<>(
+                this.file, MappedFileDictionary.STRING, MappedFileDictionary.STRING)) {
+            assertEquals(1, dict.size());
+            assertEquals("value49999", dict.get("kept"));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testIteratorAllowsOverwritingValuesWhileCompacting() {
+        try (MappedFileDictionary<String, String> dict = new MappedFileDictionary<>(
+                this.file, MappedFileDictionary.STRING, MappedFileDictionary.STRING)) {
+            for (int i = 0; i < 500; i++) {
+                dict.put("key" + i, "");
+            }
+            // Each overwrite changes the value's length, so the old records pile up and
+            // the file is compacted several times during the loop.
+            int count = 0;
+            for (KVPair<String, String> pair : dict) {
+                for (int j = 0; j < 10; j++) {
+                    dict.put(pair.getKey(), pair.getKey() + j);
+                }
+                count++;
+            }
+            assertEquals(500, count);
+            for (int i = 0; i < 500; i++) {
+                assertEquals("key" + i + 9, dict.get("key" + i));
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testIteratorFailsFast() {
+        try (MappedFileDictionary<String, Integer> dict = this.open()) {
+            dict.put("a", 1);
+            Iterator<KVPair<String, Integer>> iter = dict.iterator();
+            dict.put("b", 2);
+            try {
+                iter.hasNext();
+                fail("Expected ConcurrentModificationException");
+            } catch (ConcurrentModificationException ex) {
+                // All ok
+            }
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testRejectsOtherFiles() throws IOException {
+        Files.write(this.file, new byte[100]);
+        try {
+            this.open();
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testClosedDictionaryCantBeUsed() {
+        MappedFileDictionary<String, Integer> dict = this.open();
+        dict.put("a", 1);
+        dict.close();
+        try {
+            dict.get("a");
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+            // All ok
+        }
+    }
+}
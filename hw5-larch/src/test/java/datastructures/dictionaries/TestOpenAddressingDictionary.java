@@ -0,0 +1,127 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.dictionaries.KVPair;
+import datastructures.concrete.dictionaries.OpenAddressingDictionary;
+import datastructures.interfaces.IDictionary;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TestOpenAddressingDictionary extends BaseTestDictionary {
+    protected <K, V> IDictionary<K, V> newDictionary() {
+        return new OpenAddressingDictionary<>();
+    }
+
+    @Test(timeout=SECOND)
+    public void testManyObjectsWithSameHashCode() {
+        IDictionary<Wrapper<String>, Integer> map = this.newDictionary();
+        for (int i = 0; i < 1000; i++) {
+            map.put(new Wrapper<>("" + i, 0), i);
+        }
+
+        assertEquals(1000, map.size());
+
+        for (int i = 999; i >= 0; i--) {
+            String key = "" + i;
+            assertEquals(i, map.get(new Wrapper<>(key, 0)));
+
+            assertFalse(map.containsKey(new Wrapper<>(key + "a", 0)));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testNegativeAndBigHashCodes() {
+        IDictionary<Wrapper<String>, String> dict = this.newDictionary();
+
+        Wrapper<String> key1 = new Wrapper<>("foo", -1);
+        Wrapper<String> key2 = new Wrapper<>("bar", Integer.MIN_VALUE);
+        Wrapper<String> key3 = new Wrapper<>("baz", Integer.MAX_VALUE);
+        Wrapper<String> key4 = new Wrapper<>("qux", -4);
+
+        dict.put(key1, "val1");
+        dict.put(key2, "val2");
+        dict.put(key3, "val3");
+
+        assertTrue(dict.containsKey(key1));
+        assertTrue(dict.containsKey(key2));
+        assertTrue(dict.containsKey(key3));
+        assertFalse(dict.containsKey(key4));
+
+        assertEquals("val2", dict.remove(key2));
+        assertFalse(dict.containsKey(key2));
+        assertEquals("val1", dict.get(key1));
+        assertEquals("val3", dict.get(key3));
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveFromMiddleOfCluster() {
+        // Keys that only differ in their upper bits all compete for the same few slots,
+        // so removing any of them has to shift the rest of the cluster correctly.
+        IDictionary<Wrapper<Integer>, Integer> dict = this.newDictionary();
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 200; i++) {
+            dict.put(new Wrapper<>(i, i % 7), i);
+            expected.put(i, i);
+        }
+
+        for (int i = 0; i < 200; i += 3) {
+            assertEquals(i, dict.remove(new Wrapper<>(i, i % 7)));
+            expected.remove(i);
+        }
+
+        assertEquals(expected.size(), dict.size());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(expected.containsKey(i), dict.containsKey(new Wrapper<>(i, i % 7)));
+        }
+
+        int count = 0;
+        for (KVPair<Wrapper<Integer>, Integer> pair : dict) {
+            assertTrue(expected.containsKey(pair.getValue()));
+            count++;
+        }
+        assertEquals(expected.size(), count);
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testStress() {
+        int limit = 1000000;
+        IDictionary<Integer, Integer> dict = this.newDictionary();
+
+        for (int i = 0; i < limit; i++) {
+            dict.put(i, i);
+            assertEquals(i, dict.get(i));
+        }
+
+        for (int i = 0; i < limit; i++) {
+            assertFalse(dict.containsKey(-1));
+        }
+
+        for (int i = 0; i < limit; i++) {
+            dict.put(i, -i);
+        }
+
+        for (int i = 0; i < limit; i++) {
+            assertEquals(-i, dict.get(i));
+            dict.remove(i);
+        }
+        assertTrue(dict.isEmpty());
+    }
+
+    @Test(timeout=SECOND)
+    public void testGetOrDefault() {
+        IDictionary<String, Integer> dict = this.newDictionary();
+        dict.put("a", 1);
+        dict.put("b", null);
+
+        assertEquals(1, dict.getOrDefault("a", -1));
+        assertEquals(null, dict.getOrDefault("b", -1));
+        assertEquals(-1, dict.getOrDefault("c", -1));
+    }
+}
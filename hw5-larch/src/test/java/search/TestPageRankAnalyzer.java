@@ -2,6 +2,7 @@ package search;
 
 import datastructures.concrete.ChainedHashSet;
 import datastructures.concrete.DoubleLinkedList;
+import datastructures.concrete.SymbolTable;
 import datastructures.interfaces.IList;
 import datastructures.interfaces.ISet;
 import misc.BaseTest;
@@ -10,6 +11,9 @@ import search.analyzers.PageRankAnalyzer;
 import search.models.Webpage;
 
 import java.net.URI;
+import java.security.InvalidParameterException;
+
+import static org.junit.Assert.fail;
 
 public class TestPageRankAnalyzer extends BaseTest {
     // We say two floating point numbers are equal if they're within
@@ -50,6 +54,38 @@ public class TestPageRankAnalyzer extends BaseTest {
         assertEquals(0.17342, analyzer.computePageRank(pageDUri), DELTA);
     }
 
+    @Test(timeout=SECOND)
+    public void testSharedTableWithOutsideLinks() {
+        URI outsideUri = URI.create("http://example.com/outside.html");
+        URI pageAUri = URI.create("http://example.com/page-a.html");
+        URI pageBUri = URI.create("http://example.com/page-b.html");
+        URI pageCUri = URI.create("http://example.com/page-c.html");
+        URI pageDUri = URI.create("http://example.com/page-d.html");
+
+        // The outside link gets the first ID, so no page's ID matches its position.
+        SymbolTable<URI> uris = new SymbolTable<>();
+        uris.intern(outsideUri);
+
+        ISet<Webpage> pages = new ChainedHashSet<>();
+        pages.add(this.buildPage(pageAUri, new URI[] {outsideUri, pageBUri, pageCUri, pageDUri}));
+        pages.add(this.buildPage(pageBUri, new URI[] {pageAUri, outsideUri}));
+        pages.add(this.buildPage(pageCUri, new URI[] {pageAUri}));
+        pages.add(this.buildPage(pageDUri, new URI[] {pageAUri}));
+
+        PageRankAnalyzer analyzer = new PageRankAnalyzer(pages, uris, 0.85, 0.00001, 100);
+
+        assertEquals(0.47973, analyzer.computePageRank(pageAUri), DELTA);
+        assertEquals(0.17342, analyzer.computePageRank(pageBUri), DELTA);
+        assertEquals(0.17342, analyzer.computePageRank(pageCUri), DELTA);
+        assertEquals(0.17342, analyzer.computePageRank(pageDUri), DELTA);
+        try {
+            analyzer.computePageRank(outsideUri);
+            fail("Expected InvalidParameterException");
+        } catch (InvalidParameterException ex) {
+            // All ok
+        }
+    }
+
     @Test(timeout=SECOND)
     public void testSpecExample2() {
         URI pageAUri = URI.create("http://example.com/page-a.html");
@@ -0,0 +1,110 @@
+package analysis.experiments;
+
+import analysis.utils.AnalysisUtils;
+import analysis.utils.CsvWriter;
+import datastructures.concrete.Graph;
+import datastructures.concrete.Graph.QueuedVertex;
+import datastructures.concrete.IndexedArrayHeap;
+import datastructures.concrete.PairingHeap;
+import datastructures.concrete.RadixHeap;
+import datastructures.interfaces.IAddressablePriorityQueue;
+import datastructures.interfaces.IList;
+import mazes.entities.Maze;
+import mazes.entities.Room;
+import mazes.entities.Wall;
+import mazes.generators.base.GridGenerator;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.util.Random;
+import java.util.function.Supplier;
+
+/**
+ * Compares the priority queues Graph.findShortestPathBetween can use, by finding the shortest
+ * path between opposite corners of square GridGenerator mazes. The input is the number of
+ * rooms along each side, so the largest maze has a million rooms.
+ *
+ * Test 1 uses the built-in IntDoubleHeap, test 2 IndexedArrayHeap, test 3 PairingHeap, and
+ * test 4 RadixHeap. No walls are removed, and each wall gets a random distance the way
+ * KruskalMazeCarver assigns them, so that many rooms are reached by a shorter path after
+ * they are first queued and decreaseKey is exercised. Only the search itself is timed.
+ * Results are in milliseconds.
+ *
+ * The largest mazes need a few gigabytes of heap, so run this with a flag such as -Xmx6g.
+ */
+public class Experiment1 {
+    public static final int NUM_TRIALS = 3;
+    public static final long MAX_SIDE_LENGTH = 1000;
+    public static final long STEP = 250;
+
+    public static final int ROOM_SIZE = 4;
+    public static final int MAX_DISTANCE = 10000;
+
+    public static void main(String[] args) {
+        IList<Long> sideLengths = AnalysisUtils.makeDoubleLinkedList(STEP, MAX_SIDE_LENGTH + 1, STEP);
+
+        System.out.println("Starting test");
+        IList<Long> test1Results = AnalysisUtils.runTrials(sideLengths, Experiment1::test1, NUM_TRIALS);
+        IList<Long> test2Results = AnalysisUtils.runTrials(sideLengths, Experiment1::test2, NUM_TRIALS);
+        IList<Long> test3Results = AnalysisUtils.runTrials(sideLengths, Experiment1::test3, NUM_TRIALS);
+        IList<Long> test4Results = AnalysisUtils.runTrials(sideLengths, Experiment1::test4, NUM_TRIALS);
+
+        System.out.println("Saving experiment results to file");
+        CsvWriter writer = new CsvWriter();
+        writer.addColumn("SideLength", sideLengths);
+        writer.addColumn("Test1Result", test1Results);
+        writer.addColumn("Test2Result", test2Results);
+        writer.addColumn("Test3Result", test3Results);
+        writer.addColumn("Test4Result", test4Results);
+        writer.writeToFile("experimentdata/experiment1.csv");
+
+        System.out.println("All done!");
+    }
+
+    public static long test1(long sideLength) {
+        return test(sideLength, null);
+    }
+
+    public static long test2(long sideLength) {
+        return test(sideLength, IndexedArrayHeap::new);
+    }
+
+    public static long test3(long sideLength) {
+        return test(sideLength, PairingHeap::new);
+    }
+
+    public static long test4(long sideLength) {
+        // Distances are never negative, so their bit patterns sort the same way they do.
+        return test(sideLength, () -> new RadixHeap<>(vertex -> Double.doubleToLongBits(vertex.getDistance())));
+    }
+
+    /**
+     * Times one search, using the IntDoubleHeap overload if 'factory' is null.
+     */
+    private static long test(long sideLength, Supplier<IAddressablePriorityQueue<QueuedVertex>> factory) {
+        int side = (int) sideLength;
+        int width = side * ROOM_SIZE;
+        Maze maze = new GridGenerator(side, side).generateBaseMaze(new Rectangle(0, 0, width, width));
+        Random rand = new Random(side);
+        for (Wall wall : maze.getWalls()) {
+            wall.setDistance(1 + rand.nextInt(MAX_DISTANCE));
+        }
+        Graph<Room, Wall> graph = new Graph<>(maze.getRooms(), maze.getWalls());
+        Room start = maze.getRoom(new Point(1, 1));
+        Room end = maze.getRoom(new Point(width - 2, width - 2));
+
+        long startTime = System.currentTimeMillis();
+        IList<Wall> path;
+        if (factory == null) {
+            path = graph.findShortestPathBetween(start, end);
+        } else {
+            path = graph.findShortestPathBetween(start, end, factory);
+        }
+        long elapsed = System.currentTimeMillis() - startTime;
+
+        if (path.isEmpty()) {
+            throw new IllegalStateException("Expected a path between opposite corners");
+        }
+        return elapsed;
+    }
+}
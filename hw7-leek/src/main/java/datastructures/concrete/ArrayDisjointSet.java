@@ -1,7 +1,6 @@
 package datastructures.concrete;
 
-import datastructures.concrete.dictionaries.ChainedHashDictionary;
-import datastructures.interfaces.IDictionary;
+import datastructures.concrete.dictionaries.ObjectIntDictionary;
 import datastructures.interfaces.IDisjointSet;
 import datastructures.interfaces.IList;
 
@@ -19,12 +18,12 @@ public class ArrayDisjointSet<T> implements IDisjointSet<T> {
     // You will probably need to add one or two more fields in order to
     // successfully implement this class.
 
-    private IDictionary<T, Integer> map; // generic items and integer representatives
+    private ObjectIntDictionary<T> map; // generic items and integer representatives
     private int size;
 
     public ArrayDisjointSet() {
         size = 0;
-        map = new ChainedHashDictionary<>();
+        map = new ObjectIntDictionary<>();
         pointers = new int[20];
     }
 
@@ -59,7 +58,7 @@ public class ArrayDisjointSet<T> implements IDisjointSet<T> {
         }
         IList<Integer> arr = new DoubleLinkedList<Integer>();
 
-        int rep = map.get(item); // gets the index rep of this item
+        int rep = map.getInt(item); // gets the index rep of this item
         int parent = pointers[rep]; // finds the pointer for parent of this item
 
         while (parent >= 0){ //while the parent has pointer greater than 0, keep finder its parent
@@ -0,0 +1,261 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.ISet;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * An ISet of non-negative integers stored as one bit per possible value.
+ *
+ * This is the right choice when the items are dense IDs (array indices, room or document
+ * numbers): a set able to hold the values 0 to n - 1 costs n / 8 bytes no matter how many of
+ * them it holds, instead of a boxed Integer and a hash table entry per item. Combining two
+ * BitSetISets with and, or and andNot works on 64 values at a time.
+ *
+ * Items are returned in ascending order when iterating.
+ *
+ * @see ISet for more details on what each method is supposed to do.
+ */
+public class BitSetISet implements ISet<Integer> {
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private long[] words;
+    private int size;
+    private int modCount;
+
+    public BitSetISet() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a set that can hold the values 0 to capacity - 1 without resizing.
+     *
+     * @throws IllegalArgumentException  if the capacity is negative
+     */
+    public BitSetISet(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must be non-negative: " + capacity);
+        }
+        this.words = new long[Math.max(1, (capacity + 63) >>> 6)];
+        this.size = 0;
+        this.modCount = 0;
+    }
+
+    private BitSetISet(long[] words) {
+        this.words = words;
+        this.size = countBits(words);
+        this.modCount = 0;
+    }
+
+    /**
+     * @throws IllegalArgumentException  if the item is null or negative
+     */
+    @Override
+    public void add(Integer item) {
+        int value = checkItem(item);
+        int index = value >>> 6;
+        if (index >= this.words.length) {
+            long[] newWords = new long[Math.max(index + 1, 2 * this.words.length)];
+            System.arraycopy(this.words, 0, newWords, 0, this.words.length);
+            this.words = newWords;
+        }
+        long bit = 1L << value;
+        if ((this.words[index] & bit) == 0) {
+            this.words[index] |= bit;
+            this.size++;
+            this.modCount++;
+        }
+    }
+
+    @Override
+    public void remove(Integer item) {
+        if (!this.contains(item)) {
+            throw new NoSuchElementException();
+        }
+        int value = item;
+        this.words[value >>> 6] &= ~(1L << value);
+        this.size--;
+        this.modCount++;
+    }
+
+    @Override
+    public boolean contains(Integer item) {
+        if (item == null || item < 0) {
+            return false;
+        }
+        int index = item >>> 6;
+        return index < this.words.length && (this.words[index] & (1L << item)) != 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Returns a new set holding the items in both this set and the given one.
+     */
+    public BitSetISet and(BitSetISet other) {
+        int length = Math.min(this.words.length, other.words.length);
+        long[] result = new long[Math.max(1, length)];
+        for (int i = 0; i < length; i++) {
+            result[i] = this.words[i] & other.words[i];
+        }
+        return new BitSetISet(result);
+    }
+
+    /**
+     * Returns a new set holding the items in this set, the given one, or both.
+     */
+    public BitSetISet or(BitSetISet other) {
+        long[] longer = this.words.length >= other.words.length ? this.words : other.words;
+        long[] shorter = longer == this.words ? other.words : this.words;
+        long[] result = longer.clone();
+        for (int i = 0; i < shorter.length; i++) {
+            result[i] |= shorter[i];
+        }
+        return new BitSetISet(result);
+    }
+
+    /**
+     * Returns a new set holding the items in this set that are not in the given one.
+     */
+    public BitSetISet andNot(BitSetISet other) {
+        long[] result = this.words.clone();
+        int length = Math.min(result.length, other.words.length);
+        for (int i = 0; i < length; i++) {
+            result[i] &= ~other.words[i];
+        }
+        return new BitSetISet(result);
+    }
+
+    @Override
+    public BitSetISet union(ISet<Integer> other) {
+        if (other instanceof BitSetISet) {
+            return this.or((BitSetISet) other);
+        }
+        BitSetISet output = new BitSetISet(this.words.clone());
+        for (int item : other) {
+            output.add(item);
+        }
+        return output;
+    }
+
+    @Override
+    public BitSetISet intersection(ISet<Integer> other) {
+        if (other instanceof BitSetISet) {
+            return this.and((BitSetISet) other);
+        }
+        BitSetISet output = new BitSetISet(this.words.length << 6);
+        if (this.size <= other.size()) {
+            for (int item : this) {
+                if (other.contains(item)) {
+                    output.add(item);
+                }
+            }
+        } else {
+            for (int item : other) {
+                if (this.contains(item)) {
+                    output.add(item);
+                }
+            }
+        }
+        return output;
+    }
+
+    @Override
+    public BitSetISet difference(ISet<Integer> other) {
+        if (other instanceof BitSetISet) {
+            return this.andNot((BitSetISet) other);
+        }
+        BitSetISet output = new BitSetISet(this.words.clone());
+        if (other.size() < this.size) {
+            for (int item : other) {
+                if (output.contains(item)) {
+                    output.remove(item);
+                }
+            }
+        } else {
+            for (int item : this) {
+                if (other.contains(item)) {
+                    output.remove(item);
+                }
+            }
+        }
+        return output;
+    }
+
+    @Override
+    public boolean containsAll(ISet<Integer> other) {
+        if (!(other instanceof BitSetISet)) {
+            return ISet.super.containsAll(other);
+        }
+        long[] otherWords = ((BitSetISet) other).words;
+        for (int i = 0; i < otherWords.length; i++) {
+            long mine = i < this.words.length ? this.words[i] : 0L;
+            if ((otherWords[i] & ~mine) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Iterator<Integer> iterator() {
+        return new BitIterator();
+    }
+
+    private static int checkItem(Integer item) {
+        if (item == null || item < 0) {
+            throw new IllegalArgumentException("Item must be a non-negative integer: " + item);
+        }
+        return item;
+    }
+
+    private static int countBits(long[] words) {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Walks the set one word at a time, peeling off the lowest set bit of the current word.
+     */
+    private class BitIterator implements Iterator<Integer> {
+        private int index;
+        private long word;
+        private final int expectedModCount;
+
+        public BitIterator() {
+            this.index = 0;
+            this.word = words[0];
+            this.expectedModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (this.expectedModCount != modCount) {
+                throw new ConcurrentModificationException();
+            }
+            while (this.word == 0 && this.index + 1 < words.length) {
+                this.index++;
+                this.word = words[this.index];
+            }
+            return this.word != 0;
+        }
+
+        @Override
+        public Integer next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            int bit = Long.numberOfTrailingZeros(this.word);
+            this.word &= this.word - 1;
+            return (this.index << 6) + bit;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package datastructures.concrete;
+
+import datastructures.interfaces.IList;
+import misc.exceptions.EmptyContainerException;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * A growable, array-backed implementation of the IList ADT.
+ *
+ * Unlike DoubleLinkedList, get and set run in O(1) time and each element costs a single
+ * array slot instead of a node object. Adding to or removing from the end is amortized
+ * O(1); inserting or deleting anywhere else shifts every later element over by one.
+ *
+ * Iterators are fail-fast: if the list is structurally modified (an element is added,
+ * removed, inserted or deleted) after an iterator is created, that iterator throws a
+ * ConcurrentModificationException the next time it is used.
+ *
+ * @see datastructures.interfaces.IList
+ */
+public class DynamicArrayList<T> implements IList<T> {
+    private static final int DEFAULT_CAPACITY = 10;
+
+    // Invariant: elements[0] through elements[size - 1] hold the list's contents, and every
+    // slot past the end is null so the list never keeps removed objects alive.
+    private T[] elements;
+    private int size;
+
+    // Counts structural modifications; iterators use this to detect concurrent changes.
+    private int modCount;
+
+    public DynamicArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list that can hold 'capacity' elements before it has to grow.
+     *
+     * @throws IllegalArgumentException if capacity is negative
+     */
+    public DynamicArrayList(int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException("Capacity must be non-negative");
+        }
+        this.elements = makeArray(capacity);
+        this.size = 0;
+        this.modCount = 0;
+    }
+
+    /**
+     * Returns a new, empty array of the given size that can contain objects of type E.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> E[] makeArray(int arraySize) {
+        return (E[]) new Object[arraySize];
+    }
+
+    /**
+     * Grows the backing array, if necessary, so that it can hold at least 'minCapacity'
+     * elements. The array at least doubles in size whenever it grows.
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity > this.elements.length) {
+            int newCapacity = Math.max(minCapacity, Math.max(DEFAULT_CAPACITY, this.elements.length * 2));
+            T[] newElements = makeArray(newCapacity);
+            System.arraycopy(this.elements, 0, newElements, 0, this.size);
+            this.elements = newElements;
+        }
+    }
+
+    @Override
+    public void add(T item) {
+        this.ensureCapacity(this.size + 1);
+        this.elements[this.size] = item;
+        this.size++;
+        this.modCount++;
+    }
+
+    /**
+     * Adds every item in the given list to the end of this list, growing the backing array
+     * at most once. Items are copied straight out of another DynamicArrayList's array.
+     */
+    @Override
+    public void addAll(IList<? extends T> items) {
+        int count = items.size();
+        this.ensureCapacity(this.size + count);
+        if (items instanceof DynamicArrayList) {
+            System.arraycopy(((DynamicArrayList<? extends T>) items).elements, 0, this.elements, this.size, count);
+        } else {
+            int i = this.size;
+            for (T item : items) {
+                this.elements[i] = item;
+                i++;
+            }
+        }
+        this.size += count;
+        this.modCount++;
+    }
+
+    @Override
+    public T remove() {
+        if (this.size == 0) {
+            throw new EmptyContainerException();
+        }
+        this.size--;
+        T result = this.elements[this.size];
+        this.elements[this.size] = null;
+        this.modCount++;
+        return result;
+    }
+
+    @Override
+    public T get(int index) {
+        this.checkIndex(index, this.size);
+        return this.elements[index];
+    }
+
+    @Override
+    public void set(int index, T item) {
+        this.checkIndex(index, this.size);
+        this.elements[index] = item;
+    }
+
+    @Override
+    public void insert(int index, T item) {
+        this.checkIndex(index, this.size + 1);
+        this.ensureCapacity(this.size + 1);
+        System.arraycopy(this.elements, index, this.elements, index + 1, this.size - index);
+        this.elements[index] = item;
+        this.size++;
+        this.modCount++;
+    }
+
+    @Override
+    public T delete(int index) {
+        this.checkIndex(index, this.size);
+        T result = this.elements[index];
+        System.arraycopy(this.elements, index + 1, this.elements, index, this.size - index - 1);
+        this.size--;
+        this.elements[this.size] = null;
+        this.modCount++;
+        return result;
+    }
+
+    /**
+     * @throws IndexOutOfBoundsException if the index < 0 or index >= bound
+     */
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+    }
+
+    @Override
+    public int indexOf(T item) {
+        for (int i = 0; i < this.size; i++) {
+            if (Objects.equals(item, this.elements[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean contains(T other) {
+        return this.indexOf(other) >= 0;
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new DynamicArrayListIterator();
+    }
+
+    private class DynamicArrayListIterator implements Iterator<T> {
+        private int index;
+        private int expectedModCount;
+
+        public DynamicArrayListIterator() {
+            this.index = 0;
+            this.expectedModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            this.checkForComodification();
+            return this.index < size;
+        }
+
+        @Override
+        public T next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T result = elements[this.index];
+            this.index++;
+            return result;
+        }
+
+        private void checkForComodification() {
+            if (modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+    }
+}
@@ -1,15 +1,20 @@
 package datastructures.concrete;
 
+import datastructures.interfaces.IAddressablePriorityQueue;
+import datastructures.interfaces.IAddressablePriorityQueue.Handle;
 import datastructures.interfaces.IDictionary;
 import datastructures.interfaces.IEdge;
 import datastructures.interfaces.IList;
 import datastructures.interfaces.ISet;
-import datastructures.interfaces.IPriorityQueue;
 import misc.exceptions.NoPathExistsException;
 
-import datastructures.concrete.dictionaries.ChainedHashDictionary;
+import datastructures.concrete.dictionaries.ObjectIntDictionary;
+import datastructures.concrete.dictionaries.OpenAddressingDictionary;
 import misc.Sorter;
 
+import java.util.Arrays;
+import java.util.function.Supplier;
+
 
 /**
  *
@@ -29,10 +34,22 @@ public class Graph<V, E extends IEdge<V> & Comparable<E>> {
     // And of course, as always, you may also use any of the data structures
     // and algorithms we've implemented so far.
     //
-    // Note: If you plan on adding a new class, please be sure to make it a private
-    // static inner class contained within this file. Our testing infrastructure
-    // works by copying specific files from your project to ours, and if you
-    // add new files, they won't be copied and your code will not compile.
+    // Note: Our testing infrastructure works by copying specific files from your
+    // project to ours. This class is no longer self-contained, so it only compiles
+    // if these top-level files are copied along with it:
+    //
+    // - OpenAddressingDictionary, which maps each vertex to its incident edges.
+    //
+    // - IntDoubleHeap, which the default findShortestPathBetween runs on, and
+    //   ObjectIntDictionary, which gives each vertex the int ID it is queued by.
+    //
+    // - IAddressablePriorityQueue, which the overload of findShortestPathBetween
+    //   that takes a queue factory runs on. Callers may pass any implementation,
+    //   such as IndexedArrayHeap, PairingHeap or RadixHeap, and its elements are
+    //   the public nested class Graph.QueuedVertex.
+    //
+    // Any other new class should still be a private static inner class
+    // contained within this file.
     //
     //
     // NOTE 2:
@@ -62,6 +79,11 @@ public class Graph<V, E extends IEdge<V> & Comparable<E>> {
     private IList<E> edgesList;
     private IList<V> verticesList;
 
+    // Numbers the vertices 0, 1, 2, ... in the order they appear in verticesList, so
+    // verticesArray[vertexIds.getInt(v)] == v.
+    private ObjectIntDictionary<V> vertexIds;
+    private V[] verticesArray;
+
 
     /**
      * Constructs a new graph based on the given vertices and edges.
@@ -76,7 +98,7 @@ public class Graph<V, E extends IEdge<V> & Comparable<E>> {
      * @throws IllegalArgumentException if 'vertices' contains duplicates
      */
     public Graph(IList<V> vertices, IList<E> edges) {
-        this.mapDic = new ChainedHashDictionary<>();
+        this.mapDic = new OpenAddressingDictionary<>(vertices.size());
 
         this.edgesList = edges;
         this.verticesList = vertices;
@@ -85,12 +107,16 @@ public class Graph<V, E extends IEdge<V> & Comparable<E>> {
             throw new IllegalArgumentException("'vertices' or 'edges' are null or contain null");
         }
 
+        this.vertexIds = new ObjectIntDictionary<>(vertices.size());
+        this.verticesArray = makeArrayOfV(vertices.size());
         for (V vertex: verticesList) {
-            IList<E> e = new DoubleLinkedList<>();
+            IList<E> e = new DynamicArrayList<>();
             if (mapDic.containsKey(vertex)) {
                 throw new IllegalArgumentException("duplicate vertices");
             } else {
                 mapDic.put(vertex, e);
+                verticesArray[vertexIds.size()] = vertex;
+                vertexIds.put(vertex, vertexIds.size());
             }
         }
 
@@ -99,7 +125,7 @@ public class Graph<V, E extends IEdge<V> & Comparable<E>> {
             V vertTwo = edge.getVertex2();
             double weight = edge.getWeight();
 
-            if (weight < 0 || !verticesList.contains(vertOne) || !verticesList.contains(vertTwo)) {
+            if (weight < 0 || !mapDic.containsKey(vertOne) || !mapDic.containsKey(vertTwo)) {
               throw new IllegalArgumentException();
             }
 
@@ -108,6 +134,11 @@ public class Graph<V, E extends IEdge<V> & Comparable<E>> {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private static <V> V[] makeArrayOfV(int arraySize) {
+        return (V[]) new Object[arraySize];
+    }
+
     /**
      * Sometimes, we store vertices and edges as sets instead of lists, so we
      * provide this extra constructor to make converting between the two more
@@ -129,7 +160,7 @@ public class Graph<V, E extends IEdge<V> & Comparable<E>> {
         if (set == null) {
             throw new IllegalArgumentException();
         }
-        IList<T> output = new DoubleLinkedList<>();
+        IList<T> output = new DynamicArrayList<>(set.size());
         for (T item : set) {
             output.add(item);
         }
@@ -195,97 +226,165 @@ public class Graph<V, E extends IEdge<V> & Comparable<E>> {
      * @throws IllegalArgumentException if start or end is null or not in the graph
      */
     public IList<E> findShortestPathBetween(V start, V end) {
+        this.checkEndpoints(start, end);
         if (start.equals(end)) {
-            return new DoubleLinkedList<E>();
-        }
-        if (start == null || end == null || !verticesList.contains(start) || !verticesList.contains(end)) {
-            throw new IllegalArgumentException();
+            return new DynamicArrayList<E>(0);
         }
 
-        IDictionary<V, Vertex> pathMap = new ChainedHashDictionary<>();
-        for (V vertex : verticesList) {
-            pathMap.put(vertex, new Vertex(vertex, Double.POSITIVE_INFINITY));
+        // Vertices are numbered by their position in verticesList, so the search state lives in
+        // plain arrays and the queue never boxes a distance or allocates an entry.
+        int numVertices = verticesArray.length;
+        double[] distances = new double[numVertices];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        // parentEdges[id] is the last edge on the shortest path found so far to vertex id.
+        Object[] parentEdges = new Object[numVertices];
+
+        int startId = vertexIds.getInt(start);
+        int endId = vertexIds.getInt(end);
+        distances[startId] = 0.0;
+        IntDoubleHeap queue = new IntDoubleHeap(numVertices);
+        queue.add(startId, 0.0);
+
+        // Each vertex is in the queue at most once. Since no edge has a negative weight, a
+        // vertex's distance is final once it leaves the queue.
+        while (!queue.isEmpty() && queue.peekMin() != endId) {
+            int currId = queue.removeMin();
+            V curr = verticesArray[currId];
+            for (E edge : mapDic.get(curr)) {
+                int otherId = vertexIds.getInt(edge.getOtherVertex(curr));
+                double newDist = distances[currId] + edge.getWeight();
+                if (newDist < distances[otherId]) {
+                    distances[otherId] = newDist;
+                    parentEdges[otherId] = edge;
+                    if (queue.contains(otherId)) {
+                        queue.decreaseKey(otherId, newDist);
+                    } else {
+                        queue.add(otherId, newDist);
+                    }
+                }
+            }
         }
 
-        ISet<V> processed = new ChainedHashSet<V>();
-
-        IPriorityQueue<Vertex> priorityQ = new ArrayHeap<>();
-
-        priorityQ.add(new Vertex(start, 0.0));
-        pathMap.put(start, new Vertex(start, 0.0));
-
-        while (!priorityQ.isEmpty() && priorityQ.peekMin().getVertex() != (end)){
-            Vertex vertex = priorityQ.removeMin();
+        if (distances[endId] == Double.POSITIVE_INFINITY) {
+            throw new NoPathExistsException();
+        }
+        return this.tracePath(parentEdges, startId, endId);
+    }
 
-            V curr = vertex.getVertex();
-            if (!processed.contains(curr)){
-                processed.add(curr);
-                for (E edgeOfV : mapDic.get(curr)){
-                    V other = edgeOfV.getOtherVertex(curr);
+    /**
+     * Returns the same kind of path as findShortestPathBetween(start, end), but runs Dijkstra's
+     * algorithm with a queue made by the given factory instead of an IntDoubleHeap. This is
+     * slower, since every queued vertex is an object, but it lets different priority queues
+     * be compared on exactly the same search.
+     *
+     * @throws NoPathExistsException  if there does not exist a path from the start to the end
+     * @throws IllegalArgumentException if start or end is null or not in the graph, or if
+     *                                  queueFactory is null
+     */
+    public IList<E> findShortestPathBetween(
+            V start, V end, Supplier<? extends IAddressablePriorityQueue<QueuedVertex>> queueFactory) {
+        this.checkEndpoints(start, end);
+        if (queueFactory == null) {
+            throw new IllegalArgumentException();
+        }
+        if (start.equals(end)) {
+            return new DynamicArrayList<E>(0);
+        }
 
-                    IList<E> updateEdges = new DoubleLinkedList<>();
-                    for (E edge: vertex.getPath()){
-                        updateEdges.add(edge);
-                    }
-                    updateEdges.add(edgeOfV);
-
-                    double oldDist = pathMap.get(other).getWeight();
-                    double newDist = pathMap.get(curr).getWeight() + edgeOfV.getWeight();
-                    if (newDist < oldDist) {
-                        Vertex initialize = new Vertex(other, newDist, updateEdges);
-                        if (priorityQ.contains(pathMap.get(other))){
-                            priorityQ.replace(pathMap.get(other), initialize);
-                        } else {
-                            priorityQ.add(initialize);
-                        }
-                        pathMap.put(other, initialize);
+        int numVertices = verticesArray.length;
+        double[] distances = new double[numVertices];
+        Arrays.fill(distances, Double.POSITIVE_INFINITY);
+        Object[] parentEdges = new Object[numVertices];
+        // handles[id] is non-null once vertex id has been added to the queue. Since no edge has
+        // a negative weight, a vertex's distance never shrinks after it leaves the queue, so a
+        // vertex with a handle whose distance shrinks is always still in the queue.
+        Handle<QueuedVertex>[] handles = makeArrayOfHandles(numVertices);
+
+        int startId = vertexIds.getInt(start);
+        int endId = vertexIds.getInt(end);
+        distances[startId] = 0.0;
+        IAddressablePriorityQueue<QueuedVertex> queue = queueFactory.get();
+        handles[startId] = queue.add(new QueuedVertex(startId, 0.0));
+
+        while (!queue.isEmpty() && queue.peekMin().id != endId) {
+            int currId = queue.removeMin().id;
+            V curr = verticesArray[currId];
+            for (E edge : mapDic.get(curr)) {
+                int otherId = vertexIds.getInt(edge.getOtherVertex(curr));
+                double newDist = distances[currId] + edge.getWeight();
+                if (newDist < distances[otherId]) {
+                    distances[otherId] = newDist;
+                    parentEdges[otherId] = edge;
+                    QueuedVertex queued = new QueuedVertex(otherId, newDist);
+                    if (handles[otherId] == null) {
+                        handles[otherId] = queue.add(queued);
+                    } else {
+                        queue.decreaseKey(handles[otherId], queued);
                     }
                 }
             }
         }
 
-        if (pathMap.get(end).getWeight() != Double.POSITIVE_INFINITY) {
-            return pathMap.get(end).getPath();
+        if (distances[endId] == Double.POSITIVE_INFINITY) {
+            throw new NoPathExistsException();
         }
-
-        throw new NoPathExistsException();
+        return this.tracePath(parentEdges, startId, endId);
     }
 
+    @SuppressWarnings("unchecked")
+    private static Handle<QueuedVertex>[] makeArrayOfHandles(int arraySize) {
+        return (Handle<QueuedVertex>[]) new Handle[arraySize];
+    }
 
-
-    private final class Vertex implements Comparable<Vertex> {
-        private Double weight; // weight from start
-        private V vertex;
-        private IList<E> path;
-
-
-        private Vertex(V vertex, double weight) {
-            this.vertex = vertex;
-            this.weight = weight;
-            this.path = new DoubleLinkedList<E>();
+    /**
+     * @throws IllegalArgumentException if start or end is null or not in the graph
+     */
+    private void checkEndpoints(V start, V end) {
+        if (start == null || end == null || !vertexIds.containsKey(start) || !vertexIds.containsKey(end)) {
+            throw new IllegalArgumentException();
         }
+    }
 
-        private Vertex(V vertex, double weight, IList path) {
-            this.vertex = vertex;
-            this.weight = weight;
-            this.path = path;
+    /**
+     * Returns the path from the start to the end vertex recorded in 'parentEdges'.
+     */
+    @SuppressWarnings("unchecked")
+    private IList<E> tracePath(Object[] parentEdges, int startId, int endId) {
+        IList<E> reversed = new DynamicArrayList<>();
+        int id = endId;
+        while (id != startId) {
+            E edge = (E) parentEdges[id];
+            reversed.add(edge);
+            id = vertexIds.getInt(edge.getOtherVertex(verticesArray[id]));
         }
 
-        private V getVertex() {
-            return this.vertex;
+        IList<E> path = new DynamicArrayList<>(reversed.size());
+        for (int i = reversed.size() - 1; i >= 0; i--) {
+            path.add(reversed.get(i));
         }
+        return path;
+    }
 
-        private double getWeight() {
-            return this.weight;
+    /**
+     * A vertex waiting in the queue used by findShortestPathBetween, ordered by its current
+     * distance from the start.
+     */
+    public static final class QueuedVertex implements Comparable<QueuedVertex> {
+        private final int id;
+        private final double distance;
+
+        private QueuedVertex(int id, double distance) {
+            this.id = id;
+            this.distance = distance;
         }
 
-        @Override
-        public int compareTo(Vertex other) {
-            return (this.weight.compareTo(other.weight));
+        public double getDistance() {
+            return this.distance;
         }
 
-        private IList<E> getPath(){
-            return this.path;
+        @Override
+        public int compareTo(QueuedVertex other) {
+            return Double.compare(this.distance, other.distance);
         }
     }
 }
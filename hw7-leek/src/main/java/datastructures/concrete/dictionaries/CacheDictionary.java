@@ -0,0 +1,489 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.interfaces.IDictionary;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.Iterator;
+import java.util.Objects;
+
+/**
+ * A dictionary with a bounded capacity, meant for memoizing results that are expensive to
+ * recompute. Once the entries' total weight passes the maximum, the cache evicts the entries
+ * its policy expects to be least useful. By default every entry weighs 1, so the maximum is
+ * simply a number of entries.
+ *
+ * Two policies are available:
+ *
+ * - LRU evicts the least recently used entry.
+ * - TINY_LFU (W-TinyLFU) keeps new entries in a small LRU "window". Entries pushed out of
+ *   the window have to compete for a place in the main area: a compact frequency sketch
+ *   estimates how often each key has been used recently, and a newcomer only replaces the
+ *   main area's next victim if it is used more often. The main area is a segmented LRU,
+ *   where entries that are hit again move from a probation segment to a protected one. This
+ *   keeps one-off keys (a scan, say) from flushing out a frequently used working set.
+ *
+ * Every entry lives in a ChainedHashDictionary and is also linked into the list for its
+ * segment, in recency order, so every operation takes O(1) time on average.
+ *
+ * get and getOrDefault count as uses of a key and are tallied as hits or misses; containsKey
+ * does not count as either. Iteration order is unspecified.
+ */
+public class CacheDictionary<K, V> implements IDictionary<K, V> {
+    /**
+     * Decides which entry to evict when the cache is full.
+     */
+    public enum Policy {
+        LRU,
+        TINY_LFU
+    }
+
+    /**
+     * Computes the weight of an entry. Weights must be non-negative. Entries that weigh 0 don't
+     * count toward the maximum, but they still age out in recency order as heavier entries
+     * are added.
+     */
+    public interface Weigher<K, V> {
+        int weigh(K key, V value);
+    }
+
+    // The share of the capacity given to the window and, within the main area, to the
+    // protected segment, in percent.
+    private static final int WINDOW_PERCENT = 1;
+    private static final int PROTECTED_PERCENT = 80;
+
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private final long maximumWeight;
+    private final Weigher<? super K, ? super V> weigher;
+
+    private final IDictionary<K, Node<K, V>> map;
+    private final AccessList<K, V> window;
+    private final AccessList<K, V> probation;
+    private final AccessList<K, V> protectedList;
+    private final long windowMaximum;
+    private final long mainMaximum;
+    private final long protectedMaximum;
+    private final FrequencySketch sketch;
+
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * Creates an LRU cache holding at most 'capacity' entries.
+     */
+    public CacheDictionary(int capacity) {
+        this(capacity, Policy.LRU);
+    }
+
+    /**
+     * Creates a cache holding at most 'capacity' entries.
+     */
+    public CacheDictionary(int capacity, Policy policy) {
+        this(capacity, policy, (key, value) -> 1);
+    }
+
+    /**
+     * Creates a cache whose entries' weights, as computed by the weigher, add up to at most
+     * 'maximumWeight'.
+     *
+     * @throws IllegalArgumentException if maximumWeight is negative, or policy or weigher
+     *                                  is null
+     */
+    public CacheDictionary(long maximumWeight, Policy policy, Weigher<? super K, ? super V> weigher) {
+        if (maximumWeight < 0 || policy == null || weigher == null) {
+            throw new IllegalArgumentException();
+        }
+        this.maximumWeight = maximumWeight;
+        this.weigher = weigher;
+        this.map = new ChainedHashDictionary<>();
+        this.window = new AccessList<>();
+        this.probation = new AccessList<>();
+        this.protectedList = new AccessList<>();
+
+        if (policy == Policy.LRU) {
+            // Plain LRU is a window that takes up the whole cache.
+            this.windowMaximum = maximumWeight;
+            this.sketch = null;
+        } else {
+            this.windowMaximum = Math.min(maximumWeight, Math.max(1, maximumWeight * WINDOW_PERCENT / 100));
+            this.sketch = new FrequencySketch(maximumWeight);
+        }
+        this.mainMaximum = Math.max(0, maximumWeight - this.windowMaximum);
+        this.protectedMaximum = this.mainMaximum * PROTECTED_PERCENT / 100;
+    }
+
+    @Override
+    public V get(K key) {
+        Node<K, V> node = this.lookUp(key);
+        if (node == null) {
+            throw new NoSuchKeyException();
+        }
+        return node.value;
+    }
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        Node<K, V> node = this.lookUp(key);
+        return node == null ? defaultValue : node.value;
+    }
+
+    /**
+     * Returns the node for the given key, or null if there is none, counting a hit or a miss.
+     */
+    private Node<K, V> lookUp(K key) {
+        this.recordUse(key);
+        Node<K, V> node = this.map.getOrDefault(key, null);
+        if (node == null) {
+            this.missCount++;
+        } else {
+            this.hitCount++;
+            this.onHit(node);
+        }
+        return node;
+    }
+
+    @Override
+    public void put(K key, V value) {
+        int weight = this.weigher.weigh(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException("Weights must be non-negative");
+        }
+        this.recordUse(key);
+        Node<K, V> node = this.map.getOrDefault(key, null);
+        if (node != null) {
+            node.value = value;
+            this.listFor(node.segment).changeWeight(node, weight);
+            this.onHit(node);
+        } else {
+            node = new Node<>(key, value, weight);
+            this.map.put(key, node);
+            this.window.addFirst(node);
+        }
+        if (weight > this.maximumWeight) {
+            // It could never fit, so drop it now rather than flushing everything else first.
+            this.evict(node);
+            return;
+        }
+        this.evict();
+    }
+
+    @Override
+    public V remove(K key) {
+        Node<K, V> node = this.map.remove(key);
+        this.listFor(node.segment).remove(node);
+        return node.value;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return this.map.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return this.map.size();
+    }
+
+    /**
+     * Returns the total weight of the entries in this cache.
+     */
+    public long weightedSize() {
+        return this.window.weight + this.probation.weight + this.protectedList.weight;
+    }
+
+    /**
+     * Returns the most weight this cache holds before evicting entries.
+     */
+    public long maximumWeight() {
+        return this.maximumWeight;
+    }
+
+    /**
+     * Returns how many lookups (get and getOrDefault calls) found their key.
+     */
+    public long hitCount() {
+        return this.hitCount;
+    }
+
+    /**
+     * Returns how many lookups (get and getOrDefault calls) did not find their key.
+     */
+    public long missCount() {
+        return this.missCount;
+    }
+
+    /**
+     * Returns how many entries the cache has evicted to stay within its maximum weight.
+     * Entries removed by remove do not count.
+     */
+    public long evictionCount() {
+        return this.evictionCount;
+    }
+
+    /**
+     * Returns the fraction of lookups that found their key, or 0 if there were no lookups.
+     */
+    public double hitRate() {
+        long lookups = this.hitCount + this.missCount;
+        return lookups == 0 ? 0.0 : (double) this.hitCount / lookups;
+    }
+
+    private AccessList<K, V> listFor(int segment) {
+        if (segment == WINDOW) {
+            return this.window;
+        } else if (segment == PROBATION) {
+            return this.probation;
+        } else {
+            return this.protectedList;
+        }
+    }
+
+    private void recordUse(K key) {
+        if (this.sketch != null) {
+            this.sketch.increment(spread(Objects.hashCode(key)));
+        }
+    }
+
+    private int frequency(Node<K, V> node) {
+        return this.sketch.frequency(spread(Objects.hashCode(node.key)));
+    }
+
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Moves a node that was just used to the front of its list, promoting it from probation
+     * to the protected segment.
+     */
+    private void onHit(Node<K, V> node) {
+        if (node.segment == PROBATION) {
+            this.probation.remove(node);
+            node.segment = PROTECTED;
+            this.protectedList.addFirst(node);
+            while (this.protectedList.weight > this.protectedMaximum) {
+                Node<K, V> demoted = this.protectedList.last();
+                this.protectedList.remove(demoted);
+                demoted.segment = PROBATION;
+                this.probation.addFirst(demoted);
+            }
+        } else {
+            this.listFor(node.segment).moveToFront(node);
+        }
+    }
+
+    /**
+     * Evicts entries until every segment fits in its share of the capacity.
+     */
+    private void evict() {
+        while (this.window.weight > this.windowMaximum) {
+            Node<K, V> candidate = this.window.last();
+            this.window.remove(candidate);
+            this.admit(candidate);
+        }
+        while (this.mainWeight() > this.mainMaximum) {
+            this.evict(this.mainVictim());
+        }
+    }
+
+    /**
+     * Decides whether a node pushed out of the window enters the main area, evicting the
+     * main area's victims to make room if it does.
+     */
+    private void admit(Node<K, V> candidate) {
+        candidate.segment = PROBATION;
+        // An LRU cache has no main area. Even a weightless candidate is evicted then, since
+        // the main area never grows past its maximum to evict it later.
+        if (this.mainMaximum == 0 || candidate.weight > this.mainMaximum) {
+            this.evictionCount++;
+            this.map.remove(candidate.key);
+            return;
+        }
+        while (this.mainWeight() + candidate.weight > this.mainMaximum) {
+            Node<K, V> victim = this.mainVictim();
+            if (this.frequency(candidate) <= this.frequency(victim)) {
+                // Ties go to the incumbent, so a stream of new keys can't flush the main area.
+                this.evictionCount++;
+                this.map.remove(candidate.key);
+                return;
+            }
+            this.evict(victim);
+        }
+        this.probation.addFirst(candidate);
+    }
+
+    private long mainWeight() {
+        return this.probation.weight + this.protectedList.weight;
+    }
+
+    /**
+     * Returns the main area's least recently used entry, preferring one still on probation.
+     */
+    private Node<K, V> mainVictim() {
+        return this.probation.size > 0 ? this.probation.last() : this.protectedList.last();
+    }
+
+    private void evict(Node<K, V> node) {
+        this.listFor(node.segment).remove(node);
+        this.map.remove(node.key);
+        this.evictionCount++;
+    }
+
+    @Override
+    public Iterator<KVPair<K, V>> iterator() {
+        return new CacheIterator<>(this.map.iterator());
+    }
+
+    private static class CacheIterator<K, V> implements Iterator<KVPair<K, V>> {
+        private final Iterator<KVPair<K, Node<K, V>>> iter;
+
+        public CacheIterator(Iterator<KVPair<K, Node<K, V>>> iter) {
+            this.iter = iter;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.iter.hasNext();
+        }
+
+        @Override
+        public KVPair<K, V> next() {
+            Node<K, V> node = this.iter.next().getValue();
+            return new KVPair<>(node.key, node.value);
+        }
+    }
+
+    private static class Node<K, V> {
+        private final K key;
+        private V value;
+        private int weight;
+        private int segment;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        public Node(K key, V value, int weight) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.segment = WINDOW;
+        }
+    }
+
+    /**
+     * A doubly linked list of nodes, most recently used first, that tracks their total weight.
+     */
+    private static class AccessList<K, V> {
+        // A sentinel: head.next is the first node and head.prev the last.
+        private final Node<K, V> head;
+        private long weight;
+        private int size;
+
+        public AccessList() {
+            this.head = new Node<>(null, null, 0);
+            this.head.prev = this.head;
+            this.head.next = this.head;
+        }
+
+        public Node<K, V> last() {
+            return this.head.prev;
+        }
+
+        public void addFirst(Node<K, V> node) {
+            node.prev = this.head;
+            node.next = this.head.next;
+            this.head.next.prev = node;
+            this.head.next = node;
+            this.weight += node.weight;
+            this.size++;
+        }
+
+        public void remove(Node<K, V> node) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+            this.weight -= node.weight;
+            this.size--;
+        }
+
+        public void moveToFront(Node<K, V> node) {
+            this.remove(node);
+            this.addFirst(node);
+        }
+
+        public void changeWeight(Node<K, V> node, int newWeight) {
+            this.weight += newWeight - node.weight;
+            node.weight = newWeight;
+        }
+    }
+
+    /**
+     * A count-min sketch of how often each key hash was used recently, with four 4-bit
+     * counters per hash. Once it has recorded ten times as many uses as it has counters per
+     * row, it halves every counter, so old popularity fades.
+     */
+    private static class FrequencySketch {
+        private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+        };
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final int MAX_COUNT = 15;
+
+        private final long[] table;
+        private final int sampleLimit;
+        private int samples;
+
+        public FrequencySketch(long maximumWeight) {
+            int length = 16;
+            while (length < maximumWeight && length < (1 << 22)) {
+                length *= 2;
+            }
+            this.table = new long[length];
+            this.sampleLimit = 10 * length;
+            this.samples = 0;
+        }
+
+        /**
+         * Returns which of the 16 counters in a table entry row 'i' uses for the given hash,
+         * packed together with the entry's index.
+         */
+        private long locate(int hash, int i) {
+            long h = (hash + SEEDS[i]) * SEEDS[i];
+            return h + (h >>> 32);
+        }
+
+        public int frequency(int hash) {
+            int min = MAX_COUNT;
+            for (int i = 0; i < SEEDS.length; i++) {
+                long location = this.locate(hash, i);
+                int index = (int) location & (this.table.length - 1);
+                int shift = (int) (location >>> 60) << 2;
+                min = Math.min(min, (int) (this.table[index] >>> shift) & MAX_COUNT);
+            }
+            return min;
+        }
+
+        public void increment(int hash) {
+            boolean added = false;
+            for (int i = 0; i < SEEDS.length; i++) {
+                long location = this.locate(hash, i);
+                int index = (int) location & (this.table.length - 1);
+                int shift = (int) (location >>> 60) << 2;
+                if (((this.table[index] >>> shift) & MAX_COUNT) < MAX_COUNT) {
+                    this.table[index] += 1L << shift;
+                    added = true;
+                }
+            }
+            if (added && ++this.samples >= this.sampleLimit) {
+                for (int i = 0; i < this.table.length; i++) {
+                    this.table[i] = (this.table[i] >>> 1) & RESET_MASK;
+                }
+                this.samples /= 2;
+            }
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package datastructures.concrete.dictionaries;
+
+import datastructures.interfaces.IDictionary;
+import misc.exceptions.NoSuchKeyException;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Open addressing implementation of the Dictionary ADT.
+ *
+ * Instead of keeping a separate dictionary per bucket, entries are stored directly inside
+ * three parallel arrays (keys, values and hashes). Collisions are resolved using Robin Hood
+ * linear probing: while inserting, an entry takes over the slot of any entry that is closer
+ * to its own home slot than the new entry is. This keeps probe sequences short and lets a
+ * lookup stop as soon as it reaches an entry that is closer to home than the key could be.
+ *
+ * Removing an entry shifts the rest of its cluster back by one slot, so the table never
+ * contains tombstones and lookups never slow down after many removals.
+ *
+ * Supports null keys and null values.
+ */
+public class OpenAddressingDictionary<K, V> implements IDictionary<K, V> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final double DEFAULT_LOAD_FACTOR = 0.75;
+
+    // A slot is empty exactly when its stored hash is EMPTY. Every stored hash has
+    // OCCUPIED_BIT set, so a real hash can never be mistaken for an empty slot.
+    private static final int EMPTY = 0;
+    private static final int OCCUPIED_BIT = 0x80000000;
+
+    private final double loadFactor;
+
+    // Invariants:
+    // - keys, values and hashes always have the same power-of-two length.
+    // - hashes[i] == EMPTY if and only if slot i is unused (keys[i] and values[i] are null).
+    // - Walking forward from an entry's home slot (hash & mask) never crosses an empty slot
+    //   before reaching the entry.
+    private K[] keys;
+    private V[] values;
+    private int[] hashes;
+    private int mask;
+    private int size;
+    private int threshold;
+
+    // Counts structural modifications (adding or removing a key); iterators use this to
+    // detect concurrent changes. Overwriting the value of an existing key does not count.
+    private int modCount;
+
+    public OpenAddressingDictionary() {
+        this(DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Creates a dictionary that doubles its capacity whenever size / capacity exceeds the
+     * given load factor.
+     *
+     * @throws IllegalArgumentException if the load factor is not strictly between 0 and 1
+     */
+    public OpenAddressingDictionary(double loadFactor) {
+        this(0, loadFactor);
+    }
+
+    /**
+     * Creates a dictionary large enough to hold 'expectedSize' pairs without resizing.
+     *
+     * @throws IllegalArgumentException if expectedSize is negative
+     */
+    public OpenAddressingDictionary(int expectedSize) {
+        this(expectedSize, DEFAULT_LOAD_FACTOR);
+    }
+
+    /**
+     * Creates a dictionary large enough to hold 'expectedSize' pairs without resizing.
+     *
+     * @throws IllegalArgumentException if expectedSize is negative
+     * @throws IllegalArgumentException if the load factor is not strictly between 0 and 1
+     */
+    public OpenAddressingDictionary(int expectedSize, double loadFactor) {
+        if (!(loadFactor > 0 && loadFactor < 1)) {
+            throw new IllegalArgumentException("Load factor must be between 0 and 1");
+        }
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size must be non-negative");
+        }
+        this.loadFactor = loadFactor;
+        this.allocate(this.capacityFor(expectedSize));
+        this.size = 0;
+    }
+
+    /**
+     * Returns a new, empty array of the given size that can contain objects of type E.
+     */
+    @SuppressWarnings("unchecked")
+    private static <E> E[] makeArray(int arraySize) {
+        return (E[]) new Object[arraySize];
+    }
+
+    /**
+     * Returns the smallest power-of-two capacity (and at least DEFAULT_CAPACITY) whose
+     * threshold can hold the given number of pairs.
+     */
+    private int capacityFor(int numPairs) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity < (1 << 30) && numPairs > (long) (capacity * this.loadFactor)) {
+            capacity *= 2;
+        }
+        return capacity;
+    }
+
+    /**
+     * Replaces the backing arrays with new, empty arrays of the given capacity.
+     */
+    private void allocate(int capacity) {
+        this.keys = makeArray(capacity);
+        this.values = makeArray(capacity);
+        this.hashes = new int[capacity];
+        this.mask = capacity - 1;
+        this.threshold = (int) Math.min(capacity - 1, (long) (capacity * this.loadFactor));
+    }
+
+    /**
+     * Returns the hash stored for the given key. The key's hashCode is scrambled so that
+     * keys whose hash codes differ only in their upper bits still land in different slots.
+     */
+    private static int hash(Object key) {
+        int h = key == null ? 0 : key.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) | OCCUPIED_BIT;
+    }
+
+    /**
+     * Returns how many slots past its home slot the entry with the given hash is stored.
+     */
+    private int probeDistance(int hash, int slot) {
+        return (slot - hash) & this.mask;
+    }
+
+    /**
+     * Returns the slot containing the given key, or -1 if the key is not present.
+     */
+    private int findSlot(K key, int hash) {
+        int slot = hash & this.mask;
+        for (int distance = 0; true; distance++) {
+            int current = this.hashes[slot];
+            if (current == EMPTY || this.probeDistance(current, slot) < distance) {
+                return -1;
+            }
+            if (current == hash && Objects.equals(key, this.keys[slot])) {
+                return slot;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+    }
+
+    @Override
+    public V get(K key) {
+        int slot = this.findSlot(key, hash(key));
+        if (slot < 0) {
+            throw new NoSuchKeyException();
+        }
+        return this.values[slot];
+    }
+
+    @Override
+    public V getOrDefault(K key, V defaultValue) {
+        int slot = this.findSlot(key, hash(key));
+        return slot < 0 ? defaultValue : this.values[slot];
+    }
+
+    @Override
+    public void put(K key, V value) {
+        int hash = hash(key);
+        int slot = this.findSlot(key, hash);
+        if (slot >= 0) {
+            this.values[slot] = value;
+            return;
+        }
+        if (this.size >= this.threshold) {
+            this.resize();
+        }
+        this.insertNew(hash, key, value);
+        this.size++;
+        this.modCount++;
+    }
+
+    /**
+     * Places an entry whose key is known to be absent, displacing entries that are closer
+     * to their home slot along the way.
+     */
+    private void insertNew(int hash, K key, V value) {
+        int slot = hash & this.mask;
+        int distance = 0;
+        while (this.hashes[slot] != EMPTY) {
+            int existingDistance = this.probeDistance(this.hashes[slot], slot);
+            if (existingDistance < distance) {
+                int displacedHash = this.hashes[slot];
+                K displacedKey = this.keys[slot];
+                V displacedValue = this.values[slot];
+                this.hashes[slot] = hash;
+                this.keys[slot] = key;
+                this.values[slot] = value;
+                hash = displacedHash;
+                key = displacedKey;
+                value = displacedValue;
+                distance = existingDistance;
+            }
+            slot = (slot + 1) & this.mask;
+            distance++;
+        }
+        this.hashes[slot] = hash;
+        this.keys[slot] = key;
+        this.values[slot] = value;
+    }
+
+    /**
+     * Grows the table at most once, straight to its final size. If this dictionary starts
+     * out empty, entries are placed without looking for an existing copy of the key, since
+     * the keys in 'other' are already unique.
+     */
+    @Override
+    public void putAll(IDictionary<? extends K, ? extends V> other) {
+        if (other == this) {
+            return;
+        }
+        int capacity = this.capacityFor(this.size + other.size());
+        boolean grew = capacity > this.hashes.length;
+        if (grew) {
+            this.resize(capacity);
+        }
+        int oldSize = this.size;
+        boolean wasEmpty = this.size == 0;
+        for (KVPair<? extends K, ? extends V> pair : other) {
+            K key = pair.getKey();
+            int hash = hash(key);
+            int slot = wasEmpty ? -1 : this.findSlot(key, hash);
+            if (slot >= 0) {
+                this.values[slot] = pair.getValue();
+            } else {
+                this.insertNew(hash, key, pair.getValue());
+                this.size++;
+            }
+        }
+        // Overwriting existing keys is not a structural change.
+        if (grew || this.size != oldSize) {
+            this.modCount++;
+        }
+    }
+
+    /**
+     * Doubles the capacity of the table.
+     */
+    private void resize() {
+        this.resize(this.hashes.length * 2);
+    }
+
+    /**
+     * Moves every entry into a table of the given capacity, re-using its stored hash.
+     */
+    private void resize(int capacity) {
+        K[] oldKeys = this.keys;
+        V[] oldValues = this.values;
+        int[] oldHashes = this.hashes;
+        this.allocate(capacity);
+        for (int i = 0; i < oldHashes.length; i++) {
+            if (oldHashes[i] != EMPTY) {
+                this.insertNew(oldHashes[i], oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    @Override
+    public V remove(K key) {
+        int slot = this.findSlot(key, hash(key));
+        if (slot < 0) {
+            throw new NoSuchKeyException();
+        }
+        V result = this.values[slot];
+
+        // Shift the rest of the cluster back until we reach an empty slot or an entry
+        // that is already sitting in its home slot.
+        int next = (slot + 1) & this.mask;
+        while (this.hashes[next] != EMPTY && this.probeDistance(this.hashes[next], next) > 0) {
+            this.hashes[slot] = this.hashes[next];
+            this.keys[slot] = this.keys[next];
+            this.values[slot] = this.values[next];
+            slot = next;
+            next = (next + 1) & this.mask;
+        }
+        this.hashes[slot] = EMPTY;
+        this.keys[slot] = null;
+        this.values[slot] = null;
+        this.size--;
+        this.modCount++;
+        return result;
+    }
+
+    @Override
+    public boolean containsKey(K key) {
+        return this.findSlot(key, hash(key)) >= 0;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public Iterator<KVPair<K, V>> iterator() {
+        return new OpenAddressingIterator();
+    }
+
+    private class OpenAddressingIterator implements Iterator<KVPair<K, V>> {
+        private int slot;
+        private int remaining;
+        private int expectedModCount;
+
+        public OpenAddressingIterator() {
+            this.slot = 0;
+            this.remaining = size;
+            this.expectedModCount = modCount;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (modCount != this.expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            return this.remaining > 0;
+        }
+
+        @Override
+        public KVPair<K, V> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+            while (hashes[this.slot] == EMPTY) {
+                this.slot++;
+            }
+            KVPair<K, V> pair = new KVPair<>(keys[this.slot], values[this.slot]);
+            this.slot++;
+            this.remaining--;
+            return pair;
+        }
+    }
+}
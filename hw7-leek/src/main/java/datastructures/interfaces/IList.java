@@ -13,6 +13,27 @@ public interface IList<T> extends Iterable<T> {
      */
     public void add(T item);
 
+    /**
+     * Adds every item in the given list, in order, to the *end* of this IList.
+     *
+     * Note: The interface provides a default implementation that simply calls add on
+     *       every item, but you may optionally override it with a more efficient version
+     *       (for example, one that makes room for all the new items at once).
+     */
+    public default void addAll(IList<? extends T> items) {
+        if (items == this) {
+            // Iterating over this list while adding to it would fail fast, so copy the
+            // items present up front by index instead.
+            for (int i = 0, count = this.size(); i < count; i++) {
+                this.add(this.get(i));
+            }
+            return;
+        }
+        for (T item : items) {
+            this.add(item);
+        }
+    }
+
     /**
      * Removes and returns the item from the *end* of this IList.
      *
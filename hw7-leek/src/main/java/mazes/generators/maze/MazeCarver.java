@@ -1,6 +1,5 @@
 package mazes.generators.maze;
 
-import datastructures.concrete.ChainedHashSet;
 import datastructures.interfaces.ISet;
 import mazes.entities.Maze;
 import mazes.entities.Wall;
@@ -30,12 +29,7 @@ public interface MazeCarver {
 
         ISet<Wall> toRemove = this.returnWallsToRemove(initialMaze);
 
-        ISet<Wall> newWalls = new ChainedHashSet<>();
-        for (Wall wall : initialMaze.getWalls()) {
-            if (!toRemove.contains(wall)) {
-                newWalls.add(wall);
-            }
-        }
+        ISet<Wall> newWalls = initialMaze.getWalls().difference(toRemove);
 
         return new Maze(initialMaze.getRooms(), newWalls, initialMaze.getUntouchableWalls());
     }
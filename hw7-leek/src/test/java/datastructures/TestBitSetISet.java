@@ -0,0 +1,202 @@
+package datastructures;
+
+import datastructures.concrete.BitSetISet;
+import datastructures.concrete.ChainedHashSet;
+import datastructures.interfaces.ISet;
+import misc.BaseTest;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TestBitSetISet extends BaseTest {
+    protected ISet<Integer> makeSet() {
+        return new BitSetISet();
+    }
+
+    protected void assertSetMatches(TreeSet<Integer> expected, ISet<Integer> actual) {
+        assertEquals(expected.size(), actual.size());
+        Iterator<Integer> iter = actual.iterator();
+        for (int item : expected) {
+            assertTrue(iter.hasNext());
+            assertEquals(item, iter.next());
+        }
+        assertFalse(iter.hasNext());
+    }
+
+    protected ISet<Integer> makeSet(int... items) {
+        ISet<Integer> set = this.makeSet();
+        for (int item : items) {
+            set.add(item);
+        }
+        return set;
+    }
+
+    protected TreeSet<Integer> treeSet(int... items) {
+        TreeSet<Integer> set = new TreeSet<>();
+        for (int item : items) {
+            set.add(item);
+        }
+        return set;
+    }
+
+    @Test(timeout=SECOND)
+    public void testAddRemoveContainsBasic() {
+        ISet<Integer> set = this.makeSet(5, 0, 64, 1000, 5);
+        this.assertSetMatches(treeSet(0, 5, 64, 1000), set);
+        assertTrue(set.contains(64));
+        assertFalse(set.contains(63));
+        assertFalse(set.contains(-1));
+        assertFalse(set.contains(null));
+
+        set.remove(64);
+        this.assertSetMatches(treeSet(0, 5, 1000), set);
+        assertFalse(set.contains(64));
+    }
+
+    @Test(timeout=SECOND)
+    public void testErrorHandling() {
+        ISet<Integer> set = this.makeSet(3);
+        try {
+            set.remove(4);
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException ex) {
+            // All ok
+        }
+        try {
+            set.add(-1);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok
+        }
+        try {
+            set.add(null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok
+        }
+        this.assertSetMatches(treeSet(3), set);
+    }
+
+    @Test(timeout=SECOND)
+    public void testIteratorErrorHandling() {
+        ISet<Integer> set = this.makeSet(1, 2);
+        Iterator<Integer> iter = set.iterator();
+        iter.next();
+        set.add(3);
+        try {
+            iter.hasNext();
+            fail("Expected ConcurrentModificationException");
+        } catch (ConcurrentModificationException ex) {
+            // All ok
+        }
+
+        iter = this.makeSet().iterator();
+        assertFalse(iter.hasNext());
+        try {
+            iter.next();
+            fail("Expected NoSuchElementException");
+        } catch (NoSuchElementException ex) {
+            // All ok
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testSetAlgebraBasic() {
+        ISet<Integer> first = this.makeSet(1, 2, 3, 200000);
+        ISet<Integer> second = this.makeSet(3, 4, 200000, 300000);
+
+        this.assertSetMatches(treeSet(1, 2, 3, 4, 200000, 300000), first.union(second));
+        this.assertSetMatches(treeSet(3, 200000), first.intersection(second));
+        this.assertSetMatches(treeSet(1, 2), first.difference(second));
+        this.assertSetMatches(treeSet(4, 300000), second.difference(first));
+        assertTrue(first.containsAll(this.makeSet(2, 200000)));
+        assertFalse(first.containsAll(second));
+
+        // Operands are untouched.
+        this.assertSetMatches(treeSet(1, 2, 3, 200000), first);
+        this.assertSetMatches(treeSet(3, 4, 200000, 300000), second);
+    }
+
+    @Test(timeout=SECOND)
+    public void testSetAlgebraWithOtherSetTypes() {
+        ISet<Integer> set = this.makeSet(1, 2, 3);
+        ISet<Integer> other = new ChainedHashSet<>();
+        other.add(3);
+        other.add(70000);
+
+        this.assertSetMatches(treeSet(1, 2, 3, 70000), set.union(other));
+        this.assertSetMatches(treeSet(3), set.intersection(other));
+        this.assertSetMatches(treeSet(1, 2), set.difference(other));
+        assertTrue(set.containsAll(this.makeSet(1, 3)));
+        assertFalse(set.containsAll(other));
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testRandomOperationsMatchTreeSet() {
+        Random rand = new Random(16);
+        for (int bound : new int[] {100, 5000, 300000}) {
+            ISet<Integer> first = this.makeSet();
+            ISet<Integer> second = this.makeSet();
+            TreeSet<Integer> expectedFirst = new TreeSet<>();
+            TreeSet<Integer> expectedSecond = new TreeSet<>();
+            for (int i = 0; i < 20000; i++) {
+                int item = rand.nextInt(bound);
+                boolean useFirst = rand.nextBoolean();
+                ISet<Integer> set = useFirst ? first : second;
+                TreeSet<Integer> expected = useFirst ? expectedFirst : expectedSecond;
+                if (rand.nextInt(4) == 0 && expected.contains(item)) {
+                    set.remove(item);
+                    expected.remove(item);
+                } else {
+                    set.add(item);
+                    expected.add(item);
+                }
+            }
+            this.assertSetMatches(expectedFirst, first);
+            this.assertSetMatches(expectedSecond, second);
+
+            TreeSet<Integer> union = new TreeSet<>(expectedFirst);
+            union.addAll(expectedSecond);
+            TreeSet<Integer> intersection = new TreeSet<>(expectedFirst);
+            intersection.retainAll(expectedSecond);
+            TreeSet<Integer> difference = new TreeSet<>(expectedFirst);
+            difference.removeAll(expectedSecond);
+            this.assertSetMatches(union, first.union(second));
+            this.assertSetMatches(intersection, first.intersection(second));
+            this.assertSetMatches(difference, first.difference(second));
+            assertTrue(first.union(second).containsAll(second));
+            assertTrue(first.containsAll(first.intersection(second)));
+            assertEquals(expectedFirst.containsAll(expectedSecond), first.containsAll(second));
+        }
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testManyDenseItems() {
+        int limit = 2000000;
+        ISet<Integer> set = this.makeSet();
+        for (int i = 0; i < limit; i++) {
+            set.add(i);
+        }
+        for (int i = 0; i < limit; i += 2) {
+            set.remove(i);
+        }
+        assertEquals(limit / 2, set.size());
+        int expected = 1;
+        for (int item : set) {
+            assertEquals(expected, item);
+            expected += 2;
+        }
+        assertEquals(0, set.intersection(this.makeSet(0, 2, 4, limit - 2)).size());
+    }
+}
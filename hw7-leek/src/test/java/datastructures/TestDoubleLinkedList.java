@@ -8,7 +8,10 @@ import org.junit.FixMethodOrder;
 import org.junit.Test;
 import org.junit.runners.MethodSorters;
 
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
 import java.util.Iterator;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Random;
 
@@ -718,4 +721,82 @@ public class TestDoubleLinkedList extends BaseTest {
         list.insert(0, new Wrapper<>(4));
         assertEquals(0, list.indexOf(new Wrapper<>(4)));
     }
+
+    @Test(timeout=SECOND)
+    public void testSequentialGetAndSetIsEfficient() {
+        int cap = 100000;
+        IList<Integer> list = new DoubleLinkedList<>();
+        for (int i = 0; i < cap; i++) {
+            list.add(i);
+        }
+        // Consecutive indices should reuse the cursor instead of walking from the ends.
+        for (int i = 0; i < cap; i++) {
+            assertEquals(i, list.get(i));
+        }
+        for (int i = cap - 1; i >= 0; i--) {
+            list.set(i, -i);
+        }
+        for (int i = cap / 4; i < 3 * cap / 4; i++) {
+            assertEquals(-i, list.get(i));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testIndexedAccessAfterModifications() {
+        IList<Integer> list = new DoubleLinkedList<>();
+        List<Integer> expected = new ArrayList<>();
+        Random rand = new Random(12);
+        for (int i = 0; i < 2000; i++) {
+            int op = rand.nextInt(6);
+            int size = expected.size();
+            if (op == 0 || size == 0) {
+                int index = rand.nextInt(size + 1);
+                list.insert(index, i);
+                expected.add(index, i);
+            } else if (op == 1) {
+                int index = rand.nextInt(size);
+                assertEquals(expected.remove(index), list.delete(index));
+            } else if (op == 2) {
+                assertEquals(expected.remove(size - 1), list.remove());
+            } else if (op == 3) {
+                int index = rand.nextInt(size);
+                list.set(index, -i);
+                expected.set(index, -i);
+            } else {
+                int index = rand.nextInt(size);
+                assertEquals(expected.get(index), list.get(index));
+            }
+        }
+        assertListValidAndMatches(expected.toArray(new Integer[0]), list);
+    }
+
+    @Test(timeout=SECOND)
+    public void testIteratorFailsFastAfterStructuralChange() {
+        IList<String> list = makeBasicList();
+        Iterator<String> iter = list.iterator();
+        iter.next();
+        list.insert(1, "x");
+        try {
+            iter.next();
+            fail("Expected ConcurrentModificationException");
+        } catch (ConcurrentModificationException ex) {
+            // All ok -- expected result
+        }
+
+        iter = list.iterator();
+        list.delete(1);
+        try {
+            iter.hasNext();
+            fail("Expected ConcurrentModificationException");
+        } catch (ConcurrentModificationException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testAddAllToItself() {
+        IList<String> list = makeBasicList();
+        list.addAll(list);
+        assertListValidAndMatches(new String[] {"a", "b", "c", "a", "b", "c"}, list);
+    }
 }
@@ -2,6 +2,11 @@ package datastructures;
 
 import datastructures.concrete.DoubleLinkedList;
 import datastructures.concrete.Graph;
+import datastructures.concrete.Graph.QueuedVertex;
+import datastructures.concrete.IndexedArrayHeap;
+import datastructures.concrete.PairingHeap;
+import datastructures.concrete.RadixHeap;
+import datastructures.interfaces.IAddressablePriorityQueue;
 import datastructures.interfaces.IEdge;
 import datastructures.interfaces.IList;
 import datastructures.interfaces.ISet;
@@ -9,6 +14,8 @@ import misc.BaseTest;
 import misc.exceptions.NoPathExistsException;
 import org.junit.Test;
 
+import java.util.function.Supplier;
+
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -395,4 +402,39 @@ public class TestGraph extends BaseTest {
             // All ok -- expected result
         }
     }
+
+    @Test(timeout=SECOND)
+    public void testFindingShortestPathWithEachQueue() {
+        Graph<String, SimpleEdge> graph = this.buildDisconnectedGraph();
+        IList<Supplier<IAddressablePriorityQueue<QueuedVertex>>> factories = new DoubleLinkedList<>();
+        factories.add(IndexedArrayHeap::new);
+        factories.add(PairingHeap::new);
+        factories.add(() -> new RadixHeap<>(vertex -> Double.doubleToLongBits(vertex.getDistance())));
+
+        String[] vertices = {"a", "b", "c", "d", "e", "f", "g"};
+        for (Supplier<IAddressablePriorityQueue<QueuedVertex>> factory : factories) {
+            for (String start : vertices) {
+                for (String end : vertices) {
+                    double expected = pathCost(graph.findShortestPathBetween(start, end));
+                    double cost = pathCost(graph.findShortestPathBetween(start, end, factory));
+                    assertEquals(expected, cost);
+                }
+            }
+
+            try {
+                graph.findShortestPathBetween("a", "i", factory);
+                fail("Expected NoPathExistsException");
+            } catch (NoPathExistsException ex) {
+                // All ok -- expected result
+            }
+        }
+    }
+
+    private static double pathCost(IList<SimpleEdge> path) {
+        double cost = 0;
+        for (SimpleEdge edge : path) {
+            cost += edge.getWeight();
+        }
+        return cost;
+    }
 }
@@ -0,0 +1,197 @@
+package datastructures;
+
+import datastructures.concrete.IndexedArrayHeap;
+import datastructures.interfaces.IAddressablePriorityQueue;
+import datastructures.interfaces.IAddressablePriorityQueue.Handle;
+import misc.BaseTest;
+import misc.exceptions.EmptyContainerException;
+import misc.exceptions.InvalidElementException;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TestIndexedArrayHeap extends BaseTest {
+    protected <T extends Comparable<T>> IAddressablePriorityQueue<T> makeInstance() {
+        return new IndexedArrayHeap<>();
+    }
+
+    @Test(timeout=SECOND)
+    public void testAddAndRemoveMin() {
+        IAddressablePriorityQueue<Integer> heap = this.makeInstance();
+        int[] values = {5, 3, 8, 1, 9, 3, 0};
+        for (int value : values) {
+            heap.add(value);
+        }
+        assertEquals(7, heap.size());
+        assertEquals(0, heap.peekMin());
+
+        int[] expected = {0, 1, 3, 3, 5, 8, 9};
+        for (int value : expected) {
+            assertEquals(value, heap.removeMin());
+        }
+        assertTrue(heap.isEmpty());
+
+        try {
+            heap.removeMin();
+            fail("Expected EmptyContainerException");
+        } catch (EmptyContainerException ex) {
+            // All ok
+        }
+        try {
+            heap.peekMin();
+            fail("Expected EmptyContainerException");
+        } catch (EmptyContainerException ex) {
+            // All ok
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testDecreaseKey() {
+        IAddressablePriorityQueue<Integer> heap = this.makeInstance();
+        List<Handle<Integer>> handles = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            handles.add(heap.add(10 + i));
+        }
+
+        heap.decreaseKey(handles.get(17), 3);
+        assertEquals(3, handles.get(17).getItem());
+        assertEquals(3, heap.peekMin());
+
+        try {
+            heap.decreaseKey(handles.get(0), 11);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok
+        }
+        assertEquals(10, handles.get(0).getItem());
+
+        assertEquals(3, heap.removeMin());
+        assertFalse(heap.contains(handles.get(17)));
+        assertEquals(10, heap.removeMin());
+    }
+
+    @Test(timeout=SECOND)
+    public void testReplaceInBothDirections() {
+        IAddressablePriorityQueue<Integer> heap = this.makeInstance();
+        Handle<Integer> low = heap.add(1);
+        heap.add(5);
+        Handle<Integer> high = heap.add(9);
+
+        heap.replace(low, 7);
+        heap.replace(high, 0);
+        assertEquals(0, heap.removeMin());
+        assertEquals(5, heap.removeMin());
+        assertEquals(7, heap.removeMin());
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveByHandle() {
+        IAddressablePriorityQueue<Integer> heap = this.makeInstance();
+        List<Handle<Integer>> handles = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            handles.add(heap.add(i));
+        }
+        heap.remove(handles.get(0));
+        heap.remove(handles.get(5));
+        heap.remove(handles.get(9));
+        assertEquals(7, heap.size());
+        assertFalse(heap.contains(handles.get(5)));
+        assertTrue(heap.contains(handles.get(4)));
+
+        int[] expected = {1, 2, 3, 4, 6, 7, 8};
+        for (int value : expected) {
+            assertEquals(value, heap.removeMin());
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testDuplicatesAreSeparateElements() {
+        IAddressablePriorityQueue<String> heap = this.makeInstance();
+        Handle<String> first = heap.add("a");
+        Handle<String> second = heap.add("a");
+        heap.remove(first);
+        assertTrue(heap.contains(second));
+        assertEquals(1, heap.size());
+        assertEquals("a", heap.removeMin());
+    }
+
+    @Test(timeout=SECOND)
+    public void testInvalidHandlesAndNulls() {
+        IAddressablePriorityQueue<Integer> heap = this.makeInstance();
+        IAddressablePriorityQueue<Integer> other = this.makeInstance();
+        Handle<Integer> removed = heap.add(1);
+        Handle<Integer> foreign = other.add(2);
+        heap.add(3);
+        heap.removeMin();
+
+        try {
+            heap.remove(removed);
+            fail("Expected InvalidElementException");
+        } catch (InvalidElementException ex) {
+            // All ok
+        }
+        try {
+            heap.replace(foreign, 0);
+            fail("Expected InvalidElementException");
+        } catch (InvalidElementException ex) {
+            // All ok
+        }
+        try {
+            heap.add(null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok
+        }
+        try {
+            heap.contains(null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok
+        }
+        assertFalse(heap.contains(foreign));
+        assertEquals(1, heap.size());
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testRandomOperationsStayOrdered() {
+        IAddressablePriorityQueue<Integer> heap = this.makeInstance();
+        List<Handle<Integer>> handles = new ArrayList<>();
+        List<Integer> expected = new ArrayList<>();
+        Random rand = new Random(21);
+        for (int i = 0; i < 20000; i++) {
+            int choice = rand.nextInt(4);
+            if (choice == 0 && !handles.isEmpty()) {
+                Handle<Integer> handle = handles.remove(rand.nextInt(handles.size()));
+                expected.remove(handle.getItem());
+                heap.remove(handle);
+            } else if (choice == 1 && !handles.isEmpty()) {
+                Handle<Integer> handle = handles.get(rand.nextInt(handles.size()));
+                Integer newItem = rand.nextInt(100000);
+                expected.remove(handle.getItem());
+                expected.add(newItem);
+                heap.replace(handle, newItem);
+            } else {
+                Integer item = rand.nextInt(100000);
+                expected.add(item);
+                handles.add(heap.add(item));
+            }
+            assertEquals(expected.size(), heap.size());
+        }
+
+        Collections.sort(expected);
+        for (Integer item : expected) {
+            assertEquals(item, heap.removeMin());
+        }
+        assertTrue(heap.isEmpty());
+    }
+}
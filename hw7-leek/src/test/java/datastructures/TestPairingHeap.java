@@ -0,0 +1,56 @@
+package datastructures;
+
+import datastructures.concrete.PairingHeap;
+import datastructures.interfaces.IAddressablePriorityQueue;
+import datastructures.interfaces.IAddressablePriorityQueue.Handle;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs every test from TestIndexedArrayHeap against PairingHeap, plus a few tests for the
+ * shapes of tree that only a pairing heap can end up with.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TestPairingHeap extends TestIndexedArrayHeap {
+    @Override
+    protected <T extends Comparable<T>> IAddressablePriorityQueue<T> makeInstance() {
+        return new PairingHeap<>();
+    }
+
+    @Test(timeout=SECOND)
+    public void testRootWithManyChildren() {
+        IAddressablePriorityQueue<Integer> heap = this.makeInstance();
+        // Adding in increasing order makes every item a child of the first one.
+        for (int i = 0; i < 200000; i++) {
+            heap.add(i);
+        }
+        for (int i = 0; i < 200000; i++) {
+            assertEquals(i, heap.removeMin());
+        }
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test(timeout=SECOND)
+    public void testDecreaseKeyOfDeepNodes() {
+        IAddressablePriorityQueue<Integer> heap = this.makeInstance();
+        List<Handle<Integer>> handles = new ArrayList<>();
+        // Adding in decreasing order makes a single long path.
+        for (int i = 1000; i > 0; i--) {
+            handles.add(heap.add(10 * i));
+        }
+        heap.decreaseKey(handles.get(0), 5);
+        heap.decreaseKey(handles.get(500), 5);
+        heap.remove(handles.get(250));
+
+        assertEquals(5, heap.removeMin());
+        assertEquals(5, heap.removeMin());
+        assertEquals(10, heap.removeMin());
+        assertEquals(996, heap.size());
+    }
+}
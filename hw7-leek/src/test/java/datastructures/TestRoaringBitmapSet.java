@@ -0,0 +1,80 @@
+package datastructures;
+
+import datastructures.concrete.RoaringBitmapSet;
+import datastructures.interfaces.ISet;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.TreeSet;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the BitSetISet tests against RoaringBitmapSet, plus tests that move chunks between
+ * the array and bitmap container kinds.
+ */
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TestRoaringBitmapSet extends TestBitSetISet {
+    @Override
+    protected ISet<Integer> makeSet() {
+        return new RoaringBitmapSet();
+    }
+
+    @Test(timeout=SECOND)
+    public void testContainerConversions() {
+        // The first chunk grows past 4096 values and shrinks back; the second stays sparse.
+        ISet<Integer> set = this.makeSet();
+        TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < 10000; i++) {
+            set.add(i * 3);
+            expected.add(i * 3);
+        }
+        set.add(65536 + 7);
+        expected.add(65536 + 7);
+        this.assertSetMatches(expected, set);
+
+        for (int i = 0; i < 9000; i++) {
+            set.remove(i * 3);
+            expected.remove(i * 3);
+        }
+        this.assertSetMatches(expected, set);
+        assertTrue(set.contains(9000 * 3));
+        assertFalse(set.contains(8999 * 3));
+    }
+
+    @Test(timeout=SECOND)
+    public void testSetAlgebraAcrossContainerKinds() {
+        ISet<Integer> dense = this.makeSet();
+        ISet<Integer> sparse = this.makeSet();
+        TreeSet<Integer> expectedDense = new TreeSet<>();
+        TreeSet<Integer> expectedSparse = new TreeSet<>();
+        for (int i = 0; i < 60000; i++) {
+            dense.add(i);
+            expectedDense.add(i);
+        }
+        for (int i = 0; i < 200000; i += 97) {
+            sparse.add(i);
+            expectedSparse.add(i);
+        }
+
+        TreeSet<Integer> union = new TreeSet<>(expectedDense);
+        union.addAll(expectedSparse);
+        TreeSet<Integer> intersection = new TreeSet<>(expectedDense);
+        intersection.retainAll(expectedSparse);
+        TreeSet<Integer> denseMinusSparse = new TreeSet<>(expectedDense);
+        denseMinusSparse.removeAll(expectedSparse);
+        TreeSet<Integer> sparseMinusDense = new TreeSet<>(expectedSparse);
+        sparseMinusDense.removeAll(expectedDense);
+
+        this.assertSetMatches(union, dense.union(sparse));
+        this.assertSetMatches(union, sparse.union(dense));
+        this.assertSetMatches(intersection, dense.intersection(sparse));
+        this.assertSetMatches(intersection, sparse.intersection(dense));
+        this.assertSetMatches(denseMinusSparse, dense.difference(sparse));
+        this.assertSetMatches(sparseMinusDense, sparse.difference(dense));
+        assertTrue(dense.containsAll(dense.intersection(sparse)));
+        assertFalse(dense.containsAll(sparse));
+    }
+}
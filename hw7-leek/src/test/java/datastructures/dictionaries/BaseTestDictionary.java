@@ -9,6 +9,7 @@ import org.junit.Test;
 import org.junit.runners.MethodSorters;
 
 import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
@@ -653,4 +654,134 @@ public abstract class BaseTestDictionary extends BaseTest {
         }
     }
 
+    @Test(timeout=SECOND)
+    public void testPutAllIntoEmpty() {
+        IDictionary<Integer, Integer> source = this.newDictionary();
+        for (int i = 0; i < 1000; i++) {
+            source.put(i, i * 2);
+        }
+
+        IDictionary<Integer, Integer> dict = this.newDictionary();
+        dict.putAll(source);
+
+        assertEquals(1000, dict.size());
+        assertEquals(1000, source.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i * 2, dict.get(i));
+        }
+        assertFalse(dict.containsKey(1000));
+    }
+
+    @Test(timeout=SECOND)
+    public void testPutAllOverwritesExistingKeys() {
+        IDictionary<String, String> dict = this.makeBasicDictionary();
+        IDictionary<String, String> other = this.newDictionary();
+        other.put("keyB", "newB");
+        other.put("keyD", "valD");
+
+        dict.putAll(other);
+
+        assertDictMatches(
+                new String[] {"keyA", "keyB", "keyC", "keyD"},
+                new String[] {"valA", "newB", "valC", "valD"},
+                dict);
+    }
+
+    @Test(timeout=SECOND)
+    public void testPutAllEmptyAndSelf() {
+        IDictionary<String, String> dict = this.makeBasicDictionary();
+        dict.putAll(this.newDictionary());
+        dict.putAll(dict);
+
+        assertDictMatches(
+                new String[] {"keyA", "keyB", "keyC"},
+                new String[] {"valA", "valB", "valC"},
+                dict);
+    }
+
+    @Test(timeout=SECOND)
+    public void testPutAllThenModify() {
+        IDictionary<Integer, Integer> source = this.newDictionary();
+        for (int i = 0; i < 500; i++) {
+            source.put(i, i);
+        }
+        IDictionary<Integer, Integer> dict = this.newDictionary();
+        dict.put(-1, -1);
+        dict.putAll(source);
+
+        for (int i = 500; i < 1000; i++) {
+            dict.put(i, i);
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            assertEquals(i, dict.remove(i));
+        }
+
+        assertEquals(501, dict.size());
+        assertEquals(-1, dict.get(-1));
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 1, dict.containsKey(i));
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testIteratorFailsFastAfterStructuralChange() {
+        IDictionary<String, String> dict = this.makeBasicDictionary();
+        Iterator<KVPair<String, String>> iter = dict.iterator();
+        iter.next();
+        dict.put("keyD", "valD");
+        try {
+            iter.next();
+            fail("Expected ConcurrentModificationException");
+        } catch (ConcurrentModificationException ex) {
+            // All ok -- expected result
+        }
+
+        iter = dict.iterator();
+        iter.next();
+        dict.remove("keyD");
+        try {
+            iter.hasNext();
+            fail("Expected ConcurrentModificationException");
+        } catch (ConcurrentModificationException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testIteratorAllowsOverwritingValues() {
+        IDictionary<String, String> dict = this.makeBasicDictionary();
+        int count = 0;
+        for (KVPair<String, String> pair : dict) {
+            dict.put(pair.getKey(), "new" + pair.getKey());
+            count++;
+        }
+        assertEquals(3, count);
+        assertDictMatches(
+                new String[] {"keyA", "keyB", "keyC"},
+                new String[] {"newkeyA", "newkeyB", "newkeyC"},
+                dict);
+    }
+
+    @Test(timeout=SECOND)
+    public void testIteratorSurvivesPutAllOfExistingKeys() {
+        IDictionary<String, String> dict = this.makeBasicDictionary();
+        IDictionary<String, String> other = this.newDictionary();
+        other.put("keyA", "newA");
+        other.put("keyC", "newC");
+
+        Iterator<KVPair<String, String>> iter = dict.iterator();
+        iter.next();
+        dict.putAll(other);
+        dict.putAll(this.newDictionary());
+        int count = 1;
+        while (iter.hasNext()) {
+            iter.next();
+            count++;
+        }
+        assertEquals(3, count);
+        assertDictMatches(
+                new String[] {"keyA", "keyB", "keyC"},
+                new String[] {"newA", "valB", "newC"},
+                dict);
+    }
 }
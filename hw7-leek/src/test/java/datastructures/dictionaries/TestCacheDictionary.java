@@ -0,0 +1,193 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.dictionaries.CacheDictionary;
+import datastructures.concrete.dictionaries.CacheDictionary.Policy;
+import datastructures.concrete.dictionaries.KVPair;
+import misc.BaseTest;
+import misc.exceptions.NoSuchKeyException;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TestCacheDictionary extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testLruEvictsLeastRecentlyUsed() {
+        CacheDictionary<String, Integer> cache = new CacheDictionary<>(3);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        assertEquals(1, cache.get("a"));
+        cache.put("d", 4);
+
+        assertEquals(3, cache.size());
+        assertFalse(cache.containsKey("b"));
+        assertTrue(cache.containsKey("a"));
+        assertTrue(cache.containsKey("c"));
+        assertTrue(cache.containsKey("d"));
+        assertEquals(1L, cache.evictionCount());
+    }
+
+    @Test(timeout=SECOND)
+    public void testHitAndMissCounters() {
+        CacheDictionary<String, Integer> cache = new CacheDictionary<>(10);
+        assertEquals(0.0, cache.hitRate(), 0.0);
+        cache.put("a", 1);
+        assertEquals(1, cache.get("a"));
+        assertEquals(5, cache.getOrDefault("b", 5));
+        assertEquals(1, cache.getOrDefault("a", 5));
+        try {
+            cache.get("c");
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // All ok
+        }
+        assertTrue(cache.containsKey("a"));
+
+        assertEquals(2L, cache.hitCount());
+        assertEquals(2L, cache.missCount());
+        assertEquals(0.5, cache.hitRate(), 0.0);
+    }
+
+    @Test(timeout=SECOND)
+    public void testRemoveAndIterate() {
+        CacheDictionary<String, Integer> cache = new CacheDictionary<>(10, Policy.TINY_LFU);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("a", 3);
+        assertEquals(2, cache.remove("b"));
+        try {
+            cache.remove("b");
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // All ok
+        }
+
+        int count = 0;
+        for (KVPair<String, Integer> pair : cache) {
+            assertEquals("a", pair.getKey());
+            assertEquals(3, pair.getValue());
+            count++;
+        }
+        assertEquals(1, count);
+        assertEquals(0L, cache.evictionCount());
+    }
+
+    @Test(timeout=SECOND)
+    public void testWeightedCapacity() {
+        CacheDictionary<String, String> cache = new CacheDictionary<>(
+                10, Policy.LRU, (key, value) -> value.length());
+        cache.put("a", "xxxx");
+        cache.put("b", "xxxx");
+        assertEquals(8L, cache.weightedSize());
+        cache.put("c", "xxx");
+        assertFalse(cache.containsKey("a"));
+        assertEquals(7L, cache.weightedSize());
+
+        // An entry heavier than the whole cache is not kept.
+        cache.put("d", "xxxxxxxxxxxx");
+        assertFalse(cache.containsKey("d"));
+        assertTrue(cache.weightedSize() <= 10);
+
+        cache.put("b", "x");
+        assertEquals(4L, cache.weightedSize());
+    }
+
+    @Test(timeout=SECOND)
+    public void testLruEvictsWeightlessEntries() {
+        CacheDictionary<Integer, Integer> cache = new CacheDictionary<>(
+                10, Policy.LRU, (key, value) -> value);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, i % 2);
+        }
+
+        // Only the weightless entries between the 10 newest heavy ones are left.
+        assertEquals(10L, cache.weightedSize());
+        assertTrue(cache.size() <= 21);
+        assertTrue(cache.containsKey(998));
+        assertTrue(cache.containsKey(999));
+        assertFalse(cache.containsKey(0));
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testLruMatchesLinkedHashMap() {
+        final int capacity = 100;
+        Map<Integer, Integer> expected = new LinkedHashMap<Integer, Integer>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Integer> eldest) {
+                return this.size() > capacity;
+            }
+        };
+        CacheDictionary<Integer, Integer> cache = new CacheDictionary<>(capacity);
+        Random rand = new Random(19);
+        for (int i = 0; i < 100000; i++) {
+            Integer key = rand.nextInt(300);
+            int choice = rand.nextInt(10);
+            if (choice < 5) {
+                assertEquals(expected.get(key), cache.getOrDefault(key, null));
+            } else if (choice < 9) {
+                expected.put(key, i);
+                cache.put(key, i);
+            } else if (expected.containsKey(key)) {
+                assertEquals(expected.remove(key), cache.remove(key));
+            }
+            assertEquals(expected.size(), cache.size());
+        }
+        for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+            assertTrue(cache.containsKey(entry.getKey()));
+        }
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testTinyLfuResistsScans() {
+        // A small set of hot keys is used over and over while a long scan of keys that are
+        // each used once passes through. LRU loses the hot keys; TinyLFU keeps them.
+        CacheDictionary<Integer, Integer> lru = new CacheDictionary<>(100, Policy.LRU);
+        CacheDictionary<Integer, Integer> lfu = new CacheDictionary<>(100, Policy.TINY_LFU);
+        this.runHotKeysWithScan(lru);
+        this.runHotKeysWithScan(lfu);
+        assertTrue(lfu.hitRate() > 0.9);
+        assertTrue(lru.hitRate() < 0.1);
+    }
+
+    private void runHotKeysWithScan(CacheDictionary<Integer, Integer> cache) {
+        int scanKey = 1000;
+        for (int round = 0; round < 200; round++) {
+            for (int hot = 0; hot < 50; hot++) {
+                if (cache.getOrDefault(hot, null) == null) {
+                    cache.put(hot, hot);
+                }
+            }
+            for (int i = 0; i < 200; i++) {
+                cache.put(scanKey, scanKey);
+                scanKey++;
+            }
+        }
+        assertTrue(cache.size() <= 100);
+    }
+
+    @Test(timeout=5 * SECOND)
+    public void testTinyLfuStaysWithinCapacity() {
+        CacheDictionary<Integer, Integer> cache = new CacheDictionary<>(1000, Policy.TINY_LFU);
+        Random rand = new Random(19);
+        for (int i = 0; i < 200000; i++) {
+            // Skewed keys: small keys are much more popular.
+            Integer key = (int) Math.abs(rand.nextGaussian() * 2000);
+            if (cache.getOrDefault(key, null) == null) {
+                cache.put(key, i);
+            }
+            assertTrue(cache.size() <= 1000);
+        }
+        assertEquals((long) cache.size(), cache.weightedSize());
+        assertTrue(cache.hitRate() > 0.3);
+        assertEquals(cache.missCount() - cache.size(), cache.evictionCount());
+    }
+}
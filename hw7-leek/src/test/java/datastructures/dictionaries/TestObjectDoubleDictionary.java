@@ -0,0 +1,199 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.dictionaries.KVPair;
+import datastructures.concrete.dictionaries.ObjectDoubleDictionary;
+import datastructures.interfaces.IDictionary;
+import misc.BaseTest;
+import misc.exceptions.NoSuchKeyException;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TestObjectDoubleDictionary extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testPutAndGet() {
+        ObjectDoubleDictionary<String> dict = new ObjectDoubleDictionary<>();
+        dict.put("a", 1.5);
+        dict.put("b", -2.0);
+        dict.put(null, 3.0);
+
+        assertEquals(3, dict.size());
+        assertEquals(1.5, dict.getDouble("a"), 0.0);
+        assertEquals(-2.0, dict.getDouble("b"), 0.0);
+        assertEquals(3.0, dict.getDouble(null), 0.0);
+        assertEquals(7.0, dict.getOrDefault("c", 7.0), 0.0);
+        assertFalse(dict.containsKey("c"));
+
+        dict.put("a", 4.0);
+        assertEquals(3, dict.size());
+        assertEquals(4.0, dict.getDouble("a"), 0.0);
+    }
+
+    @Test(timeout=SECOND)
+    public void testGetMissingKeyThrowsException() {
+        ObjectDoubleDictionary<String> dict = new ObjectDoubleDictionary<>();
+        dict.put("a", 1.0);
+        try {
+            dict.getDouble("b");
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // All ok -- expected result
+        }
+        try {
+            dict.removeDouble("b");
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testAddTo() {
+        ObjectDoubleDictionary<String> dict = new ObjectDoubleDictionary<>();
+        assertEquals(0.5, dict.addTo("a", 0.5), 0.0);
+        assertEquals(2.0, dict.addTo("a", 1.5), 0.0);
+        assertEquals(-1.0, dict.addTo("b", -1.0), 0.0);
+
+        assertEquals(2, dict.size());
+        assertEquals(2.0, dict.getDouble("a"), 0.0);
+        assertEquals(-1.0, dict.getDouble("b"), 0.0);
+    }
+
+    @Test(timeout=SECOND)
+    public void testBoxedMethods() {
+        IDictionary<String, Double> dict = new ObjectDoubleDictionary<>();
+        dict.put("a", 1.0);
+        assertEquals(1.0, dict.get("a"));
+        assertEquals(null, dict.getOrDefault("b", null));
+        assertEquals(1.0, dict.remove("a"));
+        assertTrue(dict.isEmpty());
+
+        try {
+            dict.put("c", null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testCursorAndIteratorMatch() {
+        ObjectDoubleDictionary<Integer> dict = new ObjectDoubleDictionary<>();
+        Map<Integer, Double> expected = new HashMap<>();
+        for (Integer i = 0; i < 500; i++) {
+            dict.put(i, i * 0.5);
+            expected.put(i, i * 0.5);
+        }
+        for (int i = 0; i < 500; i += 3) {
+            assertEquals(i * 0.5, dict.removeDouble(i), 0.0);
+            expected.remove(i);
+        }
+
+        int count = 0;
+        ObjectDoubleDictionary.Cursor<Integer> cursor = dict.cursor();
+        while (cursor.advance()) {
+            assertEquals(expected.get(cursor.key()), cursor.value(), 0.0);
+            count++;
+        }
+        assertEquals(expected.size(), count);
+        assertFalse(cursor.advance());
+
+        count = 0;
+        for (KVPair<Integer, Double> pair : dict) {
+            assertEquals(expected.get(pair.getKey()), pair.getValue());
+            count++;
+        }
+        assertEquals(expected.size(), count);
+    }
+
+    @Test(timeout=SECOND)
+    public void testCursorOverEmptyDictionary() {
+        ObjectDoubleDictionary<String> dict = new ObjectDoubleDictionary<>(100);
+        assertFalse(dict.cursor().advance());
+        assertFalse(dict.iterator().hasNext());
+    }
+
+    @Test(timeout=10 * SECOND)
+    public void testStress() {
+        int limit = 1000000;
+        ObjectDoubleDictionary<Integer> dict = new ObjectDoubleDictionary<>();
+        for (int i = 0; i < limit; i++) {
+            dict.addTo(i % 1000, 1.0);
+            dict.put(Integer.valueOf(-i - 1), i);
+        }
+        assertEquals(limit + 1000, dict.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(1000.0, dict.getDouble(i), 0.0);
+        }
+        for (int i = 0; i < limit; i++) {
+            assertEquals(i, dict.removeDouble(-i - 1), 0.0);
+        }
+        assertEquals(1000, dict.size());
+    }
+
+    @Test(timeout=SECOND)
+    public void testCursorFailsFastAfterStructuralChange() {
+        ObjectDoubleDictionary<String> dict = new ObjectDoubleDictionary<>();
+        for (int i = 0; i < 10; i++) {
+            dict.put("key" + i, i * 0.5);
+        }
+
+        // Changing existing values is fine.
+        ObjectDoubleDictionary.Cursor<String> cursor = dict.cursor();
+        int count = 0;
+        while (cursor.advance()) {
+            dict.addTo(cursor.key(), 1);
+            count++;
+        }
+        assertEquals(10, count);
+
+        cursor = dict.cursor();
+        cursor.advance();
+        dict.removeDouble("key3");
+        try {
+            cursor.advance();
+            fail("Expected ConcurrentModificationException");
+        } catch (ConcurrentModificationException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testCursorRejectsAccessOffAPair() {
+        ObjectDoubleDictionary<String> dict = new ObjectDoubleDictionary<>();
+        dict.put("a", 1.0);
+        ObjectDoubleDictionary.Cursor<String> cursor = dict.cursor();
+        this.assertCursorIsOffAPair(cursor);
+
+        assertTrue(cursor.advance());
+        assertEquals("a", cursor.key());
+        assertEquals(1.0, cursor.value(), 0.0);
+
+        assertFalse(cursor.advance());
+        this.assertCursorIsOffAPair(cursor);
+    }
+
+    private void assertCursorIsOffAPair(ObjectDoubleDictionary.Cursor<String> cursor) {
+        try {
+            cursor.key();
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+            // All ok -- expected result
+        }
+        try {
+            cursor.value();
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+            // All ok -- expected result
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package datastructures.dictionaries;
+
+import datastructures.concrete.dictionaries.KVPair;
+import datastructures.concrete.dictionaries.ObjectIntDictionary;
+import datastructures.interfaces.IDictionary;
+import misc.BaseTest;
+import misc.exceptions.NoSuchKeyException;
+import org.junit.FixMethodOrder;
+import org.junit.Test;
+import org.junit.runners.MethodSorters;
+
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@FixMethodOrder(MethodSorters.NAME_ASCENDING)
+public class TestObjectIntDictionary extends BaseTest {
+    @Test(timeout=SECOND)
+    public void testPutAndGet() {
+        ObjectIntDictionary<String> dict = new ObjectIntDictionary<>();
+        dict.put("a", 1);
+        dict.put("b", -2);
+        dict.put(null, 3);
+
+        assertEquals(3, dict.size());
+        assertEquals(1, dict.getInt("a"));
+        assertEquals(-2, dict.getInt("b"));
+        assertEquals(3, dict.getInt(null));
+        assertEquals(7, dict.getOrDefault("c", 7));
+        assertFalse(dict.containsKey("c"));
+
+        dict.put("a", 4);
+        assertEquals(3, dict.size());
+        assertEquals(4, dict.getInt("a"));
+    }
+
+    @Test(timeout=SECOND)
+    public void testGetMissingKeyThrowsException() {
+        ObjectIntDictionary<String> dict = new ObjectIntDictionary<>();
+        dict.put("a", 1);
+        try {
+            dict.getInt("b");
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // All ok -- expected result
+        }
+        try {
+            dict.removeInt("b");
+            fail("Expected NoSuchKeyException");
+        } catch (NoSuchKeyException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testIncrementAndAddTo() {
+        ObjectIntDictionary<String> dict = new ObjectIntDictionary<>();
+        assertEquals(1, dict.increment("a"));
+        assertEquals(2, dict.increment("a"));
+        assertEquals(12, dict.addTo("a", 10));
+        assertEquals(-5, dict.addTo("b", -5));
+
+        assertEquals(2, dict.size());
+        assertEquals(12, dict.getInt("a"));
+        assertEquals(-5, dict.getInt("b"));
+    }
+
+    @Test(timeout=SECOND)
+    public void testBoxedMethods() {
+        IDictionary<String, Integer> dict = new ObjectIntDictionary<>();
+        dict.put("a", 1);
+        assertEquals(1, dict.get("a"));
+        assertEquals(null, dict.getOrDefault("b", null));
+        assertEquals(1, dict.remove("a"));
+        assertTrue(dict.isEmpty());
+
+        try {
+            dict.put("c", null);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testCursorAndIteratorMatch() {
+        ObjectIntDictionary<String> dict = new ObjectIntDictionary<>();
+        Map<String, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 500; i++) {
+            dict.put("key" + i, i);
+            expected.put("key" + i, i);
+        }
+        for (int i = 0; i < 500; i += 3) {
+            assertEquals(i, dict.removeInt("key" + i));
+            expected.remove("key" + i);
+        }
+
+        int count = 0;
+        ObjectIntDictionary.Cursor<String> cursor = dict.cursor();
+        while (cursor.advance()) {
+            assertEquals(expected.get(cursor.key()), cursor.value());
+            count++;
+        }
+        assertEquals(expected.size(), count);
+
+        count = 0;
+        for (KVPair<String, Integer> pair : dict) {
+            assertEquals(expected.get(pair.getKey()), pair.getValue());
+            count++;
+        }
+        assertEquals(expected.size(), count);
+    }
+
+    @Test(timeout=SECOND)
+    public void testCursorFailsFastAfterStructuralChange() {
+        ObjectIntDictionary<String> dict = new ObjectIntDictionary<>();
+        for (int i = 0; i < 10; i++) {
+            dict.put("key" + i, i);
+        }
+
+        // Changing existing values is fine.
+        ObjectIntDictionary.Cursor<String> cursor = dict.cursor();
+        int count = 0;
+        while (cursor.advance()) {
+            dict.addTo(cursor.key(), 1);
+            count++;
+        }
+        assertEquals(10, count);
+
+        cursor = dict.cursor();
+        cursor.advance();
+        dict.removeInt("key3");
+        try {
+            cursor.advance();
+            fail("Expected ConcurrentModificationException");
+        } catch (ConcurrentModificationException ex) {
+            // All ok -- expected result
+        }
+    }
+
+    @Test(timeout=SECOND)
+    public void testCursorRejectsAccessOffAPair() {
+        ObjectIntDictionary<String> dict = new ObjectIntDictionary<>();
+        dict.put("a", 1);
+        ObjectIntDictionary.Cursor<String> cursor = dict.cursor();
+        this.assertCursorIsOffAPair(cursor);
+
+        assertTrue(cursor.advance());
+        assertEquals("a", cursor.key());
+        assertEquals(1, cursor.value());
+
+        assertFalse(cursor.advance());
+        this.assertCursorIsOffAPair(cursor);
+    }
+
+    private void assertCursorIsOffAPair(ObjectIntDictionary.Cursor<String> cursor) {
+        try {
+            cursor.key();
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+            // All ok -- expected result
+        }
+        try {
+            cursor.value();
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException ex) {
+            // All ok -- expected result
+        }
+    }
+}